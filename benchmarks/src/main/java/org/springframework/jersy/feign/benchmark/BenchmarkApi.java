@@ -0,0 +1,28 @@
+package org.springframework.jersy.feign.benchmark;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import java.util.List;
+
+/**
+ * rest feign client served by {@link HttpStub}
+ *
+ * @author jiashuai.xie
+ */
+@Path("/")
+@Consumes("application/json")
+@Produces("application/json")
+public interface BenchmarkApi {
+
+    @GET
+    @Path("/items")
+    List<Item> items();
+
+    @POST
+    @Path("/echo")
+    List<Item> echo(List<Item> items);
+
+}
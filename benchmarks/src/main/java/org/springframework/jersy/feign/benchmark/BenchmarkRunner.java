@@ -0,0 +1,29 @@
+package org.springframework.jersy.feign.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * run benchmarks with gc profiler (allocation rate) and write results to jmh-result.json,
+ * accepts the same arguments as org.openjdk.jmh.Main
+ * <p>
+ * eg: java -jar target/benchmarks.jar CodecBenchmark -p itemCount=25000
+ *
+ * @author jiashuai.xie
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("jmh-result.json")
+                .build())
+                .run();
+    }
+
+}
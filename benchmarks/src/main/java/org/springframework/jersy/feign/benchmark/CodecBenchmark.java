@@ -0,0 +1,108 @@
+package org.springframework.jersy.feign.benchmark;
+
+import com.alibaba.fastjson.JSON;
+import feign.RequestTemplate;
+import feign.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jersy.feign.core.codec.CborCodec;
+import org.springframework.jersy.feign.core.decoder.FastJsonDecoder;
+import org.springframework.jersy.feign.core.encoder.FastJsonEncoder;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link FastJsonEncoder#encode} and {@link FastJsonDecoder#decode} of about 1KB, 64KB and 4MB payloads,
+ * decode is measured with known content length and with unknown length (chunked),
+ * {@link CborCodec} of same payloads for comparison of cpu cost
+ *
+ * @author jiashuai.xie
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CodecBenchmark {
+
+    @Param({"8", "400", "25000"})
+    private int itemCount;
+
+    private final FastJsonEncoder encoder = new FastJsonEncoder();
+
+    private final FastJsonDecoder decoder = new FastJsonDecoder();
+
+    private final CborCodec cborCodec = new CborCodec();
+
+    private final Map<String, Collection<String>> headers =
+            Collections.singletonMap("Content-Type", Collections.singletonList("application/json;charset=UTF-8"));
+
+    private final Map<String, Collection<String>> cborHeaders =
+            Collections.singletonMap("Content-Type", Collections.singletonList(CborCodec.MEDIA_TYPE));
+
+    private Type type;
+
+    private List<Item> items;
+
+    private byte[] json;
+
+    private byte[] cbor;
+
+    @Setup
+    public void setup() throws Exception {
+        type = BenchmarkApi.class.getMethod("items").getGenericReturnType();
+        items = Item.items(itemCount);
+        json = JSON.toJSONString(items).getBytes(StandardCharsets.UTF_8);
+        cbor = cborCodec.getMapper().writeValueAsBytes(items);
+    }
+
+    @Benchmark
+    public RequestTemplate encode() {
+        RequestTemplate template = new RequestTemplate();
+        encoder.encode(items, type, template);
+        return template;
+    }
+
+    @Benchmark
+    public Object decodeKnownLength() throws Exception {
+        Response response = Response.builder().status(200).headers(headers).body(json).build();
+        return decoder.decode(response, type);
+    }
+
+    @Benchmark
+    public Object decodeUnknownLength() throws Exception {
+        Response response = Response.builder().status(200).headers(headers).body(new ByteArrayInputStream(json), null).build();
+        return decoder.decode(response, type);
+    }
+
+    @Benchmark
+    public RequestTemplate encodeCbor() {
+        RequestTemplate template = new RequestTemplate();
+        cborCodec.encode(items, type, template);
+        return template;
+    }
+
+    @Benchmark
+    public Object decodeCbor() throws Exception {
+        Response response = Response.builder().status(200).headers(cborHeaders).body(cbor).build();
+        return cborCodec.decode(response, type);
+    }
+
+}
@@ -0,0 +1,100 @@
+package org.springframework.jersy.feign.benchmark;
+
+import feign.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.jersy.feign.core.RestFeignClientFactoryBean;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RestFeignClientFactoryBean#getObject()}, cold is the first construction in a fresh jvm,
+ * warm is repeated construction after jit, prototype is repeated call of one prototype factory bean
+ *
+ * @author jiashuai.xie
+ */
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class FactoryBeanBenchmark {
+
+    private RestFeignClientFactoryBean factoryBean;
+
+    @Setup(Level.Invocation)
+    public void setup() {
+        factoryBean = newFactoryBean();
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() throws Exception {
+        factoryBean.destroy();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1, batchSize = 1)
+    @Fork(20)
+    public Object cold() throws Exception {
+        return factoryBean.getObject();
+    }
+
+    @Benchmark
+    @BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+    @Warmup(iterations = 5, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Fork(1)
+    public Object warm() throws Exception {
+        return factoryBean.getObject();
+    }
+
+    @Benchmark
+    @BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+    @Warmup(iterations = 5, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Fork(1)
+    public Object prototype(PrototypeState state) throws Exception {
+        return state.factoryBean.getObject();
+    }
+
+    private static RestFeignClientFactoryBean newFactoryBean() {
+        RestFeignClientFactoryBean factoryBean = new RestFeignClientFactoryBean();
+        factoryBean.setEnvironment(new StandardEnvironment());
+        factoryBean.setTargetType(BenchmarkApi.class);
+        factoryBean.setBeanName("factory-bean-benchmark");
+        factoryBean.setPrefixUrl("127.0.0.1:8080");
+        factoryBean.setIsSecure(false);
+        factoryBean.setLevel(Logger.Level.NONE);
+        factoryBean.setInterceptors(Collections.emptyList());
+        return factoryBean;
+    }
+
+    @State(Scope.Thread)
+    public static class PrototypeState {
+
+        private RestFeignClientFactoryBean factoryBean;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            factoryBean = newFactoryBean();
+            factoryBean.setSingleton(false);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws Exception {
+            factoryBean.destroy();
+        }
+    }
+
+}
@@ -0,0 +1,72 @@
+package org.springframework.jersy.feign.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * in-process http server of {@link BenchmarkApi}, GET /items returns fixed body, POST /echo returns request body
+ *
+ * @author jiashuai.xie
+ */
+public class HttpStub implements AutoCloseable {
+
+    private final HttpServer server;
+
+    private final ExecutorService executor;
+
+    public HttpStub(byte[] items) throws IOException {
+
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 128);
+        this.executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+
+        server.createContext("/items", exchange -> {
+            exchange.getRequestBody().close();
+            exchange.getResponseHeaders().add("Content-Type", "application/json;charset=UTF-8");
+            exchange.sendResponseHeaders(200, items.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(items);
+            }
+        });
+
+        server.createContext("/echo", exchange -> {
+            byte[] body = readAll(exchange.getRequestBody());
+            exchange.getResponseHeaders().add("Content-Type", "application/json;charset=UTF-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public String getUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int count;
+        while ((count = in.read(buffer)) != -1) {
+            out.write(buffer, 0, count);
+        }
+        return out.toByteArray();
+    }
+
+}
@@ -0,0 +1,91 @@
+package org.springframework.jersy.feign.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * payload element of benchmarks, about 160 bytes as json
+ *
+ * @author jiashuai.xie
+ */
+public class Item {
+
+    private long id;
+
+    private String name;
+
+    private String description;
+
+    private double price;
+
+    private boolean available;
+
+    private List<String> tags;
+
+    public static List<Item> items(int count) {
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Item item = new Item();
+            item.setId(i);
+            item.setName("item-" + i);
+            item.setDescription("description of item " + i + " with some unicode 商品");
+            item.setPrice(i * 1.5);
+            item.setAvailable(i % 2 == 0);
+            List<String> tags = new ArrayList<>();
+            tags.add("tag-" + (i % 7));
+            tags.add("tag-" + (i % 13));
+            item.setTags(tags);
+            items.add(item);
+        }
+        return items;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public void setPrice(double price) {
+        this.price = price;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public void setAvailable(boolean available) {
+        this.available = available;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+
+}
@@ -0,0 +1,125 @@
+package org.springframework.jersy.feign.benchmark;
+
+import com.alibaba.fastjson.JSON;
+import feign.Logger;
+import feign.Request;
+import feign.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jersy.feign.core.logger.AsyncLogDispatcher;
+import org.springframework.jersy.feign.core.logger.CustomizedLogger;
+import org.springframework.jersy.feign.core.logger.OverflowPolicy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CustomizedLogger} logging one request and response of about 4KB at each {@link Logger.Level},
+ * entries are formatted at INFO and discarded by logback.xml
+ *
+ * @author jiashuai.xie
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LoggerBenchmark {
+
+    private static final String CONFIG_KEY = "BenchmarkApi#echo(List)";
+
+    @Param({"NONE", "BASIC", "HEADERS", "FULL"})
+    private Logger.Level level;
+
+    @Param({"false", "true"})
+    private boolean async;
+
+    private BenchmarkLogger logger;
+
+    private Request request;
+
+    private Map<String, Collection<String>> responseHeaders;
+
+    private byte[] body;
+
+    @Setup
+    public void setup() {
+
+        if (async) {
+            AsyncLogDispatcher.retain(AsyncLogDispatcher.DEFAULT_CAPACITY);
+        }
+
+        logger = new BenchmarkLogger(async);
+
+        body = JSON.toJSONString(Item.items(24)).getBytes(StandardCharsets.UTF_8);
+
+        Map<String, Collection<String>> requestHeaders = new LinkedHashMap<>();
+        requestHeaders.put("Content-Type", Collections.singletonList("application/json;charset=UTF-8"));
+        requestHeaders.put("Accept", Collections.singletonList("application/json"));
+        request = Request.create("POST", "http://127.0.0.1:8080/echo", requestHeaders, body, StandardCharsets.UTF_8);
+
+        responseHeaders = new LinkedHashMap<>();
+        responseHeaders.put("Content-Type", Collections.singletonList("application/json;charset=UTF-8"));
+        responseHeaders.put("Content-Length", Collections.singletonList(String.valueOf(body.length)));
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (async) {
+            AsyncLogDispatcher.release();
+        }
+    }
+
+    @Benchmark
+    public Response logRequestAndResponse() throws IOException {
+
+        if (level != Logger.Level.NONE) {
+            logger.logRequest(CONFIG_KEY, level, request);
+        }
+
+        Response response = Response.builder().status(200).reason("OK").headers(responseHeaders).body(body).build();
+
+        if (level != Logger.Level.NONE) {
+            response = logger.logAndRebufferResponse(CONFIG_KEY, level, response, 1);
+        }
+
+        return response;
+    }
+
+    /**
+     * expose protected methods called by feign
+     */
+    static class BenchmarkLogger extends CustomizedLogger {
+
+        BenchmarkLogger(boolean async) {
+            super(UNLIMITED, async, OverflowPolicy.DROP);
+        }
+
+        @Override
+        protected void logRequest(String configKey, Level logLevel, Request request) {
+            super.logRequest(configKey, logLevel, request);
+        }
+
+        @Override
+        protected Response logAndRebufferResponse(String configKey, Level logLevel, Response response, long elapsedTime) throws IOException {
+            return super.logAndRebufferResponse(configKey, logLevel, response, elapsedTime);
+        }
+    }
+
+}
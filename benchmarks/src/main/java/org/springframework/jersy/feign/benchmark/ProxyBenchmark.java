@@ -0,0 +1,113 @@
+package org.springframework.jersy.feign.benchmark;
+
+import com.alibaba.fastjson.JSON;
+import feign.Client;
+import feign.Logger;
+import feign.Request;
+import feign.Response;
+import feign.Util;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.jersy.feign.core.RestFeignClientFactoryBean;
+import org.springframework.jersy.feign.core.client.Transport;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * full proxy invocation against {@link HttpStub}, {@link #rawClient()} sends the same request by feign client
+ * without proxy, encoder and decoder, the difference is the overhead of this library
+ *
+ * @author jiashuai.xie
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProxyBenchmark {
+
+    @Param({"DEFAULT", "POOLED"})
+    private Transport transport;
+
+    @Param({"8", "400"})
+    private int itemCount;
+
+    private HttpStub stub;
+
+    private RestFeignClientFactoryBean factoryBean;
+
+    private BenchmarkApi api;
+
+    private List<Item> items;
+
+    private Client client;
+
+    private Request request;
+
+    private Request.Options options;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+
+        items = Item.items(itemCount);
+        stub = new HttpStub(JSON.toJSONString(items).getBytes(StandardCharsets.UTF_8));
+
+        factoryBean = new RestFeignClientFactoryBean();
+        factoryBean.setEnvironment(new StandardEnvironment());
+        factoryBean.setTargetType(BenchmarkApi.class);
+        factoryBean.setBeanName("proxy-benchmark-" + transport);
+        factoryBean.setPrefixUrl(stub.getUrl());
+        factoryBean.setIsSecure(false);
+        factoryBean.setLevel(Logger.Level.NONE);
+        factoryBean.setTransport(transport);
+        factoryBean.setInterceptors(Collections.emptyList());
+
+        api = (BenchmarkApi) factoryBean.getObject();
+
+        client = new Client.Default(null, null);
+        request = Request.create("GET", stub.getUrl() + "/items", Collections.emptyMap(), null, null);
+        options = new Request.Options();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        factoryBean.destroy();
+        stub.close();
+    }
+
+    @Benchmark
+    public List<Item> get() {
+        return api.items();
+    }
+
+    @Benchmark
+    public List<Item> post() {
+        return api.echo(items);
+    }
+
+    @Benchmark
+    public byte[] rawClient() throws Exception {
+        Response response = client.execute(request, options);
+        try (InputStream in = response.body().asInputStream()) {
+            return Util.toByteArray(in);
+        }
+    }
+
+}
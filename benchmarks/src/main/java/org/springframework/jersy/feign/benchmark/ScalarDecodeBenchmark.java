@@ -0,0 +1,85 @@
+package org.springframework.jersy.feign.benchmark;
+
+import feign.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jersy.feign.core.decoder.FastJsonDecoder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link FastJsonDecoder#decode} of String, long and byte[] return types by their fast paths,
+ * compared with decoding the same bodies as Object by the general json parser, responses are built once
+ *
+ * @author jiashuai.xie
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ScalarDecodeBenchmark {
+
+    private final FastJsonDecoder decoder = new FastJsonDecoder();
+
+    private final Map<String, Collection<String>> headers =
+            Collections.singletonMap("Content-Type", Collections.singletonList("application/json;charset=UTF-8"));
+
+    private final byte[] string = "\"hello, rest feign client\"".getBytes(StandardCharsets.UTF_8);
+
+    private final byte[] number = "1234567890123".getBytes(StandardCharsets.UTF_8);
+
+    private final byte[] text = "hello, rest feign client".getBytes(StandardCharsets.UTF_8);
+
+    private Response stringResponse;
+
+    private Response numberResponse;
+
+    private Response textResponse;
+
+    @Setup
+    public void setup() {
+        stringResponse = Response.builder().status(200).headers(headers).body(string).build();
+        numberResponse = Response.builder().status(200).headers(headers).body(number).build();
+        textResponse = Response.builder().status(200).headers(headers).body(text).build();
+    }
+
+    @Benchmark
+    public Object decodeString() throws Exception {
+        return decoder.decode(stringResponse, String.class);
+    }
+
+    @Benchmark
+    public Object decodeStringAsObject() throws Exception {
+        return decoder.decode(stringResponse, Object.class);
+    }
+
+    @Benchmark
+    public Object decodeLong() throws Exception {
+        return decoder.decode(numberResponse, long.class);
+    }
+
+    @Benchmark
+    public Object decodeLongAsObject() throws Exception {
+        return decoder.decode(numberResponse, Object.class);
+    }
+
+    @Benchmark
+    public Object decodeBytes() throws Exception {
+        return decoder.decode(textResponse, byte[].class);
+    }
+
+}
@@ -1,26 +1,102 @@
 package org.springframework.jersy.feign.core;
 
+import feign.Client;
 import feign.Feign;
 import feign.Logger;
+import feign.Request;
 import feign.RequestInterceptor;
-import feign.jaxrs.JAXRSContract;
+import feign.codec.Decoder;
+import feign.codec.Encoder;
+import feign.codec.ErrorDecoder;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.BeanWrapper;
-import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.FactoryBean;
 import org.springframework.context.EnvironmentAware;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.Environment;
-import org.springframework.jersy.feign.core.decoder.FastJsonDecoder;
+import org.springframework.jersy.feign.core.async.AsyncCapturingClient;
+import org.springframework.jersy.feign.core.async.AsyncHttpClient;
+import org.springframework.jersy.feign.core.async.AsyncHttpClients;
+import org.springframework.jersy.feign.core.async.AsyncMethodHandlerDecorator;
+import org.springframework.jersy.feign.core.batch.BatchMethodHandlerDecorator;
+import org.springframework.jersy.feign.core.batch.MicroBatchers;
+import org.springframework.jersy.feign.core.cache.CacheMethodHandlerDecorator;
+import org.springframework.jersy.feign.core.cache.CachingClient;
+import org.springframework.jersy.feign.core.cache.ResponseCache;
+import org.springframework.jersy.feign.core.cache.ResponseCaches;
+import org.springframework.jersy.feign.core.client.ConnectionPoolConfig;
+import org.springframework.jersy.feign.core.coalesce.CoalescingMethodHandlerDecorator;
+import org.springframework.jersy.feign.core.compression.AcceptEncodingInterceptor;
+import org.springframework.jersy.feign.core.compression.DecompressingClient;
+import org.springframework.jersy.feign.core.coalesce.RequestCoalescers;
+import org.springframework.jersy.feign.core.client.DetachableBodyClient;
+import org.springframework.jersy.feign.core.client.PooledHttpClient;
+import org.springframework.jersy.feign.core.client.PooledHttpClients;
+import org.springframework.jersy.feign.core.client.Transport;
+import org.springframework.jersy.feign.core.client.UrlConnectionClient;
+import org.springframework.jersy.feign.core.codec.AcceptInterceptor;
+import org.springframework.jersy.feign.core.codec.JsonCodec;
+import org.springframework.jersy.feign.core.codec.NegotiatingCodec;
 import org.springframework.jersy.feign.core.encoder.FastJsonEncoder;
+import org.springframework.jersy.feign.core.hedge.HedgeMethodHandlerDecorator;
+import org.springframework.jersy.feign.core.hedge.HedgePolicies;
+import org.springframework.jersy.feign.core.hedge.HedgingClient;
+import org.springframework.jersy.feign.core.loadbalancer.LoadBalancer;
+import org.springframework.jersy.feign.core.loadbalancer.LoadBalancerConfig;
+import org.springframework.jersy.feign.core.loadbalancer.LoadBalancers;
+import org.springframework.jersy.feign.core.loadbalancer.LoadBalancingClient;
+import org.springframework.jersy.feign.core.logger.AsyncLogDispatcher;
 import org.springframework.jersy.feign.core.logger.CustomizedLogger;
+import org.springframework.jersy.feign.core.logger.OverflowPolicy;
+import org.springframework.jersy.feign.core.metrics.MetricsClient;
+import org.springframework.jersy.feign.core.metrics.MetricsMethodHandlerDecorator;
+import org.springframework.jersy.feign.core.metrics.RestFeignMetrics;
+import org.springframework.jersy.feign.core.proxy.LazyInvocationHandler;
+import org.springframework.jersy.feign.core.proxy.MethodHandlerDecorator;
+import org.springframework.jersy.feign.core.proxy.RestFeignComponents;
+import org.springframework.jersy.feign.core.proxy.RestFeignInvocationHandlerFactory;
+import org.springframework.jersy.feign.core.ratelimit.RateLimitConfig;
+import org.springframework.jersy.feign.core.ratelimit.RateLimitMethodHandlerDecorator;
+import org.springframework.jersy.feign.core.ratelimit.RateLimiters;
+import org.springframework.jersy.feign.core.ratelimit.RateLimitingClient;
+import org.springframework.jersy.feign.core.resilience.BulkheadConfig;
+import org.springframework.jersy.feign.core.resilience.CircuitBreakerConfig;
+import org.springframework.jersy.feign.core.resilience.LimitType;
+import org.springframework.jersy.feign.core.resilience.Resilience;
+import org.springframework.jersy.feign.core.resilience.ResilienceMethodHandlerDecorator;
+import org.springframework.jersy.feign.core.resilience.Resiliences;
+import org.springframework.jersy.feign.core.retry.BudgetedRetryer;
+import org.springframework.jersy.feign.core.retry.RetryBudget;
+import org.springframework.jersy.feign.core.retry.RetryBudgets;
+import org.springframework.jersy.feign.core.retry.RetryConfig;
+import org.springframework.jersy.feign.core.stream.StreamingBodyDecoder;
+import org.springframework.jersy.feign.core.stream.StreamingBodyEncoder;
+import org.springframework.jersy.feign.core.stream.StreamingBodyMethodHandlerDecorator;
+import org.springframework.jersy.feign.core.timeout.TimeoutClient;
+import org.springframework.jersy.feign.core.timeout.TimeoutMethodHandlerDecorator;
+import org.springframework.jersy.feign.core.trace.RequestTracing;
+import org.springframework.jersy.feign.core.trace.TracingClient;
+import org.springframework.jersy.feign.core.trace.TracingDecoder;
+import org.springframework.jersy.feign.core.trace.TracingEncoder;
+import org.springframework.jersy.feign.core.trace.TracingInterceptor;
+import org.springframework.jersy.feign.core.trace.TracingMethodHandlerDecorator;
+import org.springframework.jersy.feign.core.warmup.CodecWarmUp;
+import org.springframework.jersy.feign.core.warmup.ConnectionWarmUp;
+import org.springframework.jersy.feign.core.warmup.WarmUpConfig;
 import org.springframework.lang.Nullable;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 
 /**
  *  RestFeignClient Implement {@link FactoryBean}
@@ -29,7 +105,15 @@ import java.util.List;
  */
 @Data
 @Slf4j
-public class RestFeignClientFactoryBean implements FactoryBean, EnvironmentAware {
+public class RestFeignClientFactoryBean implements FactoryBean, EnvironmentAware, DisposableBean {
+
+    private static final int DEFAULT_MAX_IN_FLIGHT = 256;
+
+    private static final int DEFAULT_CONNECT_TIMEOUT_MILLIS = 10 * 1000;
+
+    private static final int DEFAULT_READ_TIMEOUT_MILLIS = 60 * 1000;
+
+    private static final double DEFAULT_SAMPLE_RATE = 1.0;
 
     private ConfigurableEnvironment environment;
 
@@ -41,82 +125,345 @@ public class RestFeignClientFactoryBean implements FactoryBean, EnvironmentAware
 
     private Boolean singleton = Boolean.TRUE;
 
+    private Boolean lazy = Boolean.FALSE;
+
     private Boolean isSecure;
 
     private Logger.Level level;
 
     private List<Class<? super RequestInterceptor>> interceptors;
 
-    private List<RequestInterceptor> interceptorInstances = new ArrayList<>();
+    private Transport transport = Transport.DEFAULT;
+
+    /**
+     * requests per second, 0 is unlimited
+     */
+    private Double rateLimit = 0.0;
+
+    private Integer rateLimitBurst = 0;
+
+    private Long rateLimitTimeoutMillis = 0L;
+
+    /**
+     * null to choose codec by Content-Type
+     */
+    private Class<?> encoder;
+
+    /**
+     * null to choose codec by Content-Type
+     */
+    private Class<?> decoder;
 
+    private List<Class<?>> codecs = new ArrayList<>();
+
+    /**
+     * handler of the built feign client, shared by every proxy returned
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile InvocationHandler invocationHandler;
+
+    /**
+     * {@link AsyncLogDispatcher} is retained by this client, released by {@link #destroy()}
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean logDispatcherRetained;
+
+    /**
+     * reporting of {@link RestFeignMetrics} is retained by this client, released by {@link #destroy()}
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean metricsReportingRetained;
 
     @Override
     public void setEnvironment(Environment environment) {
         this.environment = (ConfigurableEnvironment) environment;
     }
 
+    /**
+     * the feign client is built only once, every call returns a new proxy sharing its handler,
+     * so that prototype client is cheap; if lazy, the proxy is a stub until first invocation
+     */
     @Nullable
     @Override
     public Object getObject() throws Exception {
 
+        InvocationHandler handler = invocationHandler;
 
-        String actualPrefixUrl = resolvePlaceholders();
-
+        if (handler == null) {
+            boolean actualLazy = new RestFeignClientProperties(environment, beanName).getProperty("lazy", Boolean.class, lazy);
+            handler = actualLazy ? new LazyInvocationHandler(targetType, beanName, this::obtainInvocationHandler) : obtainInvocationHandler();
+        }
 
-        if (isSecure) {
+        return Proxy.newProxyInstance(targetType.getClassLoader(), new Class<?>[]{targetType}, handler);
+    }
 
-            if (actualPrefixUrl.startsWith("http://")) {
-                StringUtils.replace(actualPrefixUrl, "http://", "https://");
+    private InvocationHandler obtainInvocationHandler() throws Exception {
+        InvocationHandler handler = invocationHandler;
+        if (handler == null) {
+            synchronized (this) {
+                handler = invocationHandler;
+                if (handler == null) {
+                    handler = Proxy.getInvocationHandler(createClient());
+                    invocationHandler = handler;
+                }
             }
+        }
+        return handler;
+    }
 
-            if (!actualPrefixUrl.startsWith("http://") && !actualPrefixUrl.startsWith("https://")) {
-                actualPrefixUrl = "https://" + actualPrefixUrl;
-            }
+    private Object createClient() {
 
-        } else {
+        List<String> actualPrefixUrls = resolvePrefixUrls();
 
-            if (actualPrefixUrl.startsWith("https://")) {
-                StringUtils.replace(actualPrefixUrl, "https://", "http://");
-            }
+        RestFeignClientProperties properties = new RestFeignClientProperties(environment, beanName);
 
-            if (!actualPrefixUrl.startsWith("http://") && !actualPrefixUrl.startsWith("https://")) {
-                actualPrefixUrl = "http://" + actualPrefixUrl;
-            }
+        Transport actualTransport = properties.getProperty("transport", Transport.class, transport);
+
+        boolean balanced = actualPrefixUrls.size() > 1 || properties.getProperty(LoadBalancerConfig.ENABLED, Boolean.class, Boolean.FALSE);
 
+        log.info("<---------- will go to instantiate rest feign client for:{},prefix-url:{},logger-level:{},transport:{}---------->", targetType, actualPrefixUrls, String.valueOf(level), actualTransport);
+
+        NegotiatingCodec negotiatingCodec = negotiatingCodec(properties);
+
+        // body of InputStream, File, Path and ByteBuffer is written by transport instead of encoder
+        Encoder actualEncoder = new StreamingBodyEncoder(encoder != null ? RestFeignComponents.encoder(encoder) : negotiatingCodec);
+        Decoder actualDecoder = new StreamingBodyDecoder(decoder != null ? RestFeignComponents.decoder(decoder) : negotiatingCodec);
+
+        boolean tracingEnabled = properties.getProperty("tracing.enabled", Boolean.class, Boolean.TRUE);
+
+        if (tracingEnabled) {
+            RequestTracing.loadServiceListeners();
+            actualEncoder = new TracingEncoder(actualEncoder);
+            actualDecoder = new TracingDecoder(actualDecoder);
         }
 
-        log.info("<---------- will go to instantiate rest feign client for:{},prefix-url:{},logger-level:{}---------->", targetType, actualPrefixUrl, String.valueOf(level));
+        CustomizedLogger logger = createLogger(properties);
+
+        RetryConfig retryConfig = RetryConfig.of(properties);
+        RetryBudget retryBudget = RetryBudgets.obtain(beanName, retryConfig);
+
+        Request.Options options = new Request.Options(connectTimeoutMillis(properties),
+                properties.getProperty("read-timeout-millis", Integer.class, DEFAULT_READ_TIMEOUT_MILLIS));
 
         Feign.Builder builder = Feign.builder()
-                .encoder(new FastJsonEncoder())
-                .decoder(new FastJsonDecoder())
-                .contract(new JAXRSContract())
-                .logger(new CustomizedLogger())
+                .encoder(actualEncoder)
+                .decoder(actualDecoder)
+                .contract(RestFeignComponents.contract())
+                .options(options)
+                .retryer(new BudgetedRetryer(retryBudget, retryConfig))
+                .logger(logger)
                 .logLevel(level);
 
+        Client client = new UrlConnectionClient();
+
+        if (Transport.POOLED == actualTransport) {
+            client = PooledHttpClients.obtain(beanName, ConnectionPoolConfig.of(properties));
+        }
+
+        if (tracingEnabled) {
+            // right above transport, so that transfer is time blocked on the wire
+            client = new TracingClient(client);
+        }
+
+        boolean metricsEnabled = properties.getProperty("metrics.enabled", Boolean.class, Boolean.TRUE);
+
+        if (metricsEnabled) {
+            client = new MetricsClient(client);
+        }
+
+        boolean compressionEnabled = properties.getProperty("compression.enabled", Boolean.class, Boolean.TRUE);
+
+        if (compressionEnabled) {
+            // above metrics, so that bytes in are bytes on wire
+            client = new DecompressingClient(client);
+        }
+
+        LoadBalancer loadBalancer = null;
+
+        if (balanced) {
+            loadBalancer = LoadBalancers.obtain(beanName, this::resolvePrefixUrls, LoadBalancerConfig.of(properties));
+            client = new LoadBalancingClient(client, loadBalancer);
+        }
+
+        List<MethodHandlerDecorator> decorators = new ArrayList<>();
+
+        if (StreamingBodyMethodHandlerDecorator.hasStreamingBodies(targetType)) {
+            decorators.add(new StreamingBodyMethodHandlerDecorator());
+        }
+
+        if (HedgeMethodHandlerDecorator.hasHedgedMethods(targetType)) {
+            // above load balancing, so that hedged request may go to another endpoint
+            client = new HedgingClient(client, retryBudget, beanName, ConnectionPoolConfig.of(properties).getMaxConnections());
+            decorators.add(new HedgeMethodHandlerDecorator(beanName));
+        }
+
+        // let decoder keep response body open for Iterator/Stream return types
+        client = new DetachableBodyClient(client);
+
+        RateLimitConfig rateLimitConfig = RateLimitConfig.of(properties, RateLimitConfig.CLIENT_PREFIX,
+                new RateLimitConfig(rateLimit, rateLimitBurst, rateLimitTimeoutMillis));
+
+        boolean rateLimited = rateLimitConfig.isEnabled() || RateLimitMethodHandlerDecorator.hasMethodRateLimits(targetType, properties);
+
+        if (rateLimited) {
+            // below cache so that fresh hits take no permit, above hedging so that a hedged call takes one;
+            // async requests are captured above it and take their permits in AsyncMethodHandlerDecorator
+            client = new RateLimitingClient(client);
+        }
+
+        if (CacheMethodHandlerDecorator.hasCachedMethods(targetType)) {
+
+            long maxSize = properties.getProperty("cache.max-size", Long.class, ResponseCaches.DEFAULT_MAX_SIZE);
+            long staleRetentionMillis = properties.getProperty("cache.stale-retention-millis", Long.class, ResponseCaches.DEFAULT_STALE_RETENTION_MILLIS);
+            ResponseCache cache = ResponseCaches.obtain(beanName, maxSize, staleRetentionMillis);
+
+            CachingClient cachingClient = new CachingClient(client, cache);
+            client = cachingClient;
+
+            decorators.add(new CacheMethodHandlerDecorator(cachingClient, cache));
+        }
+
+        if (AsyncMethodHandlerDecorator.hasAsyncMethods(targetType)) {
+
+            AsyncCapturingClient capturingClient = new AsyncCapturingClient(client);
+            client = capturingClient;
+
+            int maxInFlight = properties.getProperty("async.max-in-flight", Integer.class, DEFAULT_MAX_IN_FLIGHT);
+            AsyncHttpClient asyncHttpClient = AsyncHttpClients.obtain(beanName, ConnectionPoolConfig.of(properties), maxInFlight);
+
+            decorators.add(new AsyncMethodHandlerDecorator(capturingClient, asyncHttpClient, actualDecoder, new ErrorDecoder.Default(),
+                    logger, level, ForkJoinPool.commonPool(), loadBalancer, compressionEnabled));
+        }
+
+        // outermost client, so that captured async requests carry method timeouts and deadline
+        client = new TimeoutClient(client);
+        decorators.add(new TimeoutMethodHandlerDecorator(properties, options));
+
+        if (rateLimited) {
+            // outside of async, so that the limit is bound when the captured request takes its permit
+            decorators.add(new RateLimitMethodHandlerDecorator(properties, rateLimitConfig));
+        }
+
+        BulkheadConfig bulkheadConfig = BulkheadConfig.of(properties);
+        boolean circuitBreakerEnabled = properties.getProperty(CircuitBreakerConfig.ENABLED, Boolean.class, Boolean.FALSE);
+
+        if (LimitType.NONE != bulkheadConfig.getType() || circuitBreakerEnabled || ResilienceMethodHandlerDecorator.hasMethodBulkheads(targetType)) {
+            // fail fast before request is built, outside of async so that in-flight async calls hold permits
+            Resilience resilience = Resiliences.obtain(beanName, bulkheadConfig, circuitBreakerEnabled ? CircuitBreakerConfig.of(properties) : null);
+            decorators.add(new ResilienceMethodHandlerDecorator(resilience));
+        }
+
+        if (CoalescingMethodHandlerDecorator.hasCoalescedMethods(targetType)) {
+            // outside of cache, waiting calls share the result of one cache lookup
+            decorators.add(new CoalescingMethodHandlerDecorator(RequestCoalescers.obtain(beanName)));
+        }
+
+        if (BatchMethodHandlerDecorator.hasBatchedMethods(targetType)) {
+            // batch request goes through cache, resilience and coalescing of the batch method
+            decorators.add(new BatchMethodHandlerDecorator(beanName));
+        }
+
+        if (tracingEnabled) {
+            double sampleRate = properties.getProperty("tracing.sample-rate", Double.class, DEFAULT_SAMPLE_RATE);
+            decorators.add(new TracingMethodHandlerDecorator(beanName, sampleRate));
+        }
+
+        if (metricsEnabled) {
+            // outermost, so that retries and async completion are measured
+            boolean jmxEnabled = environment.getProperty("rest.feign.metrics.jmx-enabled", Boolean.class, Boolean.TRUE);
+            decorators.add(new MetricsMethodHandlerDecorator(beanName, jmxEnabled));
+            // a failed build may be retried by a lazy client
+            if (!metricsReportingRetained) {
+                RestFeignMetrics.retain(environment.getProperty("rest.feign.metrics.report-interval-millis", Long.class, RestFeignMetrics.DEFAULT_REPORT_INTERVAL_MILLIS));
+                metricsReportingRetained = true;
+            }
+        }
+
+        builder.client(client);
+        builder.invocationHandlerFactory(new RestFeignInvocationHandlerFactory(decorators));
+
+        // built per call, a failed build may be retried by a lazy client
+        List<RequestInterceptor> interceptorInstances = new ArrayList<>();
+
+        if (tracingEnabled) {
+            interceptorInstances.add(TracingInterceptor.FIRST);
+        }
+
         if (!CollectionUtils.isEmpty(interceptors)) {
 
             for (Class<? super RequestInterceptor> interceptor : interceptors) {
 
-                BeanWrapper wrapper = new BeanWrapperImpl(interceptor);
+                interceptorInstances.add(RestFeignComponents.interceptor(interceptor));
 
-                RequestInterceptor instance = (RequestInterceptor) wrapper.getWrappedInstance();
+            }
+
+        }
 
-                interceptorInstances.add(instance);
+        builder.requestInterceptors(interceptorInstances);
 
-            }
+        if (compressionEnabled) {
+            builder.requestInterceptor(new AcceptEncodingInterceptor());
+        }
 
-            builder.requestInterceptors(interceptorInstances);
+        if (decoder == null && !(negotiatingCodec.getRegistry().getPreferred() instanceof JsonCodec)) {
+            // json is assumed without Accept
+            builder.requestInterceptor(new AcceptInterceptor(negotiatingCodec.getRegistry()));
+        }
 
+        if (tracingEnabled) {
+            // last, so that interceptors are all timed and traceparent is not overridden
+            builder.requestInterceptor(TracingInterceptor.LAST);
         }
 
-        Object proxy = builder.target(targetType, actualPrefixUrl);
+        Object proxy = builder.target(targetType, balanced ? loadBalancer.getVirtualUrl() : actualPrefixUrls.get(0));
 
         log.info("<----------success to instantiate rest feign client for:{}---------->", targetType);
 
         return proxy;
     }
 
+    /**
+     * build the client even if lazy, then build serializers of its methods, resolve hosts and open pooled
+     * connections of its endpoints, see {@link WarmUpConfig}
+     *
+     * @return false if warm-up of the client is disabled
+     */
+    public boolean warmUp() throws Exception {
+
+        RestFeignClientProperties properties = new RestFeignClientProperties(environment, beanName);
+
+        WarmUpConfig config = WarmUpConfig.of(environment, properties);
+
+        if (!config.isEnabled()) {
+            return false;
+        }
+
+        long start = System.nanoTime();
+
+        // contract of target type is parsed and cached while building
+        obtainInvocationHandler();
+
+        NegotiatingCodec negotiatingCodec = negotiatingCodec(properties);
+
+        int types = CodecWarmUp.warmUp(encoder != null ? RestFeignComponents.encoder(encoder) : negotiatingCodec,
+                decoder != null ? RestFeignComponents.decoder(decoder) : negotiatingCodec,
+                RestFeignComponents.contract().parseAndValidatateMetadata(targetType));
+
+        Transport actualTransport = properties.getProperty("transport", Transport.class, transport);
+        PooledHttpClient pool = Transport.POOLED == actualTransport ? PooledHttpClients.obtain(beanName, ConnectionPoolConfig.of(properties)) : null;
+
+        int connections = ConnectionWarmUp.warmUp(beanName, resolvePrefixUrls(), pool, config.getConnections(),
+                connectTimeoutMillis(properties));
+
+        log.info("<---------- warm up rest feign client:{} in {}ms,types:{},pooled connections:{}---------->", beanName,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), types, connections);
+
+        return true;
+    }
+
     @Nullable
     @Override
     public Class<?> getObjectType() {
@@ -128,10 +475,96 @@ public class RestFeignClientFactoryBean implements FactoryBean, EnvironmentAware
         return singleton;
     }
 
-    private String resolvePlaceholders() {
+    private NegotiatingCodec negotiatingCodec(RestFeignClientProperties properties) {
+        int gzipThreshold = properties.getProperty("encoder.gzip-threshold", Integer.class, FastJsonEncoder.GZIP_DISABLED);
+        String mediaType = properties.getProperty("codec.media-type", JsonCodec.MEDIA_TYPE);
+        return RestFeignComponents.negotiatingCodec(mediaType, codecs, gzipThreshold);
+    }
+
+    private int connectTimeoutMillis(RestFeignClientProperties properties) {
+        return properties.getProperty("connect-timeout-millis", Integer.class, DEFAULT_CONNECT_TIMEOUT_MILLIS);
+    }
+
+    private CustomizedLogger createLogger(RestFeignClientProperties properties) {
+        int maxBodyBytes = properties.getProperty("logger.max-body-bytes", Integer.class, CustomizedLogger.DEFAULT_MAX_BODY_BYTES);
+        boolean async = properties.getProperty("logger.async", Boolean.class, Boolean.FALSE);
+        OverflowPolicy overflowPolicy = properties.getProperty("logger.overflow-policy", OverflowPolicy.class, OverflowPolicy.BLOCK);
+        // a failed build may be retried by a lazy client
+        if (async && !logDispatcherRetained) {
+            AsyncLogDispatcher.retain(environment.getProperty("rest.feign.logger.queue-capacity", Integer.class, AsyncLogDispatcher.DEFAULT_CAPACITY));
+            logDispatcherRetained = true;
+        }
+        return RestFeignComponents.logger(maxBodyBytes, async, overflowPolicy);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        PooledHttpClients.close(beanName);
+        AsyncHttpClients.close(beanName);
+        LoadBalancers.close(beanName);
+        ResponseCaches.close(beanName);
+        RequestCoalescers.remove(beanName);
+        Resiliences.remove(beanName);
+        RateLimiters.remove(beanName);
+        HedgePolicies.remove(beanName);
+        RetryBudgets.remove(beanName);
+        MicroBatchers.remove(beanName);
+        RestFeignMetrics.remove(beanName);
+        synchronized (this) {
+            if (logDispatcherRetained) {
+                logDispatcherRetained = false;
+                AsyncLogDispatcher.release();
+            }
+            if (metricsReportingRetained) {
+                metricsReportingRetained = false;
+                RestFeignMetrics.release();
+            }
+        }
+    }
+
+    /**
+     * resolve placeholders of prefix url, several urls are separated by comma
+     */
+    private List<String> resolvePrefixUrls() {
 
         String actualPrefixUrl = environment.resolvePlaceholders(prefixUrl);
 
+        List<String> actualPrefixUrls = new ArrayList<>();
+
+        for (String url : StringUtils.commaDelimitedListToStringArray(actualPrefixUrl)) {
+            url = url.trim();
+            if (!url.isEmpty()) {
+                actualPrefixUrls.add(withScheme(url));
+            }
+        }
+
+        return actualPrefixUrls;
+    }
+
+    private String withScheme(String actualPrefixUrl) {
+
+        if (isSecure) {
+
+            if (actualPrefixUrl.startsWith("http://")) {
+                actualPrefixUrl = StringUtils.replace(actualPrefixUrl, "http://", "https://");
+            }
+
+            if (!actualPrefixUrl.startsWith("https://")) {
+                actualPrefixUrl = "https://" + actualPrefixUrl;
+            }
+
+        } else {
+
+            if (actualPrefixUrl.startsWith("https://")) {
+                actualPrefixUrl = StringUtils.replace(actualPrefixUrl, "https://", "http://");
+            }
+
+            if (!actualPrefixUrl.startsWith("http://")) {
+                actualPrefixUrl = "http://" + actualPrefixUrl;
+            }
+
+        }
+
         return actualPrefixUrl;
     }
 
@@ -0,0 +1,76 @@
+package org.springframework.jersy.feign.core;
+
+import feign.Feign;
+import org.springframework.core.env.Environment;
+import org.springframework.jersy.feign.core.annotation.RestFeignClient;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+/**
+ * Environment overrides of {@link RestFeignClient} attributes, keyed by client name
+ * <p>
+ * eg: rest.feign.client.hello-world.transport=POOLED
+ *
+ * @author jiashuai.xie
+ */
+public class RestFeignClientProperties {
+
+    public static final String PREFIX = "rest.feign.client.";
+
+    private final Environment environment;
+
+    private final String clientName;
+
+    public RestFeignClientProperties(Environment environment, String clientName) {
+        this.environment = environment;
+        this.clientName = clientName;
+    }
+
+    /**
+     * get full property key for client
+     *
+     * @param clientName client name
+     * @param property   property name eg: pool.max-per-route
+     * @return rest.feign.client.{clientName}.{property}
+     */
+    public static String key(String clientName, String property) {
+        return PREFIX + clientName + "." + property;
+    }
+
+    /**
+     * get key of method in method.{methodKey}.* properties, feign configKey if the method name is overloaded
+     *
+     * @param type   interface
+     * @param method method of the interface
+     * @return eg: getUser, or UserApi#getUser(Long) if getUser is overloaded
+     */
+    public static String methodKey(Class<?> type, Method method) {
+        for (Method other : type.getMethods()) {
+            if (other.getName().equals(method.getName()) && !Arrays.equals(other.getParameterTypes(), method.getParameterTypes())) {
+                return Feign.configKey(type, method);
+            }
+        }
+        return method.getName();
+    }
+
+    public String getClientName() {
+        return clientName;
+    }
+
+    public boolean containsProperty(String property) {
+        return environment != null && environment.containsProperty(key(clientName, property));
+    }
+
+    public String getProperty(String property, String defaultValue) {
+        return getProperty(property, String.class, defaultValue);
+    }
+
+    public <T> T getProperty(String property, Class<T> type, T defaultValue) {
+        if (environment == null) {
+            return defaultValue;
+        }
+        return environment.getProperty(key(clientName, property), type, defaultValue);
+    }
+
+}
@@ -2,6 +2,9 @@ package org.springframework.jersy.feign.core;
 
 import feign.Logger;
 import feign.RequestInterceptor;
+import feign.codec.Decoder;
+import feign.codec.Encoder;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.BeanDefinitionHolder;
@@ -19,11 +22,17 @@ import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.core.type.filter.AnnotationTypeFilter;
 import org.springframework.jersy.feign.core.annotation.EnableRestFeignClients;
 import org.springframework.jersy.feign.core.annotation.RestFeignClient;
+import org.springframework.jersy.feign.core.client.Transport;
+import org.springframework.jersy.feign.core.codec.Codec;
+import org.springframework.jersy.feign.core.index.RestFeignClientIndex;
+import org.springframework.jersy.feign.core.util.BufferPool;
+import org.springframework.jersy.feign.core.warmup.RestFeignClientWarmer;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.StringUtils;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -31,11 +40,14 @@ import java.util.stream.Stream;
 
 /**
  * Handle {@link RestFeignClient}
+ * <p>
+ * clients are read from {@link RestFeignClientIndex} if present, packages without indexed client are scanned
  *
  * @author jiashuai.xie
  * @see EnableRestFeignClients
  * @see RestFeignClient
  */
+@Slf4j
 public class RestFeignClientRegistrar implements ImportBeanDefinitionRegistrar, EnvironmentAware, ResourceLoaderAware {
 
     private static final String SCAN_BASE_PACKAGES_ATTR = "scanBasePackages";
@@ -57,12 +69,40 @@ public class RestFeignClientRegistrar implements ImportBeanDefinitionRegistrar,
     @Override
     public void registerBeanDefinitions(AnnotationMetadata importingClassMetadata, BeanDefinitionRegistry registry) {
 
-        ClassPathBeanDefinitionScanner beanDefinitionScanner = getClassPathBeanDefinitionScanner(registry);
+        // shared by all clients, so it is set here instead of by each of them
+        BufferPool.setMaxRetainedBytes(environment.getProperty("rest.feign.buffer-pool.max-retained-bytes", Long.class, BufferPool.DEFAULT_MAX_RETAINED_BYTES));
+
+        ClassLoader classLoader = resourceLoader != null && resourceLoader.getClassLoader() != null
+                ? resourceLoader.getClassLoader() : ClassUtils.getDefaultClassLoader();
+
+        RestFeignClientIndex index = environment.getProperty(RestFeignClientIndex.IGNORE_PROPERTY, Boolean.class, Boolean.FALSE)
+                ? null : RestFeignClientIndex.load(classLoader);
+
+        ClassPathBeanDefinitionScanner beanDefinitionScanner = null;
 
         Set<String> scanPackageNames = getScanPackages(importingClassMetadata);
 
+        Set<String> unindexedPackages = getUnindexedPackages(importingClassMetadata, index);
+
         for (String scanPackageName : scanPackageNames) {
 
+            Map<String, Map<String, String>> indexedClients = index == null ? null : index.getClients(scanPackageName);
+
+            if (indexedClients != null && !indexedClients.isEmpty() && !unindexedPackages.contains(scanPackageName)) {
+
+                log.info("<---------- register rest feign clients of package:{} from index:{}---------->", scanPackageName, indexedClients.keySet());
+
+                for (Map.Entry<String, Map<String, String>> indexedClient : indexedClients.entrySet()) {
+                    registerRestFeignClients(toAnnotationAttributes(indexedClient.getValue(), classLoader), indexedClient.getKey(), registry);
+                }
+
+                continue;
+            }
+
+            if (beanDefinitionScanner == null) {
+                beanDefinitionScanner = getClassPathBeanDefinitionScanner(registry);
+            }
+
             Set<BeanDefinition> candidateComponents = beanDefinitionScanner.findCandidateComponents(scanPackageName);
 
             for (BeanDefinition candidateComponent : candidateComponents) {
@@ -75,7 +115,7 @@ public class RestFeignClientRegistrar implements ImportBeanDefinitionRegistrar,
                     Map<String, Object> annotationAttributes = annotationMetadata.getAnnotationAttributes(RestFeignClient.class.getName());
 
                     // do register
-                    registerRestFeignClients(annotationAttributes, annotationMetadata, registry);
+                    registerRestFeignClients(annotationAttributes, annotationMetadata.getClassName(), registry);
 
                 }
 
@@ -84,6 +124,67 @@ public class RestFeignClientRegistrar implements ImportBeanDefinitionRegistrar,
 
         }
 
+        if (!registry.containsBeanDefinition(RestFeignClientWarmer.BEAN_NAME)) {
+            // warms up clients of which warm-up is enabled, after all of them are registered and instantiated
+            registry.registerBeanDefinition(RestFeignClientWarmer.BEAN_NAME,
+                    BeanDefinitionBuilder.genericBeanDefinition(RestFeignClientWarmer.class).getBeanDefinition());
+        }
+
+    }
+
+    /**
+     * packages of {@link EnableRestFeignClients#clients()} which are not in index, eg: compiled without the processor
+     *
+     * @param importingClassMetadata
+     * @param index                  null if absent
+     * @return packages to scan even if index has other clients of them
+     */
+    private Set<String> getUnindexedPackages(AnnotationMetadata importingClassMetadata, RestFeignClientIndex index) {
+        Set<String> unindexedPackages = new HashSet<>();
+        if (index == null) {
+            return unindexedPackages;
+        }
+        Map<String, Object> attributes = importingClassMetadata.getAnnotationAttributes(EnableRestFeignClients.class.getCanonicalName());
+        for (Class<?> clientClass : (Class<?>[]) attributes.get("clients")) {
+            if (!index.contains(clientClass.getName())) {
+                unindexedPackages.add(ClassUtils.getPackageName(clientClass));
+            }
+        }
+        return unindexedPackages;
+    }
+
+    /**
+     * convert indexed attributes to the types of {@link AnnotationMetadata#getAnnotationAttributes(String)}
+     */
+    private Map<String, Object> toAnnotationAttributes(Map<String, String> indexed, ClassLoader classLoader) {
+
+        Map<String, Object> attributes = new HashMap<>(indexed);
+        attributes.put("isSecure", Boolean.valueOf(indexed.get("isSecure")));
+        attributes.put("singleton", Boolean.valueOf(indexed.get("singleton")));
+        attributes.put("lazy", Boolean.valueOf(indexed.get("lazy")));
+        attributes.put("level", Logger.Level.valueOf(indexed.get("level")));
+        attributes.put("transport", Transport.valueOf(indexed.get("transport")));
+        // absent in index of older version
+        attributes.put("rateLimit", Double.valueOf(indexed.getOrDefault("rateLimit", "0")));
+        attributes.put("rateLimitBurst", Integer.valueOf(indexed.getOrDefault("rateLimitBurst", "0")));
+        attributes.put("rateLimitTimeoutMillis", Long.valueOf(indexed.getOrDefault("rateLimitTimeoutMillis", "0")));
+
+        attributes.put("interceptors", resolveClassNames(indexed.get("interceptors"), classLoader));
+        attributes.put("codecs", resolveClassNames(indexed.get("codecs"), classLoader));
+        // absent in index of older version
+        attributes.put("encoder", indexed.containsKey("encoder") ? ClassUtils.resolveClassName(indexed.get("encoder"), classLoader) : void.class);
+        attributes.put("decoder", indexed.containsKey("decoder") ? ClassUtils.resolveClassName(indexed.get("decoder"), classLoader) : void.class);
+
+        return attributes;
+    }
+
+    private static Class<?>[] resolveClassNames(String commaDelimitedNames, ClassLoader classLoader) {
+        String[] names = StringUtils.commaDelimitedListToStringArray(commaDelimitedNames);
+        Class<?>[] classes = new Class<?>[names.length];
+        for (int i = 0; i < names.length; i++) {
+            classes[i] = ClassUtils.resolveClassName(names[i], classLoader);
+        }
+        return classes;
     }
 
     /**
@@ -112,13 +213,18 @@ public class RestFeignClientRegistrar implements ImportBeanDefinitionRegistrar,
         return beanDefinitionScanner;
     }
 
-    private void registerRestFeignClients(Map<String, Object> annotationAttributes, AnnotationMetadata annotationMetadata, BeanDefinitionRegistry registry) {
+    private void registerRestFeignClients(Map<String, Object> annotationAttributes, String className, BeanDefinitionRegistry registry) {
 
-        String beanName = getName(annotationAttributes, annotationMetadata);
+        String beanName = getName(annotationAttributes, className);
         String url = (String) annotationAttributes.get("url");
         Boolean isSecure = (Boolean) annotationAttributes.get("isSecure");
         Boolean singleton = (Boolean) annotationAttributes.get("singleton");
+        Boolean lazy = (Boolean) annotationAttributes.get("lazy");
         Logger.Level level = (Logger.Level) annotationAttributes.get("level");
+        Transport transport = (Transport) annotationAttributes.get("transport");
+        Double rateLimit = (Double) annotationAttributes.get("rateLimit");
+        Integer rateLimitBurst = (Integer) annotationAttributes.get("rateLimitBurst");
+        Long rateLimitTimeoutMillis = (Long) annotationAttributes.get("rateLimitTimeoutMillis");
 
         Class<? super RequestInterceptor>[] interceptors = (Class<? super RequestInterceptor>[]) annotationAttributes.get("interceptors");
         for (Class<?> clazz : interceptors) {
@@ -127,14 +233,35 @@ public class RestFeignClientRegistrar implements ImportBeanDefinitionRegistrar,
             }
         }
 
+        Class<?> encoder = (Class<?>) annotationAttributes.get("encoder");
+        checkType(encoder, Encoder.class);
+        Class<?> decoder = (Class<?>) annotationAttributes.get("decoder");
+        checkType(decoder, Decoder.class);
+        Class<?>[] codecs = (Class<?>[]) annotationAttributes.get("codecs");
+        for (Class<?> clazz : codecs) {
+            checkType(clazz, Codec.class);
+        }
+
         BeanDefinitionBuilder beanDefinitionBuilder = BeanDefinitionBuilder.genericBeanDefinition(RestFeignClientFactoryBean.class);
-        beanDefinitionBuilder.addPropertyValue("targetType", annotationMetadata.getClassName());
+        beanDefinitionBuilder.addPropertyValue("targetType", className);
         beanDefinitionBuilder.addPropertyValue("beanName", beanName);
         beanDefinitionBuilder.addPropertyValue("prefixUrl", url);
         beanDefinitionBuilder.addPropertyValue("singleton", singleton);
+        beanDefinitionBuilder.addPropertyValue("lazy", lazy);
         beanDefinitionBuilder.addPropertyValue("isSecure", isSecure);
         beanDefinitionBuilder.addPropertyValue("level", level);
         beanDefinitionBuilder.addPropertyValue("interceptors", Arrays.asList(interceptors));
+        beanDefinitionBuilder.addPropertyValue("transport", transport);
+        beanDefinitionBuilder.addPropertyValue("rateLimit", rateLimit);
+        beanDefinitionBuilder.addPropertyValue("rateLimitBurst", rateLimitBurst);
+        beanDefinitionBuilder.addPropertyValue("rateLimitTimeoutMillis", rateLimitTimeoutMillis);
+        if (void.class != encoder) {
+            beanDefinitionBuilder.addPropertyValue("encoder", encoder);
+        }
+        if (void.class != decoder) {
+            beanDefinitionBuilder.addPropertyValue("decoder", decoder);
+        }
+        beanDefinitionBuilder.addPropertyValue("codecs", Arrays.asList(codecs));
         beanDefinitionBuilder.setAutowireMode(AbstractBeanDefinition.AUTOWIRE_BY_TYPE);
         BeanDefinitionHolder beanDefinitionHolder = new BeanDefinitionHolder(beanDefinitionBuilder.getBeanDefinition(), beanName);
 
@@ -142,21 +269,31 @@ public class RestFeignClientRegistrar implements ImportBeanDefinitionRegistrar,
 
     }
 
+    /**
+     * @param clazz        void if absent
+     * @param expectedType type clazz must implement
+     */
+    private static void checkType(Class<?> clazz, Class<?> expectedType) {
+        if (void.class != clazz && !expectedType.isAssignableFrom(clazz)) {
+            throw new IllegalStateException("not valid class ,except:" + expectedType + "but:" + clazz);
+        }
+    }
+
     /**
      * get rest feign client name
      *
      * @param attributes
-     * @param annotationMetadata
+     * @param className
      * @return
      */
-    private String getName(Map<String, Object> attributes, AnnotationMetadata annotationMetadata) {
+    private String getName(Map<String, Object> attributes, String className) {
 
         String name = (String) attributes.get("name");
         if (!StringUtils.hasText(name)) {
             name = (String) attributes.get("value");
         }
         if (!StringUtils.hasText(name)) {
-            name = annotationMetadata.getClassName();
+            name = className;
         }
 
         return name;
@@ -0,0 +1,49 @@
+package org.springframework.jersy.feign.core.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * concurrent calls of a single-item method of {@link RestFeignClient} are buffered and sent as one call of the batch
+ * method of same interface, results are returned to each caller by key
+ * <p>
+ * the single-item method takes one key, the batch method takes a collection or an array of keys and returns a Map
+ * keyed by key, or a collection/array of elements whose {@link #keyProperty()} is the key, missing keys return null
+ * <p>
+ * eg: {@code @RestFeignBatch(method = "getUsers", keyProperty = "id") User getUser(@PathParam("id") Long id)}
+ *
+ * @author jiashuai.xie
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RestFeignBatch {
+
+    /**
+     * name of the batch method
+     *
+     * @return
+     */
+    String method();
+
+    /**
+     * property of result element which holds the key, not needed if batch method returns Map
+     *
+     * @return
+     */
+    String keyProperty() default "";
+
+    /**
+     * time the first call waits for others
+     *
+     * @return
+     */
+    long windowMillis() default 5;
+
+    /**
+     * distinct keys of one batch, a full batch is sent at once
+     *
+     * @return
+     */
+    int maxSize() default 100;
+
+}
@@ -0,0 +1,45 @@
+package org.springframework.jersy.feign.core.annotation;
+
+import org.springframework.jersy.feign.core.resilience.LimitType;
+
+import java.lang.annotation.*;
+
+/**
+ * limit concurrent calls of a method of {@link RestFeignClient}, in addition to the client limit
+ * rest.feign.client.{name}.bulkhead.type
+ *
+ * @author jiashuai.xie
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RestFeignBulkhead {
+
+    /**
+     * @return
+     * @see LimitType
+     */
+    LimitType type() default LimitType.FIXED;
+
+    /**
+     * limit of {@link LimitType#FIXED}, upper bound of adaptive limits
+     *
+     * @return
+     */
+    int maxConcurrency();
+
+    /**
+     * start limit of adaptive limits
+     *
+     * @return
+     */
+    int initialConcurrency() default 10;
+
+    /**
+     * lower bound of adaptive limits
+     *
+     * @return
+     */
+    int minConcurrency() default 1;
+
+}
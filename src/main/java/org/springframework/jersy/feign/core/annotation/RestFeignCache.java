@@ -0,0 +1,32 @@
+package org.springframework.jersy.feign.core.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * cache decoded result of a GET method of {@link RestFeignClient}
+ * <p>
+ * key is the resolved request url and {@link #keyHeaders()}, entries are revalidated by If-None-Match/If-Modified-Since
+ * after {@link #ttlMillis()} if the response has ETag/Last-Modified, cached object is shared and must not be modified
+ *
+ * @author jiashuai.xie
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RestFeignCache {
+
+    /**
+     * time to live of cached result
+     *
+     * @return
+     */
+    long ttlMillis() default 60000;
+
+    /**
+     * request headers which are part of cache key eg: Accept-Language
+     *
+     * @return
+     */
+    String[] keyHeaders() default {};
+
+}
@@ -3,6 +3,10 @@ package org.springframework.jersy.feign.core.annotation;
 
 import feign.Logger;
 import feign.RequestInterceptor;
+import feign.codec.Decoder;
+import feign.codec.Encoder;
+import org.springframework.jersy.feign.core.codec.Codec;
+import org.springframework.jersy.feign.core.client.Transport;
 
 import java.lang.annotation.*;
 
@@ -54,6 +58,14 @@ public @interface RestFeignClient {
      */
     boolean singleton() default true;
 
+    /**
+     * if true, will return a stub proxy, the feign client is built on first invocation,
+     * can be override by rest.feign.client.{name}.lazy
+     *
+     * @return
+     */
+    boolean lazy() default false;
+
     /**
      * the feign log level
      *
@@ -63,9 +75,74 @@ public @interface RestFeignClient {
     Logger.Level level() default Logger.Level.FULL;
 
     /**
+     * request interceptors, must implement {@link RequestInterceptor}
+     * <p>
+     * interceptors, encoder, decoder and codecs are instantiated by default constructor once per class and the
+     * instance is shared by all clients declaring the class, so they must be thread safe and must not keep state
+     * of one client
+     *
      * @return
      * @see RequestInterceptor
      */
     Class<?>[] interceptors() default {};
 
+    /**
+     * encoder of request body, must implement {@link Encoder}, default choose codec by Content-Type,
+     * instance is shared, see {@link #interceptors()}
+     *
+     * @return
+     * @see Codec
+     */
+    Class<?> encoder() default void.class;
+
+    /**
+     * decoder of response body, must implement {@link Decoder}, default choose codec by Content-Type,
+     * instance is shared, see {@link #interceptors()}
+     *
+     * @return
+     * @see Codec
+     */
+    Class<?> decoder() default void.class;
+
+    /**
+     * codecs besides built-in json and cbor, must implement {@link Codec},
+     * preferred media type can be set by rest.feign.client.{name}.codec.media-type; instances are shared,
+     * see {@link #interceptors()}
+     *
+     * @return
+     */
+    Class<?>[] codecs() default {};
+
+    /**
+     * requests per second of the client, 0 is unlimited,
+     * can be override by rest.feign.client.{name}.rate-limit.permits-per-second
+     *
+     * @return
+     * @see RestFeignRateLimit
+     */
+    double rateLimit() default 0;
+
+    /**
+     * requests allowed at once after idle, 0 means one second of permits,
+     * can be override by rest.feign.client.{name}.rate-limit.burst
+     *
+     * @return
+     */
+    int rateLimitBurst() default 0;
+
+    /**
+     * max time to wait for a permit, 0 fails fast, can be override by rest.feign.client.{name}.rate-limit.timeout-millis
+     *
+     * @return
+     */
+    long rateLimitTimeoutMillis() default 0;
+
+    /**
+     * http transport, can be override by rest.feign.client.{name}.transport
+     *
+     * @return
+     * @see Transport
+     */
+    Transport transport() default Transport.DEFAULT;
+
 }
@@ -0,0 +1,16 @@
+package org.springframework.jersy.feign.core.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * concurrent calls of a GET/HEAD method of {@link RestFeignClient} with equal arguments share one in-flight request
+ * and its decoded result, arguments must implement equals/hashCode and the shared result must not be modified
+ *
+ * @author jiashuai.xie
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RestFeignCoalesce {
+
+}
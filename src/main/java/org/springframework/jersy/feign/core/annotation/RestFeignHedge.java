@@ -0,0 +1,31 @@
+package org.springframework.jersy.feign.core.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * a GET method of {@link RestFeignClient} sends a second request when no response arrives within the given percentile
+ * of its recent latency, the first response wins, hedged requests take tokens of the client retry budget
+ * rest.feign.client.{name}.retry.budget.ratio
+ *
+ * @author jiashuai.xie
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RestFeignHedge {
+
+    /**
+     * percentile of recent latency to wait before hedging, in (0,100)
+     *
+     * @return
+     */
+    double percentile() default 95;
+
+    /**
+     * lower bound of hedge delay
+     *
+     * @return
+     */
+    long minDelayMillis() default 5;
+
+}
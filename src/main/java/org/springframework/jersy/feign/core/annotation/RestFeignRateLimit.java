@@ -0,0 +1,37 @@
+package org.springframework.jersy.feign.core.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * limit request rate of a method of {@link RestFeignClient}, in addition to the client limit
+ * {@link RestFeignClient#rateLimit()}, overridden by rest.feign.client.{name}.method.{methodName}.rate-limit.*
+ *
+ * @author jiashuai.xie
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RestFeignRateLimit {
+
+    /**
+     * requests per second
+     *
+     * @return
+     */
+    double permitsPerSecond();
+
+    /**
+     * requests allowed at once after idle, 0 means one second of permits
+     *
+     * @return
+     */
+    int burst() default 0;
+
+    /**
+     * max time to wait for a permit, 0 fails fast, -1 same as client
+     *
+     * @return
+     */
+    long timeoutMillis() default -1;
+
+}
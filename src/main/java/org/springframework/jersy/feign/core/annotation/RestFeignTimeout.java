@@ -0,0 +1,30 @@
+package org.springframework.jersy.feign.core.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * timeouts of a method of {@link RestFeignClient}, overridden by
+ * rest.feign.client.{name}.method.{methodName}.connect-timeout-millis and read-timeout-millis
+ *
+ * @author jiashuai.xie
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RestFeignTimeout {
+
+    /**
+     * negative means timeout of client
+     *
+     * @return
+     */
+    int connectTimeoutMillis() default -1;
+
+    /**
+     * negative means timeout of client
+     *
+     * @return
+     */
+    int readTimeoutMillis() default -1;
+
+}
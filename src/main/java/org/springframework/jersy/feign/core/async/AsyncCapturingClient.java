@@ -0,0 +1,77 @@
+package org.springframework.jersy.feign.core.async;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.IOException;
+
+/**
+ * Decorate {@link Client}, when an async method is invoked the request built by feign
+ * (interceptors, encoder and logger already applied) is captured instead of executed
+ *
+ * @author jiashuai.xie
+ * @see AsyncMethodHandlerDecorator
+ */
+public class AsyncCapturingClient implements Client {
+
+    private static final ThreadLocal<Capture> CAPTURE = new ThreadLocal<>();
+
+    private final Client delegate;
+
+    public AsyncCapturingClient(Client delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        Capture capture = CAPTURE.get();
+        if (capture != null && capture.client == this && capture.request == null) {
+            capture.request = request;
+            capture.options = options;
+            throw CapturedSignal.INSTANCE;
+        }
+        return delegate.execute(request, options);
+    }
+
+    /**
+     * next request executed by this client on current thread will be captured
+     */
+    Capture begin() {
+        Capture capture = new Capture(this);
+        CAPTURE.set(capture);
+        return capture;
+    }
+
+    static void end() {
+        CAPTURE.remove();
+    }
+
+    static class Capture {
+
+        private final AsyncCapturingClient client;
+
+        Request request;
+
+        Request.Options options;
+
+        Capture(AsyncCapturingClient client) {
+            this.client = client;
+        }
+    }
+
+    /**
+     * unwind feign call stack once request is captured, never seen by user
+     */
+    static class CapturedSignal extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        static final CapturedSignal INSTANCE = new CapturedSignal();
+
+        private CapturedSignal() {
+            super("request captured", null, false, false);
+        }
+    }
+
+}
@@ -0,0 +1,227 @@
+package org.springframework.jersy.feign.core.async;
+
+import feign.Request;
+import feign.Response;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.config.TlsConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClientBuilder;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.jersy.feign.core.client.ConnectionPoolConfig;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Non-blocking http engine of async methods, based on apache http async client,
+ * HTTP/2 is negotiated by ALPN when server supports it
+ *
+ * @author jiashuai.xie
+ */
+public class AsyncHttpClient implements Closeable {
+
+    private final String clientName;
+
+    private final CloseableHttpAsyncClient httpClient;
+
+    private final RequestConfig defaultRequestConfig;
+
+    private final int maxInFlight;
+
+    private final Semaphore inFlight;
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    public AsyncHttpClient(String clientName, ConnectionPoolConfig config, int maxInFlight) {
+
+        this.clientName = clientName;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+
+        this.defaultRequestConfig = RequestConfig.custom()
+                // used by DefaultConnectionKeepAliveStrategy when server does not send Keep-Alive
+                .setConnectionKeepAlive(TimeValue.ofMilliseconds(config.getKeepAliveMillis()))
+                .build();
+
+        HttpAsyncClientBuilder builder = HttpAsyncClients.custom()
+                .setConnectionManager(PoolingAsyncClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(config.getMaxConnections())
+                        .setMaxConnPerRoute(config.getMaxConnectionsPerRoute())
+                        .setDefaultTlsConfig(TlsConfig.custom().setVersionPolicy(HttpVersionPolicy.NEGOTIATE).build())
+                        .build())
+                .setDefaultRequestConfig(defaultRequestConfig)
+                .evictExpiredConnections();
+
+        if (config.getIdleEvictionMillis() > 0) {
+            builder.evictIdleConnections(TimeValue.ofMilliseconds(config.getIdleEvictionMillis()));
+        }
+
+        this.httpClient = builder.build();
+        this.httpClient.start();
+    }
+
+    /**
+     * send request without blocking
+     *
+     * @return future completed on io thread, completed exceptionally with {@link RejectedExecutionException}
+     * if too many requests are in flight
+     */
+    public CompletableFuture<Response> execute(Request request, Request.Options options) {
+
+        CompletableFuture<Response> future = new CompletableFuture<>();
+
+        if (!inFlight.tryAcquire()) {
+            rejected.incrementAndGet();
+            future.completeExceptionally(new RejectedExecutionException("too many in-flight requests of " + clientName + ", max:" + maxInFlight));
+            return future;
+        }
+
+        try {
+            httpClient.execute(toHttpRequest(request, options), new FutureCallback<SimpleHttpResponse>() {
+
+                @Override
+                public void completed(SimpleHttpResponse result) {
+                    inFlight.release();
+                    future.complete(toFeignResponse(result, request));
+                }
+
+                @Override
+                public void failed(Exception ex) {
+                    inFlight.release();
+                    future.completeExceptionally(ex);
+                }
+
+                @Override
+                public void cancelled() {
+                    inFlight.release();
+                    future.cancel(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.release();
+            future.completeExceptionally(e);
+        }
+
+        return future;
+    }
+
+    private SimpleHttpRequest toHttpRequest(Request request, Request.Options options) {
+
+        SimpleHttpRequest httpRequest = SimpleHttpRequest.create(request.method(), URI.create(request.url()));
+
+        httpRequest.setConfig(requestConfig(options));
+
+        String contentType = null;
+
+        for (Map.Entry<String, Collection<String>> header : request.headers().entrySet()) {
+
+            String name = header.getKey();
+
+            // set by engine, connection specific headers are not allowed by HTTP/2
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)
+                    || HttpHeaders.TRANSFER_ENCODING.equalsIgnoreCase(name)
+                    || HttpHeaders.CONNECTION.equalsIgnoreCase(name)
+                    || HttpHeaders.KEEP_ALIVE.equalsIgnoreCase(name)) {
+                continue;
+            }
+
+            if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+                contentType = header.getValue().isEmpty() ? null : header.getValue().iterator().next();
+                continue;
+            }
+
+            for (String value : header.getValue()) {
+                httpRequest.addHeader(name, value);
+            }
+        }
+
+        if (request.body() != null) {
+            ContentType entityContentType = contentType != null ? ContentType.parseLenient(contentType) : ContentType.DEFAULT_BINARY;
+            httpRequest.setBody(request.body(), entityContentType);
+        } else if (contentType != null) {
+            httpRequest.addHeader(HttpHeaders.CONTENT_TYPE, contentType);
+        }
+
+        return httpRequest;
+    }
+
+    /**
+     * keep keep-alive of the default config; connect timeout is set per request as timeouts of a method may differ
+     * from those of its client, the connection may be opened on an io thread, so that unlike {@link
+     * org.apache.hc.client5.http.config.ConnectionConfig} the request config is the only place to carry it
+     */
+    @SuppressWarnings("deprecation")
+    private RequestConfig requestConfig(Request.Options options) {
+        return RequestConfig.copy(defaultRequestConfig)
+                .setConnectTimeout(Timeout.ofMilliseconds(options.connectTimeoutMillis()))
+                .setResponseTimeout(Timeout.ofMilliseconds(options.readTimeoutMillis()))
+                .build();
+    }
+
+    private static Response toFeignResponse(SimpleHttpResponse httpResponse, Request request) {
+
+        Map<String, Collection<String>> headers = new LinkedHashMap<>();
+
+        for (Header header : httpResponse.getHeaders()) {
+            headers.computeIfAbsent(header.getName(), name -> new ArrayList<>()).add(header.getValue());
+        }
+
+        Response.Builder builder = Response.builder()
+                .status(httpResponse.getCode())
+                .reason(httpResponse.getReasonPhrase())
+                .headers(headers)
+                .request(request);
+
+        byte[] body = httpResponse.getBodyBytes();
+        if (body != null) {
+            builder.body(body);
+        }
+
+        return builder.build();
+    }
+
+    public String getClientName() {
+        return clientName;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public int getInFlight() {
+        return maxInFlight - inFlight.availablePermits();
+    }
+
+    /**
+     * @return requests rejected because of {@link #maxInFlight}
+     */
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        httpClient.close(CloseMode.GRACEFUL);
+    }
+
+}
@@ -0,0 +1,59 @@
+package org.springframework.jersy.feign.core.async;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jersy.feign.core.client.ConnectionPoolConfig;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link AsyncHttpClient} shared per client name
+ *
+ * @author jiashuai.xie
+ */
+@Slf4j
+public abstract class AsyncHttpClients {
+
+    private static final ConcurrentMap<String, AsyncHttpClient> CLIENTS = new ConcurrentHashMap<>();
+
+    /**
+     * get async client of client name, create it if absent
+     *
+     * @param clientName  client name
+     * @param config      used only when create
+     * @param maxInFlight used only when create
+     * @return AsyncHttpClient
+     */
+    public static AsyncHttpClient obtain(String clientName, ConnectionPoolConfig config, int maxInFlight) {
+        return CLIENTS.computeIfAbsent(clientName, name -> {
+            log.info("<---------- create async http client for:{},config:{},max-in-flight:{}---------->", name, config, maxInFlight);
+            return new AsyncHttpClient(name, config, maxInFlight);
+        });
+    }
+
+    /**
+     * @param clientName client name
+     * @return null if client has no async method
+     */
+    public static AsyncHttpClient get(String clientName) {
+        return CLIENTS.get(clientName);
+    }
+
+    /**
+     * close and remove async client of client name
+     *
+     * @param clientName client name
+     */
+    public static void close(String clientName) {
+        AsyncHttpClient client = CLIENTS.remove(clientName);
+        if (client != null) {
+            try {
+                client.close();
+            } catch (IOException e) {
+                log.warn("fail to close async http client of:{}", clientName, e);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,256 @@
+package org.springframework.jersy.feign.core.async;
+
+import feign.Feign;
+import feign.FeignException;
+import feign.InvocationHandlerFactory.MethodHandler;
+import feign.Logger;
+import feign.Request;
+import feign.Response;
+import feign.RetryableException;
+import feign.Target;
+import feign.codec.DecodeException;
+import feign.codec.Decoder;
+import feign.codec.ErrorDecoder;
+import org.springframework.jersy.feign.core.compression.DecompressingClient;
+import org.springframework.jersy.feign.core.loadbalancer.EndpointChoice;
+import org.springframework.jersy.feign.core.loadbalancer.LoadBalancer;
+import org.springframework.jersy.feign.core.logger.CustomizedLogger;
+import org.springframework.jersy.feign.core.metrics.MethodMetrics;
+import org.springframework.jersy.feign.core.metrics.MetricsClient;
+import org.springframework.jersy.feign.core.proxy.MethodHandlerDecorator;
+import org.springframework.jersy.feign.core.ratelimit.MethodRateLimit;
+import org.springframework.jersy.feign.core.ratelimit.RateLimitExceededException;
+import org.springframework.jersy.feign.core.timeout.DeadlineExceededException;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implement {@link MethodHandlerDecorator}, methods returning {@link CompletableFuture} are executed by {@link AsyncHttpClient}
+ * <p>
+ * request is built on caller thread by feign (interceptors, encoder, logger) and captured by {@link AsyncCapturingClient},
+ * response is logged and decoded by the same logger and decoder on {@link #executor}, no retry is applied
+ *
+ * @author jiashuai.xie
+ */
+public class AsyncMethodHandlerDecorator implements MethodHandlerDecorator {
+
+    private final AsyncCapturingClient capturingClient;
+
+    private final AsyncHttpClient httpClient;
+
+    private final Decoder decoder;
+
+    private final ErrorDecoder errorDecoder;
+
+    private final Logger logger;
+
+    private final Logger.Level logLevel;
+
+    private final Executor executor;
+
+    private final LoadBalancer loadBalancer;
+
+    private final boolean decompress;
+
+    /**
+     * @param loadBalancer null if client is not balanced
+     * @param decompress   inflate gzip/deflate response body
+     */
+    public AsyncMethodHandlerDecorator(AsyncCapturingClient capturingClient, AsyncHttpClient httpClient, Decoder decoder,
+                                       ErrorDecoder errorDecoder, Logger logger, Logger.Level logLevel, Executor executor,
+                                       LoadBalancer loadBalancer, boolean decompress) {
+        this.capturingClient = capturingClient;
+        this.httpClient = httpClient;
+        this.decoder = decoder;
+        this.errorDecoder = errorDecoder;
+        this.logger = logger;
+        this.logLevel = logLevel;
+        this.executor = executor;
+        this.loadBalancer = loadBalancer;
+        this.decompress = decompress;
+    }
+
+    /**
+     * @param type interface
+     * @return true if any abstract method returns {@link CompletableFuture}
+     */
+    public static boolean hasAsyncMethods(Class<?> type) {
+        for (Method method : type.getMethods()) {
+            if (isAsync(method)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isAsync(Method method) {
+        return !method.isDefault() && method.getReturnType() == CompletableFuture.class;
+    }
+
+    @Override
+    public MethodHandler decorate(Target<?> target, Method method, MethodHandler handler) {
+        if (!isAsync(method)) {
+            return handler;
+        }
+        Type returnType = method.getGenericReturnType();
+        Type responseType = returnType instanceof ParameterizedType ? ((ParameterizedType) returnType).getActualTypeArguments()[0] : Object.class;
+        return new AsyncMethodHandler(handler, Feign.configKey(target.type(), method), responseType);
+    }
+
+    private class AsyncMethodHandler implements MethodHandler {
+
+        private final MethodHandler delegate;
+
+        private final String configKey;
+
+        private final Type responseType;
+
+        AsyncMethodHandler(MethodHandler delegate, String configKey, Type responseType) {
+            this.delegate = delegate;
+            this.configKey = configKey;
+            this.responseType = responseType;
+        }
+
+        @Override
+        public Object invoke(Object[] argv) throws Throwable {
+
+            AsyncCapturingClient.Capture capture = capturingClient.begin();
+            try {
+                delegate.invoke(argv);
+                throw new IllegalStateException("request of " + configKey + " is not captured");
+            } catch (AsyncCapturingClient.CapturedSignal signal) {
+                // request is built
+            } catch (DeadlineExceededException e) {
+                CompletableFuture<Object> expired = new CompletableFuture<>();
+                expired.completeExceptionally(e);
+                return expired;
+            } finally {
+                AsyncCapturingClient.end();
+            }
+
+            MethodRateLimit rateLimit = MethodRateLimit.current();
+
+            if (rateLimit != null) {
+                // captured request does not reach RateLimitingClient, take its permit on caller thread
+                try {
+                    rateLimit.acquire();
+                } catch (RateLimitExceededException | IOException e) {
+                    CompletableFuture<Object> limited = new CompletableFuture<>();
+                    limited.completeExceptionally(e);
+                    return limited;
+                }
+            }
+
+            EndpointChoice choice = loadBalancer != null && loadBalancer.isBalanced(capture.request) ? loadBalancer.choose() : null;
+
+            Request request = choice != null ? loadBalancer.rewrite(capture.request, choice.getEndpoint()) : capture.request;
+
+            StringBuilder record = logger instanceof CustomizedLogger && logLevel != Logger.Level.NONE
+                    ? ((CustomizedLogger) logger).detachRecord() : null;
+
+            MethodMetrics metrics = MethodMetrics.current();
+            if (metrics != null && request.body() != null) {
+                metrics.recordBytesOut(request.body().length);
+            }
+
+            if (choice != null) {
+                choice.start();
+            }
+
+            long start = System.nanoTime();
+
+            CompletableFuture<Object> result = new CompletableFuture<>();
+
+            httpClient.execute(request, capture.options).whenComplete((response, ex) -> {
+                long elapsedNanos = System.nanoTime() - start;
+                if (choice != null) {
+                    choice.complete(elapsedNanos, ex == null && response.status() < 500);
+                }
+                long elapsedTime = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+                try {
+                    executor.execute(() -> complete(result, request, response, ex, metrics, rateLimit, record, elapsedTime));
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            });
+
+            return result;
+        }
+
+        private void complete(CompletableFuture<Object> result, Request request, Response response, Throwable ex,
+                              MethodMetrics metrics, MethodRateLimit rateLimit, StringBuilder record, long elapsedTime) {
+            try {
+                if (ex != null) {
+                    result.completeExceptionally(errorExecuting(request, ex, record, elapsedTime));
+                } else {
+                    if (rateLimit != null) {
+                        rateLimit.observe(response);
+                    }
+                    if (metrics != null) {
+                        response = MetricsClient.record(metrics, response);
+                    }
+                    if (decompress) {
+                        response = DecompressingClient.decompress(response, metrics);
+                    }
+                    result.complete(handle(request, response, record, elapsedTime));
+                }
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        /**
+         * same as feign.SynchronousMethodHandler#executeAndDecode after response is received
+         */
+        private Object handle(Request request, Response response, StringBuilder record, long elapsedTime) throws Exception {
+            try {
+                if (record != null) {
+                    response = ((CustomizedLogger) logger).logAndRebufferResponse(record, configKey, logLevel, response, elapsedTime);
+                }
+                if (response.status() >= 200 && response.status() < 300) {
+                    if (Void.class == responseType) {
+                        return null;
+                    }
+                    return decode(response);
+                }
+                throw errorDecoder.decode(configKey, response);
+            } catch (IOException e) {
+                if (record != null) {
+                    ((CustomizedLogger) logger).logIOException(record, configKey, logLevel, e, elapsedTime);
+                }
+                throw new DecodeException(String.format("%s reading %s %s", e.getMessage(), request.method(), request.url()), e);
+            }
+        }
+
+        private Object decode(Response response) throws IOException {
+            try {
+                return decoder.decode(response, responseType);
+            } catch (FeignException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                throw new DecodeException(e.getMessage(), e);
+            }
+        }
+
+        private Throwable errorExecuting(Request request, Throwable ex, StringBuilder record, long elapsedTime) {
+            if (ex instanceof CompletionException && ex.getCause() != null) {
+                ex = ex.getCause();
+            }
+            if (!(ex instanceof IOException)) {
+                return ex;
+            }
+            if (record != null) {
+                ((CustomizedLogger) logger).logIOException(record, configKey, logLevel, (IOException) ex, elapsedTime);
+            }
+            return new RetryableException(String.format("%s executing %s %s", ex.getMessage(), request.method(), request.url()), ex, null);
+        }
+    }
+
+}
@@ -0,0 +1,21 @@
+package org.springframework.jersy.feign.core.batch;
+
+import feign.FeignException;
+
+/**
+ * Failure of a batch call seen by one of its callers, the exception of the batch method is the cause and its status
+ * is kept; each caller gets its own instance, a shared one would be mutated by addSuppressed of every caller
+ *
+ * @author jiashuai.xie
+ */
+public class BatchCallException extends FeignException {
+
+    private static final long serialVersionUID = 1L;
+
+    BatchCallException(String configKey, Throwable cause) {
+        super(cause instanceof FeignException ? ((FeignException) cause).status() : 0,
+                "batch call of " + configKey + " failed: " + cause);
+        initCause(cause);
+    }
+
+}
@@ -0,0 +1,108 @@
+package org.springframework.jersy.feign.core.batch;
+
+import feign.Feign;
+import feign.InvocationHandlerFactory.MethodHandler;
+import feign.Target;
+import org.springframework.jersy.feign.core.annotation.RestFeignBatch;
+import org.springframework.jersy.feign.core.proxy.MethodHandlerDecorator;
+import org.springframework.util.StringUtils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implement {@link MethodHandlerDecorator}, calls of methods annotated by {@link RestFeignBatch} are sent by
+ * {@link MicroBatcher} through the handler of the batch method
+ *
+ * @author jiashuai.xie
+ */
+public class BatchMethodHandlerDecorator implements MethodHandlerDecorator {
+
+    private final String clientName;
+
+    /**
+     * handlers of methods which may be batch methods, batch method may be decorated after single-item method
+     */
+    private final Map<Method, MethodHandler> handlers = new ConcurrentHashMap<>();
+
+    public BatchMethodHandlerDecorator(String clientName) {
+        this.clientName = clientName;
+    }
+
+    /**
+     * @param type interface
+     * @return true if any method is batched
+     */
+    public static boolean hasBatchedMethods(Class<?> type) {
+        for (Method method : type.getMethods()) {
+            if (!method.isDefault() && method.isAnnotationPresent(RestFeignBatch.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public MethodHandler decorate(Target<?> target, Method method, MethodHandler handler) {
+
+        if (method.isDefault()) {
+            return handler;
+        }
+
+        if (method.getParameterCount() == 1) {
+            handlers.put(method, handler);
+        }
+
+        RestFeignBatch batch = method.getAnnotation(RestFeignBatch.class);
+        if (batch == null) {
+            return handler;
+        }
+
+        String configKey = Feign.configKey(target.type(), method);
+
+        // a key missing from batch result gets null, which a primitive return type cannot take
+        if (method.getParameterCount() != 1 || method.getReturnType().isPrimitive() || method.getReturnType() == CompletableFuture.class) {
+            throw new IllegalStateException("batched method must take one key and return an object:" + configKey);
+        }
+
+        Method batchMethod = findBatchMethod(target.type(), batch, configKey);
+
+        MicroBatcher batcher = new MicroBatcher(configKey, () -> handlers.get(batchMethod), batchMethod.getParameterTypes()[0],
+                batch.keyProperty(), batch.windowMillis(), batch.maxSize());
+
+        MicroBatchers.register(clientName, batcher);
+
+        return argv -> batcher.invoke(argv[0]);
+    }
+
+    private static Method findBatchMethod(Class<?> type, RestFeignBatch batch, String configKey) {
+
+        for (Method candidate : type.getMethods()) {
+
+            if (!candidate.getName().equals(batch.method()) || candidate.isDefault() || candidate.getParameterCount() != 1) {
+                continue;
+            }
+
+            Class<?> keysType = candidate.getParameterTypes()[0];
+            if (!keysType.isArray() && !keysType.isAssignableFrom(ArrayList.class) && !keysType.isAssignableFrom(LinkedHashSet.class)) {
+                continue;
+            }
+
+            Class<?> returnType = candidate.getReturnType();
+            if (Map.class.isAssignableFrom(returnType)) {
+                return candidate;
+            }
+            if ((Iterable.class.isAssignableFrom(returnType) || returnType.isArray()) && StringUtils.hasText(batch.keyProperty())) {
+                return candidate;
+            }
+        }
+
+        throw new IllegalStateException("no batch method:" + batch.method() + " which takes a collection of keys and returns Map, "
+                + "or collection with keyProperty, for:" + configKey);
+    }
+
+}
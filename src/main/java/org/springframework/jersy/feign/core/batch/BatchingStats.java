@@ -0,0 +1,30 @@
+package org.springframework.jersy.feign.core.batch;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * snapshot of a batched method
+ *
+ * @author jiashuai.xie
+ * @see MicroBatchers#getStats(String)
+ */
+@Data
+@AllArgsConstructor
+public class BatchingStats {
+
+    private String configKey;
+
+    private long calls;
+
+    /**
+     * batch requests sent
+     */
+    private long batches;
+
+    /**
+     * distinct keys sent, less than calls if concurrent calls share a key
+     */
+    private long keys;
+
+}
@@ -0,0 +1,251 @@
+package org.springframework.jersy.feign.core.batch;
+
+import feign.InvocationHandlerFactory.MethodHandler;
+import org.springframework.beans.BeanUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Buffer calls of a single-item method and send them by one call of the batch method
+ * <p>
+ * the first call of a batch is the leader, it waits {@code windowMillis} for others then sends the batch on its own
+ * thread, a call which fills the batch to {@code maxSize} sends it at once, so no extra thread is needed
+ * <p>
+ * if the batch method fails, each caller gets its own {@link BatchCallException} caused by the failure
+ *
+ * @author jiashuai.xie
+ */
+public class MicroBatcher {
+
+    private final String configKey;
+
+    private final Supplier<MethodHandler> batchHandler;
+
+    private final Class<?> keysType;
+
+    private final String keyProperty;
+
+    private final long windowNanos;
+
+    private final int maxSize;
+
+    private final ConcurrentMap<Class<?>, Method> keyReaders = new ConcurrentHashMap<>();
+
+    private final LongAdder calls = new LongAdder();
+
+    private final LongAdder batches = new LongAdder();
+
+    private final LongAdder keys = new LongAdder();
+
+    /**
+     * guarded by this
+     */
+    private Batch current;
+
+    /**
+     * @param configKey    configKey of single-item method
+     * @param batchHandler handler of batch method, resolved on first batch
+     * @param keysType     parameter type of batch method, a collection or an array
+     * @param keyProperty  property of result element which holds the key, null if batch method returns Map
+     * @param windowMillis time the leader waits
+     * @param maxSize      distinct keys of one batch
+     */
+    public MicroBatcher(String configKey, Supplier<MethodHandler> batchHandler, Class<?> keysType, String keyProperty, long windowMillis, int maxSize) {
+        this.configKey = configKey;
+        this.batchHandler = batchHandler;
+        this.keysType = keysType;
+        this.keyProperty = keyProperty;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.maxSize = Math.max(1, maxSize);
+    }
+
+    public Object invoke(Object key) throws Throwable {
+
+        if (key == null) {
+            throw new IllegalArgumentException("key of " + configKey + " must not be null");
+        }
+
+        calls.increment();
+
+        Batch batch;
+        CompletableFuture<Object> future;
+        boolean leader = false;
+        boolean full;
+
+        synchronized (this) {
+            if (current == null) {
+                current = new Batch();
+                leader = true;
+            }
+            batch = current;
+            future = batch.calls.computeIfAbsent(key, k -> new CompletableFuture<>());
+            full = batch.calls.size() >= maxSize;
+            if (full) {
+                current = null;
+            }
+        }
+
+        if (full) {
+            execute(batch);
+        } else if (leader) {
+            try {
+                return future.get(windowNanos, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                if (take(batch)) {
+                    execute(batch);
+                }
+            } catch (InterruptedException e) {
+                // others are waiting for this batch, send it anyway
+                Thread.currentThread().interrupt();
+                if (take(batch)) {
+                    execute(batch);
+                }
+            } catch (ExecutionException e) {
+                throw new BatchCallException(configKey, e.getCause());
+            }
+        }
+
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // callers of one batch, even of equal keys, share the exception of batch method
+            throw new BatchCallException(configKey, e.getCause());
+        }
+    }
+
+    private synchronized boolean take(Batch batch) {
+        if (current != batch) {
+            return false;
+        }
+        current = null;
+        return true;
+    }
+
+    private void execute(Batch batch) {
+
+        batches.increment();
+        keys.add(batch.calls.size());
+
+        Map<Object, Object> results;
+        try {
+            results = index(batchHandler.get().invoke(new Object[]{toKeys(batch.calls.keySet())}));
+        } catch (Throwable e) {
+            for (CompletableFuture<Object> future : batch.calls.values()) {
+                future.completeExceptionally(e);
+            }
+            return;
+        }
+
+        for (Map.Entry<Object, CompletableFuture<Object>> call : batch.calls.entrySet()) {
+            call.getValue().complete(results.get(normalize(call.getKey())));
+        }
+    }
+
+    private Object toKeys(Set<Object> keys) {
+        if (keysType.isArray()) {
+            Object array = Array.newInstance(keysType.getComponentType(), keys.size());
+            int i = 0;
+            for (Object key : keys) {
+                Array.set(array, i++, key);
+            }
+            return array;
+        }
+        if (keysType.isAssignableFrom(ArrayList.class)) {
+            return new ArrayList<>(keys);
+        }
+        return new LinkedHashSet<>(keys);
+    }
+
+    private Map<Object, Object> index(Object result) throws ReflectiveOperationException {
+
+        if (result == null) {
+            return Collections.emptyMap();
+        }
+
+        Map<Object, Object> indexed = new HashMap<>();
+
+        if (result instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) result).entrySet()) {
+                indexed.put(normalize(entry.getKey()), entry.getValue());
+            }
+        } else if (result instanceof Iterable) {
+            for (Object element : (Iterable<?>) result) {
+                put(indexed, element);
+            }
+        } else if (result.getClass().isArray()) {
+            for (int i = 0, length = Array.getLength(result); i < length; i++) {
+                put(indexed, Array.get(result, i));
+            }
+        } else {
+            throw new IllegalStateException("result of batch method for " + configKey + " is neither Map nor collection");
+        }
+
+        return indexed;
+    }
+
+    private void put(Map<Object, Object> indexed, Object element) throws ReflectiveOperationException {
+        if (element == null) {
+            return;
+        }
+        Object key;
+        if (element instanceof Map) {
+            key = ((Map<?, ?>) element).get(keyProperty);
+        } else {
+            key = keyReader(element.getClass()).invoke(element);
+        }
+        indexed.put(normalize(key), element);
+    }
+
+    private Method keyReader(Class<?> type) {
+        return keyReaders.computeIfAbsent(type, clazz -> {
+            PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(clazz, keyProperty);
+            if (descriptor == null || descriptor.getReadMethod() == null) {
+                throw new IllegalStateException("no readable property:" + keyProperty + " in " + clazz + " for " + configKey);
+            }
+            return descriptor.getReadMethod();
+        });
+    }
+
+    /**
+     * decoded keys may differ in type from argument keys, eg: Integer and Long
+     */
+    private static Object normalize(Object key) {
+        return key instanceof Number || key instanceof CharSequence ? key.toString() : key;
+    }
+
+    public String getConfigKey() {
+        return configKey;
+    }
+
+    public BatchingStats getStats() {
+        return new BatchingStats(configKey, calls.sum(), batches.sum(), keys.sum());
+    }
+
+    /**
+     * calls of one batch keyed by key, calls of equal keys share one future
+     */
+    private static class Batch {
+
+        private final Map<Object, CompletableFuture<Object>> calls = new LinkedHashMap<>();
+
+    }
+
+}
@@ -0,0 +1,36 @@
+package org.springframework.jersy.feign.core.batch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link MicroBatcher} of all rest feign clients, keyed by client name and configKey of single-item method
+ *
+ * @author jiashuai.xie
+ */
+public abstract class MicroBatchers {
+
+    private static final ConcurrentMap<String, ConcurrentMap<String, MicroBatcher>> CLIENTS = new ConcurrentHashMap<>();
+
+    static void register(String clientName, MicroBatcher batcher) {
+        CLIENTS.computeIfAbsent(clientName, name -> new ConcurrentHashMap<>()).put(batcher.getConfigKey(), batcher);
+    }
+
+    public static List<BatchingStats> getStats(String clientName) {
+        List<BatchingStats> stats = new ArrayList<>();
+        ConcurrentMap<String, MicroBatcher> batchers = CLIENTS.get(clientName);
+        if (batchers != null) {
+            for (MicroBatcher batcher : batchers.values()) {
+                stats.add(batcher.getStats());
+            }
+        }
+        return stats;
+    }
+
+    public static void remove(String clientName) {
+        CLIENTS.remove(clientName);
+    }
+
+}
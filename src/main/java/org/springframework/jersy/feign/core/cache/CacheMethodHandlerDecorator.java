@@ -0,0 +1,98 @@
+package org.springframework.jersy.feign.core.cache;
+
+import feign.Feign;
+import feign.InvocationHandlerFactory.MethodHandler;
+import feign.Response;
+import feign.Target;
+import org.springframework.jersy.feign.core.annotation.RestFeignCache;
+import org.springframework.jersy.feign.core.proxy.MethodHandlerDecorator;
+import org.springframework.jersy.feign.core.util.ReflectUtils;
+
+import javax.ws.rs.GET;
+import java.lang.reflect.Method;
+
+/**
+ * Implement {@link MethodHandlerDecorator}, GET methods annotated by {@link RestFeignCache} are served by {@link CachingClient}
+ * <p>
+ * lazy (Iterator/Stream/StreamingElements), raw {@link Response} and async methods are never cached
+ *
+ * @author jiashuai.xie
+ */
+public class CacheMethodHandlerDecorator implements MethodHandlerDecorator {
+
+    private final CachingClient client;
+
+    private final ResponseCache cache;
+
+    public CacheMethodHandlerDecorator(CachingClient client, ResponseCache cache) {
+        this.client = client;
+        this.cache = cache;
+    }
+
+    /**
+     * @param type interface
+     * @return true if any method can be cached
+     */
+    public static boolean hasCachedMethods(Class<?> type) {
+        for (Method method : type.getMethods()) {
+            if (isCached(method)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isCached(Method method) {
+        if (method.isDefault() || !method.isAnnotationPresent(RestFeignCache.class) || !method.isAnnotationPresent(GET.class)) {
+            return false;
+        }
+        return ReflectUtils.hasShareableResult(method);
+    }
+
+    @Override
+    public MethodHandler decorate(Target<?> target, Method method, MethodHandler handler) {
+        if (!isCached(method)) {
+            return handler;
+        }
+        RestFeignCache annotation = method.getAnnotation(RestFeignCache.class);
+        return new CacheMethodHandler(handler, Feign.configKey(target.type(), method), annotation.keyHeaders(), annotation.ttlMillis());
+    }
+
+    private class CacheMethodHandler implements MethodHandler {
+
+        private final MethodHandler delegate;
+
+        private final String configKey;
+
+        private final String[] keyHeaders;
+
+        private final long ttlMillis;
+
+        CacheMethodHandler(MethodHandler delegate, String configKey, String[] keyHeaders, long ttlMillis) {
+            this.delegate = delegate;
+            this.configKey = configKey;
+            this.keyHeaders = keyHeaders;
+            this.ttlMillis = ttlMillis;
+        }
+
+        @Override
+        public Object invoke(Object[] argv) throws Throwable {
+
+            CachingClient.Invocation invocation = new CachingClient.Invocation(client, configKey, keyHeaders, ttlMillis);
+
+            CachingClient.Invocation previous = client.begin(invocation);
+            try {
+                Object result = delegate.invoke(argv);
+                if (invocation.key != null) {
+                    cache.put(invocation.key, invocation.toCachedResponse(result));
+                }
+                return result;
+            } catch (CachingClient.CacheHitSignal signal) {
+                return invocation.cached.value;
+            } finally {
+                CachingClient.end(previous);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,36 @@
+package org.springframework.jersy.feign.core.cache;
+
+/**
+ * decoded result kept by {@link ResponseCache} with its validators
+ *
+ * @author jiashuai.xie
+ */
+class CachedResponse {
+
+    final Object value;
+
+    final String etag;
+
+    final String lastModified;
+
+    final long ttlMillis;
+
+    final long expiresAt;
+
+    CachedResponse(Object value, String etag, String lastModified, long ttlMillis) {
+        this.value = value;
+        this.etag = etag;
+        this.lastModified = lastModified;
+        this.ttlMillis = ttlMillis;
+        this.expiresAt = System.currentTimeMillis() + ttlMillis;
+    }
+
+    boolean isFresh() {
+        return System.currentTimeMillis() < expiresAt;
+    }
+
+    boolean isRevalidatable() {
+        return etag != null || lastModified != null;
+    }
+
+}
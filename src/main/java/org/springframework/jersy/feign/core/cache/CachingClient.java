@@ -0,0 +1,186 @@
+package org.springframework.jersy.feign.core.cache;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.Util;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Decorate {@link Client}, serve requests of methods decorated by {@link CacheMethodHandlerDecorator} from {@link ResponseCache}
+ * <p>
+ * a fresh entry or a 304 Not Modified unwinds feign call stack by {@link CacheHitSignal}, so the cached object is
+ * returned without decode
+ *
+ * @author jiashuai.xie
+ */
+public class CachingClient implements Client {
+
+    private static final ThreadLocal<Invocation> INVOCATION = new ThreadLocal<>();
+
+    private final Client delegate;
+
+    private final ResponseCache cache;
+
+    public CachingClient(Client delegate, ResponseCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+
+        Invocation invocation = INVOCATION.get();
+
+        if (invocation == null || invocation.client != this) {
+            return delegate.execute(request, options);
+        }
+
+        String key = invocation.key(request);
+        invocation.key = key;
+
+        CachedResponse cached = cache.get(key);
+
+        if (cached != null && cached.isFresh()) {
+            invocation.cached = cached;
+            cache.recordHit();
+            throw CacheHitSignal.INSTANCE;
+        }
+
+        boolean conditional = cached != null && cached.isRevalidatable();
+
+        Response response = delegate.execute(conditional ? conditional(request, cached) : request, options);
+
+        if (conditional && response.status() == 304) {
+            Util.ensureClosed(response.body());
+            String etag = header(response, "ETag");
+            String lastModified = header(response, "Last-Modified");
+            invocation.cached = new CachedResponse(cached.value, etag != null ? etag : cached.etag,
+                    lastModified != null ? lastModified : cached.lastModified, invocation.ttlMillis);
+            cache.put(key, invocation.cached);
+            cache.recordRevalidated();
+            throw CacheHitSignal.INSTANCE;
+        }
+
+        cache.recordMiss();
+
+        invocation.etag = header(response, "ETag");
+        invocation.lastModified = header(response, "Last-Modified");
+
+        return response;
+    }
+
+    private static Request conditional(Request request, CachedResponse cached) {
+        Map<String, Collection<String>> headers = new LinkedHashMap<>(request.headers());
+        if (cached.etag != null) {
+            headers.put("If-None-Match", Collections.singletonList(cached.etag));
+        }
+        if (cached.lastModified != null) {
+            headers.put("If-Modified-Since", Collections.singletonList(cached.lastModified));
+        }
+        return Request.create(request.method(), request.url(), headers, request.body(), request.charset());
+    }
+
+    private static String header(Response response, String name) {
+        for (Map.Entry<String, Collection<String>> header : response.headers().entrySet()) {
+            if (name.equalsIgnoreCase(header.getKey()) && !header.getValue().isEmpty()) {
+                return header.getValue().iterator().next();
+            }
+        }
+        return null;
+    }
+
+    public Client getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * next request executed by this client on current thread is served from cache
+     *
+     * @return previous bound invocation, to be passed to {@link #end(Invocation)}
+     */
+    Invocation begin(Invocation invocation) {
+        Invocation previous = INVOCATION.get();
+        INVOCATION.set(invocation);
+        return previous;
+    }
+
+    static void end(Invocation previous) {
+        if (previous == null) {
+            INVOCATION.remove();
+        } else {
+            INVOCATION.set(previous);
+        }
+    }
+
+    static class Invocation {
+
+        private final CachingClient client;
+
+        private final String configKey;
+
+        private final String[] keyHeaders;
+
+        private final long ttlMillis;
+
+        String key;
+
+        CachedResponse cached;
+
+        String etag;
+
+        String lastModified;
+
+        Invocation(CachingClient client, String configKey, String[] keyHeaders, long ttlMillis) {
+            this.client = client;
+            this.configKey = configKey;
+            this.keyHeaders = keyHeaders;
+            this.ttlMillis = ttlMillis;
+        }
+
+        private String key(Request request) {
+
+            if (keyHeaders.length == 0) {
+                return configKey + ' ' + request.url();
+            }
+
+            StringBuilder key = new StringBuilder(configKey).append(' ').append(request.url());
+            for (String keyHeader : keyHeaders) {
+                key.append('\n').append(keyHeader).append(':');
+                for (Map.Entry<String, Collection<String>> header : request.headers().entrySet()) {
+                    if (keyHeader.equalsIgnoreCase(header.getKey())) {
+                        key.append(header.getValue());
+                    }
+                }
+            }
+            return key.toString();
+        }
+
+        /**
+         * @return entry to put after decode, with validators of the response
+         */
+        CachedResponse toCachedResponse(Object value) {
+            return new CachedResponse(value, etag, lastModified, ttlMillis);
+        }
+    }
+
+    /**
+     * unwind feign call stack once cached object can be used, never seen by user
+     */
+    static class CacheHitSignal extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        static final CacheHitSignal INSTANCE = new CacheHitSignal();
+
+        private CacheHitSignal() {
+            super("served from cache", null, false, false);
+        }
+    }
+
+}
@@ -0,0 +1,94 @@
+package org.springframework.jersy.feign.core.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of decoded results of one client, evicted by W-TinyLFU (frequency aware) when full
+ * <p>
+ * entry without validators expires after its ttl, entry with ETag/Last-Modified is kept {@link #staleRetentionMillis}
+ * longer so that it can be revalidated
+ *
+ * @author jiashuai.xie
+ */
+public class ResponseCache {
+
+    private final String clientName;
+
+    private final long staleRetentionMillis;
+
+    private final Cache<String, CachedResponse> cache;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder revalidated = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    public ResponseCache(String clientName, long maxSize, long staleRetentionMillis) {
+
+        this.clientName = clientName;
+        this.staleRetentionMillis = staleRetentionMillis;
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, CachedResponse>() {
+
+                    @Override
+                    public long expireAfterCreate(String key, CachedResponse value, long currentTime) {
+                        return lifetimeNanos(value);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedResponse value, long currentTime, long currentDuration) {
+                        return lifetimeNanos(value);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedResponse value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    private long lifetimeNanos(CachedResponse value) {
+        long lifetime = value.isRevalidatable() ? value.ttlMillis + staleRetentionMillis : value.ttlMillis;
+        return TimeUnit.MILLISECONDS.toNanos(lifetime);
+    }
+
+    CachedResponse get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    void put(String key, CachedResponse response) {
+        cache.put(key, response);
+    }
+
+    void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    void recordHit() {
+        hits.increment();
+    }
+
+    void recordRevalidated() {
+        revalidated.increment();
+    }
+
+    void recordMiss() {
+        misses.increment();
+    }
+
+    public ResponseCacheStats getStats() {
+        return new ResponseCacheStats(clientName, hits.sum(), revalidated.sum(), misses.sum(),
+                cache.stats().evictionCount(), cache.estimatedSize());
+    }
+
+}
@@ -0,0 +1,37 @@
+package org.springframework.jersy.feign.core.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * snapshot of a client response cache
+ *
+ * @author jiashuai.xie
+ * @see ResponseCaches#getStats(String)
+ */
+@Data
+@AllArgsConstructor
+public class ResponseCacheStats {
+
+    private String clientName;
+
+    /**
+     * served from cache without request
+     */
+    private long hits;
+
+    /**
+     * served from cache after 304 Not Modified
+     */
+    private long revalidated;
+
+    /**
+     * fetched and decoded
+     */
+    private long misses;
+
+    private long evictions;
+
+    private long size;
+
+}
@@ -0,0 +1,80 @@
+package org.springframework.jersy.feign.core.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link ResponseCache} shared per client name
+ *
+ * @author jiashuai.xie
+ */
+@Slf4j
+public abstract class ResponseCaches {
+
+    public static final long DEFAULT_MAX_SIZE = 1000;
+
+    public static final long DEFAULT_STALE_RETENTION_MILLIS = 10 * 60 * 1000;
+
+    private static final ConcurrentMap<String, ResponseCache> CACHES = new ConcurrentHashMap<>();
+
+    /**
+     * get response cache of client name, create it if absent
+     *
+     * @param clientName           client name
+     * @param maxSize              used only when create
+     * @param staleRetentionMillis used only when create
+     * @return ResponseCache
+     */
+    public static ResponseCache obtain(String clientName, long maxSize, long staleRetentionMillis) {
+        return CACHES.computeIfAbsent(clientName, name -> {
+            log.info("<---------- create response cache for:{},max-size:{},stale-retention-millis:{}---------->", name, maxSize, staleRetentionMillis);
+            return new ResponseCache(name, maxSize, staleRetentionMillis);
+        });
+    }
+
+    /**
+     * @param clientName client name
+     * @return null if client has no cached method
+     */
+    public static ResponseCacheStats getStats(String clientName) {
+        ResponseCache cache = CACHES.get(clientName);
+        return cache == null ? null : cache.getStats();
+    }
+
+    public static List<ResponseCacheStats> getStats() {
+        List<ResponseCacheStats> stats = new ArrayList<>();
+        for (ResponseCache cache : CACHES.values()) {
+            stats.add(cache.getStats());
+        }
+        return stats;
+    }
+
+    /**
+     * drop all cached results of client name
+     *
+     * @param clientName client name
+     */
+    public static void invalidate(String clientName) {
+        ResponseCache cache = CACHES.get(clientName);
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * drop and remove response cache of client name
+     *
+     * @param clientName client name
+     */
+    public static void close(String clientName) {
+        ResponseCache cache = CACHES.remove(clientName);
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+}
@@ -0,0 +1,51 @@
+package org.springframework.jersy.feign.core.client;
+
+import lombok.Data;
+import org.springframework.jersy.feign.core.RestFeignClientProperties;
+
+/**
+ * connection pool config of {@link Transport#POOLED}
+ *
+ * @author jiashuai.xie
+ */
+@Data
+public class ConnectionPoolConfig {
+
+    public static final String MAX_CONNECTIONS = "pool.max-connections";
+
+    public static final String MAX_CONNECTIONS_PER_ROUTE = "pool.max-connections-per-route";
+
+    public static final String IDLE_EVICTION_MILLIS = "pool.idle-eviction-millis";
+
+    public static final String KEEP_ALIVE_MILLIS = "pool.keep-alive-millis";
+
+    private int maxConnections = 200;
+
+    private int maxConnectionsPerRoute = 50;
+
+    /**
+     * connections idle longer than this will be closed, <= 0 means never evict
+     */
+    private long idleEvictionMillis = 60_000L;
+
+    /**
+     * keep-alive used when server does not send Keep-Alive header
+     */
+    private long keepAliveMillis = 30_000L;
+
+    /**
+     * build config of client, environment overrides default value
+     *
+     * @param properties client properties
+     * @return ConnectionPoolConfig
+     */
+    public static ConnectionPoolConfig of(RestFeignClientProperties properties) {
+        ConnectionPoolConfig config = new ConnectionPoolConfig();
+        config.setMaxConnections(properties.getProperty(MAX_CONNECTIONS, Integer.class, config.getMaxConnections()));
+        config.setMaxConnectionsPerRoute(properties.getProperty(MAX_CONNECTIONS_PER_ROUTE, Integer.class, config.getMaxConnectionsPerRoute()));
+        config.setIdleEvictionMillis(properties.getProperty(IDLE_EVICTION_MILLIS, Long.class, config.getIdleEvictionMillis()));
+        config.setKeepAliveMillis(properties.getProperty(KEEP_ALIVE_MILLIS, Long.class, config.getKeepAliveMillis()));
+        return config;
+    }
+
+}
@@ -0,0 +1,35 @@
+package org.springframework.jersy.feign.core.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * snapshot of a client connection pool
+ *
+ * @author jiashuai.xie
+ * @see PooledHttpClients#getStats(String)
+ */
+@Data
+@AllArgsConstructor
+public class ConnectionPoolStats {
+
+    private String clientName;
+
+    /**
+     * connections in use
+     */
+    private int leased;
+
+    /**
+     * requests waiting for a connection
+     */
+    private int pending;
+
+    /**
+     * idle connections
+     */
+    private int available;
+
+    private int max;
+
+}
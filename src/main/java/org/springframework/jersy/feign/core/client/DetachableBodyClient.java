@@ -0,0 +1,102 @@
+package org.springframework.jersy.feign.core.client;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+
+/**
+ * Decorate {@link Client}, feign closes response body right after decode, a decoder which returns a lazy
+ * result can {@link DetachableBody#detach()} the body and close it by itself
+ *
+ * @author jiashuai.xie
+ */
+public class DetachableBodyClient implements Client {
+
+    private final Client delegate;
+
+    public DetachableBodyClient(Client delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        Response response = delegate.execute(request, options);
+        if (response.body() == null) {
+            return response;
+        }
+        return response.toBuilder().body(new DetachableBody(response.body())).build();
+    }
+
+    public Client getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * detach body of response if possible
+     *
+     * @param response response
+     * @return true if caller has to close the body
+     */
+    public static boolean detach(Response response) {
+        if (response.body() instanceof DetachableBody) {
+            ((DetachableBody) response.body()).detach();
+            return true;
+        }
+        return false;
+    }
+
+    public static class DetachableBody implements Response.Body {
+
+        private final Response.Body delegate;
+
+        private volatile boolean detached;
+
+        public DetachableBody(Response.Body delegate) {
+            this.delegate = delegate;
+        }
+
+        /**
+         * after detach, {@link #close()} called by feign is ignored
+         */
+        public void detach() {
+            this.detached = true;
+        }
+
+        @Override
+        public Integer length() {
+            return delegate.length();
+        }
+
+        @Override
+        public boolean isRepeatable() {
+            return delegate.isRepeatable();
+        }
+
+        @Override
+        public InputStream asInputStream() throws IOException {
+            return delegate.asInputStream();
+        }
+
+        @Override
+        public Reader asReader() throws IOException {
+            return delegate.asReader();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!detached) {
+                delegate.close();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return delegate.toString();
+        }
+    }
+
+}
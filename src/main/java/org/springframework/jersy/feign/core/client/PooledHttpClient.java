@@ -0,0 +1,271 @@
+package org.springframework.jersy.feign.core.client;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.classic.methods.HttpUriRequestBase;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.ChainElement;
+import org.apache.hc.client5.http.impl.DefaultSchemePortResolver;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.client5.http.routing.RoutingSupport;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.URIScheme;
+import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.jersy.feign.core.stream.StreamingBody;
+import org.springframework.jersy.feign.core.trace.RequestTimings;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Implement {@link Client} by apache http client with keep-alive connection pool
+ *
+ * @author jiashuai.xie
+ * @see Transport#POOLED
+ */
+public class PooledHttpClient implements Client, Closeable {
+
+    private final String clientName;
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+
+    private final CloseableHttpClient httpClient;
+
+    /**
+     * connection config of the request being executed on current thread, connection is opened on it
+     */
+    private static final ThreadLocal<ConnectionConfig> CONNECTION_CONFIG = new ThreadLocal<>();
+
+    private final TimeValue keepAlive;
+
+    private final RequestConfig defaultRequestConfig;
+
+    public PooledHttpClient(String clientName, ConnectionPoolConfig config) {
+
+        this.clientName = clientName;
+
+        this.connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(config.getMaxConnections())
+                .setMaxConnPerRoute(config.getMaxConnectionsPerRoute())
+                .setConnectionConfigResolver(route -> {
+                    ConnectionConfig connectionConfig = CONNECTION_CONFIG.get();
+                    return connectionConfig != null ? connectionConfig : ConnectionConfig.DEFAULT;
+                })
+                .build();
+
+        this.keepAlive = TimeValue.ofMilliseconds(config.getKeepAliveMillis());
+
+        this.defaultRequestConfig = RequestConfig.custom()
+                // used by DefaultConnectionKeepAliveStrategy when server does not send Keep-Alive
+                .setConnectionKeepAlive(keepAlive)
+                .build();
+
+        HttpClientBuilder builder = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(defaultRequestConfig)
+                // compressed responses are inflated by DecompressingClient, with ratio recorded
+                .disableContentCompression()
+                .evictExpiredConnections()
+                // lease from pool and connect happen between the two, recorded to the timings bound to current thread
+                .addExecInterceptorBefore(ChainElement.CONNECT.name(), "timing-connect-started", (request, scope, chain) -> {
+                    RequestTimings timings = RequestTimings.current();
+                    if (timings != null) {
+                        timings.connectStarted();
+                    }
+                    return chain.proceed(request, scope);
+                })
+                .addExecInterceptorBefore(ChainElement.MAIN_TRANSPORT.name(), "timing-connected", (request, scope, chain) -> {
+                    RequestTimings timings = RequestTimings.current();
+                    if (timings != null) {
+                        timings.connected();
+                    }
+                    return chain.proceed(request, scope);
+                });
+
+        if (config.getIdleEvictionMillis() > 0) {
+            builder.evictIdleConnections(TimeValue.ofMilliseconds(config.getIdleEvictionMillis()));
+        }
+
+        this.httpClient = builder.build();
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+
+        HttpUriRequestBase httpRequest = toHttpRequest(request, options);
+
+        ClassicHttpResponse httpResponse;
+
+        // per request, timeouts of a method may differ from those of its client
+        CONNECTION_CONFIG.set(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(options.connectTimeoutMillis()))
+                .build());
+        try {
+            // target is determined by request uri
+            httpResponse = httpClient.executeOpen(null, httpRequest, null);
+        } finally {
+            CONNECTION_CONFIG.remove();
+        }
+
+        return toFeignResponse(httpResponse, request);
+    }
+
+    private HttpUriRequestBase toHttpRequest(Request request, Request.Options options) {
+
+        HttpUriRequestBase httpRequest = new HttpUriRequestBase(request.method(), URI.create(request.url()));
+
+        // keep keep-alive of the default config
+        httpRequest.setConfig(RequestConfig.copy(defaultRequestConfig)
+                .setResponseTimeout(Timeout.ofMilliseconds(options.readTimeoutMillis()))
+                .build());
+
+        String contentType = null;
+
+        for (Map.Entry<String, Collection<String>> header : request.headers().entrySet()) {
+
+            String name = header.getKey();
+
+            // entity will set it
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                continue;
+            }
+
+            for (String value : header.getValue()) {
+                if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+                    contentType = value;
+                }
+                httpRequest.addHeader(name, value);
+            }
+        }
+
+        StreamingBody streamingBody = StreamingBody.current();
+
+        if (request.body() != null || streamingBody != null) {
+            ContentType entityContentType = null;
+            if (contentType != null) {
+                entityContentType = ContentType.parseLenient(contentType);
+            }
+            httpRequest.setEntity(streamingBody != null ? new StreamingBodyEntity(streamingBody, entityContentType)
+                    : new ByteArrayEntity(request.body(), entityContentType));
+        }
+
+        return httpRequest;
+    }
+
+    private Response toFeignResponse(ClassicHttpResponse httpResponse, Request request) throws IOException {
+
+        Map<String, Collection<String>> headers = new LinkedHashMap<>();
+
+        for (Header header : httpResponse.getHeaders()) {
+            headers.computeIfAbsent(header.getName(), name -> new ArrayList<>()).add(header.getValue());
+        }
+
+        Response.Builder builder = Response.builder()
+                .status(httpResponse.getCode())
+                .reason(httpResponse.getReasonPhrase())
+                .headers(headers)
+                .request(request);
+
+        HttpEntity entity = httpResponse.getEntity();
+
+        if (entity == null) {
+            // nothing to read, give the connection back to pool
+            httpResponse.close();
+            return builder.build();
+        }
+
+        long length = entity.getContentLength();
+
+        // closing the content stream releases the connection back to pool
+        InputStream content = entity.getContent();
+
+        return builder.body(content, length >= 0 && length <= Integer.MAX_VALUE ? (int) length : null).build();
+    }
+
+    /**
+     * open connections to the endpoint and put them to pool as available, so that first requests do not
+     * pay for connect and tls handshake; connections already available are counted
+     *
+     * @param url            endpoint url, eg: https://host:8443/api
+     * @param count          connections to open, capped by max connections per route
+     * @param connectTimeout connect timeout of each connection
+     * @return connections available for the endpoint
+     * @throws IOException if a connection fails to open, opened ones are kept
+     */
+    public int openConnections(String url, int count, Timeout connectTimeout) throws IOException {
+
+        URI uri = URI.create(url);
+        // same route as the route planner determines for requests, otherwise opened connections are not reused
+        HttpHost target = RoutingSupport.normalize(new HttpHost(uri.getScheme(), uri.getHost(), uri.getPort()), DefaultSchemePortResolver.INSTANCE);
+        HttpRoute route = new HttpRoute(target, null, URIScheme.HTTPS.same(target.getSchemeName()));
+
+        int actualCount = Math.min(count, connectionManager.getDefaultMaxPerRoute());
+        List<ConnectionEndpoint> endpoints = new ArrayList<>(actualCount);
+
+        try {
+            // hold leased ones, so that each lease gets another connection
+            for (int i = 0; i < actualCount; i++) {
+                ConnectionEndpoint endpoint = connectionManager.lease("warm-up-" + i, route, connectTimeout, null).get(connectTimeout);
+                endpoints.add(endpoint);
+                if (!endpoint.isConnected()) {
+                    connectionManager.connect(endpoint, connectTimeout, HttpClientContext.create());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while opening connections to:" + url);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IOException("fail to lease connection to:" + url, e);
+        } finally {
+            for (ConnectionEndpoint endpoint : endpoints) {
+                // connection not opened is discarded by pool
+                connectionManager.release(endpoint, null, keepAlive);
+            }
+        }
+
+        return connectionManager.getStats(route).getAvailable();
+    }
+
+    public String getClientName() {
+        return clientName;
+    }
+
+    public ConnectionPoolStats getStats() {
+        PoolStats stats = connectionManager.getTotalStats();
+        return new ConnectionPoolStats(clientName, stats.getLeased(), stats.getPending(), stats.getAvailable(), stats.getMax());
+    }
+
+    @Override
+    public void close() throws IOException {
+        httpClient.close(CloseMode.GRACEFUL);
+    }
+
+}
@@ -0,0 +1,68 @@
+package org.springframework.jersy.feign.core.client;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link PooledHttpClient} shared per client name
+ *
+ * @author jiashuai.xie
+ */
+@Slf4j
+public abstract class PooledHttpClients {
+
+    private static final ConcurrentMap<String, PooledHttpClient> CLIENTS = new ConcurrentHashMap<>();
+
+    /**
+     * get pooled client of client name, create it if absent
+     *
+     * @param clientName client name
+     * @param config     used only when create
+     * @return PooledHttpClient
+     */
+    public static PooledHttpClient obtain(String clientName, ConnectionPoolConfig config) {
+        return CLIENTS.computeIfAbsent(clientName, name -> {
+            log.info("<---------- create connection pool for:{},config:{}---------->", name, config);
+            return new PooledHttpClient(name, config);
+        });
+    }
+
+    /**
+     * @param clientName client name
+     * @return null if client has no pool
+     */
+    public static ConnectionPoolStats getStats(String clientName) {
+        PooledHttpClient client = CLIENTS.get(clientName);
+        return client == null ? null : client.getStats();
+    }
+
+    public static List<ConnectionPoolStats> getStats() {
+        List<ConnectionPoolStats> stats = new ArrayList<>();
+        for (PooledHttpClient client : CLIENTS.values()) {
+            stats.add(client.getStats());
+        }
+        return stats;
+    }
+
+    /**
+     * close and remove pool of client name
+     *
+     * @param clientName client name
+     */
+    public static void close(String clientName) {
+        PooledHttpClient client = CLIENTS.remove(clientName);
+        if (client != null) {
+            try {
+                client.close();
+            } catch (IOException e) {
+                log.warn("fail to close connection pool of:{}", clientName, e);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,56 @@
+package org.springframework.jersy.feign.core.client;
+
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.io.entity.AbstractHttpEntity;
+import org.springframework.jersy.feign.core.stream.StreamingBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Extends {@link AbstractHttpEntity}, write {@link StreamingBody} while sending, chunked if length is unknown
+ *
+ * @author jiashuai.xie
+ * @see PooledHttpClient
+ */
+class StreamingBodyEntity extends AbstractHttpEntity {
+
+    private final StreamingBody body;
+
+    StreamingBodyEntity(StreamingBody body, ContentType contentType) {
+        super(contentType, null, body.length() == StreamingBody.UNKNOWN_LENGTH);
+        this.body = body;
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return body.isRepeatable();
+    }
+
+    @Override
+    public long getContentLength() {
+        return body.length();
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+        return body.openStream();
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        body.writeTo(out);
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return !body.isRepeatable();
+    }
+
+    @Override
+    public void close() {
+        // source is closed after written
+    }
+
+}
@@ -0,0 +1,24 @@
+package org.springframework.jersy.feign.core.client;
+
+import org.springframework.jersy.feign.core.annotation.RestFeignClient;
+
+/**
+ * http transport used by {@link RestFeignClient}
+ *
+ * @author jiashuai.xie
+ */
+public enum Transport {
+
+    /**
+     * feign default {@link java.net.HttpURLConnection} client
+     */
+    DEFAULT,
+
+    /**
+     * apache http client with a keep-alive connection pool shared per client name
+     *
+     * @see PooledHttpClient
+     */
+    POOLED
+
+}
@@ -0,0 +1,137 @@
+package org.springframework.jersy.feign.core.client;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.springframework.jersy.feign.core.stream.StreamingBody;
+import org.springframework.jersy.feign.core.trace.RequestTimings;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implement {@link Client} by {@link HttpURLConnection}, like {@link Client.Default} except that:
+ * <ul>
+ * <li>the {@link StreamingBody} bound to current thread is written to the connection while sending,
+ * with Content-Length if known or else chunked</li>
+ * <li>body is sent as encoded, never compressed again by its Content-Encoding</li>
+ * <li>connect is recorded to the {@link RequestTimings} bound to current thread</li>
+ * </ul>
+ *
+ * @author jiashuai.xie
+ * @see Transport#DEFAULT
+ */
+public class UrlConnectionClient implements Client {
+
+    private static final int CHUNK_SIZE = 8192;
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+
+        HttpURLConnection connection = send(request, options, StreamingBody.current());
+
+        return toFeignResponse(connection, request);
+    }
+
+    private HttpURLConnection send(Request request, Request.Options options, StreamingBody streamingBody) throws IOException {
+
+        HttpURLConnection connection = (HttpURLConnection) new URL(request.url()).openConnection();
+        connection.setConnectTimeout(options.connectTimeoutMillis());
+        connection.setReadTimeout(options.readTimeoutMillis());
+        connection.setAllowUserInteraction(false);
+        connection.setInstanceFollowRedirects(true);
+        connection.setRequestMethod(request.method());
+
+        boolean hasAccept = false;
+
+        for (Map.Entry<String, Collection<String>> header : request.headers().entrySet()) {
+            String name = header.getKey();
+            // set by streaming mode
+            if ("Content-Length".equalsIgnoreCase(name)) {
+                continue;
+            }
+            if ("Accept".equalsIgnoreCase(name)) {
+                hasAccept = true;
+            }
+            for (String value : header.getValue()) {
+                connection.addRequestProperty(name, value);
+            }
+        }
+
+        if (!hasAccept) {
+            connection.addRequestProperty("Accept", "*/*");
+        }
+
+        byte[] body = request.body();
+
+        if (streamingBody != null) {
+            if (streamingBody.length() != StreamingBody.UNKNOWN_LENGTH) {
+                connection.setFixedLengthStreamingMode(streamingBody.length());
+            } else {
+                connection.setChunkedStreamingMode(CHUNK_SIZE);
+            }
+            connection.setDoOutput(true);
+        } else if (body != null) {
+            connection.setFixedLengthStreamingMode(body.length);
+            connection.setDoOutput(true);
+        }
+
+        RequestTimings timings = RequestTimings.current();
+
+        if (timings != null) {
+            // connect explicitly, otherwise it happens inside writing body or reading status
+            timings.connectStarted();
+            connection.connect();
+            timings.connected();
+        }
+
+        if (streamingBody != null) {
+            try (OutputStream out = connection.getOutputStream()) {
+                streamingBody.writeTo(out);
+            }
+        } else if (body != null) {
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body);
+            }
+        }
+
+        return connection;
+    }
+
+    private Response toFeignResponse(HttpURLConnection connection, Request request) throws IOException {
+
+        int status = connection.getResponseCode();
+
+        if (status < 0) {
+            throw new IOException(String.format("Invalid status(%s) executing %s %s", status, connection.getRequestMethod(), connection.getURL()));
+        }
+
+        Map<String, Collection<String>> headers = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> field : connection.getHeaderFields().entrySet()) {
+            // response message
+            if (field.getKey() != null) {
+                headers.put(field.getKey(), field.getValue());
+            }
+        }
+
+        long length = connection.getContentLengthLong();
+
+        InputStream stream = status >= 400 ? connection.getErrorStream() : connection.getInputStream();
+
+        return Response.builder()
+                .status(status)
+                .reason(connection.getResponseMessage())
+                .headers(headers)
+                .request(request)
+                .body(stream, length >= 0 && length <= Integer.MAX_VALUE ? (int) length : null)
+                .build();
+    }
+
+}
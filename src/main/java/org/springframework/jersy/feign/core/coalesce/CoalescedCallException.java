@@ -0,0 +1,21 @@
+package org.springframework.jersy.feign.core.coalesce;
+
+import feign.FeignException;
+
+/**
+ * Failure of a coalesced call seen by one waiting caller, the exception of the executing call is the cause and its
+ * status is kept; each caller gets its own instance, a shared one would be mutated by addSuppressed of every caller
+ *
+ * @author jiashuai.xie
+ */
+public class CoalescedCallException extends FeignException {
+
+    private static final long serialVersionUID = 1L;
+
+    CoalescedCallException(String configKey, Throwable cause) {
+        super(cause instanceof FeignException ? ((FeignException) cause).status() : 0,
+                "coalesced call of " + configKey + " failed: " + cause);
+        initCause(cause);
+    }
+
+}
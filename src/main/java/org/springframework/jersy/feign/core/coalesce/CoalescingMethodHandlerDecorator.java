@@ -0,0 +1,56 @@
+package org.springframework.jersy.feign.core.coalesce;
+
+import feign.Feign;
+import feign.InvocationHandlerFactory.MethodHandler;
+import feign.Target;
+import org.springframework.jersy.feign.core.annotation.RestFeignCoalesce;
+import org.springframework.jersy.feign.core.proxy.MethodHandlerDecorator;
+import org.springframework.jersy.feign.core.util.ReflectUtils;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.HEAD;
+import java.lang.reflect.Method;
+
+/**
+ * Implement {@link MethodHandlerDecorator}, GET/HEAD methods annotated by {@link RestFeignCoalesce} are invoked by {@link RequestCoalescer}
+ *
+ * @author jiashuai.xie
+ */
+public class CoalescingMethodHandlerDecorator implements MethodHandlerDecorator {
+
+    private final RequestCoalescer coalescer;
+
+    public CoalescingMethodHandlerDecorator(RequestCoalescer coalescer) {
+        this.coalescer = coalescer;
+    }
+
+    /**
+     * @param type interface
+     * @return true if any method can be coalesced
+     */
+    public static boolean hasCoalescedMethods(Class<?> type) {
+        for (Method method : type.getMethods()) {
+            if (isCoalesced(method)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isCoalesced(Method method) {
+        return !method.isDefault()
+                && method.isAnnotationPresent(RestFeignCoalesce.class)
+                && (method.isAnnotationPresent(GET.class) || method.isAnnotationPresent(HEAD.class))
+                && ReflectUtils.hasShareableResult(method);
+    }
+
+    @Override
+    public MethodHandler decorate(Target<?> target, Method method, MethodHandler handler) {
+        if (!isCoalesced(method)) {
+            return handler;
+        }
+        String configKey = Feign.configKey(target.type(), method);
+        return argv -> coalescer.invoke(configKey, handler, argv);
+    }
+
+}
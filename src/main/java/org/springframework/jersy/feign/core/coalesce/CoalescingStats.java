@@ -0,0 +1,33 @@
+package org.springframework.jersy.feign.core.coalesce;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * snapshot of a client request coalescer
+ *
+ * @author jiashuai.xie
+ * @see RequestCoalescers#getStats(String)
+ */
+@Data
+@AllArgsConstructor
+public class CoalescingStats {
+
+    private String clientName;
+
+    /**
+     * calls which executed the request
+     */
+    private long executed;
+
+    /**
+     * calls which waited for the result of another call
+     */
+    private long collapsed;
+
+    /**
+     * requests in flight now
+     */
+    private int inFlight;
+
+}
@@ -0,0 +1,101 @@
+package org.springframework.jersy.feign.core.coalesce;
+
+import feign.InvocationHandlerFactory.MethodHandler;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Single flight of one client, the first call of a key executes the request, calls of the same key arriving
+ * before it completes wait for its result or exception, the exception is wrapped per waiting caller in
+ * {@link CoalescedCallException}
+ *
+ * @author jiashuai.xie
+ */
+public class RequestCoalescer {
+
+    private final String clientName;
+
+    private final ConcurrentMap<CallKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder executed = new LongAdder();
+
+    private final LongAdder collapsed = new LongAdder();
+
+    public RequestCoalescer(String clientName) {
+        this.clientName = clientName;
+    }
+
+    /**
+     * invoke handler or join the in-flight invocation of same method and arguments
+     */
+    public Object invoke(String configKey, MethodHandler handler, Object[] argv) throws Throwable {
+
+        CallKey key = new CallKey(configKey, argv);
+
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, future);
+
+        if (existing != null) {
+            collapsed.increment();
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw new CoalescedCallException(configKey, e.getCause());
+            }
+        }
+
+        executed.increment();
+        try {
+            Object result = handler.invoke(argv);
+            future.complete(result);
+            return result;
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    public CoalescingStats getStats() {
+        return new CoalescingStats(clientName, executed.sum(), collapsed.sum(), inFlight.size());
+    }
+
+    private static class CallKey {
+
+        private final String configKey;
+
+        private final Object[] args;
+
+        private final int hashCode;
+
+        CallKey(String configKey, Object[] args) {
+            this.configKey = configKey;
+            this.args = args == null ? new Object[0] : args.clone();
+            this.hashCode = 31 * configKey.hashCode() + Arrays.deepHashCode(this.args);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof CallKey)) {
+                return false;
+            }
+            CallKey other = (CallKey) obj;
+            return hashCode == other.hashCode && configKey.equals(other.configKey) && Arrays.deepEquals(args, other.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+}
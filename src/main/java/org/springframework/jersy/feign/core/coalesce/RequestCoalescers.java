@@ -0,0 +1,48 @@
+package org.springframework.jersy.feign.core.coalesce;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link RequestCoalescer} shared per client name
+ *
+ * @author jiashuai.xie
+ */
+public abstract class RequestCoalescers {
+
+    private static final ConcurrentMap<String, RequestCoalescer> COALESCERS = new ConcurrentHashMap<>();
+
+    /**
+     * get coalescer of client name, create it if absent
+     *
+     * @param clientName client name
+     * @return RequestCoalescer
+     */
+    public static RequestCoalescer obtain(String clientName) {
+        return COALESCERS.computeIfAbsent(clientName, RequestCoalescer::new);
+    }
+
+    /**
+     * @param clientName client name
+     * @return null if client has no coalesced method
+     */
+    public static CoalescingStats getStats(String clientName) {
+        RequestCoalescer coalescer = COALESCERS.get(clientName);
+        return coalescer == null ? null : coalescer.getStats();
+    }
+
+    public static List<CoalescingStats> getStats() {
+        List<CoalescingStats> stats = new ArrayList<>();
+        for (RequestCoalescer coalescer : COALESCERS.values()) {
+            stats.add(coalescer.getStats());
+        }
+        return stats;
+    }
+
+    public static void remove(String clientName) {
+        COALESCERS.remove(clientName);
+    }
+
+}
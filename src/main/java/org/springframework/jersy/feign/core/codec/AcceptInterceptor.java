@@ -0,0 +1,34 @@
+package org.springframework.jersy.feign.core.codec;
+
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+
+import java.util.Collections;
+
+/**
+ * Implement {@link RequestInterceptor}, advertise media types of {@link CodecRegistry} unless the template has
+ * its own Accept declared by Produces
+ *
+ * @author jiashuai.xie
+ */
+public class AcceptInterceptor implements RequestInterceptor {
+
+    public static final String ACCEPT = "Accept";
+
+    private final String accept;
+
+    public AcceptInterceptor(CodecRegistry registry) {
+        this.accept = registry.getAccept();
+    }
+
+    @Override
+    public void apply(RequestTemplate template) {
+        for (String name : template.headers().keySet()) {
+            if (ACCEPT.equalsIgnoreCase(name)) {
+                return;
+            }
+        }
+        template.header(ACCEPT, Collections.singletonList(accept));
+    }
+
+}
@@ -0,0 +1,50 @@
+package org.springframework.jersy.feign.core.codec;
+
+import feign.codec.Decoder;
+import feign.codec.Encoder;
+
+import java.lang.reflect.Type;
+import java.util.ServiceLoader;
+
+/**
+ * Encoder and decoder of one media type, chosen by Content-Type of request body and response
+ * <p>
+ * besides built-in json and cbor, codecs can be declared by {@link ServiceLoader} in
+ * META-INF/services/org.springframework.jersy.feign.core.codec.Codec or by RestFeignClient#codecs,
+ * implementation must be thread safe and have a default constructor
+ *
+ * @author jiashuai.xie
+ * @see CodecRegistry
+ */
+public interface Codec extends Encoder, Decoder {
+
+    /**
+     * @return media type without parameters, eg: application/cbor
+     */
+    String getMediaType();
+
+    /**
+     * @param mediaType lower case media type without parameters
+     * @return true if body of the media type can be decoded
+     */
+    default boolean supports(String mediaType) {
+        return getMediaType().equals(mediaType);
+    }
+
+    /**
+     * build serializers of body type ahead of the first request, best effort, see warm-up
+     *
+     * @param bodyType declared type of body parameter
+     */
+    default void warmUpEncoder(Type bodyType) {
+    }
+
+    /**
+     * build deserializers of return type ahead of the first response, best effort, see warm-up
+     *
+     * @param type return type, future unwrapped
+     */
+    default void warmUpDecoder(Type type) {
+    }
+
+}
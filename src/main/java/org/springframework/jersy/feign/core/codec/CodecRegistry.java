@@ -0,0 +1,107 @@
+package org.springframework.jersy.feign.core.codec;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * {@link Codec}s of one client, the first is preferred, it encodes request body without Content-Type and
+ * is advertised first by Accept
+ * <p>
+ * response is decoded by the codec supporting its Content-Type, by json codec if none
+ *
+ * @author jiashuai.xie
+ */
+public class CodecRegistry {
+
+    private final List<Codec> codecs;
+
+    private final Codec fallback;
+
+    private final String accept;
+
+    /**
+     * @param codecs   codecs ordered by preference, codec of a registered media type is ignored
+     * @param fallback decode response whose Content-Type is missing or unknown
+     */
+    public CodecRegistry(Collection<? extends Codec> codecs, Codec fallback) {
+
+        List<Codec> distinct = new ArrayList<>();
+        for (Codec codec : codecs) {
+            if (find(distinct, codec.getMediaType()) == null) {
+                distinct.add(codec);
+            }
+        }
+        if (distinct.isEmpty()) {
+            distinct.add(fallback);
+        }
+
+        this.codecs = Collections.unmodifiableList(distinct);
+        this.fallback = fallback;
+        this.accept = accept(distinct);
+    }
+
+    /**
+     * @return preferred codec
+     */
+    public Codec getPreferred() {
+        return codecs.get(0);
+    }
+
+    public List<Codec> getCodecs() {
+        return codecs;
+    }
+
+    /**
+     * @param contentType Content-Type header, may contain parameters
+     * @return codec supports the media type, null if none
+     */
+    public Codec getCodec(String contentType) {
+        return contentType == null ? null : find(codecs, mediaType(contentType));
+    }
+
+    /**
+     * @param contentType Content-Type header of response, null if absent
+     * @return codec supports the media type, fallback if none
+     */
+    public Codec getDecodingCodec(String contentType) {
+        Codec codec = getCodec(contentType);
+        return codec == null ? fallback : codec;
+    }
+
+    /**
+     * @return Accept header of all media types, others are less preferred than the first,
+     * eg: application/cbor, application/json;q=0.9
+     */
+    public String getAccept() {
+        return accept;
+    }
+
+    /**
+     * @return lower case media type without parameters
+     */
+    public static String mediaType(String contentType) {
+        int end = contentType.indexOf(';');
+        return (end == -1 ? contentType : contentType.substring(0, end)).trim().toLowerCase(Locale.ENGLISH);
+    }
+
+    private static Codec find(List<Codec> codecs, String mediaType) {
+        for (Codec codec : codecs) {
+            if (codec.supports(mediaType)) {
+                return codec;
+            }
+        }
+        return null;
+    }
+
+    private static String accept(List<Codec> codecs) {
+        StringBuilder accept = new StringBuilder(codecs.get(0).getMediaType());
+        for (int i = 1; i < codecs.size(); i++) {
+            accept.append(", ").append(codecs.get(i).getMediaType()).append(";q=0.9");
+        }
+        return accept.toString();
+    }
+
+}
@@ -0,0 +1,74 @@
+package org.springframework.jersy.feign.core.codec;
+
+import feign.FeignException;
+import feign.RequestTemplate;
+import feign.Response;
+import feign.codec.DecodeException;
+import feign.codec.EncodeException;
+import org.springframework.jersy.feign.core.decoder.FastJsonDecoder;
+import org.springframework.jersy.feign.core.encoder.FastJsonEncoder;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Implement {@link Codec} by {@link FastJsonEncoder} and {@link FastJsonDecoder}, also decodes +json media types
+ *
+ * @author jiashuai.xie
+ */
+public class JsonCodec implements Codec {
+
+    public static final String MEDIA_TYPE = "application/json";
+
+    private final FastJsonEncoder encoder;
+
+    private final FastJsonDecoder decoder;
+
+    public JsonCodec() {
+        this(new FastJsonEncoder(), new FastJsonDecoder());
+    }
+
+    public JsonCodec(FastJsonEncoder encoder, FastJsonDecoder decoder) {
+        this.encoder = encoder;
+        this.decoder = decoder;
+    }
+
+    @Override
+    public String getMediaType() {
+        return MEDIA_TYPE;
+    }
+
+    @Override
+    public boolean supports(String mediaType) {
+        return MEDIA_TYPE.equals(mediaType) || mediaType.endsWith("+json");
+    }
+
+    @Override
+    public void encode(Object object, Type bodyType, RequestTemplate template) throws EncodeException {
+        encoder.encode(object, bodyType, template);
+    }
+
+    @Override
+    public Object decode(Response response, Type type) throws IOException, DecodeException, FeignException {
+        return decoder.decode(response, type);
+    }
+
+    @Override
+    public void warmUpEncoder(Type bodyType) {
+        encoder.warmUp(bodyType);
+    }
+
+    @Override
+    public void warmUpDecoder(Type type) {
+        decoder.warmUp(type);
+    }
+
+    public FastJsonEncoder getEncoder() {
+        return encoder;
+    }
+
+    public FastJsonDecoder getDecoder() {
+        return decoder;
+    }
+
+}
@@ -0,0 +1,120 @@
+package org.springframework.jersy.feign.core.codec;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+import feign.codec.DecodeException;
+import org.springframework.jersy.feign.core.decoder.StreamingElements;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * decode elements of an array one by one from jackson parser,
+ * parser and its source are closed when all elements are consumed or {@link #close()}
+ *
+ * @author jiashuai.xie
+ */
+class MappingElements<T> implements Iterator<T>, StreamingElements<T> {
+
+    private final JsonParser parser;
+
+    private final JavaType elementType;
+
+    private boolean started;
+
+    private boolean ready;
+
+    private boolean closed;
+
+    /**
+     * @param parser null for empty elements
+     */
+    MappingElements(JsonParser parser, JavaType elementType) {
+        this.parser = parser;
+        this.elementType = elementType;
+        this.closed = parser == null;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+        if (ready) {
+            return true;
+        }
+        try {
+            if (!started) {
+                started = true;
+                JsonToken token = parser.nextToken();
+                if (token == null) {
+                    close();
+                    return false;
+                }
+                if (token != JsonToken.START_ARRAY) {
+                    close();
+                    throw new DecodeException("expect array but:" + token);
+                }
+            }
+            if (parser.nextToken() == JsonToken.END_ARRAY) {
+                close();
+                return false;
+            }
+            ready = true;
+            return true;
+        } catch (IOException e) {
+            close();
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ready = false;
+        try {
+            return parser.getCodec().readValue(parser, elementType);
+        } catch (IOException e) {
+            close();
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void forEach(Consumer<? super T> consumer) {
+        try {
+            forEachRemaining(consumer);
+        } finally {
+            close();
+        }
+    }
+
+    Stream<T> stream() {
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED);
+        return StreamSupport.stream(spliterator, false).onClose(this::close);
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            parser.close();
+        } catch (IOException ignore) {
+            // ignore
+        }
+    }
+
+}
@@ -0,0 +1,82 @@
+package org.springframework.jersy.feign.core.codec;
+
+import feign.FeignException;
+import feign.RequestTemplate;
+import feign.Response;
+import feign.codec.DecodeException;
+import feign.codec.Decoder;
+import feign.codec.EncodeException;
+import feign.codec.Encoder;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Implement {@link Encoder} and {@link Decoder} by the {@link Codec} of Content-Type
+ * <p>
+ * request body is encoded by codec of the Content-Type declared by Consumes, by preferred codec if none
+ *
+ * @author jiashuai.xie
+ * @see CodecRegistry
+ */
+public class NegotiatingCodec implements Encoder, Decoder {
+
+    public static final String CONTENT_TYPE = "Content-Type";
+
+    private final CodecRegistry registry;
+
+    public NegotiatingCodec(CodecRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void encode(Object object, Type bodyType, RequestTemplate template) throws EncodeException {
+        Codec codec = registry.getCodec(contentType(template.headers()));
+        (codec == null ? registry.getPreferred() : codec).encode(object, bodyType, template);
+    }
+
+    @Override
+    public Object decode(Response response, Type type) throws IOException, DecodeException, FeignException {
+        return registry.getDecodingCodec(contentType(response.headers())).decode(response, type);
+    }
+
+    /**
+     * warm up the codec which encodes body of a method, see {@link Codec#warmUpEncoder(Type)}
+     *
+     * @param headers  headers of request template, Content-Type declared by Consumes
+     * @param bodyType declared type of body parameter
+     */
+    public void warmUpEncoder(Map<String, Collection<String>> headers, Type bodyType) {
+        Codec codec = registry.getCodec(contentType(headers));
+        (codec == null ? registry.getPreferred() : codec).warmUpEncoder(bodyType);
+    }
+
+    /**
+     * warm up the preferred codec, which is asked by Accept, and the fallback one,
+     * see {@link Codec#warmUpDecoder(Type)}
+     */
+    public void warmUpDecoder(Type type) {
+        Codec preferred = registry.getPreferred();
+        preferred.warmUpDecoder(type);
+        Codec fallback = registry.getDecodingCodec(null);
+        if (fallback != preferred) {
+            fallback.warmUpDecoder(type);
+        }
+    }
+
+    public CodecRegistry getRegistry() {
+        return registry;
+    }
+
+    private static String contentType(Map<String, Collection<String>> headers) {
+        for (Map.Entry<String, Collection<String>> header : headers.entrySet()) {
+            if (CONTENT_TYPE.equalsIgnoreCase(header.getKey()) && !header.getValue().isEmpty()) {
+                return header.getValue().iterator().next();
+            }
+        }
+        return null;
+    }
+
+}
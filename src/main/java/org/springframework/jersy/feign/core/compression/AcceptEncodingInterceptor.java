@@ -0,0 +1,30 @@
+package org.springframework.jersy.feign.core.compression;
+
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+
+import java.util.Collections;
+
+/**
+ * Implement {@link RequestInterceptor}, advertise gzip and deflate unless the template has its own Accept-Encoding,
+ * responses are inflated by {@link DecompressingClient}
+ *
+ * @author jiashuai.xie
+ */
+public class AcceptEncodingInterceptor implements RequestInterceptor {
+
+    public static final String ACCEPT_ENCODING = "Accept-Encoding";
+
+    public static final String ENCODINGS = "gzip, deflate";
+
+    @Override
+    public void apply(RequestTemplate template) {
+        for (String name : template.headers().keySet()) {
+            if (ACCEPT_ENCODING.equalsIgnoreCase(name)) {
+                return;
+            }
+        }
+        template.header(ACCEPT_ENCODING, Collections.singletonList(ENCODINGS));
+    }
+
+}
@@ -0,0 +1,218 @@
+package org.springframework.jersy.feign.core.compression;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.springframework.jersy.feign.core.metrics.MethodMetrics;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Decorate {@link Client}, inflate gzip/deflate response body while the decoder reads it, neither the compressed nor
+ * the inflated body is buffered, Content-Encoding and Content-Length are removed
+ * <p>
+ * bytes read from wire and bytes inflated are recorded to {@link MethodMetrics} bound to current thread when the body
+ * is closed
+ *
+ * @author jiashuai.xie
+ */
+public class DecompressingClient implements Client {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Client delegate;
+
+    public DecompressingClient(Client delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        return decompress(delegate.execute(request, options), MethodMetrics.current());
+    }
+
+    /**
+     * @param metrics null if not instrumented
+     * @return response whose body is inflated, same response if body is not compressed
+     */
+    public static Response decompress(Response response, MethodMetrics metrics) throws IOException {
+
+        if (response.body() == null) {
+            return response;
+        }
+
+        Boolean gzip = null;
+
+        Map<String, Collection<String>> headers = new LinkedHashMap<>();
+
+        for (Map.Entry<String, Collection<String>> header : response.headers().entrySet()) {
+            if ("Content-Encoding".equalsIgnoreCase(header.getKey()) && !header.getValue().isEmpty()) {
+                String encoding = header.getValue().iterator().next().trim();
+                if ("gzip".equalsIgnoreCase(encoding) || "x-gzip".equalsIgnoreCase(encoding)) {
+                    gzip = Boolean.TRUE;
+                    continue;
+                }
+                if ("deflate".equalsIgnoreCase(encoding)) {
+                    gzip = Boolean.FALSE;
+                    continue;
+                }
+            }
+            if (!"Content-Length".equalsIgnoreCase(header.getKey())) {
+                headers.put(header.getKey(), header.getValue());
+            }
+        }
+
+        if (gzip == null) {
+            return response;
+        }
+
+        InputStream body = new InflatingInputStream(response.body().asInputStream(), gzip, metrics);
+
+        return response.toBuilder().headers(headers).body(body, null).build();
+    }
+
+    public Client getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * inflater is created on first read, so an empty body of HEAD or 204 is not an error
+     */
+    static class InflatingInputStream extends InputStream {
+
+        private final CountingInputStream compressed;
+
+        private final boolean gzip;
+
+        private final MethodMetrics metrics;
+
+        private InputStream inflating;
+
+        private Inflater inflater;
+
+        private long inflated;
+
+        private boolean closed;
+
+        InflatingInputStream(InputStream compressed, boolean gzip, MethodMetrics metrics) {
+            this.compressed = new CountingInputStream(compressed);
+            this.gzip = gzip;
+            this.metrics = metrics;
+        }
+
+        private InputStream inflating() throws IOException {
+
+            if (inflating != null) {
+                return inflating;
+            }
+
+            PushbackInputStream in = new PushbackInputStream(compressed, 2);
+
+            int b0 = in.read();
+            if (b0 == -1) {
+                return inflating = in;
+            }
+            int b1 = in.read();
+            if (b1 != -1) {
+                in.unread(b1);
+            }
+            in.unread(b0);
+
+            if (gzip) {
+                return inflating = new GZIPInputStream(in, BUFFER_SIZE);
+            }
+
+            // "deflate" should be zlib wrapped, some servers send raw deflate
+            boolean zlib = b1 != -1 && (b0 & 0x0f) == 8 && ((b0 << 8) | b1) % 31 == 0;
+            inflater = new Inflater(!zlib);
+            return inflating = new InflaterInputStream(in, inflater, BUFFER_SIZE);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = inflating().read();
+            if (b != -1) {
+                inflated++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int count = inflating().read(b, off, len);
+            if (count > 0) {
+                inflated += count;
+            }
+            return count;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return inflating == null ? 0 : inflating.available();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                if (inflating != null) {
+                    inflating.close();
+                } else {
+                    compressed.close();
+                }
+            } finally {
+                if (inflater != null) {
+                    inflater.end();
+                }
+                if (metrics != null && compressed.count > 0) {
+                    metrics.recordInflation(compressed.count, inflated);
+                }
+            }
+        }
+    }
+
+    static class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,146 @@
+package org.springframework.jersy.feign.core.decoder;
+
+import feign.Response;
+
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * How {@link FastJsonDecoder} decodes a return type, resolved once per type
+ *
+ * @author jiashuai.xie
+ */
+final class DecodeStrategy {
+
+    enum Kind {
+
+        /**
+         * void, body is not read
+         */
+        EMPTY,
+
+        /**
+         * {@link Response} itself, body is not read
+         */
+        RESPONSE,
+
+        /**
+         * body text, unquoted if it is a json string
+         */
+        STRING,
+
+        /**
+         * body bytes
+         */
+        BYTES,
+
+        /**
+         * primitive, boxed number, boolean, {@link BigDecimal} or {@link BigInteger} parsed from body text
+         */
+        SCALAR,
+
+        /**
+         * elements of json array decoded lazily
+         */
+        STREAMING,
+
+        /**
+         * general json parser
+         */
+        JSON
+    }
+
+    private static final Map<Class<?>, Function<String, Object>> SCALAR_PARSERS = new HashMap<>();
+
+    static {
+        scalar(Integer::valueOf, int.class, Integer.class);
+        scalar(Long::valueOf, long.class, Long.class);
+        scalar(Short::valueOf, short.class, Short.class);
+        scalar(Byte::valueOf, byte.class, Byte.class);
+        scalar(Double::valueOf, double.class, Double.class);
+        scalar(Float::valueOf, float.class, Float.class);
+        scalar(DecodeStrategy::parseBoolean, boolean.class, Boolean.class);
+        scalar(BigDecimal::new, BigDecimal.class);
+        scalar(BigInteger::new, BigInteger.class);
+    }
+
+    private final Kind kind;
+
+    private final Function<String, Object> scalarParser;
+
+    private final Class<?> streamingType;
+
+    private final Type elementType;
+
+    private DecodeStrategy(Kind kind, Function<String, Object> scalarParser, Class<?> streamingType, Type elementType) {
+        this.kind = kind;
+        this.scalarParser = scalarParser;
+        this.streamingType = streamingType;
+        this.elementType = elementType;
+    }
+
+    static DecodeStrategy of(Type type) {
+        if (type == void.class || type == Void.class) {
+            return new DecodeStrategy(Kind.EMPTY, null, null, null);
+        }
+        if (type == Response.class) {
+            return new DecodeStrategy(Kind.RESPONSE, null, null, null);
+        }
+        if (type == String.class) {
+            return new DecodeStrategy(Kind.STRING, null, null, null);
+        }
+        if (type == byte[].class) {
+            return new DecodeStrategy(Kind.BYTES, null, null, null);
+        }
+        Function<String, Object> scalarParser = SCALAR_PARSERS.get(type);
+        if (scalarParser != null) {
+            return new DecodeStrategy(Kind.SCALAR, scalarParser, null, null);
+        }
+        Class<?> streamingType = FastJsonDecoder.getStreamingType(type);
+        if (streamingType != null) {
+            return new DecodeStrategy(Kind.STREAMING, null, streamingType, FastJsonDecoder.getElementType(type));
+        }
+        return new DecodeStrategy(Kind.JSON, null, null, null);
+    }
+
+    Kind getKind() {
+        return kind;
+    }
+
+    Class<?> getStreamingType() {
+        return streamingType;
+    }
+
+    Type getElementType() {
+        return elementType;
+    }
+
+    /**
+     * @param text trimmed body text, not empty
+     * @throws NumberFormatException if text is not a plain literal, eg: quoted or exponent of integer
+     */
+    Object parseScalar(String text) {
+        return scalarParser.apply(text);
+    }
+
+    private static void scalar(Function<String, Object> parser, Class<?>... types) {
+        for (Class<?> type : types) {
+            SCALAR_PARSERS.put(type, parser);
+        }
+    }
+
+    private static Boolean parseBoolean(String text) {
+        if ("true".equals(text)) {
+            return Boolean.TRUE;
+        }
+        if ("false".equals(text)) {
+            return Boolean.FALSE;
+        }
+        throw new NumberFormatException("not a boolean:" + text);
+    }
+
+}
@@ -1,7 +1,9 @@
 package org.springframework.jersy.feign.core.decoder;
 
 import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.parser.DefaultJSONParser;
 import com.alibaba.fastjson.parser.Feature;
+import com.alibaba.fastjson.parser.JSONReaderScanner;
 import com.alibaba.fastjson.parser.ParserConfig;
 import com.alibaba.fastjson.util.IOUtils;
 import feign.FeignException;
@@ -9,45 +11,121 @@ import feign.Response;
 import feign.Util;
 import feign.codec.DecodeException;
 import feign.codec.Decoder;
-import feign.codec.Encoder;
+import org.springframework.jersy.feign.core.client.DetachableBodyClient;
+import org.springframework.jersy.feign.core.util.BufferPool;
+import org.springframework.jersy.feign.core.warmup.WarmUpTypes;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
 import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
 
 /**
  * Implement {@link Decoder}
+ * <p>
+ * body with known Content-Length not larger than {@link #streamingThreshold} is read into a pooled buffer sized by
+ * Content-Length and parsed in memory, others are parsed while reading the stream so the whole body is never held
+ * <p>
+ * json array can be decoded lazily as {@link Iterator}, {@link Stream} or {@link StreamingElements},
+ * the response is released when all elements are consumed or the result is closed
+ * <p>
+ * {@link String} and byte[] are the body itself (a json string is unquoted unless Content-Type is text),
+ * void and {@link Response} do not read the body, primitives and boxed numbers are parsed without json parser;
+ * how to decode is resolved once per return type
  *
  * @author jiashuai.xie
  */
 public class FastJsonDecoder implements Decoder {
 
+    public static final int DEFAULT_STREAMING_THRESHOLD = 1024 * 256;
+
+    private static final String CHARSET = "charset=";
+
     private ParserConfig config = null;
 
+    private int streamingThreshold;
+
+    private final ConcurrentMap<Type, DecodeStrategy> strategies = new ConcurrentHashMap<>();
+
     public FastJsonDecoder() {
         this(null);
     }
 
     public FastJsonDecoder(ParserConfig config) {
+        this(config, DEFAULT_STREAMING_THRESHOLD);
+    }
+
+    /**
+     * @param config             parser config, global instance if null
+     * @param streamingThreshold body larger than it or without Content-Length will be parsed from stream
+     */
+    public FastJsonDecoder(ParserConfig config, int streamingThreshold) {
         if (null != config) {
             this.config = config;
         } else {
             this.config = ParserConfig.getGlobalInstance();
         }
-
+        this.streamingThreshold = streamingThreshold;
     }
 
     @Override
     public Object decode(Response response, Type type) throws IOException, DecodeException, FeignException {
+
+        DecodeStrategy strategy = getStrategy(type);
+
+        switch (strategy.getKind()) {
+            case EMPTY:
+                return null;
+            case RESPONSE:
+                return response;
+            case STREAMING:
+                return decodeStreaming(response, strategy.getStreamingType(), strategy.getElementType());
+            default:
+                break;
+        }
+
         if (response.status() == 404) {
             return Util.emptyValueOf(type);
         }
         if (response.body() == null) {
             return null;
         }
+
+        switch (strategy.getKind()) {
+            case STRING:
+                return decodeString(response);
+            case BYTES:
+                return decodeBytes(response);
+            case SCALAR:
+                return decodeScalar(response, strategy, type);
+            default:
+                break;
+        }
+
+        Charset charset = getCharset(response);
+        Integer length = response.body().length();
         InputStream in = response.body().asInputStream();
+
+        if (length != null && length <= streamingThreshold) {
+            if (length == 0) {
+                return null;
+            }
+            return parseObject(in, length, charset, type);
+        }
+
         if (!in.markSupported()) {
             in = new BufferedInputStream(in, 2);
         }
@@ -60,10 +138,192 @@ public class FastJsonDecoder implements Decoder {
         }
         in.reset();
 
-        return parseObject(in, null, type);
+        return parseObject(in, charset, type);
+
+    }
+
+    /**
+     * resolve decode strategy of the type, build deserializers of the type and the bean classes reachable from it,
+     * otherwise done by the first decode
+     *
+     * @param type return type
+     */
+    public void warmUp(Type type) {
+
+        DecodeStrategy strategy = getStrategy(type);
+
+        Type valueType;
+        if (DecodeStrategy.Kind.STREAMING == strategy.getKind()) {
+            valueType = strategy.getElementType();
+        } else if (DecodeStrategy.Kind.JSON == strategy.getKind()) {
+            valueType = type;
+        } else {
+            return;
+        }
+
+        for (Class<?> clazz : WarmUpTypes.reachableClasses(valueType)) {
+            try {
+                config.getDeserializer(clazz);
+            } catch (RuntimeException e) {
+                // left to the first decode to report
+            }
+        }
+    }
+
+    private DecodeStrategy getStrategy(Type type) {
+        // not computeIfAbsent, which locks even if present on java 8
+        DecodeStrategy strategy = strategies.get(type);
+        if (strategy == null) {
+            strategy = DecodeStrategy.of(type);
+            strategies.putIfAbsent(type, strategy);
+        }
+        return strategy;
+    }
 
+    private String decodeString(Response response) throws IOException {
+        String text = readText(response);
+        if (text.isEmpty()) {
+            return null;
+        }
+        if (!isJsonString(text) || isText(response)) {
+            return text;
+        }
+        if (text.indexOf('\\') == -1) {
+            return text.substring(1, text.length() - 1);
+        }
+        return parse(new DefaultJSONParser(text, config, JSON.DEFAULT_PARSER_FEATURE), String.class);
+    }
+
+    private static byte[] decodeBytes(Response response) throws IOException {
+        Integer length = response.body().length();
+        InputStream in = response.body().asInputStream();
+        byte[] bytes = length != null ? readFully(in, new byte[length], length) : Util.toByteArray(in);
+        return bytes.length == 0 ? null : bytes;
+    }
+
+    private Object decodeScalar(Response response, DecodeStrategy strategy, Type type) throws IOException {
+        String text = readText(response).trim();
+        if (text.isEmpty() || "null".equals(text)) {
+            return null;
+        }
+        try {
+            return strategy.parseScalar(text);
+        } catch (NumberFormatException e) {
+            // eg: quoted number, leave it to json parser
+            return parse(new DefaultJSONParser(text, config, JSON.DEFAULT_PARSER_FEATURE), type);
+        }
+    }
+
+    /**
+     * body with Content-Length is read into buffers of {@link BufferPool}, others as a whole
+     */
+    private String readText(Response response) throws IOException {
+        Charset charset = getCharset(response);
+        Integer length = response.body().length();
+        InputStream in = response.body().asInputStream();
+        if (length != null && length <= streamingThreshold) {
+            byte[] bytes = BufferPool.acquireBytes(length);
+            try {
+                return toString(bytes, readCount(in, bytes, length), charset);
+            } finally {
+                BufferPool.releaseBytes(bytes);
+            }
+        }
+        byte[] bytes = Util.toByteArray(in);
+        return toString(bytes, bytes.length, charset);
+    }
+
+    private static String toString(byte[] bytes, int len, Charset charset) {
+        if (charset == IOUtils.UTF8) {
+            // avoid a new CharsetDecoder per call
+            char[] chars = BufferPool.acquireChars(len);
+            try {
+                int charsLen = IOUtils.decodeUTF8(bytes, 0, len, chars);
+                if (charsLen >= 0) {
+                    return new String(chars, 0, charsLen);
+                }
+            } finally {
+                BufferPool.releaseChars(chars);
+            }
+        }
+        return new String(bytes, 0, len, charset);
     }
 
+    private static boolean isJsonString(String text) {
+        return text.length() >= 2 && text.charAt(0) == '"' && text.charAt(text.length() - 1) == '"';
+    }
+
+    private static boolean isText(Response response) {
+        Collection<String> contentTypes = response.headers().get("Content-Type");
+        if (contentTypes == null) {
+            return false;
+        }
+        for (String contentType : contentTypes) {
+            if (contentType.trim().regionMatches(true, 0, "text/", 0, "text/".length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Object decodeStreaming(Response response, Class<?> streamingType, Type elementType) throws IOException {
+
+        if (response.status() == 404 || response.body() == null) {
+            return toStreamingResult(streamingType, new JsonArrayIterator<>(new StringReader("[]"), elementType, config, JSON.DEFAULT_PARSER_FEATURE));
+        }
+
+        InputStream in = response.body().asInputStream();
+
+        if (!DetachableBodyClient.detach(response) && !response.body().isRepeatable()) {
+            // body will be closed by feign after decode, buffer it
+            in = new ByteArrayInputStream(Util.toByteArray(in));
+        }
+
+        try {
+            Reader reader = new InputStreamReader(in, getCharset(response));
+            return toStreamingResult(streamingType, new JsonArrayIterator<>(reader, elementType, config, JSON.DEFAULT_PARSER_FEATURE));
+        } catch (RuntimeException e) {
+            // detached body is closed by nobody else, eg: body is an error object instead of an array
+            Util.ensureClosed(in);
+            throw e;
+        }
+    }
+
+    private static Object toStreamingResult(Class<?> streamingType, JsonArrayIterator<?> iterator) {
+        if (Stream.class == streamingType) {
+            return iterator.stream();
+        }
+        return iterator;
+    }
+
+    /**
+     * @return {@link Iterator}, {@link Stream}, {@link StreamingElements} or null if type is none of them
+     */
+    public static Class<?> getStreamingType(Type type) {
+        Type rawType = type instanceof ParameterizedType ? ((ParameterizedType) type).getRawType() : type;
+        if (rawType == Iterator.class || rawType == Stream.class || rawType == StreamingElements.class) {
+            return (Class<?>) rawType;
+        }
+        return null;
+    }
+
+    /**
+     * @return element type of a streaming return type, Object if not parameterized
+     */
+    public static Type getElementType(Type type) {
+        if (!(type instanceof ParameterizedType)) {
+            return Object.class;
+        }
+        Type elementType = ((ParameterizedType) type).getActualTypeArguments()[0];
+        if (elementType instanceof WildcardType) {
+            elementType = ((WildcardType) elementType).getUpperBounds()[0];
+        }
+        return elementType;
+    }
+
+    /**
+     * parse while reading the stream, only the scanner buffer is held
+     */
     public <T> T parseObject(InputStream is, //
                              Charset charset, //
                              Type type, //
@@ -72,84 +332,139 @@ public class FastJsonDecoder implements Decoder {
             charset = IOUtils.UTF8;
         }
 
-        byte[] bytes = allocateBytes(1024 * 64);
+        Reader reader = new InputStreamReader(is, charset);
+
+        DefaultJSONParser parser = new DefaultJSONParser(new JSONReaderScanner(reader, featureValues(features)), config);
+
+        return parse(parser, type);
+    }
+
+    /**
+     * read exactly length bytes then parse
+     */
+    public <T> T parseObject(InputStream is, int length, Charset charset, Type type, Feature... features) throws IOException {
+
+        byte[] bytes = BufferPool.acquireBytes(length);
+        try {
+            int offset = readCount(is, bytes, length);
+            return parseObject(bytes, 0, offset, charset, type, features);
+        } finally {
+            BufferPool.releaseBytes(bytes);
+        }
+    }
+
+    /**
+     * @return bytes read, less than length if stream ends first
+     */
+    private static int readCount(InputStream is, byte[] bytes, int length) throws IOException {
         int offset = 0;
-        for (; ; ) {
-            int readCount = is.read(bytes, offset, bytes.length - offset);
+        while (offset < length) {
+            int readCount = is.read(bytes, offset, length - offset);
             if (readCount == -1) {
                 break;
             }
             offset += readCount;
-            if (offset == bytes.length) {
-                byte[] newBytes = new byte[bytes.length * 3 / 2];
-                System.arraycopy(bytes, 0, newBytes, 0, bytes.length);
-                bytes = newBytes;
-            }
         }
-
-        return (T) parseObject(bytes, 0, offset, charset, type, features);
+        return offset;
     }
 
+    private static byte[] readFully(InputStream is, byte[] bytes, int length) throws IOException {
+        int offset = readCount(is, bytes, length);
+        return offset == length ? bytes : Arrays.copyOf(bytes, offset);
+    }
 
     public <T> T parseObject(byte[] bytes, int offset, int len, Charset charset, Type clazz, Feature... features) {
         if (charset == null) {
             charset = IOUtils.UTF8;
         }
+        if (len < 0) {
+            return null;
+        }
 
-        String strVal;
-        if (charset == IOUtils.UTF8) {
-            char[] chars = allocateChars(bytes.length);
-            int chars_len = IOUtils.decodeUTF8(bytes, offset, len, chars);
-            if (chars_len < 0) {
-                return null;
-            }
-            strVal = new String(chars, 0, chars_len);
-        } else {
-            if (len < 0) {
+        if (charset != IOUtils.UTF8) {
+            return parse(new DefaultJSONParser(new String(bytes, offset, len, charset), config, featureValues(features)), clazz);
+        }
+
+        // utf-8 never decodes to more chars than bytes
+        char[] chars = BufferPool.acquireChars(len);
+        try {
+            int charsLen = IOUtils.decodeUTF8(bytes, offset, len, chars);
+            if (charsLen < 0) {
                 return null;
             }
-            strVal = new String(bytes, offset, len, charset);
+            // scanner copies chars into its own text
+            return parse(new DefaultJSONParser(chars, charsLen, config, featureValues(features)), clazz);
+        } finally {
+            BufferPool.releaseChars(chars);
         }
-        return JSON.parseObject(strVal, clazz, config, features);
     }
 
-    private final static ThreadLocal<char[]> charsLocal = new ThreadLocal<char[]>();
-
-    private static char[] allocateChars(int length) {
-
-        char[] chars = charsLocal.get();
+    private <T> T parse(DefaultJSONParser parser, Type type) {
+        T value = parser.parseObject(type, null);
+        parser.handleResovleTask(value);
+        parser.close();
+        return value;
+    }
 
-        if (chars == null) {
-            if (length <= 1024 * 64) {
-                chars = new char[1024 * 64];
-                charsLocal.set(chars);
-            } else {
-                chars = new char[length];
+    private static int featureValues(Feature... features) {
+        int featureValues = JSON.DEFAULT_PARSER_FEATURE;
+        if (features != null) {
+            for (Feature feature : features) {
+                featureValues |= feature.mask;
             }
-        } else if (chars.length < length) {
-            chars = new char[length];
         }
-
-        return chars;
+        return featureValues;
     }
 
-    private final static ThreadLocal<byte[]> bytesLocal = new ThreadLocal<byte[]>();
-
-    private static byte[] allocateBytes(int length) {
-        byte[] chars = bytesLocal.get();
-
-        if (chars == null) {
-            if (length <= 1024 * 64) {
-                chars = new byte[1024 * 64];
-                bytesLocal.set(chars);
-            } else {
-                chars = new byte[length];
+    /**
+     * charset of Content-Type, default utf-8
+     */
+    private static Charset getCharset(Response response) {
+        Collection<String> contentTypes = response.headers().get("Content-Type");
+        if (contentTypes == null) {
+            return IOUtils.UTF8;
+        }
+        for (String contentType : contentTypes) {
+            int index = indexOfCharset(contentType);
+            if (index != -1) {
+                String charsetName = contentType.substring(index + CHARSET.length()).trim();
+                int end = charsetName.indexOf(';');
+                if (end != -1) {
+                    charsetName = charsetName.substring(0, end).trim();
+                }
+                if (charsetName.length() >= 2 && charsetName.charAt(0) == '"' && charsetName.charAt(charsetName.length() - 1) == '"') {
+                    charsetName = charsetName.substring(1, charsetName.length() - 1);
+                }
+                if ("utf-8".equalsIgnoreCase(charsetName)) {
+                    return IOUtils.UTF8;
+                }
+                try {
+                    Charset charset = Charset.forName(charsetName);
+                    return Util.UTF_8.equals(charset) ? IOUtils.UTF8 : charset;
+                } catch (IllegalArgumentException e) {
+                    return IOUtils.UTF8;
+                }
             }
-        } else if (chars.length < length) {
-            chars = new byte[length];
         }
+        return IOUtils.UTF8;
+    }
 
-        return chars;
+    /**
+     * charset parameter matched case insensitively at start of each parameter, without lower case copy of Content-Type
+     */
+    private static int indexOfCharset(String contentType) {
+        int index = contentType.indexOf(';');
+        while (index != -1) {
+            index++;
+            while (index < contentType.length() && contentType.charAt(index) == ' ') {
+                index++;
+            }
+            if (contentType.regionMatches(true, index, CHARSET, 0, CHARSET.length())) {
+                return index;
+            }
+            index = contentType.indexOf(';', index);
+        }
+        return -1;
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,127 @@
+package org.springframework.jersy.feign.core.decoder;
+
+import com.alibaba.fastjson.JSONReader;
+import com.alibaba.fastjson.parser.DefaultJSONParser;
+import com.alibaba.fastjson.parser.Feature;
+import com.alibaba.fastjson.parser.JSONReaderScanner;
+import com.alibaba.fastjson.parser.ParserConfig;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * decode elements of a json array one by one from reader, the array is started on construction so that a body
+ * which is not an array fails at once; reader is closed when all elements are consumed, on error or {@link #close()}
+ *
+ * @author jiashuai.xie
+ */
+class JsonArrayIterator<T> implements Iterator<T>, StreamingElements<T> {
+
+    private final Reader source;
+
+    private final JSONReader reader;
+
+    private final Type elementType;
+
+    private boolean closed;
+
+    /**
+     * @throws RuntimeException if reading fails or body is not an array, source is closed then
+     */
+    JsonArrayIterator(Reader source, Type elementType, ParserConfig config, int features) {
+        this.source = source;
+        this.elementType = elementType;
+        JSONReader reader = null;
+        try {
+            // parse context of every element would be kept for reference detection until the array ends
+            reader = new JSONReader(new DefaultJSONParser(new JSONReaderScanner(source, features | Feature.DisableCircularReferenceDetect.mask), config));
+            reader.startArray();
+        } catch (RuntimeException e) {
+            close(reader, source);
+            throw e;
+        }
+        this.reader = reader;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+        try {
+            if (reader.hasNext()) {
+                return true;
+            }
+            reader.endArray();
+            close();
+            return false;
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        try {
+            return reader.readObject(elementType);
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void forEach(Consumer<? super T> consumer) {
+        try {
+            forEachRemaining(consumer);
+        } finally {
+            close();
+        }
+    }
+
+    Stream<T> stream() {
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED);
+        return StreamSupport.stream(spliterator, false).onClose(this::close);
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        close(reader, source);
+    }
+
+    /**
+     * close parser too, so that its buffers are given back
+     */
+    private static void close(JSONReader reader, Reader source) {
+        try {
+            if (reader != null) {
+                reader.close();
+            }
+        } catch (RuntimeException ignore) {
+            // not at end of text, closed early
+        } finally {
+            try {
+                source.close();
+            } catch (IOException ignore) {
+                // ignore
+            }
+        }
+    }
+
+}
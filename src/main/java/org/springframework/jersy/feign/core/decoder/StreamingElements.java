@@ -0,0 +1,36 @@
+package org.springframework.jersy.feign.core.decoder;
+
+import java.io.Closeable;
+import java.util.function.Consumer;
+
+/**
+ * callback style return type of a json array response, elements are decoded one by one while reading
+ * <p>
+ * eg:
+ * <pre>
+ * &#64;GET
+ * &#64;Path("/users")
+ * StreamingElements&lt;User&gt; users();
+ *
+ * client.users().forEach(user -&gt; ...);
+ * </pre>
+ *
+ * @author jiashuai.xie
+ * @see FastJsonDecoder
+ */
+public interface StreamingElements<T> extends Closeable {
+
+    /**
+     * consume all elements, response is closed when return or throw
+     *
+     * @param consumer element consumer
+     */
+    void forEach(Consumer<? super T> consumer);
+
+    /**
+     * release the response without consume
+     */
+    @Override
+    void close();
+
+}
@@ -1,38 +1,153 @@
 package org.springframework.jersy.feign.core.encoder;
 
 import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.serializer.JSONSerializer;
 import com.alibaba.fastjson.serializer.SerializeConfig;
+import com.alibaba.fastjson.serializer.SerializeWriter;
+import com.alibaba.fastjson.util.IOUtils;
 import feign.RequestTemplate;
 import feign.codec.EncodeException;
 import feign.codec.Encoder;
+import org.springframework.jersy.feign.core.util.BufferPool;
+import org.springframework.jersy.feign.core.util.ByteArraySink;
+import org.springframework.jersy.feign.core.warmup.WarmUpTypes;
 
+import java.io.IOException;
 import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Implement {@link Encoder}
+ * <p>
+ * serialize to utf-8 bytes in a buffer taken from {@link BufferPool} without building a String,
+ * body larger than {@link #gzipThreshold} will be gzip compressed
+ * <p>
+ * compressed body is sent as is, the transport must not compress it again by its Content-Encoding
+ * as feign {@link feign.Client.Default} does, see {@link org.springframework.jersy.feign.core.client.UrlConnectionClient}
  *
  * @author jiashuai.xie
  */
 public class FastJsonEncoder implements Encoder {
 
+    public static final String CONTENT_TYPE = "Content-Type";
+
+    public static final String CONTENT_ENCODING = "Content-Encoding";
+
+    public static final String JSON_UTF8 = "application/json;charset=UTF-8";
+
+    /**
+     * disable gzip
+     */
+    public static final int GZIP_DISABLED = -1;
+
+    private static final int BUFFER_SIZE = 1024 * 8;
+
     private SerializeConfig config = null;
 
+    private int gzipThreshold;
+
     public FastJsonEncoder() {
         this(null);
     }
 
     public FastJsonEncoder(SerializeConfig config) {
+        this(config, GZIP_DISABLED);
+    }
+
+    /**
+     * @param config        serialize config, global instance if null
+     * @param gzipThreshold body larger than it will be gzip compressed, {@link #GZIP_DISABLED} to disable
+     */
+    public FastJsonEncoder(SerializeConfig config, int gzipThreshold) {
         if (null != config) {
             this.config = config;
         } else {
             this.config = SerializeConfig.getGlobalInstance();
         }
+        this.gzipThreshold = gzipThreshold;
     }
 
 
     @Override
     public void encode(Object obj, Type type, RequestTemplate template) throws EncodeException {
-        template.body(JSON.toJSONString(obj,config));
+
+        Utf8Writer sink = new Utf8Writer(BUFFER_SIZE);
+        // flushes its own small buffer to the sink instead of growing it to the whole body
+        SerializeWriter out = new SerializeWriter(sink, JSON.DEFAULT_GENERATE_FEATURE);
+
+        try {
+
+            new JSONSerializer(out, config).write(obj);
+            out.flush();
+
+            if (!hasContentType(template.headers())) {
+                template.header(CONTENT_TYPE, JSON_UTF8);
+            }
+
+            int length = sink.size();
+
+            if (gzipThreshold != GZIP_DISABLED && length > gzipThreshold) {
+                // charset is meaningless for compressed body
+                template.body(gzip(sink.buffer(), length), null);
+                template.header(CONTENT_ENCODING, "gzip");
+            } else {
+                template.body(Arrays.copyOf(sink.buffer(), length), IOUtils.UTF8);
+            }
+
+        } catch (IOException e) {
+            throw new EncodeException("fail to encode " + type, e);
+        } finally {
+            out.close();
+            sink.release();
+        }
+
+    }
+
+    /**
+     * build serializers of the type and the bean classes reachable from it, otherwise built by the first encode
+     *
+     * @param type declared type of body
+     */
+    public void warmUp(Type type) {
+        for (Class<?> clazz : WarmUpTypes.reachableClasses(type)) {
+            try {
+                config.getObjectWriter(clazz);
+            } catch (RuntimeException e) {
+                // left to the first encode to report
+            }
+        }
+    }
+
+    /**
+     * header names are case insensitive, Consumes may declare content-type
+     */
+    private static boolean hasContentType(Map<String, Collection<String>> headers) {
+        for (Map.Entry<String, Collection<String>> header : headers.entrySet()) {
+            if (CONTENT_TYPE.equalsIgnoreCase(header.getKey()) && !header.getValue().isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] bytes, int length) throws IOException {
+        // compressed json is usually far smaller than the source
+        ByteArraySink compressed = new ByteArraySink(Math.max(length / 4, 512));
+        try {
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed, BUFFER_SIZE)) {
+                gzip.write(bytes, 0, length);
+            }
+            return compressed.toByteArray();
+        } finally {
+            compressed.release();
+        }
+    }
+
+    public int getGzipThreshold() {
+        return gzipThreshold;
     }
 
 }
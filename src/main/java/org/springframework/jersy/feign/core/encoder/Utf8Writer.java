@@ -0,0 +1,132 @@
+package org.springframework.jersy.feign.core.encoder;
+
+import org.springframework.jersy.feign.core.util.BufferPool;
+
+import java.io.Writer;
+
+/**
+ * Unsynchronized {@link Writer} encoding chars to utf-8 bytes in a buffer taken from and grown through {@link BufferPool}
+ * <p>
+ * target of fastjson SerializeWriter, which flushes its small buffer here instead of growing it to the whole body;
+ * a surrogate pair split by a flush is joined, a lone surrogate is encoded as '?'
+ *
+ * @author jiashuai.xie
+ */
+class Utf8Writer extends Writer {
+
+    private byte[] buf;
+
+    private int count;
+
+    /**
+     * high surrogate ending the last write, 0 if none
+     */
+    private char pendingHighSurrogate;
+
+    Utf8Writer(int initialCapacity) {
+        this.buf = BufferPool.acquireBytes(initialCapacity);
+    }
+
+    @Override
+    public void write(char[] chars, int off, int len) {
+
+        // 3 bytes at most per char, a pending high surrogate and its low one take 4
+        ensureCapacity(count + len * 3 + 1);
+
+        byte[] bytes = buf;
+        int n = count;
+        int i = off;
+        int end = off + len;
+
+        if (pendingHighSurrogate != 0 && i < end) {
+            char high = pendingHighSurrogate;
+            pendingHighSurrogate = 0;
+            if (Character.isLowSurrogate(chars[i])) {
+                n = encodeSurrogatePair(bytes, n, high, chars[i++]);
+            } else {
+                bytes[n++] = '?';
+            }
+        }
+
+        while (i < end) {
+            char c = chars[i++];
+            if (c < 0x80) {
+                bytes[n++] = (byte) c;
+            } else if (c < 0x800) {
+                bytes[n++] = (byte) (0xc0 | (c >> 6));
+                bytes[n++] = (byte) (0x80 | (c & 0x3f));
+            } else if (Character.isHighSurrogate(c)) {
+                if (i == end) {
+                    // low surrogate comes with next write
+                    pendingHighSurrogate = c;
+                } else if (Character.isLowSurrogate(chars[i])) {
+                    n = encodeSurrogatePair(bytes, n, c, chars[i++]);
+                } else {
+                    bytes[n++] = '?';
+                }
+            } else if (Character.isLowSurrogate(c)) {
+                bytes[n++] = '?';
+            } else {
+                bytes[n++] = (byte) (0xe0 | (c >> 12));
+                bytes[n++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                bytes[n++] = (byte) (0x80 | (c & 0x3f));
+            }
+        }
+
+        count = n;
+    }
+
+    private static int encodeSurrogatePair(byte[] bytes, int n, char high, char low) {
+        int codePoint = Character.toCodePoint(high, low);
+        bytes[n++] = (byte) (0xf0 | (codePoint >> 18));
+        bytes[n++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+        bytes[n++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+        bytes[n++] = (byte) (0x80 | (codePoint & 0x3f));
+        return n;
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity > buf.length) {
+            byte[] newBuf = BufferPool.acquireBytes(Math.max(buf.length << 1, minCapacity));
+            System.arraycopy(buf, 0, newBuf, 0, count);
+            BufferPool.releaseBytes(buf);
+            buf = newBuf;
+        }
+    }
+
+    /**
+     * @return bytes written, a pending high surrogate is encoded as '?' first
+     */
+    int size() {
+        if (pendingHighSurrogate != 0) {
+            pendingHighSurrogate = 0;
+            ensureCapacity(count + 1);
+            buf[count++] = '?';
+        }
+        return count;
+    }
+
+    /**
+     * internal buffer, valid bytes are [0, size())
+     */
+    byte[] buffer() {
+        return buf;
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    /**
+     * give buffer back to {@link BufferPool}, the writer must not be used any more
+     */
+    void release() {
+        BufferPool.releaseBytes(buf);
+        buf = null;
+    }
+
+}
@@ -0,0 +1,64 @@
+package org.springframework.jersy.feign.core.hedge;
+
+import feign.Feign;
+import feign.InvocationHandlerFactory.MethodHandler;
+import feign.Target;
+import org.springframework.jersy.feign.core.annotation.RestFeignHedge;
+import org.springframework.jersy.feign.core.proxy.MethodHandlerDecorator;
+
+import javax.ws.rs.GET;
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Implement {@link MethodHandlerDecorator}, requests of GET methods annotated by {@link RestFeignHedge} are hedged by
+ * {@link HedgingClient}, async methods are never hedged
+ *
+ * @author jiashuai.xie
+ */
+public class HedgeMethodHandlerDecorator implements MethodHandlerDecorator {
+
+    private final String clientName;
+
+    public HedgeMethodHandlerDecorator(String clientName) {
+        this.clientName = clientName;
+    }
+
+    /**
+     * @param type interface
+     * @return true if any method can be hedged
+     */
+    public static boolean hasHedgedMethods(Class<?> type) {
+        for (Method method : type.getMethods()) {
+            if (isHedged(method)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isHedged(Method method) {
+        return !method.isDefault()
+                && method.isAnnotationPresent(RestFeignHedge.class)
+                && method.isAnnotationPresent(GET.class)
+                && method.getReturnType() != CompletableFuture.class;
+    }
+
+    @Override
+    public MethodHandler decorate(Target<?> target, Method method, MethodHandler handler) {
+        if (!isHedged(method)) {
+            return handler;
+        }
+        RestFeignHedge annotation = method.getAnnotation(RestFeignHedge.class);
+        HedgePolicy policy = HedgePolicies.obtain(clientName, Feign.configKey(target.type(), method), annotation.percentile(), annotation.minDelayMillis());
+        return argv -> {
+            HedgePolicy previous = HedgingClient.begin(policy);
+            try {
+                return handler.invoke(argv);
+            } finally {
+                HedgingClient.end(previous);
+            }
+        };
+    }
+
+}
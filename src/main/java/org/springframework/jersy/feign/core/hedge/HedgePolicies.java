@@ -0,0 +1,46 @@
+package org.springframework.jersy.feign.core.hedge;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link HedgePolicy} of all rest feign clients, keyed by client name and configKey
+ *
+ * @author jiashuai.xie
+ */
+public abstract class HedgePolicies {
+
+    private static final ConcurrentMap<String, ConcurrentMap<String, HedgePolicy>> CLIENTS = new ConcurrentHashMap<>();
+
+    /**
+     * get policy of method, create it if absent
+     *
+     * @param clientName     client name
+     * @param configKey      feign configKey
+     * @param percentile     used only when create
+     * @param minDelayMillis used only when create
+     * @return HedgePolicy
+     */
+    public static HedgePolicy obtain(String clientName, String configKey, double percentile, long minDelayMillis) {
+        return CLIENTS.computeIfAbsent(clientName, name -> new ConcurrentHashMap<>())
+                .computeIfAbsent(configKey, key -> new HedgePolicy(key, percentile, minDelayMillis));
+    }
+
+    public static List<HedgeStats> getStats(String clientName) {
+        List<HedgeStats> stats = new ArrayList<>();
+        ConcurrentMap<String, HedgePolicy> policies = CLIENTS.get(clientName);
+        if (policies != null) {
+            for (HedgePolicy policy : policies.values()) {
+                stats.add(policy.getStats());
+            }
+        }
+        return stats;
+    }
+
+    public static void remove(String clientName) {
+        CLIENTS.remove(clientName);
+    }
+
+}
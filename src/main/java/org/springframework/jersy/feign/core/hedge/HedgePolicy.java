@@ -0,0 +1,97 @@
+package org.springframework.jersy.feign.core.hedge;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hedge delay of one method, the percentile of latency of last {@link #WINDOW} first attempts
+ * <p>
+ * delay is recomputed every {@link #RECOMPUTE_INTERVAL} samples, no hedge before {@link #MIN_SAMPLES} samples
+ *
+ * @author jiashuai.xie
+ */
+public class HedgePolicy {
+
+    static final int WINDOW = 128;
+
+    static final int MIN_SAMPLES = 20;
+
+    static final int RECOMPUTE_INTERVAL = 16;
+
+    private static final long NO_HEDGE = -1;
+
+    private final String configKey;
+
+    private final double percentile;
+
+    private final long minDelayNanos;
+
+    private final AtomicLongArray samples = new AtomicLongArray(WINDOW);
+
+    private final AtomicLong count = new AtomicLong();
+
+    private volatile long delayNanos = NO_HEDGE;
+
+    private final LongAdder calls = new LongAdder();
+
+    private final LongAdder hedged = new LongAdder();
+
+    private final LongAdder hedgeWins = new LongAdder();
+
+    public HedgePolicy(String configKey, double percentile, long minDelayMillis) {
+        if (percentile <= 0 || percentile >= 100) {
+            throw new IllegalArgumentException("percentile of " + configKey + " must be in (0,100)");
+        }
+        this.configKey = configKey;
+        this.percentile = percentile;
+        this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(minDelayMillis);
+    }
+
+    /**
+     * @return nanos to wait before hedging, negative if latency is not known yet
+     */
+    long getDelayNanos() {
+        return delayNanos;
+    }
+
+    /**
+     * record latency of a first attempt, whether it wins or not
+     */
+    void record(long elapsedNanos) {
+        long n = count.getAndIncrement();
+        samples.set((int) (n % WINDOW), elapsedNanos);
+        n++;
+        if (n >= MIN_SAMPLES && (n % RECOMPUTE_INTERVAL == 0 || delayNanos == NO_HEDGE)) {
+            recompute((int) Math.min(n, WINDOW));
+        }
+    }
+
+    private void recompute(int size) {
+        long[] sorted = new long[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = samples.get(i);
+        }
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100 * size) - 1;
+        delayNanos = Math.max(minDelayNanos, sorted[Math.max(0, index)]);
+    }
+
+    void recordCall(boolean hedge, boolean hedgeWin) {
+        calls.increment();
+        if (hedge) {
+            hedged.increment();
+        }
+        if (hedgeWin) {
+            hedgeWins.increment();
+        }
+    }
+
+    public HedgeStats getStats() {
+        long delay = delayNanos;
+        return new HedgeStats(configKey, delay < 0 ? -1 : delay / 1e6, calls.sum(), hedged.sum(), hedgeWins.sum());
+    }
+
+}
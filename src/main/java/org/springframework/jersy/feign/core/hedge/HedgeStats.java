@@ -0,0 +1,35 @@
+package org.springframework.jersy.feign.core.hedge;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * snapshot of a hedged method
+ *
+ * @author jiashuai.xie
+ * @see HedgePolicies#getStats(String)
+ */
+@Data
+@AllArgsConstructor
+public class HedgeStats {
+
+    private String configKey;
+
+    /**
+     * current hedge delay, -1 if latency is not known yet
+     */
+    private double delayMillis;
+
+    /**
+     * http exchanges, each retry is counted
+     */
+    private long calls;
+
+    private long hedged;
+
+    /**
+     * exchanges answered by the hedged request
+     */
+    private long hedgeWins;
+
+}
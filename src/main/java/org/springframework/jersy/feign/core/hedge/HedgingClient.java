@@ -0,0 +1,257 @@
+package org.springframework.jersy.feign.core.hedge;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.Util;
+import org.springframework.jersy.feign.core.metrics.MethodMetrics;
+import org.springframework.jersy.feign.core.retry.RetryBudget;
+import org.springframework.jersy.feign.core.trace.RequestTimings;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decorate {@link Client}, requests of methods decorated by {@link HedgeMethodHandlerDecorator} are sent from a
+ * pool of the client, if no response arrives within {@link HedgePolicy} delay and {@link RetryBudget} allows, the same
+ * request is sent again and the first response wins, the body of the other one is closed
+ * <p>
+ * the pool runs at most as many attempts as the client has connections, when it is full the request is sent from the
+ * caller thread and is not hedged, idle threads exit after a minute
+ * <p>
+ * must be above load balancing client so that the hedged request may choose another endpoint
+ *
+ * @author jiashuai.xie
+ */
+public class HedgingClient implements Client {
+
+    private static final ThreadLocal<HedgePolicy> POLICY = new ThreadLocal<>();
+
+    private static final long THREAD_IDLE_MILLIS = 60_000L;
+
+    private static final int PRIMARY = 1;
+
+    private static final int HEDGE = 2;
+
+    private static final int ABANDONED = -1;
+
+    private final Client delegate;
+
+    private final RetryBudget budget;
+
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * attempts running or queued in {@link #executor}, bounds it without rejecting
+     */
+    private final Semaphore permits;
+
+    /**
+     * @param clientName used to name threads
+     * @param maxThreads max attempts in flight, usually connections of the client
+     */
+    public HedgingClient(Client delegate, RetryBudget budget, String clientName, int maxThreads) {
+        this.delegate = delegate;
+        this.budget = budget;
+        this.permits = new Semaphore(Math.max(1, maxThreads));
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(permits.availablePermits(), permits.availablePermits(),
+                THREAD_IDLE_MILLIS, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "rest-feign-hedge-" + clientName + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+
+        HedgePolicy policy = POLICY.get();
+
+        if (policy == null) {
+            return delegate.execute(request, options);
+        }
+
+        long delayNanos = policy.getDelayNanos();
+
+        // no delay learned yet, or pool is full
+        if (delayNanos < 0 || !permits.tryAcquire()) {
+            long start = System.nanoTime();
+            Response response = delegate.execute(request, options);
+            policy.record(System.nanoTime() - start);
+            policy.recordCall(false, false);
+            return response;
+        }
+
+        Race race = new Race(request, options, policy, MethodMetrics.current(), RequestTimings.current());
+        race.launch(PRIMARY);
+
+        boolean hedged = false;
+        try {
+            Response response;
+            try {
+                response = race.result.get(delayNanos, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                if (permits.tryAcquire()) {
+                    if (budget.tryHedge()) {
+                        hedged = true;
+                        race.launch(HEDGE);
+                    } else {
+                        permits.release();
+                    }
+                }
+                response = race.result.get();
+            }
+            policy.recordCall(hedged, race.winner.get() == HEDGE);
+            return response;
+        } catch (ExecutionException e) {
+            policy.recordCall(hedged, false);
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            race.abandon();
+            throw new InterruptedIOException("interrupted while waiting response of " + request.url());
+        }
+    }
+
+    private static IOException unwrap(Throwable cause) {
+        if (cause instanceof IOException) {
+            return (IOException) cause;
+        }
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new IOException(cause);
+    }
+
+    public Client getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * next requests executed on current thread may be hedged
+     *
+     * @return previous bound policy, to be passed to {@link #end(HedgePolicy)}
+     */
+    static HedgePolicy begin(HedgePolicy policy) {
+        HedgePolicy previous = POLICY.get();
+        POLICY.set(policy);
+        return previous;
+    }
+
+    static void end(HedgePolicy previous) {
+        if (previous == null) {
+            POLICY.remove();
+        } else {
+            POLICY.set(previous);
+        }
+    }
+
+    /**
+     * attempts of one request, the first successful one completes {@link #result}, it fails only if all attempts fail
+     */
+    private class Race {
+
+        private final Request request;
+
+        private final Request.Options options;
+
+        private final HedgePolicy policy;
+
+        private final MethodMetrics metrics;
+
+        /**
+         * not thread safe, bound to primary attempt only
+         */
+        private final RequestTimings timings;
+
+        private final CompletableFuture<Response> result = new CompletableFuture<>();
+
+        private final AtomicInteger winner = new AtomicInteger();
+
+        private final AtomicInteger pending = new AtomicInteger();
+
+        private volatile Throwable error;
+
+        Race(Request request, Request.Options options, HedgePolicy policy, MethodMetrics metrics, RequestTimings timings) {
+            this.request = request;
+            this.options = options;
+            this.policy = policy;
+            this.metrics = metrics;
+            this.timings = timings;
+        }
+
+        /**
+         * caller must hold a permit, released when the attempt completes
+         */
+        void launch(int attempt) {
+            pending.incrementAndGet();
+            executor.execute(() -> {
+                try {
+                    run(attempt);
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+
+        private void run(int attempt) {
+
+            MethodMetrics previous = MethodMetrics.bind(metrics);
+            RequestTimings previousTimings = RequestTimings.bind(attempt == PRIMARY ? timings : null);
+            long start = System.nanoTime();
+
+            Response response;
+            try {
+                response = delegate.execute(request, options);
+            } catch (Throwable e) {
+                if (error == null) {
+                    error = e;
+                }
+                if (pending.decrementAndGet() == 0) {
+                    result.completeExceptionally(error);
+                }
+                return;
+            } finally {
+                MethodMetrics.restore(previous);
+                RequestTimings.restore(previousTimings);
+            }
+
+            if (attempt == PRIMARY) {
+                policy.record(System.nanoTime() - start);
+            }
+
+            if (!winner.compareAndSet(0, attempt) || !result.complete(response)) {
+                Util.ensureClosed(response.body());
+            }
+        }
+
+        /**
+         * caller gives up, close response of any attempt
+         */
+        void abandon() {
+            if (winner.compareAndSet(0, ABANDONED)) {
+                return;
+            }
+            try {
+                Util.ensureClosed(result.join().body());
+            } catch (CompletionException e) {
+                // all attempts failed
+            }
+        }
+    }
+
+}
@@ -0,0 +1,110 @@
+package org.springframework.jersy.feign.core.index;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Index of {@link org.springframework.jersy.feign.core.annotation.RestFeignClient} interfaces written at compile time by
+ * {@link RestFeignClientIndexProcessor} to {@link #LOCATION}, so the registrar needs not scan the classpath
+ * <p>
+ * one entry per attribute: {binaryClassName}.{attribute}={value}, enum values are constant names and class arrays
+ * are comma separated binary names
+ *
+ * @author jiashuai.xie
+ */
+@Slf4j
+public class RestFeignClientIndex {
+
+    public static final String LOCATION = "META-INF/rest-feign-clients.index";
+
+    public static final String ANNOTATION = "org.springframework.jersy.feign.core.annotation.RestFeignClient";
+
+    /**
+     * set to true to ignore index and always scan
+     */
+    public static final String IGNORE_PROPERTY = "rest.feign.index.ignore";
+
+    private final Map<String, Map<String, String>> clients;
+
+    RestFeignClientIndex(Map<String, Map<String, String>> clients) {
+        this.clients = clients;
+    }
+
+    /**
+     * merge all indexes visible to class loader
+     *
+     * @param classLoader class loader
+     * @return null if no index is found
+     */
+    public static RestFeignClientIndex load(ClassLoader classLoader) {
+
+        Map<String, Map<String, String>> clients = new LinkedHashMap<>();
+
+        try {
+            Enumeration<URL> urls = classLoader.getResources(LOCATION);
+            if (!urls.hasMoreElements()) {
+                return null;
+            }
+            while (urls.hasMoreElements()) {
+                URL url = urls.nextElement();
+                try (InputStream in = url.openStream(); Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                    Properties properties = new Properties();
+                    properties.load(reader);
+                    parse(properties, clients);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("<---------- fail to load rest feign client index, fall back to classpath scanning---------->", e);
+            return null;
+        }
+
+        return new RestFeignClientIndex(clients);
+    }
+
+    static void parse(Properties properties, Map<String, Map<String, String>> clients) {
+        for (String key : properties.stringPropertyNames()) {
+            int separator = key.lastIndexOf('.');
+            if (separator > 0) {
+                clients.computeIfAbsent(key.substring(0, separator), className -> new LinkedHashMap<>())
+                        .put(key.substring(separator + 1), properties.getProperty(key));
+            }
+        }
+    }
+
+    /**
+     * @return attributes of indexed clients keyed by binary class name
+     */
+    public Map<String, Map<String, String>> getClients() {
+        return Collections.unmodifiableMap(clients);
+    }
+
+    public boolean contains(String className) {
+        return clients.containsKey(className);
+    }
+
+    /**
+     * @param basePackage package name
+     * @return indexed clients in package or its sub packages, keyed by binary class name
+     */
+    public Map<String, Map<String, String>> getClients(String basePackage) {
+        Map<String, Map<String, String>> result = new LinkedHashMap<>();
+        for (Map.Entry<String, Map<String, String>> client : clients.entrySet()) {
+            if (client.getKey().startsWith(basePackage + ".")) {
+                result.put(client.getKey(), client.getValue());
+            }
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,212 @@
+package org.springframework.jersy.feign.core.index;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Annotation processor which writes {@link RestFeignClientIndex#LOCATION}, picked up by javac from the classpath
+ * <p>
+ * entries of previous compilation are kept if the interface is still annotated, so incremental builds do not lose them
+ *
+ * @author jiashuai.xie
+ */
+@SupportedAnnotationTypes(RestFeignClientIndex.ANNOTATION)
+public class RestFeignClientIndexProcessor extends AbstractProcessor {
+
+    private final Map<String, Map<String, String>> clients = new TreeMap<>();
+
+    private boolean previousLoaded;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+
+        Elements elements = processingEnv.getElementUtils();
+        TypeElement annotation = elements.getTypeElement(RestFeignClientIndex.ANNOTATION);
+
+        if (!previousLoaded) {
+            previousLoaded = true;
+            loadPrevious(elements, annotation);
+        }
+
+        if (annotation != null) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.INTERFACE) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "@RestFeignClient can only be specified on an interface", element);
+                    continue;
+                }
+                TypeElement type = (TypeElement) element;
+                clients.put(elements.getBinaryName(type).toString(), attributes(elements, type, annotation));
+            }
+        }
+
+        if (roundEnv.processingOver() && !clients.isEmpty()) {
+            write();
+        }
+
+        return false;
+    }
+
+    private Map<String, String> attributes(Elements elements, TypeElement type, TypeElement annotation) {
+
+        Map<String, String> attributes = new TreeMap<>();
+
+        for (AnnotationMirror mirror : type.getAnnotationMirrors()) {
+            if (!mirror.getAnnotationType().asElement().equals(annotation)) {
+                continue;
+            }
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : elements.getElementValuesWithDefaults(mirror).entrySet()) {
+                attributes.put(entry.getKey().getSimpleName().toString(), toString(elements, entry.getValue().getValue()));
+            }
+        }
+
+        return attributes;
+    }
+
+    private static String toString(Elements elements, Object value) {
+        if (value instanceof VariableElement) {
+            return ((VariableElement) value).getSimpleName().toString();
+        }
+        if (value instanceof DeclaredType) {
+            return elements.getBinaryName((TypeElement) ((DeclaredType) value).asElement()).toString();
+        }
+        if (value instanceof TypeMirror) {
+            // void or primitive
+            return value.toString();
+        }
+        if (value instanceof List) {
+            StringBuilder joined = new StringBuilder();
+            for (Object element : (List<?>) value) {
+                if (joined.length() > 0) {
+                    joined.append(',');
+                }
+                joined.append(toString(elements, ((AnnotationValue) element).getValue()));
+            }
+            return joined.toString();
+        }
+        return String.valueOf(value);
+    }
+
+    private void loadPrevious(Elements elements, TypeElement annotation) {
+
+        Properties properties = new Properties();
+        try {
+            FileObject previous = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", RestFeignClientIndex.LOCATION);
+            try (Reader reader = new InputStreamReader(previous.openInputStream(), StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+        } catch (IOException e) {
+            // first compilation
+            return;
+        }
+
+        RestFeignClientIndex.parse(properties, clients);
+
+        // drop interfaces which are removed or no longer annotated
+        for (Iterator<String> iterator = clients.keySet().iterator(); iterator.hasNext(); ) {
+            TypeElement type = elements.getTypeElement(iterator.next().replace('$', '.'));
+            if (type == null || annotation == null || !isAnnotated(type, annotation)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static boolean isAnnotated(TypeElement type, TypeElement annotation) {
+        for (AnnotationMirror mirror : type.getAnnotationMirrors()) {
+            if (mirror.getAnnotationType().asElement().equals(annotation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void write() {
+        try {
+            FileObject index = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", RestFeignClientIndex.LOCATION);
+            try (Writer writer = new OutputStreamWriter(index.openOutputStream(), StandardCharsets.UTF_8)) {
+                writer.write("# generated by " + getClass().getName() + "\n");
+                for (Map.Entry<String, Map<String, String>> client : clients.entrySet()) {
+                    for (Map.Entry<String, String> attribute : client.getValue().entrySet()) {
+                        writer.write(escape(client.getKey() + '.' + attribute.getKey(), true));
+                        writer.write('=');
+                        writer.write(escape(attribute.getValue(), false));
+                        writer.write('\n');
+                    }
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "fail to write " + RestFeignClientIndex.LOCATION + ":" + e);
+        }
+    }
+
+    /**
+     * same escaping as {@link Properties#store(Writer, String)}, without the date comment so builds are reproducible
+     */
+    private static String escape(String value, boolean key) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\':
+                    escaped.append("\\\\");
+                    break;
+                case '\n':
+                    escaped.append("\\n");
+                    break;
+                case '\r':
+                    escaped.append("\\r");
+                    break;
+                case '\t':
+                    escaped.append("\\t");
+                    break;
+                case ' ':
+                    escaped.append(key || i == 0 ? "\\ " : " ");
+                    break;
+                case '=':
+                case ':':
+                case '#':
+                case '!':
+                    if (key) {
+                        escaped.append('\\');
+                    }
+                    escaped.append(c);
+                    break;
+                default:
+                    escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+}
@@ -0,0 +1,142 @@
+package org.springframework.jersy.feign.core.loadbalancer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One base url of {@link LoadBalancer}, tracks outstanding requests, peak latency EWMA and consecutive failures
+ * <p>
+ * endpoint is ejected after {@link LoadBalancerConfig#getFailureThreshold()} consecutive failures, once ejection time
+ * is over a single probe request is let through, success brings it back, failure ejects it for twice as long
+ *
+ * @author jiashuai.xie
+ */
+public class Endpoint {
+
+    private final String url;
+
+    private final LoadBalancerConfig config;
+
+    private final AtomicInteger outstanding = new AtomicInteger();
+
+    private final AtomicBoolean probing = new AtomicBoolean();
+
+    private final EndpointChoice chosen = new EndpointChoice(this, false);
+
+    private final EndpointChoice probe = new EndpointChoice(this, true);
+
+    private final LongAdder requests = new LongAdder();
+
+    private final LongAdder failures = new LongAdder();
+
+    private double ewmaNanos;
+
+    private long lastSampleNanos;
+
+    private int consecutiveFailures;
+
+    private int ejections;
+
+    private volatile long ejectedUntilMillis;
+
+    Endpoint(String url, LoadBalancerConfig config) {
+        this.url = url;
+        this.config = config;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * @return expected cost of a new request, latency weighted by outstanding requests,
+     * latency of an endpoint not used for a while decays so that it is tried again
+     */
+    double cost() {
+        double ewma;
+        synchronized (this) {
+            ewma = lastSampleNanos == 0 ? 0 : ewmaNanos * decay(System.nanoTime() - lastSampleNanos);
+        }
+        return (ewma + 1) * (outstanding.get() + 1);
+    }
+
+    /**
+     * @return true if not ejected and not failing
+     */
+    synchronized boolean isHealthy() {
+        return consecutiveFailures < config.getFailureThreshold();
+    }
+
+    /**
+     * @return true if ejection time is over and no other probe is running
+     */
+    boolean tryProbe(long nowMillis) {
+        return !isHealthy() && nowMillis >= ejectedUntilMillis && probing.compareAndSet(false, true);
+    }
+
+    EndpointChoice chosen() {
+        return chosen;
+    }
+
+    EndpointChoice probe() {
+        return probe;
+    }
+
+    void start() {
+        outstanding.incrementAndGet();
+        requests.increment();
+    }
+
+    /**
+     * @param elapsedNanos time to response headers or to error
+     * @param success      false on io error or 5xx
+     * @param probe        true if it is the probe let through by {@link #tryProbe(long)}
+     */
+    void complete(long elapsedNanos, boolean success, boolean probe) {
+
+        outstanding.decrementAndGet();
+
+        long now = System.nanoTime();
+
+        synchronized (this) {
+
+            if (lastSampleNanos == 0 || elapsedNanos > ewmaNanos) {
+                // peak sensitive, slow down is taken at once and recovery decays
+                ewmaNanos = elapsedNanos;
+            } else {
+                double weight = decay(now - lastSampleNanos);
+                ewmaNanos = ewmaNanos * weight + elapsedNanos * (1 - weight);
+            }
+            lastSampleNanos = now;
+
+            if (success) {
+                consecutiveFailures = 0;
+                ejections = 0;
+            } else {
+                failures.increment();
+                consecutiveFailures++;
+                if (consecutiveFailures >= config.getFailureThreshold() && (probe || consecutiveFailures == config.getFailureThreshold())) {
+                    long ejection = Math.min(config.getEjectionMillis() << Math.min(ejections, 20), config.getMaxEjectionMillis());
+                    ejections++;
+                    ejectedUntilMillis = System.currentTimeMillis() + ejection;
+                }
+            }
+        }
+
+        if (probe) {
+            probing.set(false);
+        }
+    }
+
+    private double decay(long elapsedNanos) {
+        return Math.exp(-(double) elapsedNanos / TimeUnit.MILLISECONDS.toNanos(config.getDecayMillis()));
+    }
+
+    public synchronized EndpointStats getStats() {
+        return new EndpointStats(url, outstanding.get(), ewmaNanos / TimeUnit.MILLISECONDS.toNanos(1), requests.sum(),
+                failures.sum(), consecutiveFailures, consecutiveFailures >= config.getFailureThreshold());
+    }
+
+}
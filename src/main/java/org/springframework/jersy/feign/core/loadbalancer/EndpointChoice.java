@@ -0,0 +1,45 @@
+package org.springframework.jersy.feign.core.loadbalancer;
+
+/**
+ * {@link Endpoint} chosen by {@link LoadBalancer#choose()}, a probe of an ejected endpoint ends only when the probe
+ * request completes, so requests sent to it while failing open neither end the probe nor eject it again
+ * <p>
+ * each endpoint has one instance per kind, nothing is allocated per request
+ *
+ * @author jiashuai.xie
+ */
+public final class EndpointChoice {
+
+    private final Endpoint endpoint;
+
+    private final boolean probe;
+
+    EndpointChoice(Endpoint endpoint, boolean probe) {
+        this.endpoint = endpoint;
+        this.probe = probe;
+    }
+
+    public Endpoint getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * @return true if it is the single request let through to an ejected endpoint
+     */
+    public boolean isProbe() {
+        return probe;
+    }
+
+    public void start() {
+        endpoint.start();
+    }
+
+    /**
+     * @param elapsedNanos time to response headers or to error
+     * @param success      false on io error or 5xx
+     */
+    public void complete(long elapsedNanos, boolean success) {
+        endpoint.complete(elapsedNanos, success, probe);
+    }
+
+}
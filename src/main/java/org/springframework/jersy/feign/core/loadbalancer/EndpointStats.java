@@ -0,0 +1,30 @@
+package org.springframework.jersy.feign.core.loadbalancer;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * snapshot of an endpoint of {@link LoadBalancer}
+ *
+ * @author jiashuai.xie
+ * @see LoadBalancers#getStats(String)
+ */
+@Data
+@AllArgsConstructor
+public class EndpointStats {
+
+    private String url;
+
+    private int outstanding;
+
+    private double ewmaMillis;
+
+    private long requests;
+
+    private long failures;
+
+    private int consecutiveFailures;
+
+    private boolean ejected;
+
+}
@@ -0,0 +1,167 @@
+package org.springframework.jersy.feign.core.loadbalancer;
+
+import feign.Request;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Balance requests of one client across several base urls by power of two choices,
+ * the endpoint with lower latency EWMA weighted by outstanding requests wins
+ * <p>
+ * feign target of a balanced client is {@link #getVirtualUrl()}, it is replaced by the chosen endpoint right before execute,
+ * endpoints are re-resolved by {@link #refresh()} without rebuilding the proxy
+ *
+ * @author jiashuai.xie
+ */
+@Slf4j
+public class LoadBalancer {
+
+    public static final String VIRTUAL_SCHEME = "lb://";
+
+    private final String clientName;
+
+    private final String virtualUrl;
+
+    private final Supplier<List<String>> urlsSupplier;
+
+    private final LoadBalancerConfig config;
+
+    private volatile List<Endpoint> endpoints = Collections.emptyList();
+
+    public LoadBalancer(String clientName, Supplier<List<String>> urlsSupplier, LoadBalancerConfig config) {
+        this.clientName = clientName;
+        this.virtualUrl = VIRTUAL_SCHEME + clientName;
+        this.urlsSupplier = urlsSupplier;
+        this.config = config;
+        refresh();
+    }
+
+    /**
+     * re-resolve endpoints, stats of unchanged endpoints are kept
+     */
+    public synchronized void refresh() {
+
+        List<String> urls = urlsSupplier.get();
+
+        List<Endpoint> current = endpoints;
+
+        List<String> currentUrls = new ArrayList<>(current.size());
+        for (Endpoint endpoint : current) {
+            currentUrls.add(endpoint.getUrl());
+        }
+
+        if (urls.isEmpty() || urls.equals(currentUrls)) {
+            return;
+        }
+
+        Map<String, Endpoint> existing = new HashMap<>();
+        for (Endpoint endpoint : current) {
+            existing.put(endpoint.getUrl(), endpoint);
+        }
+
+        List<Endpoint> refreshed = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            Endpoint endpoint = existing.get(url);
+            refreshed.add(endpoint != null ? endpoint : new Endpoint(url, config));
+        }
+
+        log.info("<---------- endpoints of:{} refreshed to:{}---------->", clientName, urls);
+
+        endpoints = Collections.unmodifiableList(refreshed);
+    }
+
+    /**
+     * @return endpoint to send next request to, caller must start and complete it
+     */
+    public EndpointChoice choose() {
+
+        List<Endpoint> all = endpoints;
+
+        int size = all.size();
+        if (size == 1) {
+            return all.get(0).chosen();
+        }
+
+        long now = System.currentTimeMillis();
+
+        List<Endpoint> healthy = all;
+        for (int i = 0; i < size; i++) {
+            Endpoint endpoint = all.get(i);
+            if (!endpoint.isHealthy()) {
+                if (endpoint.tryProbe(now)) {
+                    return endpoint.probe();
+                }
+                if (healthy == all) {
+                    healthy = new ArrayList<>(all.subList(0, i));
+                }
+            } else if (healthy != all) {
+                healthy.add(endpoint);
+            }
+        }
+
+        // all ejected, fail open
+        if (healthy.isEmpty()) {
+            healthy = all;
+        }
+
+        size = healthy.size();
+        if (size == 1) {
+            return healthy.get(0).chosen();
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+
+        Endpoint a = healthy.get(first);
+        Endpoint b = healthy.get(second);
+
+        return (a.cost() <= b.cost() ? a : b).chosen();
+    }
+
+    /**
+     * @return true if request is sent to {@link #getVirtualUrl()}
+     */
+    public boolean isBalanced(Request request) {
+        return request.url().startsWith(virtualUrl);
+    }
+
+    /**
+     * replace virtual url by endpoint url
+     */
+    public Request rewrite(Request request, Endpoint endpoint) {
+        String url = endpoint.getUrl() + request.url().substring(virtualUrl.length());
+        return Request.create(request.method(), url, request.headers(), request.body(), request.charset());
+    }
+
+    public String getClientName() {
+        return clientName;
+    }
+
+    public String getVirtualUrl() {
+        return virtualUrl;
+    }
+
+    public LoadBalancerConfig getConfig() {
+        return config;
+    }
+
+    public List<EndpointStats> getStats() {
+        List<EndpointStats> stats = new ArrayList<>();
+        for (Endpoint endpoint : endpoints) {
+            stats.add(endpoint.getStats());
+        }
+        return stats;
+    }
+
+}
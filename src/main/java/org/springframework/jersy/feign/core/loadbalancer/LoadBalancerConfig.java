@@ -0,0 +1,64 @@
+package org.springframework.jersy.feign.core.loadbalancer;
+
+import lombok.Data;
+import org.springframework.jersy.feign.core.RestFeignClientProperties;
+
+/**
+ * config of {@link LoadBalancer}
+ *
+ * @author jiashuai.xie
+ */
+@Data
+public class LoadBalancerConfig {
+
+    public static final String ENABLED = "lb.enabled";
+
+    public static final String FAILURE_THRESHOLD = "lb.failure-threshold";
+
+    public static final String EJECTION_MILLIS = "lb.ejection-millis";
+
+    public static final String MAX_EJECTION_MILLIS = "lb.max-ejection-millis";
+
+    public static final String DECAY_MILLIS = "lb.decay-millis";
+
+    public static final String REFRESH_INTERVAL_MILLIS = "lb.refresh-interval-millis";
+
+    /**
+     * consecutive failures (io error or 5xx) to eject an endpoint
+     */
+    private int failureThreshold = 5;
+
+    /**
+     * first ejection time, doubled on each failed probe
+     */
+    private long ejectionMillis = 10_000L;
+
+    private long maxEjectionMillis = 300_000L;
+
+    /**
+     * time constant of latency EWMA, a latency peak is forgotten in about this time
+     */
+    private long decayMillis = 2_000L;
+
+    /**
+     * re-resolve endpoints from environment, <= 0 means never
+     */
+    private long refreshIntervalMillis = 30_000L;
+
+    /**
+     * build config of client, environment overrides default value
+     *
+     * @param properties client properties
+     * @return LoadBalancerConfig
+     */
+    public static LoadBalancerConfig of(RestFeignClientProperties properties) {
+        LoadBalancerConfig config = new LoadBalancerConfig();
+        config.setFailureThreshold(properties.getProperty(FAILURE_THRESHOLD, Integer.class, config.getFailureThreshold()));
+        config.setEjectionMillis(properties.getProperty(EJECTION_MILLIS, Long.class, config.getEjectionMillis()));
+        config.setMaxEjectionMillis(properties.getProperty(MAX_EJECTION_MILLIS, Long.class, config.getMaxEjectionMillis()));
+        config.setDecayMillis(properties.getProperty(DECAY_MILLIS, Long.class, config.getDecayMillis()));
+        config.setRefreshIntervalMillis(properties.getProperty(REFRESH_INTERVAL_MILLIS, Long.class, config.getRefreshIntervalMillis()));
+        return config;
+    }
+
+}
@@ -0,0 +1,91 @@
+package org.springframework.jersy.feign.core.loadbalancer;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * {@link LoadBalancer} shared per client name, endpoints are refreshed by one background thread
+ *
+ * @author jiashuai.xie
+ */
+@Slf4j
+public abstract class LoadBalancers {
+
+    private static final ConcurrentMap<String, LoadBalancer> BALANCERS = new ConcurrentHashMap<>();
+
+    private static final ConcurrentMap<String, ScheduledFuture<?>> REFRESHES = new ConcurrentHashMap<>();
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "rest-feign-lb-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * get load balancer of client name, create it and schedule refresh if absent
+     *
+     * @param clientName   client name
+     * @param urlsSupplier used only when create
+     * @param config       used only when create
+     * @return LoadBalancer
+     */
+    public static LoadBalancer obtain(String clientName, Supplier<List<String>> urlsSupplier, LoadBalancerConfig config) {
+        return BALANCERS.computeIfAbsent(clientName, name -> {
+
+            LoadBalancer balancer = new LoadBalancer(name, urlsSupplier, config);
+
+            log.info("<---------- create load balancer for:{},endpoints:{},config:{}---------->", name, balancer.getStats(), config);
+
+            if (config.getRefreshIntervalMillis() > 0) {
+                REFRESHES.put(name, SCHEDULER.scheduleWithFixedDelay(() -> {
+                    try {
+                        balancer.refresh();
+                    } catch (Throwable e) {
+                        log.warn("fail to refresh endpoints of:{}", name, e);
+                    }
+                }, config.getRefreshIntervalMillis(), config.getRefreshIntervalMillis(), TimeUnit.MILLISECONDS));
+            }
+
+            return balancer;
+        });
+    }
+
+    /**
+     * @param clientName client name
+     * @return null if client is not balanced
+     */
+    public static LoadBalancer get(String clientName) {
+        return BALANCERS.get(clientName);
+    }
+
+    /**
+     * @param clientName client name
+     * @return null if client is not balanced
+     */
+    public static List<EndpointStats> getStats(String clientName) {
+        LoadBalancer balancer = BALANCERS.get(clientName);
+        return balancer == null ? null : balancer.getStats();
+    }
+
+    /**
+     * stop refresh and remove load balancer of client name
+     *
+     * @param clientName client name
+     */
+    public static void close(String clientName) {
+        ScheduledFuture<?> refresh = REFRESHES.remove(clientName);
+        if (refresh != null) {
+            refresh.cancel(false);
+        }
+        BALANCERS.remove(clientName);
+    }
+
+}
@@ -0,0 +1,55 @@
+package org.springframework.jersy.feign.core.loadbalancer;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.IOException;
+
+/**
+ * Decorate {@link Client}, send requests of {@link LoadBalancer#getVirtualUrl()} to the chosen endpoint,
+ * so every retry chooses again
+ *
+ * @author jiashuai.xie
+ */
+public class LoadBalancingClient implements Client {
+
+    private final Client delegate;
+
+    private final LoadBalancer loadBalancer;
+
+    public LoadBalancingClient(Client delegate, LoadBalancer loadBalancer) {
+        this.delegate = delegate;
+        this.loadBalancer = loadBalancer;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+
+        if (!loadBalancer.isBalanced(request)) {
+            return delegate.execute(request, options);
+        }
+
+        EndpointChoice choice = loadBalancer.choose();
+
+        choice.start();
+        long start = System.nanoTime();
+
+        Response response;
+        try {
+            response = delegate.execute(loadBalancer.rewrite(request, choice.getEndpoint()), options);
+        } catch (IOException | RuntimeException e) {
+            choice.complete(System.nanoTime() - start, false);
+            throw e;
+        }
+
+        choice.complete(System.nanoTime() - start, response.status() < 500);
+
+        return response;
+    }
+
+    public Client getDelegate() {
+        return delegate;
+    }
+
+}
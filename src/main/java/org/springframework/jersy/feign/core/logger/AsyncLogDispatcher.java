@@ -0,0 +1,142 @@
+package org.springframework.jersy.feign.core.logger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write assembled log entries to slf4j on a background thread through a bounded queue
+ * <p>
+ * shared by all clients which log async, started by the first {@link #retain(int)} and stopped by the last
+ * {@link #release()} after the queued entries are written; entries are written by the caller if it is not running
+ *
+ * @author jiashuai.xie
+ */
+public class AsyncLogDispatcher {
+
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CustomizedLogger.class);
+
+    private static int references;
+
+    private static volatile AsyncLogDispatcher current;
+
+    private final BlockingQueue<String> queue;
+
+    private final Thread worker;
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile boolean stopped;
+
+    private AsyncLogDispatcher(int capacity) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.worker = new Thread(this::drain, "rest-feign-logger");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * start the shared dispatcher if not running, capacity of the call which starts it wins
+     *
+     * @param capacity queue capacity
+     */
+    public static synchronized void retain(int capacity) {
+        if (references++ == 0) {
+            current = new AsyncLogDispatcher(capacity);
+        }
+    }
+
+    /**
+     * stop the shared dispatcher when released as many times as retained
+     */
+    public static synchronized void release() {
+        if (references == 0) {
+            return;
+        }
+        if (--references == 0) {
+            current.stop();
+            current = null;
+        }
+    }
+
+    /**
+     * @return running dispatcher, null if none
+     */
+    static AsyncLogDispatcher current() {
+        return current;
+    }
+
+    void dispatch(String entry, OverflowPolicy policy) {
+        if (stopped) {
+            LOGGER.info(entry);
+            return;
+        }
+        if (OverflowPolicy.BLOCK == policy) {
+            try {
+                queue.put(entry);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                dropped.incrementAndGet();
+            }
+        } else if (!queue.offer(entry)) {
+            dropped.incrementAndGet();
+        }
+        // worker may have stopped after the check, entry would be left in queue
+        if (stopped) {
+            drainRemaining();
+        }
+    }
+
+    private void stop() {
+        stopped = true;
+        worker.interrupt();
+    }
+
+    private void drain() {
+        while (!stopped) {
+            try {
+                write(queue.take());
+            } catch (InterruptedException e) {
+                // stopped
+            }
+        }
+        drainRemaining();
+    }
+
+    private void drainRemaining() {
+        String entry;
+        while ((entry = queue.poll()) != null) {
+            write(entry);
+        }
+    }
+
+    private static void write(String entry) {
+        try {
+            LOGGER.info(entry);
+        } catch (RuntimeException e) {
+            // keep the worker alive whatever the appender does
+        }
+    }
+
+    /**
+     * @return entries dropped because queue is full
+     */
+    public static long getDroppedCount() {
+        AsyncLogDispatcher dispatcher = current;
+        return dispatcher == null ? 0 : dispatcher.dropped.get();
+    }
+
+    /**
+     * @return entries waiting to be written
+     */
+    public static int getPendingCount() {
+        AsyncLogDispatcher dispatcher = current;
+        return dispatcher == null ? 0 : dispatcher.queue.size();
+    }
+
+}
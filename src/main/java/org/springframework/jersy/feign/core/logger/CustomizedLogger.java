@@ -1,14 +1,31 @@
 package org.springframework.jersy.feign.core.logger;
 
+import com.alibaba.fastjson.util.IOUtils;
 import feign.Logger;
+import feign.Request;
 import feign.Response;
+import feign.Util;
 import org.slf4j.LoggerFactory;
-import org.springframework.core.NamedInheritableThreadLocal;
+import org.springframework.jersy.feign.core.client.DetachableBodyClient;
+import org.springframework.jersy.feign.core.util.BufferPool;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.io.SequenceInputStream;
+import java.io.StringWriter;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
 
 /**
  * Extends {@link Logger}
+ * <p>
+ * request and response of one call are assembled into a reusable thread bound buffer and written as one entry,
+ * nothing is formatted unless info is enabled, entries are written by {@link AsyncLogDispatcher} if async,
+ * so that MDC and name of caller thread are not available to the appender
  *
  * @author jiashuai.xie
  */
@@ -16,34 +33,305 @@ public class CustomizedLogger extends Logger {
 
     private static final org.slf4j.Logger LOGGER = LoggerFactory.getLogger(CustomizedLogger.class);
 
-    private static final NamedInheritableThreadLocal<String> LOGGER_CONTEXT = new NamedInheritableThreadLocal<String>("Feign Logger") {
+    /**
+     * log whole body, which is read into heap before decode, even for a streamed return type
+     */
+    public static final int UNLIMITED = -1;
+
+    /**
+     * only a bounded prefix is buffered, so that streamed responses stay streamed
+     */
+    public static final int DEFAULT_MAX_BODY_BYTES = 4096;
+
+    /**
+     * buffer grown larger than it will not be kept by thread
+     */
+    private static final int MAX_CACHED_BUFFER_SIZE = 1024 * 64;
+
+    private static final ThreadLocal<StringBuilder> LOGGER_CONTEXT = new ThreadLocal<StringBuilder>() {
         @Override
-        protected String initialValue() {
-            return "\n";
+        protected StringBuilder initialValue() {
+            return new StringBuilder(1024);
         }
     };
 
+    private final int maxBodyBytes;
+
+    private final boolean async;
+
+    private final OverflowPolicy overflowPolicy;
+
+    public CustomizedLogger() {
+        this(DEFAULT_MAX_BODY_BYTES, false, OverflowPolicy.BLOCK);
+    }
+
+    /**
+     * @param maxBodyBytes   body bytes to log, {@link #UNLIMITED} to log whole body
+     * @param async          write by {@link AsyncLogDispatcher} while it is retained, by caller thread otherwise
+     * @param overflowPolicy used when async queue is full
+     */
+    public CustomizedLogger(int maxBodyBytes, boolean async, OverflowPolicy overflowPolicy) {
+        this.maxBodyBytes = maxBodyBytes;
+        this.async = async;
+        this.overflowPolicy = overflowPolicy;
+    }
+
     @Override
     protected void log(String configKey, String format, Object... args) {
-        String content = LOGGER_CONTEXT.get();
-        content = content + String.format(methodTag(configKey) + format + "\n", args);
-        LOGGER_CONTEXT.set(content);
+        line(configKey).append(String.format(format, args)).append('\n');
+    }
+
+    @Override
+    protected void logRequest(String configKey, Level logLevel, Request request) {
+
+        if (!LOGGER.isInfoEnabled()) {
+            return;
+        }
+
+        StringBuilder record = LOGGER_CONTEXT.get();
+        record.setLength(0);
+        record.append('\n');
+
+        line(configKey).append("---> ").append(request.method()).append(' ').append(request.url()).append(" HTTP/1.1\n");
+
+        if (logLevel.ordinal() >= Level.HEADERS.ordinal()) {
+
+            appendHeaders(configKey, request.headers());
+
+            int bodyLength = 0;
+            if (request.body() != null) {
+                bodyLength = request.body().length;
+                if (logLevel.ordinal() >= Level.FULL.ordinal()) {
+                    line(configKey).append('\n');
+                    StringBuilder line = line(configKey);
+                    if (request.charset() != null) {
+                        int logLength = maxBodyBytes == UNLIMITED ? bodyLength : Math.min(bodyLength, maxBodyBytes);
+                        appendBody(line, request.body(), logLength, request.charset(), logLength < bodyLength);
+                    } else {
+                        line.append("Binary data");
+                    }
+                    line.append('\n');
+                }
+            }
+            line(configKey).append("---> END HTTP (").append(bodyLength).append("-byte body)\n");
+        }
+    }
+
+    @Override
+    protected void logRetry(String configKey, Level logLevel) {
+        if (LOGGER.isInfoEnabled()) {
+            line(configKey).append("---> RETRYING\n");
+        }
     }
 
     @Override
     protected Response logAndRebufferResponse(String configKey, Level logLevel, Response response, long elapsedTime) throws IOException {
-        Response response1 = super.logAndRebufferResponse(configKey, logLevel, response, elapsedTime);
-        LOGGER.info(LOGGER_CONTEXT.get());
-        LOGGER_CONTEXT.remove();
-        return response1;
+
+        if (!LOGGER.isInfoEnabled()) {
+            return response;
+        }
+
+        int status = response.status();
+
+        StringBuilder line = line(configKey).append("<--- HTTP/1.1 ").append(status);
+        if (response.reason() != null) {
+            line.append(' ').append(response.reason());
+        }
+        line.append(" (").append(elapsedTime).append("ms)\n");
+
+        if (logLevel.ordinal() >= Level.HEADERS.ordinal()) {
+
+            appendHeaders(configKey, response.headers());
+
+            // HTTP 204 No Content, HTTP 205 Reset Content has no body
+            if (response.body() != null && !(status == 204 || status == 205)) {
+                if (logLevel.ordinal() >= Level.FULL.ordinal()) {
+                    line(configKey).append('\n');
+                    response = logAndRebufferBody(configKey, response);
+                } else {
+                    // body is left unread
+                    Integer length = response.body().length();
+                    line(configKey).append("<--- END HTTP (").append(length == null ? "unknown" : String.valueOf(length)).append("-byte body)\n");
+                }
+            } else {
+                line(configKey).append("<--- END HTTP (0-byte body)\n");
+            }
+        }
+
+        emit();
+
+        return response;
     }
 
     @Override
     protected IOException logIOException(String configKey, Level logLevel, IOException ioe, long elapsedTime) {
-        IOException ioException = super.logIOException(configKey, logLevel, ioe, elapsedTime);
-        LOGGER.info(LOGGER_CONTEXT.get());
+
+        if (!LOGGER.isInfoEnabled()) {
+            return ioe;
+        }
+
+        line(configKey).append("<--- ERROR ").append(ioe.getClass().getSimpleName()).append(": ").append(ioe.getMessage())
+                .append(" (").append(elapsedTime).append("ms)\n");
+
+        if (logLevel.ordinal() >= Level.FULL.ordinal()) {
+            StringWriter sw = new StringWriter();
+            ioe.printStackTrace(new PrintWriter(sw));
+            line(configKey).append(sw).append('\n');
+            line(configKey).append("<--- END ERROR\n");
+        }
+
+        emit();
+
+        return ioe;
+    }
+
+    /**
+     * take the record of current thread, used when response is handled on another thread
+     *
+     * @return record started by {@link #logRequest(String, Level, Request)}
+     */
+    public StringBuilder detachRecord() {
+        StringBuilder record = LOGGER_CONTEXT.get();
         LOGGER_CONTEXT.remove();
-        return ioException;
+        return record;
+    }
+
+    /**
+     * {@link #logAndRebufferResponse(String, Level, Response, long)} with a record detached from another thread
+     */
+    public Response logAndRebufferResponse(StringBuilder record, String configKey, Level logLevel, Response response, long elapsedTime) throws IOException {
+        LOGGER_CONTEXT.set(record);
+        try {
+            return logAndRebufferResponse(configKey, logLevel, response, elapsedTime);
+        } finally {
+            LOGGER_CONTEXT.remove();
+        }
+    }
+
+    /**
+     * {@link #logIOException(String, Level, IOException, long)} with a record detached from another thread
+     */
+    public IOException logIOException(StringBuilder record, String configKey, Level logLevel, IOException ioe, long elapsedTime) {
+        LOGGER_CONTEXT.set(record);
+        try {
+            return logIOException(configKey, logLevel, ioe, elapsedTime);
+        } finally {
+            LOGGER_CONTEXT.remove();
+        }
+    }
+
+    /**
+     * log whole body and rebuffer it, or log the first {@link #maxBodyBytes} and put them back in front of the stream
+     */
+    private Response logAndRebufferBody(String configKey, Response response) throws IOException {
+
+        InputStream in = response.body().asInputStream();
+
+        if (maxBodyBytes == UNLIMITED) {
+            byte[] bodyData = Util.toByteArray(in);
+            if (bodyData.length > 0) {
+                appendBody(line(configKey), bodyData, bodyData.length, Util.UTF_8, false).append('\n');
+            }
+            line(configKey).append("<--- END HTTP (").append(bodyData.length).append("-byte body)\n");
+            return response.toBuilder().body(bodyData).build();
+        }
+
+        // may be longer than asked
+        byte[] prefix = BufferPool.acquireBytes(maxBodyBytes);
+        int read = 0;
+        while (read < maxBodyBytes) {
+            int count = in.read(prefix, read, maxBodyBytes - read);
+            if (count == -1) {
+                break;
+            }
+            read += count;
+        }
+
+        Integer length = response.body().length();
+
+        if (read < maxBodyBytes) {
+            // whole body has been read
+            byte[] bodyData = Arrays.copyOf(prefix, read);
+            BufferPool.releaseBytes(prefix);
+            in.close();
+            if (read > 0) {
+                appendBody(line(configKey), bodyData, read, Util.UTF_8, false).append('\n');
+            }
+            line(configKey).append("<--- END HTTP (").append(read).append("-byte body)\n");
+            return response.toBuilder().body(bodyData).build();
+        }
+
+        appendBody(line(configKey), prefix, read, Util.UTF_8, length == null || length > read).append('\n');
+        line(configKey).append("<--- END HTTP (").append(length == null ? "unknown" : String.valueOf(length)).append("-byte body)\n");
+
+        // prefix is owned by the response from now on, never released to the pool
+        Response rebuffered = response.toBuilder().body(new SequenceInputStream(new ByteArrayInputStream(prefix, 0, read), in), length).build();
+        if (response.body() instanceof DetachableBodyClient.DetachableBody) {
+            rebuffered = rebuffered.toBuilder().body(new DetachableBodyClient.DetachableBody(rebuffered.body())).build();
+        }
+        return rebuffered;
+    }
+
+    /**
+     * utf-8 body is decoded into a pooled char array without building a String
+     */
+    private static StringBuilder appendBody(StringBuilder line, byte[] body, int length, Charset charset, boolean truncated) {
+        if (IOUtils.UTF8.equals(charset)) {
+            char[] chars = BufferPool.acquireChars(length);
+            try {
+                int count = IOUtils.decodeUTF8(body, 0, length, chars);
+                // malformed, eg: truncated in the middle of a char
+                if (count < 0) {
+                    line.append(new String(body, 0, length, charset));
+                } else {
+                    line.append(chars, 0, count);
+                }
+            } finally {
+                BufferPool.releaseChars(chars);
+            }
+        } else {
+            line.append(new String(body, 0, length, charset));
+        }
+        if (truncated) {
+            line.append("...(truncated)");
+        }
+        return line;
+    }
+
+    private void appendHeaders(String configKey, Map<String, Collection<String>> headers) {
+        for (Map.Entry<String, Collection<String>> header : headers.entrySet()) {
+            for (String value : header.getValue()) {
+                line(configKey).append(header.getKey()).append(": ").append(value).append('\n');
+            }
+        }
+    }
+
+    /**
+     * start a new line with method tag
+     */
+    private static StringBuilder line(String configKey) {
+        int end = configKey.indexOf('(');
+        return LOGGER_CONTEXT.get().append('[').append(configKey, 0, end == -1 ? configKey.length() : end).append("] ");
+    }
+
+    private void emit() {
+
+        StringBuilder record = LOGGER_CONTEXT.get();
+        String entry = record.toString();
+
+        if (record.capacity() > MAX_CACHED_BUFFER_SIZE) {
+            LOGGER_CONTEXT.remove();
+        } else {
+            record.setLength(0);
+        }
+
+        AsyncLogDispatcher dispatcher = async ? AsyncLogDispatcher.current() : null;
+
+        if (dispatcher != null) {
+            dispatcher.dispatch(entry, overflowPolicy);
+        } else {
+            LOGGER.info(entry);
+        }
     }
 
 }
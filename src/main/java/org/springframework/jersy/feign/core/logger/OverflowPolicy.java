@@ -0,0 +1,21 @@
+package org.springframework.jersy.feign.core.logger;
+
+/**
+ * what to do when async log queue is full
+ *
+ * @author jiashuai.xie
+ * @see AsyncLogDispatcher
+ */
+public enum OverflowPolicy {
+
+    /**
+     * discard the entry, caller is never blocked
+     */
+    DROP,
+
+    /**
+     * wait until queue has space, no entry is lost
+     */
+    BLOCK
+
+}
@@ -0,0 +1,132 @@
+package org.springframework.jersy.feign.core.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free fixed memory latency recorder, values are kept in log-linear buckets of microseconds
+ * (16 sub buckets per power of two, relative error below 6.25%)
+ *
+ * @author jiashuai.xie
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * values are capped at 2^41 - 1 micros (about 25 days)
+     */
+    private static final int MAX_EXPONENT = 40;
+
+    private static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+
+    private static final int BUCKET_COUNT = SUB_BUCKET_COUNT * (MAX_EXPONENT - SUB_BUCKET_BITS + 2);
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder sum = new LongAdder();
+
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * @param micros latency in microseconds
+     */
+    public void record(long micros) {
+
+        long value = Math.min(Math.max(micros, 0), MAX_VALUE);
+
+        buckets.incrementAndGet(indexOf(value));
+        count.increment();
+        sum.add(value);
+
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return mean in microseconds
+     */
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    /**
+     * @return max in microseconds
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * @param quantile eg: 0.99
+     * @return value at quantile in microseconds, 0 if nothing is recorded
+     */
+    public long getValueAtQuantile(double quantile) {
+        return getValuesAtQuantiles(quantile)[0];
+    }
+
+    /**
+     * compute several quantiles over one pass of buckets
+     *
+     * @param quantiles ascending quantiles
+     * @return values in microseconds
+     */
+    public long[] getValuesAtQuantiles(double... quantiles) {
+
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+
+        long[] values = new long[quantiles.length];
+        if (total == 0) {
+            return values;
+        }
+
+        long maxValue = max.get();
+        long seen = 0;
+        int index = 0;
+
+        for (int i = 0; i < BUCKET_COUNT && index < quantiles.length; i++) {
+            seen += counts[i];
+            while (index < quantiles.length && seen >= Math.max(1, (long) Math.ceil(quantiles[index] * total))) {
+                values[index++] = Math.min(highestEquivalentValue(i), maxValue);
+            }
+        }
+
+        return values;
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return SUB_BUCKET_COUNT * (exponent - SUB_BUCKET_BITS + 1) + subBucket;
+    }
+
+    static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+        long subBucket = index % SUB_BUCKET_COUNT;
+        return ((SUB_BUCKET_COUNT + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+}
@@ -0,0 +1,261 @@
+package org.springframework.jersy.feign.core.metrics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics of one method of one client, keyed by client name and feign configKey
+ * <p>
+ * invocations are recorded by {@link MetricsMethodHandlerDecorator}, http exchanges by {@link MetricsClient}
+ *
+ * @author jiashuai.xie
+ */
+public class MethodMetrics implements MethodMetricsMXBean {
+
+    private static final ThreadLocal<MethodMetrics> CURRENT = new ThreadLocal<>();
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final String clientName;
+
+    private final String configKey;
+
+    private final LongAdder requests = new LongAdder();
+
+    private final LongAdder[] statusClasses = new LongAdder[5];
+
+    private final ConcurrentMap<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    private final LongAdder bytesIn = new LongAdder();
+
+    private final LongAdder bytesOut = new LongAdder();
+
+    private final LongAdder compressedBytesIn = new LongAdder();
+
+    private final LongAdder inflatedBytesIn = new LongAdder();
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    public MethodMetrics(String clientName, String configKey) {
+        this.clientName = clientName;
+        this.configKey = configKey;
+        for (int i = 0; i < statusClasses.length; i++) {
+            statusClasses[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * @return metrics of the method being invoked on current thread, null if none
+     */
+    public static MethodMetrics current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * bind metrics to current thread, also used to carry metrics to the thread which executes the request
+     *
+     * @return previous bound metrics, to be passed to {@link #restore(MethodMetrics)}
+     */
+    public static MethodMetrics bind(MethodMetrics metrics) {
+        MethodMetrics previous = CURRENT.get();
+        CURRENT.set(metrics);
+        return previous;
+    }
+
+    public static void restore(MethodMetrics previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * record one finished invocation
+     *
+     * @param elapsedNanos whole invocation including retries and decode
+     * @param error        null if succeed
+     */
+    public void recordInvocation(long elapsedNanos, Throwable error) {
+        requests.increment();
+        latency.record(TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+        if (error != null) {
+            errors.computeIfAbsent(error.getClass().getSimpleName(), name -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * record one http exchange
+     *
+     * @param status response status
+     */
+    public void recordStatus(int status) {
+        int statusClass = status / 100 - 1;
+        if (statusClass >= 0 && statusClass < statusClasses.length) {
+            statusClasses[statusClass].increment();
+        }
+    }
+
+    public void recordBytesIn(long bytes) {
+        bytesIn.add(bytes);
+    }
+
+    public void recordBytesOut(long bytes) {
+        bytesOut.add(bytes);
+    }
+
+    /**
+     * record one compressed response body
+     *
+     * @param compressed bytes read from wire
+     * @param inflated   bytes after inflate
+     */
+    public void recordInflation(long compressed, long inflated) {
+        compressedBytesIn.add(compressed);
+        inflatedBytesIn.add(inflated);
+    }
+
+    public MethodMetricsSnapshot snapshot() {
+
+        MethodMetricsSnapshot snapshot = new MethodMetricsSnapshot();
+
+        snapshot.setClientName(clientName);
+        snapshot.setConfigKey(configKey);
+        snapshot.setRequests(requests.sum());
+
+        long[] statuses = new long[statusClasses.length];
+        for (int i = 0; i < statuses.length; i++) {
+            statuses[i] = statusClasses[i].sum();
+        }
+        snapshot.setStatusClasses(statuses);
+
+        snapshot.setErrors(getErrors());
+        snapshot.setBytesIn(bytesIn.sum());
+        snapshot.setBytesOut(bytesOut.sum());
+        snapshot.setCompressedBytesIn(compressedBytesIn.sum());
+        snapshot.setInflatedBytesIn(inflatedBytesIn.sum());
+        snapshot.setCompressionRatio(getCompressionRatio());
+
+        long[] quantiles = latency.getValuesAtQuantiles(0.5, 0.99, 0.999);
+        snapshot.setMeanMillis(latency.getMean() / MICROS_PER_MILLI);
+        snapshot.setP50Millis(quantiles[0] / MICROS_PER_MILLI);
+        snapshot.setP99Millis(quantiles[1] / MICROS_PER_MILLI);
+        snapshot.setP999Millis(quantiles[2] / MICROS_PER_MILLI);
+        snapshot.setMaxMillis(latency.getMax() / MICROS_PER_MILLI);
+
+        return snapshot;
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    @Override
+    public String getClientName() {
+        return clientName;
+    }
+
+    @Override
+    public String getConfigKey() {
+        return configKey;
+    }
+
+    @Override
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    @Override
+    public long getStatus1xx() {
+        return statusClasses[0].sum();
+    }
+
+    @Override
+    public long getStatus2xx() {
+        return statusClasses[1].sum();
+    }
+
+    @Override
+    public long getStatus3xx() {
+        return statusClasses[2].sum();
+    }
+
+    @Override
+    public long getStatus4xx() {
+        return statusClasses[3].sum();
+    }
+
+    @Override
+    public long getStatus5xx() {
+        return statusClasses[4].sum();
+    }
+
+    @Override
+    public Map<String, Long> getErrors() {
+        if (errors.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (Map.Entry<String, LongAdder> entry : errors.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().sum());
+        }
+        return result;
+    }
+
+    @Override
+    public long getBytesIn() {
+        return bytesIn.sum();
+    }
+
+    @Override
+    public long getBytesOut() {
+        return bytesOut.sum();
+    }
+
+    @Override
+    public long getCompressedBytesIn() {
+        return compressedBytesIn.sum();
+    }
+
+    @Override
+    public long getInflatedBytesIn() {
+        return inflatedBytesIn.sum();
+    }
+
+    @Override
+    public double getCompressionRatio() {
+        long compressed = compressedBytesIn.sum();
+        return compressed == 0 ? 0 : (double) inflatedBytesIn.sum() / compressed;
+    }
+
+    @Override
+    public double getMeanMillis() {
+        return latency.getMean() / MICROS_PER_MILLI;
+    }
+
+    @Override
+    public double getP50Millis() {
+        return latency.getValueAtQuantile(0.5) / MICROS_PER_MILLI;
+    }
+
+    @Override
+    public double getP99Millis() {
+        return latency.getValueAtQuantile(0.99) / MICROS_PER_MILLI;
+    }
+
+    @Override
+    public double getP999Millis() {
+        return latency.getValueAtQuantile(0.999) / MICROS_PER_MILLI;
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return latency.getMax() / MICROS_PER_MILLI;
+    }
+
+}
@@ -0,0 +1,63 @@
+package org.springframework.jersy.feign.core.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link MethodMetrics}, registered as
+ * org.springframework.jersy.feign:type=RestFeignClient,client={name},method={configKey}
+ *
+ * @author jiashuai.xie
+ */
+public interface MethodMetricsMXBean {
+
+    String getClientName();
+
+    String getConfigKey();
+
+    long getRequests();
+
+    long getStatus1xx();
+
+    long getStatus2xx();
+
+    long getStatus3xx();
+
+    long getStatus4xx();
+
+    long getStatus5xx();
+
+    /**
+     * @return failed invocations by exception simple name
+     */
+    Map<String, Long> getErrors();
+
+    long getBytesIn();
+
+    long getBytesOut();
+
+    /**
+     * @return bytes of compressed response bodies read from wire
+     */
+    long getCompressedBytesIn();
+
+    /**
+     * @return bytes of compressed response bodies after inflate
+     */
+    long getInflatedBytesIn();
+
+    /**
+     * @return inflated bytes / compressed bytes, 0 if no compressed response
+     */
+    double getCompressionRatio();
+
+    double getMeanMillis();
+
+    double getP50Millis();
+
+    double getP99Millis();
+
+    double getP999Millis();
+
+    double getMaxMillis();
+
+}
@@ -0,0 +1,51 @@
+package org.springframework.jersy.feign.core.metrics;
+
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * Point in time copy of {@link MethodMetrics}, counters are cumulative since the method is first called
+ *
+ * @author jiashuai.xie
+ */
+@Data
+public class MethodMetricsSnapshot {
+
+    private String clientName;
+
+    private String configKey;
+
+    private long requests;
+
+    /**
+     * responses of 1xx, 2xx, 3xx, 4xx, 5xx, retried exchanges are counted one by one
+     */
+    private long[] statusClasses;
+
+    private Map<String, Long> errors;
+
+    private long bytesIn;
+
+    private long bytesOut;
+
+    private long compressedBytesIn;
+
+    private long inflatedBytesIn;
+
+    /**
+     * inflated bytes / compressed bytes, 0 if no compressed response
+     */
+    private double compressionRatio;
+
+    private double meanMillis;
+
+    private double p50Millis;
+
+    private double p99Millis;
+
+    private double p999Millis;
+
+    private double maxMillis;
+
+}
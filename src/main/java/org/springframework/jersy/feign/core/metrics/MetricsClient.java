@@ -0,0 +1,118 @@
+package org.springframework.jersy.feign.core.metrics;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.springframework.jersy.feign.core.stream.StreamingBody;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Decorate {@link Client}, record status and bytes of each exchange to the {@link MethodMetrics} bound to current thread
+ * <p>
+ * bytes in is taken from content length, or counted while the body is read if length is unknown
+ *
+ * @author jiashuai.xie
+ */
+public class MetricsClient implements Client {
+
+    private final Client delegate;
+
+    public MetricsClient(Client delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+
+        MethodMetrics metrics = MethodMetrics.current();
+
+        if (metrics == null) {
+            return delegate.execute(request, options);
+        }
+
+        StreamingBody streamingBody = StreamingBody.current();
+
+        if (request.body() != null) {
+            metrics.recordBytesOut(request.body().length);
+        } else if (streamingBody != null && streamingBody.length() != StreamingBody.UNKNOWN_LENGTH) {
+            metrics.recordBytesOut(streamingBody.length());
+        }
+
+        Response response = delegate.execute(request, options);
+
+        return record(metrics, response);
+    }
+
+    /**
+     * record status and bytes in of response
+     *
+     * @return response whose body is counted if length is unknown
+     */
+    public static Response record(MethodMetrics metrics, Response response) throws IOException {
+
+        metrics.recordStatus(response.status());
+
+        if (response.body() == null) {
+            return response;
+        }
+
+        Integer length = response.body().length();
+        if (length != null) {
+            metrics.recordBytesIn(length);
+            return response;
+        }
+
+        return response.toBuilder().body(new CountingInputStream(response.body().asInputStream(), metrics), null).build();
+    }
+
+    public Client getDelegate() {
+        return delegate;
+    }
+
+    static class CountingInputStream extends FilterInputStream {
+
+        private final MethodMetrics metrics;
+
+        CountingInputStream(InputStream in, MethodMetrics metrics) {
+            super(in);
+            this.metrics = metrics;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                metrics.recordBytesIn(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int count = super.read(b, off, len);
+            if (count > 0) {
+                metrics.recordBytesIn(count);
+            }
+            return count;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            metrics.recordBytesIn(skipped);
+            return skipped;
+        }
+
+        /**
+         * bytes read again after reset would be counted twice
+         */
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+
+}
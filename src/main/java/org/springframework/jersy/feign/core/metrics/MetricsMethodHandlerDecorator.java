@@ -0,0 +1,81 @@
+package org.springframework.jersy.feign.core.metrics;
+
+import feign.Feign;
+import feign.InvocationHandlerFactory.MethodHandler;
+import feign.Target;
+import org.springframework.jersy.feign.core.proxy.MethodHandlerDecorator;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Implement {@link MethodHandlerDecorator}, record latency and errors of every invocation,
+ * must be the outermost decorator so that retries and async completion are included
+ *
+ * @author jiashuai.xie
+ */
+public class MetricsMethodHandlerDecorator implements MethodHandlerDecorator {
+
+    private final String clientName;
+
+    private final boolean jmxEnabled;
+
+    public MetricsMethodHandlerDecorator(String clientName, boolean jmxEnabled) {
+        this.clientName = clientName;
+        this.jmxEnabled = jmxEnabled;
+    }
+
+    @Override
+    public MethodHandler decorate(Target<?> target, Method method, MethodHandler handler) {
+        if (method.isDefault()) {
+            return handler;
+        }
+        MethodMetrics metrics = RestFeignMetrics.obtain(clientName, Feign.configKey(target.type(), method), jmxEnabled);
+        return new MetricsMethodHandler(handler, metrics);
+    }
+
+    static class MetricsMethodHandler implements MethodHandler {
+
+        private final MethodHandler delegate;
+
+        private final MethodMetrics metrics;
+
+        MetricsMethodHandler(MethodHandler delegate, MethodMetrics metrics) {
+            this.delegate = delegate;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public Object invoke(Object[] argv) throws Throwable {
+
+            long start = System.nanoTime();
+
+            MethodMetrics previous = MethodMetrics.bind(metrics);
+
+            Object result;
+            try {
+                result = delegate.invoke(argv);
+            } catch (Throwable e) {
+                metrics.recordInvocation(System.nanoTime() - start, e);
+                throw e;
+            } finally {
+                MethodMetrics.restore(previous);
+            }
+
+            if (result instanceof CompletableFuture) {
+                ((CompletableFuture<?>) result).whenComplete((value, ex) -> {
+                    if (ex instanceof CompletionException && ex.getCause() != null) {
+                        ex = ex.getCause();
+                    }
+                    metrics.recordInvocation(System.nanoTime() - start, ex);
+                });
+            } else {
+                metrics.recordInvocation(System.nanoTime() - start, null);
+            }
+
+            return result;
+        }
+    }
+
+}
@@ -0,0 +1,23 @@
+package org.springframework.jersy.feign.core.metrics;
+
+import java.util.List;
+
+/**
+ * SPI to publish metrics of all rest feign clients periodically
+ * <p>
+ * implementations are loaded by {@link java.util.ServiceLoader} from
+ * META-INF/services/org.springframework.jersy.feign.core.metrics.MetricsReporter
+ * or added by {@link RestFeignMetrics#addReporter(MetricsReporter)}
+ *
+ * @author jiashuai.xie
+ */
+public interface MetricsReporter {
+
+    /**
+     * called on reporter thread, must not block for long
+     *
+     * @param snapshots snapshots of all methods called so far
+     */
+    void report(List<MethodMetricsSnapshot> snapshots);
+
+}
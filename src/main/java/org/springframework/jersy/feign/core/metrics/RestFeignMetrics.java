@@ -0,0 +1,208 @@
+package org.springframework.jersy.feign.core.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MethodMetrics} of all rest feign clients, keyed by client name and configKey
+ *
+ * @author jiashuai.xie
+ */
+@Slf4j
+public abstract class RestFeignMetrics {
+
+    public static final String JMX_DOMAIN = "org.springframework.jersy.feign";
+
+    public static final long DEFAULT_REPORT_INTERVAL_MILLIS = 60000;
+
+    private static final ConcurrentMap<String, ConcurrentMap<String, MethodMetrics>> CLIENTS = new ConcurrentHashMap<>();
+
+    private static final List<MetricsReporter> REPORTERS = new CopyOnWriteArrayList<>();
+
+    /**
+     * reporters loaded by {@link ServiceLoader}, guarded by class
+     */
+    private static final List<MetricsReporter> LOADED_REPORTERS = new ArrayList<>();
+
+    /**
+     * guarded by class
+     */
+    private static ScheduledExecutorService scheduler;
+
+    /**
+     * clients retaining the scheduler, guarded by class
+     */
+    private static int references;
+
+    /**
+     * get metrics of method, create and register to JMX if absent
+     *
+     * @param clientName client name
+     * @param configKey  feign configKey
+     * @param jmxEnabled used only when create
+     * @return MethodMetrics
+     */
+    public static MethodMetrics obtain(String clientName, String configKey, boolean jmxEnabled) {
+        return CLIENTS.computeIfAbsent(clientName, name -> new ConcurrentHashMap<>())
+                .computeIfAbsent(configKey, key -> {
+                    MethodMetrics metrics = new MethodMetrics(clientName, key);
+                    if (jmxEnabled) {
+                        register(metrics);
+                    }
+                    return metrics;
+                });
+    }
+
+    /**
+     * @return null if method is not instrumented
+     */
+    public static MethodMetrics get(String clientName, String configKey) {
+        ConcurrentMap<String, MethodMetrics> methods = CLIENTS.get(clientName);
+        return methods == null ? null : methods.get(configKey);
+    }
+
+    public static List<MethodMetricsSnapshot> snapshot(String clientName) {
+        List<MethodMetricsSnapshot> snapshots = new ArrayList<>();
+        ConcurrentMap<String, MethodMetrics> methods = CLIENTS.get(clientName);
+        if (methods != null) {
+            for (MethodMetrics metrics : methods.values()) {
+                snapshots.add(metrics.snapshot());
+            }
+        }
+        return snapshots;
+    }
+
+    public static List<MethodMetricsSnapshot> snapshot() {
+        List<MethodMetricsSnapshot> snapshots = new ArrayList<>();
+        for (String clientName : CLIENTS.keySet()) {
+            snapshots.addAll(snapshot(clientName));
+        }
+        return snapshots;
+    }
+
+    /**
+     * remove metrics of client and unregister them from JMX
+     *
+     * @param clientName client name
+     */
+    public static void remove(String clientName) {
+        ConcurrentMap<String, MethodMetrics> methods = CLIENTS.remove(clientName);
+        if (methods == null) {
+            return;
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (MethodMetrics metrics : methods.values()) {
+            try {
+                ObjectName name = objectName(metrics);
+                if (server.isRegistered(name)) {
+                    server.unregisterMBean(name);
+                }
+            } catch (JMException e) {
+                log.warn("fail to unregister metrics of:{}", metrics.getConfigKey(), e);
+            }
+        }
+    }
+
+    public static void addReporter(MetricsReporter reporter) {
+        REPORTERS.add(reporter);
+    }
+
+    public static void removeReporter(MetricsReporter reporter) {
+        REPORTERS.remove(reporter);
+    }
+
+    /**
+     * start reporting when retained by the first client, load reporters by {@link ServiceLoader} and report to all
+     * reporters at fixed rate, interval of later calls is ignored
+     *
+     * @param intervalMillis report interval, no reporting if not positive
+     */
+    public static synchronized void retain(long intervalMillis) {
+
+        if (references++ > 0 || intervalMillis <= 0) {
+            return;
+        }
+
+        for (MetricsReporter reporter : ServiceLoader.load(MetricsReporter.class)) {
+            log.info("<---------- load metrics reporter:{}---------->", reporter.getClass().getName());
+            LOADED_REPORTERS.add(reporter);
+        }
+        REPORTERS.addAll(LOADED_REPORTERS);
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rest-feign-metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        scheduler.scheduleAtFixedRate(RestFeignMetrics::report, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * stop reporting when released as many times as retained, reporters loaded by {@link ServiceLoader} are removed
+     */
+    public static synchronized void release() {
+        if (references == 0) {
+            return;
+        }
+        if (--references > 0 || scheduler == null) {
+            return;
+        }
+        scheduler.shutdownNow();
+        scheduler = null;
+        REPORTERS.removeAll(LOADED_REPORTERS);
+        LOADED_REPORTERS.clear();
+    }
+
+    static synchronized boolean isReporting() {
+        return scheduler != null;
+    }
+
+    private static void report() {
+
+        if (REPORTERS.isEmpty()) {
+            return;
+        }
+
+        List<MethodMetricsSnapshot> snapshots = snapshot();
+
+        for (MetricsReporter reporter : REPORTERS) {
+            try {
+                reporter.report(snapshots);
+            } catch (Throwable e) {
+                log.warn("fail to report metrics by:{}", reporter.getClass().getName(), e);
+            }
+        }
+    }
+
+    private static void register(MethodMetrics metrics) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = objectName(metrics);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(metrics, name);
+            }
+        } catch (JMException e) {
+            log.warn("fail to register metrics of:{}", metrics.getConfigKey(), e);
+        }
+    }
+
+    private static ObjectName objectName(MethodMetrics metrics) throws JMException {
+        return new ObjectName(JMX_DOMAIN + ":type=RestFeignClient,client=" + ObjectName.quote(metrics.getClientName())
+                + ",method=" + ObjectName.quote(metrics.getConfigKey()));
+    }
+
+}
@@ -0,0 +1,37 @@
+package org.springframework.jersy.feign.core.proxy;
+
+import feign.Contract;
+import feign.MethodMetadata;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Decorate {@link Contract}, parse metadata of each interface only once
+ * <p>
+ * metadata is only read by feign after parsed, so that it can be shared by every client of the interface
+ *
+ * @author jiashuai.xie
+ */
+public class CachingContract implements Contract {
+
+    private final Contract delegate;
+
+    private final ConcurrentMap<Class<?>, List<MethodMetadata>> metadata = new ConcurrentHashMap<>();
+
+    public CachingContract(Contract delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public List<MethodMetadata> parseAndValidatateMetadata(Class<?> targetType) {
+        return metadata.computeIfAbsent(targetType, type -> Collections.unmodifiableList(delegate.parseAndValidatateMetadata(type)));
+    }
+
+    public int size() {
+        return metadata.size();
+    }
+
+}
@@ -0,0 +1,71 @@
+package org.springframework.jersy.feign.core.proxy;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+
+/**
+ * Implement {@link InvocationHandler} of a stub proxy, the real handler is created on first invocation,
+ * creation fails the invocation and is tried again by the next one
+ * <p>
+ * equals, hashCode and toString are answered by the stub and never create the real handler
+ *
+ * @author jiashuai.xie
+ */
+public class LazyInvocationHandler implements InvocationHandler {
+
+    private final Class<?> targetType;
+
+    private final String name;
+
+    private final Callable<InvocationHandler> factory;
+
+    private volatile InvocationHandler delegate;
+
+    /**
+     * @param targetType interface of proxy
+     * @param name       client name
+     * @param factory    creates the real handler
+     */
+    public LazyInvocationHandler(Class<?> targetType, String name, Callable<InvocationHandler> factory) {
+        this.targetType = targetType;
+        this.name = name;
+        this.factory = factory;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if ("equals".equals(method.getName()) && method.getParameterCount() == 1) {
+            return proxy == args[0];
+        } else if ("hashCode".equals(method.getName()) && method.getParameterCount() == 0) {
+            return System.identityHashCode(proxy);
+        } else if ("toString".equals(method.getName()) && method.getParameterCount() == 0) {
+            return toString();
+        }
+        return getDelegate().invoke(proxy, method, args);
+    }
+
+    public boolean isInitialized() {
+        return delegate != null;
+    }
+
+    private InvocationHandler getDelegate() throws Exception {
+        InvocationHandler handler = delegate;
+        if (handler == null) {
+            synchronized (this) {
+                handler = delegate;
+                if (handler == null) {
+                    handler = factory.call();
+                    delegate = handler;
+                }
+            }
+        }
+        return handler;
+    }
+
+    @Override
+    public String toString() {
+        return "LazyRestFeignClient(type=" + targetType.getSimpleName() + ", name=" + name + ")";
+    }
+
+}
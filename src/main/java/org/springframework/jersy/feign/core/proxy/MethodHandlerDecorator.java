@@ -0,0 +1,24 @@
+package org.springframework.jersy.feign.core.proxy;
+
+import feign.InvocationHandlerFactory.MethodHandler;
+import feign.Target;
+
+import java.lang.reflect.Method;
+
+/**
+ * decorate feign {@link MethodHandler} of each interface method
+ *
+ * @author jiashuai.xie
+ * @see RestFeignInvocationHandlerFactory
+ */
+public interface MethodHandlerDecorator {
+
+    /**
+     * @param target  feign target
+     * @param method  interface method
+     * @param handler handler to decorate
+     * @return decorated handler or handler itself if nothing to do
+     */
+    MethodHandler decorate(Target<?> target, Method method, MethodHandler handler);
+
+}
@@ -0,0 +1,157 @@
+package org.springframework.jersy.feign.core.proxy;
+
+import feign.RequestInterceptor;
+import feign.codec.Decoder;
+import feign.codec.Encoder;
+import feign.jaxrs.JAXRSContract;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.jersy.feign.core.codec.CborCodec;
+import org.springframework.jersy.feign.core.codec.Codec;
+import org.springframework.jersy.feign.core.codec.CodecRegistry;
+import org.springframework.jersy.feign.core.codec.JsonCodec;
+import org.springframework.jersy.feign.core.codec.NegotiatingCodec;
+import org.springframework.jersy.feign.core.decoder.FastJsonDecoder;
+import org.springframework.jersy.feign.core.encoder.FastJsonEncoder;
+import org.springframework.jersy.feign.core.logger.CustomizedLogger;
+import org.springframework.jersy.feign.core.logger.OverflowPolicy;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Stateless feign components shared by all rest feign clients, keyed by their configuration
+ *
+ * @author jiashuai.xie
+ */
+@Slf4j
+public abstract class RestFeignComponents {
+
+    private static final CachingContract CONTRACT = new CachingContract(new JAXRSContract());
+
+    private static final FastJsonDecoder DECODER = new FastJsonDecoder();
+
+    private static final ConcurrentMap<Integer, FastJsonEncoder> ENCODERS = new ConcurrentHashMap<>();
+
+    private static final ConcurrentMap<String, CustomizedLogger> LOGGERS = new ConcurrentHashMap<>();
+
+    private static final ConcurrentMap<Class<?>, Object> INSTANCES = new ConcurrentHashMap<>();
+
+    private static final ConcurrentMap<String, NegotiatingCodec> NEGOTIATING_CODECS = new ConcurrentHashMap<>();
+
+    private static volatile List<Codec> serviceCodecs;
+
+    /**
+     * @return jax-rs contract which parses each interface only once
+     */
+    public static CachingContract contract() {
+        return CONTRACT;
+    }
+
+    public static FastJsonDecoder decoder() {
+        return DECODER;
+    }
+
+    /**
+     * @param gzipThreshold see {@link FastJsonEncoder#FastJsonEncoder(com.alibaba.fastjson.serializer.SerializeConfig, int)}
+     */
+    public static FastJsonEncoder encoder(int gzipThreshold) {
+        return ENCODERS.computeIfAbsent(gzipThreshold, threshold -> new FastJsonEncoder(null, threshold));
+    }
+
+    /**
+     * see {@link CustomizedLogger#CustomizedLogger(int, boolean, OverflowPolicy)}
+     */
+    public static CustomizedLogger logger(int maxBodyBytes, boolean async, OverflowPolicy overflowPolicy) {
+        String key = maxBodyBytes + ":" + async + ":" + overflowPolicy;
+        return LOGGERS.computeIfAbsent(key, k -> new CustomizedLogger(maxBodyBytes, async, overflowPolicy));
+    }
+
+    /**
+     * interceptors are instantiated by default constructor once per class and shared by all clients,
+     * so are encoders, decoders and codecs; they must be thread safe and keep no state of a client
+     *
+     * @param interceptorClass implementation of {@link RequestInterceptor}
+     */
+    public static RequestInterceptor interceptor(Class<?> interceptorClass) {
+        return (RequestInterceptor) instance(interceptorClass);
+    }
+
+    /**
+     * @param encoderClass implementation of {@link Encoder}, instantiated once
+     */
+    public static Encoder encoder(Class<?> encoderClass) {
+        return (Encoder) instance(encoderClass);
+    }
+
+    /**
+     * @param decoderClass implementation of {@link Decoder}, instantiated once
+     */
+    public static Decoder decoder(Class<?> decoderClass) {
+        return (Decoder) instance(decoderClass);
+    }
+
+    /**
+     * codecs in order: codecClasses, codecs declared by {@link ServiceLoader}, json, cbor if jackson-dataformat-cbor
+     * is present; the one of preferred media type is moved to the first
+     *
+     * @param preferredMediaType media type of request body and the first of Accept
+     * @param codecClasses       implementations of {@link Codec}, instantiated once
+     * @param gzipThreshold      of json encoder
+     * @throws IllegalStateException if no codec supports preferred media type
+     */
+    public static NegotiatingCodec negotiatingCodec(String preferredMediaType, List<Class<?>> codecClasses, int gzipThreshold) {
+        String key = preferredMediaType + ":" + codecClasses + ":" + gzipThreshold;
+        return NEGOTIATING_CODECS.computeIfAbsent(key, k -> {
+
+            List<Codec> codecs = new ArrayList<>();
+            for (Class<?> codecClass : codecClasses) {
+                codecs.add((Codec) instance(codecClass));
+            }
+            codecs.addAll(serviceCodecs());
+
+            JsonCodec json = new JsonCodec(encoder(gzipThreshold), DECODER);
+            codecs.add(json);
+            if (ClassUtils.isPresent(CborCodec.REQUIRED_CLASS, RestFeignComponents.class.getClassLoader())) {
+                codecs.add((Codec) instance(CborCodec.class));
+            }
+
+            Codec preferred = new CodecRegistry(codecs, json).getCodec(preferredMediaType);
+            if (preferred == null) {
+                throw new IllegalStateException("no codec of media type:" + preferredMediaType);
+            }
+            codecs.add(0, preferred);
+
+            return new NegotiatingCodec(new CodecRegistry(codecs, json));
+        });
+    }
+
+    private static List<Codec> serviceCodecs() {
+        List<Codec> codecs = serviceCodecs;
+        if (codecs == null) {
+            synchronized (RestFeignComponents.class) {
+                codecs = serviceCodecs;
+                if (codecs == null) {
+                    codecs = new ArrayList<>();
+                    for (Codec codec : ServiceLoader.load(Codec.class)) {
+                        log.info("<---------- load codec:{} of media type:{}---------->", codec.getClass().getName(), codec.getMediaType());
+                        codecs.add(codec);
+                    }
+                    codecs = Collections.unmodifiableList(codecs);
+                    serviceCodecs = codecs;
+                }
+            }
+        }
+        return codecs;
+    }
+
+    private static Object instance(Class<?> type) {
+        return INSTANCES.computeIfAbsent(type, BeanUtils::instantiateClass);
+    }
+
+}
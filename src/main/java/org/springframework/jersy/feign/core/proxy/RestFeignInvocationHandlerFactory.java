@@ -0,0 +1,94 @@
+package org.springframework.jersy.feign.core.proxy;
+
+import feign.InvocationHandlerFactory;
+import feign.Target;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implement {@link InvocationHandlerFactory}, apply {@link MethodHandlerDecorator}s to every method handler,
+ * the first decorator is the innermost
+ *
+ * @author jiashuai.xie
+ */
+public class RestFeignInvocationHandlerFactory implements InvocationHandlerFactory {
+
+    private final List<MethodHandlerDecorator> decorators;
+
+    public RestFeignInvocationHandlerFactory(List<MethodHandlerDecorator> decorators) {
+        this.decorators = new ArrayList<>(decorators);
+    }
+
+    @Override
+    public InvocationHandler create(Target target, Map<Method, MethodHandler> dispatch) {
+
+        Map<Method, MethodHandler> decorated = new LinkedHashMap<>(dispatch.size());
+
+        for (Map.Entry<Method, MethodHandler> entry : dispatch.entrySet()) {
+            MethodHandler handler = entry.getValue();
+            for (MethodHandlerDecorator decorator : decorators) {
+                handler = decorator.decorate(target, entry.getKey(), handler);
+            }
+            decorated.put(entry.getKey(), handler);
+        }
+
+        return new RestFeignInvocationHandler(target, decorated);
+    }
+
+    /**
+     * same as feign.ReflectiveFeign.FeignInvocationHandler
+     */
+    static class RestFeignInvocationHandler implements InvocationHandler {
+
+        private final Target<?> target;
+
+        private final Map<Method, MethodHandler> dispatch;
+
+        RestFeignInvocationHandler(Target<?> target, Map<Method, MethodHandler> dispatch) {
+            this.target = target;
+            this.dispatch = dispatch;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if ("equals".equals(method.getName())) {
+                try {
+                    Object otherHandler = args.length > 0 && args[0] != null ? Proxy.getInvocationHandler(args[0]) : null;
+                    return equals(otherHandler);
+                } catch (IllegalArgumentException e) {
+                    return false;
+                }
+            } else if ("hashCode".equals(method.getName())) {
+                return hashCode();
+            } else if ("toString".equals(method.getName())) {
+                return toString();
+            }
+            return dispatch.get(method).invoke(args);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof RestFeignInvocationHandler) {
+                return target.equals(((RestFeignInvocationHandler) obj).target);
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return target.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return target.toString();
+        }
+    }
+
+}
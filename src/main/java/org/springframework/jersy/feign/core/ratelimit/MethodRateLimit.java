@@ -0,0 +1,206 @@
+package org.springframework.jersy.feign.core.ratelimit;
+
+import feign.Response;
+import org.springframework.jersy.feign.core.timeout.Deadline;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client and method {@link RateLimiter}s of the method being invoked, bound to current thread by
+ * {@link RateLimitMethodHandlerDecorator} and applied to each request by {@link RateLimitingClient}
+ * <p>
+ * responses pause the limiters by Retry-After of 429 and 503, or by RateLimit-Reset when RateLimit-Remaining is 0
+ * (also with X- prefix; reset is seconds from now, or epoch seconds if it is larger than a billion)
+ *
+ * @author jiashuai.xie
+ */
+public class MethodRateLimit {
+
+    private static final ThreadLocal<MethodRateLimit> CURRENT = new ThreadLocal<>();
+
+    private static final long EPOCH_SECONDS_THRESHOLD = 1_000_000_000L;
+
+    /**
+     * longer pauses asked by server are cut, calls fail fast meanwhile anyway unless timeout is longer
+     */
+    private static final long MAX_PAUSE_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private final RateLimiter clientLimiter;
+
+    private final RateLimiter methodLimiter;
+
+    private final long timeoutNanos;
+
+    /**
+     * @param clientLimiter null if client is not limited
+     * @param methodLimiter null if method is not limited
+     * @param timeoutMillis max time to wait for permits
+     */
+    public MethodRateLimit(RateLimiter clientLimiter, RateLimiter methodLimiter, long timeoutMillis) {
+        this.clientLimiter = clientLimiter;
+        this.methodLimiter = methodLimiter;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, timeoutMillis));
+    }
+
+    /**
+     * @return rate limit of the method being invoked on current thread, null if none
+     */
+    public static MethodRateLimit current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @return previous bound rate limit, to be passed to {@link #restore(MethodRateLimit)}
+     */
+    public static MethodRateLimit bind(MethodRateLimit rateLimit) {
+        MethodRateLimit previous = CURRENT.get();
+        CURRENT.set(rateLimit);
+        return previous;
+    }
+
+    public static void restore(MethodRateLimit previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * take a permit of method and client limiters, waiting up to timeout, no longer than the bound {@link Deadline}
+     *
+     * @throws RateLimitExceededException if no permit within timeout
+     * @throws InterruptedIOException     if interrupted while waiting
+     */
+    public void acquire() throws IOException {
+
+        long maxWaitNanos = timeoutNanos;
+
+        Deadline deadline = Deadline.current();
+        if (deadline != null) {
+            maxWaitNanos = Math.min(maxWaitNanos, TimeUnit.MILLISECONDS.toNanos(Math.max(0, deadline.remainingMillis())));
+        }
+
+        long methodWaitNanos = 0;
+
+        if (methodLimiter != null) {
+            methodWaitNanos = methodLimiter.reserve(maxWaitNanos);
+            if (methodWaitNanos < 0) {
+                throw methodLimiter.exceeded();
+            }
+        }
+
+        long clientWaitNanos = 0;
+
+        if (clientLimiter != null) {
+            clientWaitNanos = clientLimiter.reserve(maxWaitNanos);
+            if (clientWaitNanos < 0) {
+                // the request is not sent, give back the method permit
+                if (methodLimiter != null) {
+                    methodLimiter.cancel(methodWaitNanos);
+                }
+                throw clientLimiter.exceeded();
+            }
+        }
+
+        long waitNanos = Math.max(methodWaitNanos, clientWaitNanos);
+
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                if (methodLimiter != null) {
+                    methodLimiter.cancel(methodWaitNanos);
+                }
+                if (clientLimiter != null) {
+                    clientLimiter.cancel(clientWaitNanos);
+                }
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("interrupted waiting for rate limit permit");
+            }
+        }
+    }
+
+    /**
+     * pause limiters if the response asks to slow down
+     */
+    public void observe(Response response) {
+
+        long pauseMillis = -1;
+
+        if (response.status() == 429 || response.status() == 503) {
+            pauseMillis = retryAfterMillis(header(response, "Retry-After"));
+        }
+
+        if (pauseMillis < 0 && "0".equals(rateLimitHeader(response, "Remaining"))) {
+            pauseMillis = resetMillis(rateLimitHeader(response, "Reset"));
+        }
+
+        if (pauseMillis <= 0) {
+            return;
+        }
+
+        long untilNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.min(pauseMillis, MAX_PAUSE_MILLIS));
+
+        if (methodLimiter != null) {
+            methodLimiter.pauseUntil(untilNanos);
+        }
+        if (clientLimiter != null) {
+            clientLimiter.pauseUntil(untilNanos);
+        }
+    }
+
+    /**
+     * @param value delta seconds or http date
+     * @return -1 if absent or malformed
+     */
+    private static long retryAfterMillis(String value) {
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return TimeUnit.SECONDS.toMillis(Long.parseLong(value));
+        } catch (NumberFormatException e) {
+            // http date
+        }
+        try {
+            return ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli() - System.currentTimeMillis();
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+
+    private static long resetMillis(String value) {
+        if (value == null) {
+            return -1;
+        }
+        try {
+            long seconds = Long.parseLong(value);
+            return seconds > EPOCH_SECONDS_THRESHOLD ? TimeUnit.SECONDS.toMillis(seconds) - System.currentTimeMillis() : TimeUnit.SECONDS.toMillis(seconds);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static String rateLimitHeader(Response response, String field) {
+        String value = header(response, "RateLimit-" + field);
+        return value != null ? value : header(response, "X-RateLimit-" + field);
+    }
+
+    private static String header(Response response, String name) {
+        for (Map.Entry<String, Collection<String>> header : response.headers().entrySet()) {
+            if (name.equalsIgnoreCase(header.getKey()) && !header.getValue().isEmpty()) {
+                return header.getValue().iterator().next().trim();
+            }
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,89 @@
+package org.springframework.jersy.feign.core.ratelimit;
+
+import lombok.Data;
+import org.springframework.jersy.feign.core.RestFeignClientProperties;
+
+/**
+ * config of a {@link RateLimiter}
+ *
+ * @author jiashuai.xie
+ */
+@Data
+public class RateLimitConfig {
+
+    public static final String CLIENT_PREFIX = "rate-limit.";
+
+    public static final String PERMITS_PER_SECOND = "permits-per-second";
+
+    public static final String BURST = "burst";
+
+    public static final String TIMEOUT_MILLIS = "timeout-millis";
+
+    public static final String ADAPTIVE = "adaptive";
+
+    /**
+     * requests per second, 0 disables
+     */
+    private double permitsPerSecond;
+
+    /**
+     * requests allowed at once after idle, 0 means one second of permits
+     */
+    private int burst;
+
+    /**
+     * max time to wait for a permit, 0 fails fast
+     */
+    private long timeoutMillis;
+
+    /**
+     * pause when response asks by Retry-After or RateLimit-Remaining: 0
+     */
+    private boolean adaptive = true;
+
+    public RateLimitConfig() {
+    }
+
+    public RateLimitConfig(double permitsPerSecond, int burst, long timeoutMillis) {
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * @param methodKey {@link RestFeignClientProperties#methodKey(Class, java.lang.reflect.Method)}
+     * @return prefix of method properties, rate-limit properties of client are inherited
+     */
+    public static String methodPrefix(String methodKey) {
+        return "method." + methodKey + "." + CLIENT_PREFIX;
+    }
+
+    /**
+     * build config, environment overrides default value
+     *
+     * @param properties client properties
+     * @param prefix     {@link #CLIENT_PREFIX} or {@link #methodPrefix(String)}
+     * @param defaults   values of annotation
+     * @return RateLimitConfig
+     */
+    public static RateLimitConfig of(RestFeignClientProperties properties, String prefix, RateLimitConfig defaults) {
+        RateLimitConfig config = new RateLimitConfig();
+        config.setPermitsPerSecond(properties.getProperty(prefix + PERMITS_PER_SECOND, Double.class, defaults.getPermitsPerSecond()));
+        config.setBurst(properties.getProperty(prefix + BURST, Integer.class, defaults.getBurst()));
+        config.setTimeoutMillis(properties.getProperty(prefix + TIMEOUT_MILLIS, Long.class, defaults.getTimeoutMillis()));
+        config.setAdaptive(properties.getProperty(prefix + ADAPTIVE, Boolean.class, defaults.isAdaptive()));
+        return config;
+    }
+
+    public boolean isEnabled() {
+        return permitsPerSecond > 0;
+    }
+
+    /**
+     * @return burst, one second of permits if not set
+     */
+    public int getActualBurst() {
+        return burst > 0 ? burst : (int) Math.max(1, Math.ceil(permitsPerSecond));
+    }
+
+}
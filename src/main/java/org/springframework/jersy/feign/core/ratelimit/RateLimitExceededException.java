@@ -0,0 +1,34 @@
+package org.springframework.jersy.feign.core.ratelimit;
+
+import feign.FeignException;
+
+/**
+ * No permit of a {@link RateLimiter} is available within the timeout, thrown before the request is sent and not retried,
+ * a new instance is thrown to each rejected caller and carries no stack trace
+ *
+ * @author jiashuai.xie
+ */
+public class RateLimitExceededException extends FeignException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String limiterName;
+
+    RateLimitExceededException(String limiterName) {
+        super("rate limit of " + limiterName + " exceeded");
+        this.limiterName = limiterName;
+    }
+
+    /**
+     * @return client name or method configKey
+     */
+    public String getLimiterName() {
+        return limiterName;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+
+}
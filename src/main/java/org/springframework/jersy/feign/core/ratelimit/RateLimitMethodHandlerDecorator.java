@@ -0,0 +1,98 @@
+package org.springframework.jersy.feign.core.ratelimit;
+
+import feign.Feign;
+import feign.InvocationHandlerFactory.MethodHandler;
+import feign.Target;
+import org.springframework.jersy.feign.core.RestFeignClientProperties;
+import org.springframework.jersy.feign.core.annotation.RestFeignRateLimit;
+import org.springframework.jersy.feign.core.proxy.MethodHandlerDecorator;
+
+import java.lang.reflect.Method;
+
+/**
+ * Implement {@link MethodHandlerDecorator}, bind {@link MethodRateLimit} of client and method limiters, so that
+ * requests of the method are limited by {@link RateLimitingClient}
+ * <p>
+ * method limit comes from {@link RestFeignRateLimit}, overridden by rest.feign.client.{name}.method.{methodKey}.rate-limit.*,
+ * see {@link RestFeignClientProperties#methodKey(Class, Method)}
+ *
+ * @author jiashuai.xie
+ */
+public class RateLimitMethodHandlerDecorator implements MethodHandlerDecorator {
+
+    private final String clientName;
+
+    private final RestFeignClientProperties properties;
+
+    private final RateLimitConfig clientConfig;
+
+    private final RateLimiter clientLimiter;
+
+    /**
+     * @param clientConfig defaults of method limits
+     */
+    public RateLimitMethodHandlerDecorator(RestFeignClientProperties properties, RateLimitConfig clientConfig) {
+        this.clientName = properties.getClientName();
+        this.properties = properties;
+        this.clientConfig = clientConfig;
+        this.clientLimiter = clientConfig.isEnabled() ? RateLimiters.obtain(clientName, null, clientConfig) : null;
+    }
+
+    /**
+     * @param type       interface
+     * @param properties client properties
+     * @return true if any method has its own rate limit
+     */
+    public static boolean hasMethodRateLimits(Class<?> type, RestFeignClientProperties properties) {
+        for (Method method : type.getMethods()) {
+            if (method.isDefault()) {
+                continue;
+            }
+            if (method.isAnnotationPresent(RestFeignRateLimit.class)
+                    || properties.containsProperty(RateLimitConfig.methodPrefix(RestFeignClientProperties.methodKey(type, method)) + RateLimitConfig.PERMITS_PER_SECOND)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public MethodHandler decorate(Target<?> target, Method method, MethodHandler handler) {
+
+        if (method.isDefault()) {
+            return handler;
+        }
+
+        RateLimitConfig defaults = new RateLimitConfig(0, 0, clientConfig.getTimeoutMillis());
+        defaults.setAdaptive(clientConfig.isAdaptive());
+
+        RestFeignRateLimit rateLimit = method.getAnnotation(RestFeignRateLimit.class);
+        if (rateLimit != null) {
+            defaults.setPermitsPerSecond(rateLimit.permitsPerSecond());
+            defaults.setBurst(rateLimit.burst());
+            if (rateLimit.timeoutMillis() >= 0) {
+                defaults.setTimeoutMillis(rateLimit.timeoutMillis());
+            }
+        }
+
+        RateLimitConfig config = RateLimitConfig.of(properties, RateLimitConfig.methodPrefix(RestFeignClientProperties.methodKey(target.type(), method)), defaults);
+
+        RateLimiter methodLimiter = config.isEnabled() ? RateLimiters.obtain(clientName, Feign.configKey(target.type(), method), config) : null;
+
+        if (methodLimiter == null && clientLimiter == null) {
+            return handler;
+        }
+
+        MethodRateLimit methodRateLimit = new MethodRateLimit(clientLimiter, methodLimiter, config.getTimeoutMillis());
+
+        return argv -> {
+            MethodRateLimit previous = MethodRateLimit.bind(methodRateLimit);
+            try {
+                return handler.invoke(argv);
+            } finally {
+                MethodRateLimit.restore(previous);
+            }
+        };
+    }
+
+}
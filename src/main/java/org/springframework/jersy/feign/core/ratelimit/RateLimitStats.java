@@ -0,0 +1,42 @@
+package org.springframework.jersy.feign.core.ratelimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * snapshot of a {@link RateLimiter}
+ *
+ * @author jiashuai.xie
+ * @see RateLimiters#getStats(String)
+ */
+@Data
+@AllArgsConstructor
+public class RateLimitStats {
+
+    /**
+     * client name or method configKey
+     */
+    private String name;
+
+    private double permitsPerSecond;
+
+    private int burst;
+
+    /**
+     * permits granted, including delayed ones
+     */
+    private long permitted;
+
+    /**
+     * permits granted after waiting
+     */
+    private long delayed;
+
+    private long rejected;
+
+    /**
+     * pauses asked by responses
+     */
+    private long throttled;
+
+}
@@ -0,0 +1,154 @@
+package org.springframework.jersy.feign.core.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock free token bucket, kept as the theoretical arrival time of the next request (GCRA) in one {@link AtomicLong}:
+ * a permit is free while that time is less than burst intervals ahead of now, else the caller may wait for it
+ * <p>
+ * a waiting caller reserves its permit, so that waiting callers are served in order at the configured rate
+ *
+ * @author jiashuai.xie
+ */
+public class RateLimiter {
+
+    private final String name;
+
+    private final double permitsPerSecond;
+
+    private final int burst;
+
+    private final boolean adaptive;
+
+    private final long intervalNanos;
+
+    private final long toleranceNanos;
+
+    /**
+     * {@link System#nanoTime()} or a test clock
+     */
+    private final LongSupplier nanoClock;
+
+    private final AtomicLong theoreticalArrivalNanos;
+
+    private final LongAdder permitted = new LongAdder();
+
+    private final LongAdder delayed = new LongAdder();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private final LongAdder throttled = new LongAdder();
+
+    /**
+     * @param name client name or method configKey
+     */
+    public RateLimiter(String name, RateLimitConfig config) {
+        this(name, config, System::nanoTime);
+    }
+
+    RateLimiter(String name, RateLimitConfig config, LongSupplier nanoClock) {
+        this.name = name;
+        this.nanoClock = nanoClock;
+        this.permitsPerSecond = config.getPermitsPerSecond();
+        this.burst = config.getActualBurst();
+        this.adaptive = config.isAdaptive();
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.toleranceNanos = intervalNanos * (burst - 1);
+        // full bucket
+        this.theoreticalArrivalNanos = new AtomicLong(nanoClock.getAsLong() - toleranceNanos - intervalNanos);
+    }
+
+    /**
+     * reserve a permit
+     *
+     * @param maxWaitNanos max time the caller waits
+     * @return time to wait before the permit can be used, -1 if no permit within maxWaitNanos, nothing is reserved then
+     */
+    public long reserve(long maxWaitNanos) {
+        for (; ; ) {
+            long now = nanoClock.getAsLong();
+            long arrival = theoreticalArrivalNanos.get();
+            long next = arrival - now > 0 ? arrival : now;
+            long waitNanos = next - toleranceNanos - now;
+            if (waitNanos > maxWaitNanos) {
+                rejected.increment();
+                return -1;
+            }
+            if (theoreticalArrivalNanos.compareAndSet(arrival, next + intervalNanos)) {
+                permitted.increment();
+                if (waitNanos > 0) {
+                    delayed.increment();
+                    return waitNanos;
+                }
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * give back a permit reserved but not used, the bucket is moved back one interval, never beyond full
+     *
+     * @param waitNanos returned by {@link #reserve(long)}
+     */
+    public void cancel(long waitNanos) {
+        for (; ; ) {
+            long full = nanoClock.getAsLong() - toleranceNanos - intervalNanos;
+            long arrival = theoreticalArrivalNanos.get();
+            long previous = arrival - intervalNanos;
+            if (previous - full < 0) {
+                previous = full;
+            }
+            if (previous - arrival >= 0) {
+                return;
+            }
+            if (theoreticalArrivalNanos.compareAndSet(arrival, previous)) {
+                permitted.decrement();
+                if (waitNanos > 0) {
+                    delayed.decrement();
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * no permit is free until the time, and the bucket refills from empty after it; ignored if not adaptive
+     *
+     * @param untilNanos {@link System#nanoTime()} based
+     */
+    public void pauseUntil(long untilNanos) {
+        if (!adaptive) {
+            return;
+        }
+        long target = untilNanos + toleranceNanos;
+        for (; ; ) {
+            long arrival = theoreticalArrivalNanos.get();
+            if (arrival - target >= 0) {
+                return;
+            }
+            if (theoreticalArrivalNanos.compareAndSet(arrival, target)) {
+                throttled.increment();
+                return;
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * new instance per rejection, a shared one would be mutated by addSuppressed of every caller
+     */
+    RateLimitExceededException exceeded() {
+        return new RateLimitExceededException(name);
+    }
+
+    public RateLimitStats getStats() {
+        return new RateLimitStats(name, permitsPerSecond, burst, permitted.sum(), delayed.sum(), rejected.sum(), throttled.sum());
+    }
+
+}
@@ -0,0 +1,55 @@
+package org.springframework.jersy.feign.core.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link RateLimiter}s shared per client name, one for the client and one for each limited method
+ *
+ * @author jiashuai.xie
+ */
+@Slf4j
+public abstract class RateLimiters {
+
+    private static final ConcurrentMap<String, ConcurrentMap<String, RateLimiter>> LIMITERS = new ConcurrentHashMap<>();
+
+    /**
+     * get limiter of client or method, create it if absent
+     *
+     * @param clientName client name
+     * @param configKey  feign configKey of method, null for the client limiter
+     * @param config     used only when create
+     * @return RateLimiter
+     */
+    public static RateLimiter obtain(String clientName, String configKey, RateLimitConfig config) {
+        String name = configKey == null ? clientName : configKey;
+        return LIMITERS.computeIfAbsent(clientName, client -> new ConcurrentHashMap<>()).computeIfAbsent(name, key -> {
+            log.info("<---------- create rate limiter for:{},config:{}---------->", key, config);
+            return new RateLimiter(key, config);
+        });
+    }
+
+    /**
+     * @param clientName client name
+     * @return stats of client and method limiters, empty if none
+     */
+    public static List<RateLimitStats> getStats(String clientName) {
+        List<RateLimitStats> stats = new ArrayList<>();
+        ConcurrentMap<String, RateLimiter> limiters = LIMITERS.get(clientName);
+        if (limiters != null) {
+            for (RateLimiter limiter : limiters.values()) {
+                stats.add(limiter.getStats());
+            }
+        }
+        return stats;
+    }
+
+    public static void remove(String clientName) {
+        LIMITERS.remove(clientName);
+    }
+
+}
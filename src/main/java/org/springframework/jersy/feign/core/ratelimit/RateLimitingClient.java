@@ -0,0 +1,47 @@
+package org.springframework.jersy.feign.core.ratelimit;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.IOException;
+
+/**
+ * Decorate {@link Client}, every request of a method bound with {@link MethodRateLimit} takes a permit first,
+ * so retries are limited as well, and its response may pause the limiters
+ * <p>
+ * must be below the cache client so that requests served from cache take no permit
+ *
+ * @author jiashuai.xie
+ */
+public class RateLimitingClient implements Client {
+
+    private final Client delegate;
+
+    public RateLimitingClient(Client delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+
+        MethodRateLimit rateLimit = MethodRateLimit.current();
+
+        if (rateLimit == null) {
+            return delegate.execute(request, options);
+        }
+
+        rateLimit.acquire();
+
+        Response response = delegate.execute(request, options);
+
+        rateLimit.observe(response);
+
+        return response;
+    }
+
+    public Client getDelegate() {
+        return delegate;
+    }
+
+}
@@ -0,0 +1,39 @@
+package org.springframework.jersy.feign.core.resilience;
+
+/**
+ * {@link LimitType#AIMD}, limit grows by one when a call succeeds while at least half of the limit is used,
+ * and shrinks to 90% when a call is dropped
+ *
+ * @author jiashuai.xie
+ */
+class AimdConcurrencyLimiter extends ConcurrencyLimiter {
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private volatile int limit;
+
+    AimdConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(initialLimit, maxLimit));
+    }
+
+    @Override
+    protected synchronized void onSample(long elapsedNanos, boolean dropped, int inFlight) {
+        if (dropped) {
+            limit = Math.max(minLimit, (int) (limit * BACKOFF_RATIO));
+        } else if (inFlight * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+}
@@ -0,0 +1,54 @@
+package org.springframework.jersy.feign.core.resilience;
+
+import lombok.Data;
+import org.springframework.jersy.feign.core.RestFeignClientProperties;
+
+/**
+ * config of client level {@link ConcurrencyLimiter}
+ *
+ * @author jiashuai.xie
+ */
+@Data
+public class BulkheadConfig {
+
+    public static final String TYPE = "bulkhead.type";
+
+    public static final String MAX_CONCURRENCY = "bulkhead.max-concurrency";
+
+    public static final String INITIAL_CONCURRENCY = "bulkhead.initial-concurrency";
+
+    public static final String MIN_CONCURRENCY = "bulkhead.min-concurrency";
+
+    private LimitType type = LimitType.NONE;
+
+    /**
+     * limit of {@link LimitType#FIXED}, upper bound of adaptive limits
+     */
+    private int maxConcurrency = 100;
+
+    /**
+     * start limit of adaptive limits
+     */
+    private int initialConcurrency = 20;
+
+    /**
+     * lower bound of adaptive limits
+     */
+    private int minConcurrency = 1;
+
+    /**
+     * build config of client, environment overrides default value
+     *
+     * @param properties client properties
+     * @return BulkheadConfig
+     */
+    public static BulkheadConfig of(RestFeignClientProperties properties) {
+        BulkheadConfig config = new BulkheadConfig();
+        config.setType(properties.getProperty(TYPE, LimitType.class, config.getType()));
+        config.setMaxConcurrency(properties.getProperty(MAX_CONCURRENCY, Integer.class, config.getMaxConcurrency()));
+        config.setInitialConcurrency(properties.getProperty(INITIAL_CONCURRENCY, Integer.class, config.getInitialConcurrency()));
+        config.setMinConcurrency(properties.getProperty(MIN_CONCURRENCY, Integer.class, config.getMinConcurrency()));
+        return config;
+    }
+
+}
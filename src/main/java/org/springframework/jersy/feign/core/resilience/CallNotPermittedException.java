@@ -0,0 +1,34 @@
+package org.springframework.jersy.feign.core.resilience;
+
+import feign.FeignException;
+
+/**
+ * Call rejected before any request is built, by an open {@link CircuitBreaker} or a full {@link ConcurrencyLimiter},
+ * a new instance is thrown to each rejected caller and carries no stack trace, so that it is cheap
+ *
+ * @author jiashuai.xie
+ */
+public class CallNotPermittedException extends FeignException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final boolean circuitOpen;
+
+    CallNotPermittedException(String message, boolean circuitOpen) {
+        super(message);
+        this.circuitOpen = circuitOpen;
+    }
+
+    /**
+     * @return true if rejected by circuit breaker, false if by bulkhead
+     */
+    public boolean isCircuitOpen() {
+        return circuitOpen;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+
+}
@@ -0,0 +1,214 @@
+package org.springframework.jersy.feign.core.resilience;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker over a count based sliding window of the last {@link CircuitBreakerConfig#getWindowSize()} calls,
+ * opens when failure rate or slow call rate reaches its threshold
+ *
+ * @author jiashuai.xie
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    private static final byte FAILED = 1;
+
+    private static final byte SLOW = 2;
+
+    private final String name;
+
+    private final CircuitBreakerConfig config;
+
+    private final long slowCallNanos;
+
+    /**
+     * current time in millis
+     */
+    private final LongSupplier clock;
+
+    /**
+     * outcomes of sliding window, bit set of {@link #FAILED} and {@link #SLOW}
+     */
+    private final byte[] window;
+
+    private final LongAdder rejected = new LongAdder();
+
+    private volatile CircuitState state = CircuitState.CLOSED;
+
+    private int position;
+
+    private int calls;
+
+    private int failedCalls;
+
+    private int slowCalls;
+
+    private long openUntilMillis;
+
+    private int halfOpenPermits;
+
+    private int halfOpenCalls;
+
+    private int halfOpenBadCalls;
+
+    public CircuitBreaker(String name, CircuitBreakerConfig config) {
+        this(name, config, System::currentTimeMillis);
+    }
+
+    CircuitBreaker(String name, CircuitBreakerConfig config, LongSupplier clock) {
+        this.name = name;
+        this.config = config;
+        this.clock = clock;
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(config.getSlowCallMillis());
+        this.window = new byte[config.getWindowSize()];
+    }
+
+    /**
+     * @return true if permitted, caller must call {@link #record(long, boolean)} after the call
+     */
+    public boolean tryAcquire() {
+        if (state == CircuitState.CLOSED) {
+            return true;
+        }
+        return tryAcquireSlow();
+    }
+
+    private synchronized boolean tryAcquireSlow() {
+
+        if (state == CircuitState.OPEN) {
+            if (clock.getAsLong() < openUntilMillis) {
+                rejected.increment();
+                return false;
+            }
+            transitionTo(CircuitState.HALF_OPEN);
+        }
+
+        if (state == CircuitState.HALF_OPEN) {
+            if (halfOpenPermits <= 0) {
+                rejected.increment();
+                return false;
+            }
+            halfOpenPermits--;
+        }
+
+        return true;
+    }
+
+    /**
+     * give back permission of a call which is not executed
+     */
+    public synchronized void releasePermission() {
+        if (state == CircuitState.HALF_OPEN) {
+            halfOpenPermits++;
+        }
+    }
+
+    /**
+     * @param elapsedNanos time of the call
+     * @param failed       true if call failed by timeout, io error or 5xx
+     */
+    public synchronized void record(long elapsedNanos, boolean failed) {
+
+        byte outcome = (byte) ((failed ? FAILED : 0) | (elapsedNanos >= slowCallNanos ? SLOW : 0));
+
+        switch (state) {
+            case CLOSED:
+                recordClosed(outcome);
+                break;
+            case HALF_OPEN:
+                recordHalfOpen(outcome);
+                break;
+            default:
+                // call started before open
+                break;
+        }
+    }
+
+    private void recordClosed(byte outcome) {
+
+        if (calls == window.length) {
+            byte evicted = window[position];
+            failedCalls -= evicted & FAILED;
+            slowCalls -= (evicted & SLOW) >> 1;
+        } else {
+            calls++;
+        }
+
+        window[position] = outcome;
+        failedCalls += outcome & FAILED;
+        slowCalls += (outcome & SLOW) >> 1;
+        position = (position + 1) % window.length;
+
+        if (calls >= config.getMinimumCalls()
+                && (failedCalls * 100 >= config.getFailureRateThreshold() * calls
+                || slowCalls * 100 >= config.getSlowCallRateThreshold() * calls)) {
+            transitionTo(CircuitState.OPEN);
+        }
+    }
+
+    private void recordHalfOpen(byte outcome) {
+
+        halfOpenCalls++;
+        if (outcome != 0) {
+            halfOpenBadCalls++;
+        }
+
+        if (halfOpenBadCalls * 100 >= config.getFailureRateThreshold() * config.getHalfOpenCalls()) {
+            transitionTo(CircuitState.OPEN);
+        } else if (halfOpenCalls >= config.getHalfOpenCalls()) {
+            transitionTo(CircuitState.CLOSED);
+        }
+    }
+
+    private void transitionTo(CircuitState newState) {
+
+        log.warn("<---------- circuit breaker of:{} changes from {} to {},failure-rate:{}%,slow-call-rate:{}%---------->",
+                name, state, newState, getFailureRate(), getSlowCallRate());
+
+        switch (newState) {
+            case OPEN:
+                openUntilMillis = clock.getAsLong() + config.getOpenMillis();
+                break;
+            case HALF_OPEN:
+                halfOpenPermits = config.getHalfOpenCalls();
+                halfOpenCalls = 0;
+                halfOpenBadCalls = 0;
+                break;
+            default:
+                position = 0;
+                calls = 0;
+                failedCalls = 0;
+                slowCalls = 0;
+                break;
+        }
+
+        state = newState;
+    }
+
+    public CircuitState getState() {
+        return state;
+    }
+
+    /**
+     * @return failure percentage of sliding window, -1 if not enough calls
+     */
+    public synchronized float getFailureRate() {
+        return calls < config.getMinimumCalls() ? -1 : failedCalls * 100f / calls;
+    }
+
+    /**
+     * @return slow call percentage of sliding window, -1 if not enough calls
+     */
+    public synchronized float getSlowCallRate() {
+        return calls < config.getMinimumCalls() ? -1 : slowCalls * 100f / calls;
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+}
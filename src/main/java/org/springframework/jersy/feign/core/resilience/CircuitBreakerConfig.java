@@ -0,0 +1,83 @@
+package org.springframework.jersy.feign.core.resilience;
+
+import lombok.Data;
+import org.springframework.jersy.feign.core.RestFeignClientProperties;
+
+/**
+ * config of {@link CircuitBreaker}
+ *
+ * @author jiashuai.xie
+ */
+@Data
+public class CircuitBreakerConfig {
+
+    public static final String ENABLED = "circuit-breaker.enabled";
+
+    public static final String WINDOW_SIZE = "circuit-breaker.window-size";
+
+    public static final String MINIMUM_CALLS = "circuit-breaker.minimum-calls";
+
+    public static final String FAILURE_RATE_THRESHOLD = "circuit-breaker.failure-rate-threshold";
+
+    public static final String SLOW_CALL_MILLIS = "circuit-breaker.slow-call-millis";
+
+    public static final String SLOW_CALL_RATE_THRESHOLD = "circuit-breaker.slow-call-rate-threshold";
+
+    public static final String OPEN_MILLIS = "circuit-breaker.open-millis";
+
+    public static final String HALF_OPEN_CALLS = "circuit-breaker.half-open-calls";
+
+    /**
+     * calls kept in sliding window
+     */
+    private int windowSize = 100;
+
+    /**
+     * rates are not evaluated before this many calls
+     */
+    private int minimumCalls = 20;
+
+    /**
+     * percentage of failed calls to open
+     */
+    private int failureRateThreshold = 50;
+
+    /**
+     * calls slower than this are slow calls
+     */
+    private long slowCallMillis = 5_000L;
+
+    /**
+     * percentage of slow calls to open
+     */
+    private int slowCallRateThreshold = 100;
+
+    /**
+     * time to stay open before half open
+     */
+    private long openMillis = 10_000L;
+
+    /**
+     * trial calls permitted when half open
+     */
+    private int halfOpenCalls = 5;
+
+    /**
+     * build config of client, environment overrides default value
+     *
+     * @param properties client properties
+     * @return CircuitBreakerConfig
+     */
+    public static CircuitBreakerConfig of(RestFeignClientProperties properties) {
+        CircuitBreakerConfig config = new CircuitBreakerConfig();
+        config.setWindowSize(properties.getProperty(WINDOW_SIZE, Integer.class, config.getWindowSize()));
+        config.setMinimumCalls(properties.getProperty(MINIMUM_CALLS, Integer.class, config.getMinimumCalls()));
+        config.setFailureRateThreshold(properties.getProperty(FAILURE_RATE_THRESHOLD, Integer.class, config.getFailureRateThreshold()));
+        config.setSlowCallMillis(properties.getProperty(SLOW_CALL_MILLIS, Long.class, config.getSlowCallMillis()));
+        config.setSlowCallRateThreshold(properties.getProperty(SLOW_CALL_RATE_THRESHOLD, Integer.class, config.getSlowCallRateThreshold()));
+        config.setOpenMillis(properties.getProperty(OPEN_MILLIS, Long.class, config.getOpenMillis()));
+        config.setHalfOpenCalls(properties.getProperty(HALF_OPEN_CALLS, Integer.class, config.getHalfOpenCalls()));
+        return config;
+    }
+
+}
@@ -0,0 +1,25 @@
+package org.springframework.jersy.feign.core.resilience;
+
+/**
+ * state of {@link CircuitBreaker}
+ *
+ * @author jiashuai.xie
+ */
+public enum CircuitState {
+
+    /**
+     * calls are permitted and recorded in sliding window
+     */
+    CLOSED,
+
+    /**
+     * calls fail fast until open time is over
+     */
+    OPEN,
+
+    /**
+     * a few trial calls decide to close or open again
+     */
+    HALF_OPEN
+
+}
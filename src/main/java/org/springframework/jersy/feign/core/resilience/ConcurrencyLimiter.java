@@ -0,0 +1,84 @@
+package org.springframework.jersy.feign.core.resilience;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bulkhead, bound calls in flight by a fixed or adaptive limit, calls over the limit are rejected at once
+ *
+ * @author jiashuai.xie
+ */
+public abstract class ConcurrencyLimiter {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @return null if type is {@link LimitType#NONE}
+     */
+    public static ConcurrencyLimiter create(LimitType type, int maxConcurrency, int initialConcurrency, int minConcurrency) {
+        switch (type) {
+            case FIXED:
+                return new FixedConcurrencyLimiter(maxConcurrency);
+            case AIMD:
+                return new AimdConcurrencyLimiter(initialConcurrency, minConcurrency, maxConcurrency);
+            case GRADIENT:
+                return new GradientConcurrencyLimiter(initialConcurrency, minConcurrency, maxConcurrency);
+            default:
+                return null;
+        }
+    }
+
+    public static ConcurrencyLimiter create(BulkheadConfig config) {
+        return create(config.getType(), config.getMaxConcurrency(), config.getInitialConcurrency(), config.getMinConcurrency());
+    }
+
+    /**
+     * @return true if permitted, caller must call {@link #release(long, boolean)} after the call
+     */
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= getLimit()) {
+                rejected.increment();
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * @param elapsedNanos time of the call
+     * @param dropped      true if call failed by timeout, io error or 5xx
+     */
+    public void release(long elapsedNanos, boolean dropped) {
+        onSample(elapsedNanos, dropped, inFlight.getAndDecrement());
+    }
+
+    /**
+     * give back permission of a call which is not executed, limit is not adjusted
+     */
+    public void cancel() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * adjust limit
+     *
+     * @param inFlight calls in flight when the call completes, including itself
+     */
+    protected abstract void onSample(long elapsedNanos, boolean dropped, int inFlight);
+
+    public abstract int getLimit();
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+}
@@ -0,0 +1,25 @@
+package org.springframework.jersy.feign.core.resilience;
+
+/**
+ * {@link LimitType#FIXED}
+ *
+ * @author jiashuai.xie
+ */
+class FixedConcurrencyLimiter extends ConcurrencyLimiter {
+
+    private final int limit;
+
+    FixedConcurrencyLimiter(int limit) {
+        this.limit = limit;
+    }
+
+    @Override
+    protected void onSample(long elapsedNanos, boolean dropped, int inFlight) {
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+}
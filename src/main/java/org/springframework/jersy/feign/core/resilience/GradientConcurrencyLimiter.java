@@ -0,0 +1,83 @@
+package org.springframework.jersy.feign.core.resilience;
+
+/**
+ * {@link LimitType#GRADIENT}, limit follows long term latency divided by recent latency (clamped to [0.5, 1])
+ * plus a queue of sqrt(limit), so it shrinks as soon as the downstream queues up and grows back while latency is stable
+ *
+ * @author jiashuai.xie
+ */
+class GradientConcurrencyLimiter extends ConcurrencyLimiter {
+
+    private static final double SHORT_WINDOW = 0.1;
+
+    private static final double LONG_WINDOW = 0.01;
+
+    /**
+     * recent latency may be this much higher than long term latency before limit shrinks
+     */
+    private static final double TOLERANCE = 1.5;
+
+    private static final double SMOOTHING = 0.2;
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private double shortRtt;
+
+    private double longRtt;
+
+    private double estimatedLimit;
+
+    private volatile int limit;
+
+    GradientConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(initialLimit, maxLimit));
+        this.estimatedLimit = limit;
+    }
+
+    @Override
+    protected synchronized void onSample(long elapsedNanos, boolean dropped, int inFlight) {
+
+        if (dropped) {
+            estimatedLimit = Math.max(minLimit, estimatedLimit * BACKOFF_RATIO);
+            limit = (int) estimatedLimit;
+            return;
+        }
+
+        if (longRtt == 0) {
+            shortRtt = elapsedNanos;
+            longRtt = elapsedNanos;
+        } else {
+            shortRtt += (elapsedNanos - shortRtt) * SHORT_WINDOW;
+            longRtt += (elapsedNanos - longRtt) * LONG_WINDOW;
+        }
+
+        // long term latency drifted up, let it recover
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+
+        // app is idle, keep limit
+        if (inFlight < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+}
@@ -0,0 +1,30 @@
+package org.springframework.jersy.feign.core.resilience;
+
+/**
+ * concurrency limit of {@link ConcurrencyLimiter}
+ *
+ * @author jiashuai.xie
+ */
+public enum LimitType {
+
+    /**
+     * no limit
+     */
+    NONE,
+
+    /**
+     * fixed limit, like a semaphore
+     */
+    FIXED,
+
+    /**
+     * additive increase while calls succeed, multiplicative decrease on failure or timeout
+     */
+    AIMD,
+
+    /**
+     * follow the ratio of long term to recent latency, shrinks as soon as latency grows
+     */
+    GRADIENT
+
+}
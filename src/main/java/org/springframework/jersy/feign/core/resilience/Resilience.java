@@ -0,0 +1,81 @@
+package org.springframework.jersy.feign.core.resilience;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Circuit breaker, client bulkhead and method bulkheads of one client
+ *
+ * @author jiashuai.xie
+ */
+public class Resilience {
+
+    private final String clientName;
+
+    private final CircuitBreaker circuitBreaker;
+
+    private final ConcurrencyLimiter limiter;
+
+    private final List<ConcurrencyLimiter> methodLimiters = new CopyOnWriteArrayList<>();
+
+    private final String circuitOpenMessage;
+
+    private final String bulkheadFullMessage;
+
+    /**
+     * @param circuitBreaker null if disabled
+     * @param limiter        null if disabled
+     */
+    public Resilience(String clientName, CircuitBreaker circuitBreaker, ConcurrencyLimiter limiter) {
+        this.clientName = clientName;
+        this.circuitBreaker = circuitBreaker;
+        this.limiter = limiter;
+        this.circuitOpenMessage = "circuit breaker of " + clientName + " is open";
+        this.bulkheadFullMessage = "too many concurrent calls of " + clientName;
+    }
+
+    void addMethodLimiter(ConcurrencyLimiter methodLimiter) {
+        methodLimiters.add(methodLimiter);
+    }
+
+    public String getClientName() {
+        return clientName;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public ConcurrencyLimiter getLimiter() {
+        return limiter;
+    }
+
+    /**
+     * new instance per rejection, a shared one would be mutated by addSuppressed of every caller
+     */
+    CallNotPermittedException circuitOpen() {
+        return new CallNotPermittedException(circuitOpenMessage, true);
+    }
+
+    CallNotPermittedException bulkheadFull() {
+        return new CallNotPermittedException(bulkheadFullMessage, false);
+    }
+
+    public ResilienceStats getStats() {
+
+        long bulkheadRejected = limiter == null ? 0 : limiter.getRejected();
+        for (ConcurrencyLimiter methodLimiter : methodLimiters) {
+            bulkheadRejected += methodLimiter.getRejected();
+        }
+
+        return new ResilienceStats(clientName,
+                circuitBreaker == null ? null : circuitBreaker.getState(),
+                circuitBreaker == null ? -1 : circuitBreaker.getFailureRate(),
+                circuitBreaker == null ? -1 : circuitBreaker.getSlowCallRate(),
+                circuitBreaker == null ? 0 : circuitBreaker.getRejected(),
+                limiter == null ? -1 : limiter.getLimit(),
+                limiter == null ? 0 : limiter.getInFlight(),
+                bulkheadRejected);
+    }
+
+}
@@ -0,0 +1,162 @@
+package org.springframework.jersy.feign.core.resilience;
+
+import feign.FeignException;
+import feign.InvocationHandlerFactory.MethodHandler;
+import feign.RetryableException;
+import feign.Target;
+import org.springframework.jersy.feign.core.annotation.RestFeignBulkhead;
+import org.springframework.jersy.feign.core.proxy.MethodHandlerDecorator;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Implement {@link MethodHandlerDecorator}, check circuit breaker, client bulkhead and method bulkhead before feign builds
+ * the request, each rejected call throws a new {@link CallNotPermittedException} (async methods return it as failed
+ * future)
+ * <p>
+ * timeout, io error and 5xx count as failure, other errors are caused by caller and count as success
+ *
+ * @author jiashuai.xie
+ */
+public class ResilienceMethodHandlerDecorator implements MethodHandlerDecorator {
+
+    private final Resilience resilience;
+
+    public ResilienceMethodHandlerDecorator(Resilience resilience) {
+        this.resilience = resilience;
+    }
+
+    /**
+     * @param type interface
+     * @return true if any method has its own bulkhead
+     */
+    public static boolean hasMethodBulkheads(Class<?> type) {
+        for (Method method : type.getMethods()) {
+            if (!method.isDefault() && method.isAnnotationPresent(RestFeignBulkhead.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public MethodHandler decorate(Target<?> target, Method method, MethodHandler handler) {
+
+        if (method.isDefault()) {
+            return handler;
+        }
+
+        ConcurrencyLimiter methodLimiter = null;
+
+        RestFeignBulkhead bulkhead = method.getAnnotation(RestFeignBulkhead.class);
+        if (bulkhead != null) {
+            methodLimiter = ConcurrencyLimiter.create(bulkhead.type(), bulkhead.maxConcurrency(), bulkhead.initialConcurrency(), bulkhead.minConcurrency());
+            if (methodLimiter != null) {
+                resilience.addMethodLimiter(methodLimiter);
+            }
+        }
+
+        if (methodLimiter == null && resilience.getCircuitBreaker() == null && resilience.getLimiter() == null) {
+            return handler;
+        }
+
+        return new ResilienceMethodHandler(handler, methodLimiter, method.getReturnType() == CompletableFuture.class);
+    }
+
+    private class ResilienceMethodHandler implements MethodHandler {
+
+        private final MethodHandler delegate;
+
+        private final ConcurrencyLimiter methodLimiter;
+
+        private final boolean async;
+
+        ResilienceMethodHandler(MethodHandler delegate, ConcurrencyLimiter methodLimiter, boolean async) {
+            this.delegate = delegate;
+            this.methodLimiter = methodLimiter;
+            this.async = async;
+        }
+
+        @Override
+        public Object invoke(Object[] argv) throws Throwable {
+
+            CircuitBreaker circuitBreaker = resilience.getCircuitBreaker();
+            ConcurrencyLimiter limiter = resilience.getLimiter();
+
+            if (circuitBreaker != null && !circuitBreaker.tryAcquire()) {
+                return reject(resilience.circuitOpen());
+            }
+
+            if (limiter != null && !limiter.tryAcquire()) {
+                if (circuitBreaker != null) {
+                    circuitBreaker.releasePermission();
+                }
+                return reject(resilience.bulkheadFull());
+            }
+
+            if (methodLimiter != null && !methodLimiter.tryAcquire()) {
+                if (limiter != null) {
+                    limiter.cancel();
+                }
+                if (circuitBreaker != null) {
+                    circuitBreaker.releasePermission();
+                }
+                return reject(resilience.bulkheadFull());
+            }
+
+            long start = System.nanoTime();
+
+            Object result;
+            try {
+                result = delegate.invoke(argv);
+            } catch (Throwable e) {
+                complete(System.nanoTime() - start, isFailure(e));
+                throw e;
+            }
+
+            if (result instanceof CompletableFuture) {
+                ((CompletableFuture<?>) result).whenComplete((value, ex) -> {
+                    if (ex instanceof CompletionException && ex.getCause() != null) {
+                        ex = ex.getCause();
+                    }
+                    complete(System.nanoTime() - start, ex != null && isFailure(ex));
+                });
+            } else {
+                complete(System.nanoTime() - start, false);
+            }
+
+            return result;
+        }
+
+        private Object reject(CallNotPermittedException e) {
+            if (async) {
+                CompletableFuture<Object> future = new CompletableFuture<>();
+                future.completeExceptionally(e);
+                return future;
+            }
+            throw e;
+        }
+
+        private void complete(long elapsedNanos, boolean failed) {
+            if (methodLimiter != null) {
+                methodLimiter.release(elapsedNanos, failed);
+            }
+            if (resilience.getLimiter() != null) {
+                resilience.getLimiter().release(elapsedNanos, failed);
+            }
+            if (resilience.getCircuitBreaker() != null) {
+                resilience.getCircuitBreaker().record(elapsedNanos, failed);
+            }
+        }
+    }
+
+    private static boolean isFailure(Throwable e) {
+        if (e instanceof RetryableException) {
+            return true;
+        }
+        return e instanceof FeignException && !(e instanceof CallNotPermittedException) && ((FeignException) e).status() >= 500;
+    }
+
+}
@@ -0,0 +1,44 @@
+package org.springframework.jersy.feign.core.resilience;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * snapshot of circuit breaker and bulkheads of a client
+ *
+ * @author jiashuai.xie
+ * @see Resiliences#getStats(String)
+ */
+@Data
+@AllArgsConstructor
+public class ResilienceStats {
+
+    private String clientName;
+
+    /**
+     * null if circuit breaker is disabled
+     */
+    private CircuitState circuitState;
+
+    /**
+     * percentage of sliding window, -1 if not enough calls
+     */
+    private float failureRate;
+
+    private float slowCallRate;
+
+    private long circuitRejected;
+
+    /**
+     * current client limit, -1 if client bulkhead is disabled
+     */
+    private int concurrencyLimit;
+
+    private int inFlight;
+
+    /**
+     * rejected by client and method bulkheads
+     */
+    private long bulkheadRejected;
+
+}
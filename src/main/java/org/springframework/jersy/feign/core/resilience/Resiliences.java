@@ -0,0 +1,57 @@
+package org.springframework.jersy.feign.core.resilience;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link Resilience} shared per client name
+ *
+ * @author jiashuai.xie
+ */
+@Slf4j
+public abstract class Resiliences {
+
+    private static final ConcurrentMap<String, Resilience> RESILIENCES = new ConcurrentHashMap<>();
+
+    /**
+     * get resilience of client name, create it if absent
+     *
+     * @param clientName           client name
+     * @param bulkheadConfig       used only when create
+     * @param circuitBreakerConfig used only when create, null if disabled
+     * @return Resilience
+     */
+    public static Resilience obtain(String clientName, BulkheadConfig bulkheadConfig, CircuitBreakerConfig circuitBreakerConfig) {
+        return RESILIENCES.computeIfAbsent(clientName, name -> {
+            log.info("<---------- create resilience for:{},bulkhead:{},circuit-breaker:{}---------->", name, bulkheadConfig, circuitBreakerConfig);
+            CircuitBreaker circuitBreaker = circuitBreakerConfig == null ? null : new CircuitBreaker(name, circuitBreakerConfig);
+            return new Resilience(name, circuitBreaker, ConcurrencyLimiter.create(bulkheadConfig));
+        });
+    }
+
+    /**
+     * @param clientName client name
+     * @return null if client has neither circuit breaker nor bulkhead
+     */
+    public static ResilienceStats getStats(String clientName) {
+        Resilience resilience = RESILIENCES.get(clientName);
+        return resilience == null ? null : resilience.getStats();
+    }
+
+    public static List<ResilienceStats> getStats() {
+        List<ResilienceStats> stats = new ArrayList<>();
+        for (Resilience resilience : RESILIENCES.values()) {
+            stats.add(resilience.getStats());
+        }
+        return stats;
+    }
+
+    public static void remove(String clientName) {
+        RESILIENCES.remove(clientName);
+    }
+
+}
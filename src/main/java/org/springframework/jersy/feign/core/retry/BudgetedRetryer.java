@@ -0,0 +1,46 @@
+package org.springframework.jersy.feign.core.retry;
+
+import feign.RetryableException;
+import feign.Retryer;
+import org.springframework.jersy.feign.core.timeout.Deadline;
+
+/**
+ * Implement {@link Retryer}, backoff of {@link Retryer.Default}, each retry takes a token from {@link RetryBudget}
+ * <p>
+ * feign clones retryer once per call, the clone deposits to budget, no retry once {@link Deadline} of current thread passed
+ *
+ * @author jiashuai.xie
+ */
+public class BudgetedRetryer implements Retryer {
+
+    private final RetryBudget budget;
+
+    private final RetryConfig config;
+
+    private final Retryer backoff;
+
+    private int attempt = 1;
+
+    public BudgetedRetryer(RetryBudget budget, RetryConfig config) {
+        this.budget = budget;
+        this.config = config;
+        this.backoff = new Retryer.Default(config.getPeriodMillis(), config.getMaxPeriodMillis(), config.getMaxAttempts());
+    }
+
+    @Override
+    public void continueOrPropagate(RetryableException e) {
+        Deadline deadline = Deadline.current();
+        if (attempt >= config.getMaxAttempts() || deadline != null && deadline.isExpired() || !budget.tryRetry()) {
+            throw e;
+        }
+        attempt++;
+        backoff.continueOrPropagate(e);
+    }
+
+    @Override
+    public Retryer clone() {
+        budget.deposit();
+        return new BudgetedRetryer(budget, config);
+    }
+
+}
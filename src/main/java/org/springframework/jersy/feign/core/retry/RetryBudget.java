@@ -0,0 +1,100 @@
+package org.springframework.jersy.feign.core.retry;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token bucket shared by all calls of a client, each call deposits {@link RetryConfig#getBudgetRatio()} token and
+ * each retry or hedged request withdraws one, so extra requests never exceed the ratio of calls during an outage
+ * <p>
+ * the bucket starts full, tokens are kept in thousandths to avoid floating point CAS
+ *
+ * @author jiashuai.xie
+ */
+public class RetryBudget {
+
+    private static final long SCALE = 1000;
+
+    private final String clientName;
+
+    private final long deposit;
+
+    private final long capacity;
+
+    private final AtomicLong tokens;
+
+    private final LongAdder calls = new LongAdder();
+
+    private final LongAdder retried = new LongAdder();
+
+    private final LongAdder hedged = new LongAdder();
+
+    private final LongAdder exhausted = new LongAdder();
+
+    public RetryBudget(String clientName, double ratio, int maxTokens) {
+        this.clientName = clientName;
+        this.deposit = Math.max(0, Math.round(ratio * SCALE));
+        this.capacity = Math.max(1, maxTokens) * SCALE;
+        this.tokens = new AtomicLong(capacity);
+    }
+
+    /**
+     * called once per call, before the first attempt
+     */
+    public void deposit() {
+        calls.increment();
+        if (deposit == 0) {
+            return;
+        }
+        long current;
+        do {
+            current = tokens.get();
+            if (current >= capacity) {
+                return;
+            }
+        } while (!tokens.compareAndSet(current, Math.min(capacity, current + deposit)));
+    }
+
+    /**
+     * @return false if budget is exhausted, caller must not send the retry
+     */
+    public boolean tryRetry() {
+        if (tryWithdraw()) {
+            retried.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return false if budget is exhausted, caller must not send the hedged request
+     */
+    public boolean tryHedge() {
+        if (tryWithdraw()) {
+            hedged.increment();
+            return true;
+        }
+        return false;
+    }
+
+    private boolean tryWithdraw() {
+        long current;
+        do {
+            current = tokens.get();
+            if (current < SCALE) {
+                exhausted.increment();
+                return false;
+            }
+        } while (!tokens.compareAndSet(current, current - SCALE));
+        return true;
+    }
+
+    public double getTokens() {
+        return (double) tokens.get() / SCALE;
+    }
+
+    public RetryBudgetStats getStats() {
+        return new RetryBudgetStats(clientName, getTokens(), calls.sum(), retried.sum(), hedged.sum(), exhausted.sum());
+    }
+
+}
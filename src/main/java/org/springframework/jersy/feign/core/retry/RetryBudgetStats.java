@@ -0,0 +1,34 @@
+package org.springframework.jersy.feign.core.retry;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * snapshot of a client retry budget
+ *
+ * @author jiashuai.xie
+ * @see RetryBudgets#getStats(String)
+ */
+@Data
+@AllArgsConstructor
+public class RetryBudgetStats {
+
+    private String clientName;
+
+    /**
+     * tokens left now
+     */
+    private double tokens;
+
+    private long calls;
+
+    private long retried;
+
+    private long hedged;
+
+    /**
+     * retries and hedges not sent because budget was exhausted
+     */
+    private long exhausted;
+
+}
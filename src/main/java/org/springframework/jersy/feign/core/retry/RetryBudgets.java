@@ -0,0 +1,55 @@
+package org.springframework.jersy.feign.core.retry;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link RetryBudget} shared per client name
+ *
+ * @author jiashuai.xie
+ */
+@Slf4j
+public abstract class RetryBudgets {
+
+    private static final ConcurrentMap<String, RetryBudget> BUDGETS = new ConcurrentHashMap<>();
+
+    /**
+     * get budget of client name, create it if absent
+     *
+     * @param clientName client name
+     * @param config     used only when create
+     * @return RetryBudget
+     */
+    public static RetryBudget obtain(String clientName, RetryConfig config) {
+        return BUDGETS.computeIfAbsent(clientName, name -> {
+            log.info("<---------- create retry budget for:{},config:{}---------->", name, config);
+            return new RetryBudget(name, config.getBudgetRatio(), config.getBudgetMaxTokens());
+        });
+    }
+
+    /**
+     * @param clientName client name
+     * @return null if client is not created
+     */
+    public static RetryBudgetStats getStats(String clientName) {
+        RetryBudget budget = BUDGETS.get(clientName);
+        return budget == null ? null : budget.getStats();
+    }
+
+    public static List<RetryBudgetStats> getStats() {
+        List<RetryBudgetStats> stats = new ArrayList<>();
+        for (RetryBudget budget : BUDGETS.values()) {
+            stats.add(budget.getStats());
+        }
+        return stats;
+    }
+
+    public static void remove(String clientName) {
+        BUDGETS.remove(clientName);
+    }
+
+}
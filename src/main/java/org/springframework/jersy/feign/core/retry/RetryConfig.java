@@ -0,0 +1,62 @@
+package org.springframework.jersy.feign.core.retry;
+
+import lombok.Data;
+import org.springframework.jersy.feign.core.RestFeignClientProperties;
+
+/**
+ * config of {@link BudgetedRetryer} and {@link RetryBudget}
+ *
+ * @author jiashuai.xie
+ */
+@Data
+public class RetryConfig {
+
+    public static final String MAX_ATTEMPTS = "retry.max-attempts";
+
+    public static final String PERIOD_MILLIS = "retry.period-millis";
+
+    public static final String MAX_PERIOD_MILLIS = "retry.max-period-millis";
+
+    public static final String BUDGET_RATIO = "retry.budget.ratio";
+
+    public static final String BUDGET_MAX_TOKENS = "retry.budget.max-tokens";
+
+    /**
+     * attempts including the first one, same as feign default
+     */
+    private int maxAttempts = 5;
+
+    /**
+     * first backoff, multiplied by 1.5 on each attempt
+     */
+    private long periodMillis = 100L;
+
+    private long maxPeriodMillis = 1000L;
+
+    /**
+     * retries and hedges allowed per call, 0.2 means load never grows more than 20%
+     */
+    private double budgetRatio = 0.2;
+
+    /**
+     * capacity of the bucket, also the burst allowed when traffic is low
+     */
+    private int budgetMaxTokens = 10;
+
+    /**
+     * build config of client, environment overrides default value
+     *
+     * @param properties client properties
+     * @return RetryConfig
+     */
+    public static RetryConfig of(RestFeignClientProperties properties) {
+        RetryConfig config = new RetryConfig();
+        config.setMaxAttempts(properties.getProperty(MAX_ATTEMPTS, Integer.class, config.getMaxAttempts()));
+        config.setPeriodMillis(properties.getProperty(PERIOD_MILLIS, Long.class, config.getPeriodMillis()));
+        config.setMaxPeriodMillis(properties.getProperty(MAX_PERIOD_MILLIS, Long.class, config.getMaxPeriodMillis()));
+        config.setBudgetRatio(properties.getProperty(BUDGET_RATIO, Double.class, config.getBudgetRatio()));
+        config.setBudgetMaxTokens(properties.getProperty(BUDGET_MAX_TOKENS, Integer.class, config.getBudgetMaxTokens()));
+        return config;
+    }
+
+}
@@ -0,0 +1,68 @@
+package org.springframework.jersy.feign.core.stream;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.CopyOption;
+import java.nio.file.Path;
+
+/**
+ * return type of a large response body, the body is read from connection on demand and never held in heap
+ * <p>
+ * eg:
+ * <pre>
+ * &#64;GET
+ * &#64;Path("/files/{id}")
+ * DownloadBody download(&#64;PathParam("id") String id);
+ *
+ * client.download(id).writeTo(target);
+ * </pre>
+ * the connection is released when body is written, read to end and closed, or {@link #close()}
+ *
+ * @author jiashuai.xie
+ * @see StreamingBodyDecoder
+ */
+public interface DownloadBody extends Closeable {
+
+    /**
+     * @return Content-Length, null if unknown
+     */
+    Long getContentLength();
+
+    /**
+     * @return Content-Type, null if absent
+     */
+    String getContentType();
+
+    /**
+     * @return the body, can be taken only once
+     */
+    InputStream getInputStream();
+
+    /**
+     * @return the body as channel, can be taken only once
+     */
+    ReadableByteChannel getChannel();
+
+    /**
+     * write whole body to file then close
+     *
+     * @param target  file to write
+     * @param options eg: {@link java.nio.file.StandardCopyOption#REPLACE_EXISTING}
+     * @return bytes written
+     */
+    long writeTo(Path target, CopyOption... options) throws IOException;
+
+    /**
+     * write whole body to out then close, out is not closed
+     *
+     * @return bytes written
+     */
+    long writeTo(OutputStream out) throws IOException;
+
+    @Override
+    void close();
+
+}
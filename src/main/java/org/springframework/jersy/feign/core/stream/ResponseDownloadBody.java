@@ -0,0 +1,99 @@
+package org.springframework.jersy.feign.core.stream;
+
+import feign.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.CopyOption;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+
+/**
+ * Implement {@link DownloadBody} by the detached body of response
+ *
+ * @author jiashuai.xie
+ */
+class ResponseDownloadBody implements DownloadBody {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final InputStream in;
+
+    private final Long contentLength;
+
+    private final String contentType;
+
+    private boolean taken;
+
+    ResponseDownloadBody(Response response, InputStream in) {
+        this.in = in;
+        Integer length = response.body() == null ? null : response.body().length();
+        this.contentLength = length == null ? null : length.longValue();
+        Collection<String> contentTypes = response.headers().get("Content-Type");
+        this.contentType = contentTypes == null || contentTypes.isEmpty() ? null : contentTypes.iterator().next();
+    }
+
+    @Override
+    public Long getContentLength() {
+        return contentLength;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public synchronized InputStream getInputStream() {
+        if (taken) {
+            throw new IllegalStateException("body has been taken");
+        }
+        taken = true;
+        return in;
+    }
+
+    @Override
+    public ReadableByteChannel getChannel() {
+        return Channels.newChannel(getInputStream());
+    }
+
+    @Override
+    public long writeTo(Path target, CopyOption... options) throws IOException {
+        try (InputStream source = getInputStream()) {
+            return Files.copy(source, target, options);
+        }
+    }
+
+    @Override
+    public long writeTo(OutputStream out) throws IOException {
+        try (InputStream source = getInputStream()) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long total = 0;
+            int count;
+            while ((count = source.read(buffer)) != -1) {
+                out.write(buffer, 0, count);
+                total += count;
+            }
+            return total;
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            in.close();
+        } catch (IOException ignore) {
+            // ignore
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DownloadBody(contentType=" + contentType + ", contentLength=" + contentLength + ")";
+    }
+
+}
@@ -0,0 +1,206 @@
+package org.springframework.jersy.feign.core.stream;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Request body written to the connection while sending instead of being held by the request,
+ * one of {@link InputStream}, {@link File}, {@link Path} or {@link ByteBuffer}
+ * <p>
+ * feign request only carries byte array body, the streaming body of the method being invoked is bound to
+ * current thread by {@link StreamingBodyMethodHandlerDecorator} and sent by the transport
+ *
+ * @author jiashuai.xie
+ */
+public class StreamingBody {
+
+    /**
+     * length is unknown, sent chunked
+     */
+    public static final long UNKNOWN_LENGTH = -1;
+
+    private static final ThreadLocal<StreamingBody> CURRENT = new ThreadLocal<>();
+
+    private final Object source;
+
+    private final long length;
+
+    private final AtomicBoolean consumed = new AtomicBoolean();
+
+    private StreamingBody(Object source, long length) {
+        this.source = source;
+        this.length = length;
+    }
+
+    /**
+     * @param type declared type of body parameter
+     * @return true if body of the type is streamed
+     */
+    public static boolean isStreamingType(Type type) {
+        if (!(type instanceof Class)) {
+            return false;
+        }
+        Class<?> clazz = (Class<?>) type;
+        return InputStream.class.isAssignableFrom(clazz) || File.class == clazz || Path.class.isAssignableFrom(clazz)
+                || ByteBuffer.class.isAssignableFrom(clazz);
+    }
+
+    /**
+     * @param body body argument
+     * @return null if body is null
+     * @throws IllegalArgumentException if body is not a streaming type
+     */
+    public static StreamingBody of(Object body) throws IOException {
+        if (body == null) {
+            return null;
+        }
+        if (body instanceof InputStream) {
+            return new StreamingBody(body, UNKNOWN_LENGTH);
+        }
+        if (body instanceof File) {
+            return new StreamingBody(((File) body).toPath(), ((File) body).length());
+        }
+        if (body instanceof Path) {
+            return new StreamingBody(body, Files.size((Path) body));
+        }
+        if (body instanceof ByteBuffer) {
+            return new StreamingBody(body, ((ByteBuffer) body).remaining());
+        }
+        throw new IllegalArgumentException("not a streaming body:" + body.getClass());
+    }
+
+    /**
+     * @return streaming body of the method being invoked on current thread, null if none
+     */
+    public static StreamingBody current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @return previous bound body, to be passed to {@link #restore(StreamingBody)}
+     */
+    public static StreamingBody bind(StreamingBody body) {
+        StreamingBody previous = CURRENT.get();
+        CURRENT.set(body);
+        return previous;
+    }
+
+    public static void restore(StreamingBody previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * @return bytes to send, {@link #UNKNOWN_LENGTH} if unknown
+     */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * @return false if body is an {@link InputStream}, which can be sent only once
+     */
+    public boolean isRepeatable() {
+        return !(source instanceof InputStream);
+    }
+
+    /**
+     * write whole body to out, file is copied through a small buffer and never loaded into heap
+     *
+     * @throws IllegalStateException if an {@link InputStream} body is written again, eg: by a retry
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        if (source instanceof InputStream) {
+            if (!consumed.compareAndSet(false, true)) {
+                // not an IOException, so that feign does not retry
+                throw new IllegalStateException("input stream body has been sent and can not be sent again");
+            }
+            try (InputStream in = (InputStream) source) {
+                copy(in, out);
+            }
+        } else if (source instanceof Path) {
+            Files.copy((Path) source, out);
+        } else {
+            ByteBuffer buffer = ((ByteBuffer) source).duplicate();
+            WritableByteChannel channel = Channels.newChannel(out);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * @return new stream of whole body
+     * @throws IllegalStateException if an {@link InputStream} body is opened again
+     */
+    public InputStream openStream() throws IOException {
+        if (source instanceof InputStream) {
+            if (!consumed.compareAndSet(false, true)) {
+                throw new IllegalStateException("input stream body has been sent and can not be sent again");
+            }
+            return (InputStream) source;
+        }
+        if (source instanceof Path) {
+            return Files.newInputStream((Path) source);
+        }
+        return new ByteBufferInputStream(((ByteBuffer) source).duplicate());
+    }
+
+    private static void copy(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[8192];
+        int count;
+        while ((count = in.read(buffer)) != -1) {
+            out.write(buffer, 0, count);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "StreamingBody(" + source.getClass().getSimpleName() + ", length=" + length + ")";
+    }
+
+    static class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(len, buffer.remaining());
+            buffer.get(b, off, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
+}
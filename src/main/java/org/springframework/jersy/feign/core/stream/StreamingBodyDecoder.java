@@ -0,0 +1,74 @@
+package org.springframework.jersy.feign.core.stream;
+
+import feign.FeignException;
+import feign.Response;
+import feign.Util;
+import feign.codec.DecodeException;
+import feign.codec.Decoder;
+import org.springframework.jersy.feign.core.client.DetachableBodyClient;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Decorate {@link Decoder}, return response body as {@link InputStream}, {@link ReadableByteChannel} or
+ * {@link DownloadBody} without reading it, caller must read to end or close it to release the connection
+ *
+ * @author jiashuai.xie
+ */
+public class StreamingBodyDecoder implements Decoder {
+
+    private final Decoder delegate;
+
+    public StreamingBodyDecoder(Decoder delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * @return true if response body of the return type is streamed
+     */
+    public static boolean isStreamingType(Type type) {
+        return type == InputStream.class || type == ReadableByteChannel.class || type == DownloadBody.class;
+    }
+
+    @Override
+    public Object decode(Response response, Type type) throws IOException, DecodeException, FeignException {
+
+        if (!isStreamingType(type)) {
+            return delegate.decode(response, type);
+        }
+
+        if (response.status() == 404) {
+            return Util.emptyValueOf(type);
+        }
+
+        InputStream in;
+
+        if (response.body() == null) {
+            in = new ByteArrayInputStream(new byte[0]);
+        } else {
+            in = response.body().asInputStream();
+            if (!DetachableBodyClient.detach(response) && !response.body().isRepeatable()) {
+                // body will be closed by feign after decode, buffer it
+                in = new ByteArrayInputStream(Util.toByteArray(in));
+            }
+        }
+
+        if (type == InputStream.class) {
+            return in;
+        }
+        if (type == ReadableByteChannel.class) {
+            return Channels.newChannel(in);
+        }
+        return new ResponseDownloadBody(response, in);
+    }
+
+    public Decoder getDelegate() {
+        return delegate;
+    }
+
+}
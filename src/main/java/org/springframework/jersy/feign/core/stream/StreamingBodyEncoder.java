@@ -0,0 +1,46 @@
+package org.springframework.jersy.feign.core.stream;
+
+import feign.RequestTemplate;
+import feign.codec.EncodeException;
+import feign.codec.Encoder;
+
+import java.lang.reflect.Type;
+
+/**
+ * Decorate {@link Encoder}, leave body of streaming type to the transport, see {@link StreamingBody}
+ *
+ * @author jiashuai.xie
+ */
+public class StreamingBodyEncoder implements Encoder {
+
+    public static final String CONTENT_TYPE = "Content-Type";
+
+    public static final String OCTET_STREAM = "application/octet-stream";
+
+    private final Encoder delegate;
+
+    public StreamingBodyEncoder(Encoder delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void encode(Object object, Type bodyType, RequestTemplate template) throws EncodeException {
+
+        if (!StreamingBody.isStreamingType(bodyType)) {
+            delegate.encode(object, bodyType, template);
+            return;
+        }
+
+        for (String name : template.headers().keySet()) {
+            if (CONTENT_TYPE.equalsIgnoreCase(name)) {
+                return;
+            }
+        }
+        template.header(CONTENT_TYPE, OCTET_STREAM);
+    }
+
+    public Encoder getDelegate() {
+        return delegate;
+    }
+
+}
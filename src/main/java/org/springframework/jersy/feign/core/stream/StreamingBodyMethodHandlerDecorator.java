@@ -0,0 +1,81 @@
+package org.springframework.jersy.feign.core.stream;
+
+import feign.Feign;
+import feign.InvocationHandlerFactory.MethodHandler;
+import feign.MethodMetadata;
+import feign.Target;
+import org.springframework.jersy.feign.core.proxy.MethodHandlerDecorator;
+import org.springframework.jersy.feign.core.proxy.RestFeignComponents;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Implement {@link MethodHandlerDecorator}, bind body argument of streaming type to current thread while invoking,
+ * so that the transport writes it to the connection, see {@link StreamingBody}
+ *
+ * @author jiashuai.xie
+ */
+public class StreamingBodyMethodHandlerDecorator implements MethodHandlerDecorator {
+
+    /**
+     * @param type interface
+     * @return true if body parameter of any method is streaming type
+     */
+    public static boolean hasStreamingBodies(Class<?> type) {
+        for (MethodMetadata metadata : RestFeignComponents.contract().parseAndValidatateMetadata(type)) {
+            if (isStreamingBody(metadata)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isStreamingBody(MethodMetadata metadata) {
+        return metadata.bodyIndex() != null && StreamingBody.isStreamingType(metadata.bodyType());
+    }
+
+    @Override
+    public MethodHandler decorate(Target<?> target, Method method, MethodHandler handler) {
+
+        if (method.isDefault()) {
+            return handler;
+        }
+
+        String configKey = Feign.configKey(target.type(), method);
+
+        for (MethodMetadata metadata : RestFeignComponents.contract().parseAndValidatateMetadata(target.type())) {
+            if (configKey.equals(metadata.configKey()) && isStreamingBody(metadata)) {
+                if (method.getReturnType() == CompletableFuture.class) {
+                    throw new IllegalStateException("streaming body is not supported by async method:" + configKey);
+                }
+                return new StreamingBodyMethodHandler(handler, metadata.bodyIndex());
+            }
+        }
+
+        return handler;
+    }
+
+    static class StreamingBodyMethodHandler implements MethodHandler {
+
+        private final MethodHandler delegate;
+
+        private final int bodyIndex;
+
+        StreamingBodyMethodHandler(MethodHandler delegate, int bodyIndex) {
+            this.delegate = delegate;
+            this.bodyIndex = bodyIndex;
+        }
+
+        @Override
+        public Object invoke(Object[] argv) throws Throwable {
+            StreamingBody previous = StreamingBody.bind(StreamingBody.of(argv[bodyIndex]));
+            try {
+                return delegate.invoke(argv);
+            } finally {
+                StreamingBody.restore(previous);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,94 @@
+package org.springframework.jersy.feign.core.timeout;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point in time after which nobody waits for the result, bound to current thread, read timeouts of outgoing calls are
+ * clipped to the time left and the time left is sent downstream by {@link #HEADER}
+ * <p>
+ * eg: bind in a server filter with {@code Deadline.bind(Deadline.parse(request.getHeaderValue(Deadline.HEADER)))},
+ * and {@link #restore(Deadline)} when the request is done
+ *
+ * @author jiashuai.xie
+ */
+public final class Deadline {
+
+    /**
+     * milliseconds left when the request is sent
+     */
+    public static final String HEADER = "X-Deadline-Millis";
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long deadlineNanos;
+
+    private Deadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * @param millis time left from now
+     * @return Deadline
+     */
+    public static Deadline after(long millis) {
+        return new Deadline(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    /**
+     * @param header value of {@link #HEADER}
+     * @return null if header is absent or malformed
+     */
+    public static Deadline parse(String header) {
+        if (header == null) {
+            return null;
+        }
+        try {
+            return after(Long.parseLong(header.trim()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return deadline bound to current thread, null if none
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * bind deadline to current thread, a later deadline than the bound one is ignored
+     *
+     * @param deadline null keeps the bound one
+     * @return previous bound deadline, to be passed to {@link #restore(Deadline)}
+     */
+    public static Deadline bind(Deadline deadline) {
+        Deadline previous = CURRENT.get();
+        if (deadline != null && (previous == null || deadline.deadlineNanos - previous.deadlineNanos < 0)) {
+            CURRENT.set(deadline);
+        }
+        return previous;
+    }
+
+    public static void restore(Deadline previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    public long remainingMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+    }
+
+    public boolean isExpired() {
+        return deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    @Override
+    public String toString() {
+        return "Deadline{remainingMillis=" + remainingMillis() + "}";
+    }
+
+}
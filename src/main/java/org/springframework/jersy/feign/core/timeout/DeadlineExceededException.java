@@ -0,0 +1,24 @@
+package org.springframework.jersy.feign.core.timeout;
+
+import feign.FeignException;
+import feign.Request;
+
+/**
+ * {@link Deadline} of current thread passed before the request is sent, never retried, carries no stack trace
+ *
+ * @author jiashuai.xie
+ */
+public class DeadlineExceededException extends FeignException {
+
+    private static final long serialVersionUID = 1L;
+
+    DeadlineExceededException(Request request) {
+        super("deadline exceeded before executing " + request.method() + " " + request.url());
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+
+}
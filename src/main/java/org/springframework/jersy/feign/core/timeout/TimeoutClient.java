@@ -0,0 +1,94 @@
+package org.springframework.jersy.feign.core.timeout;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Decorate {@link Client}, apply timeouts of the method decorated by {@link TimeoutMethodHandlerDecorator}, then clip
+ * them to {@link Deadline} of current thread and send the time left by {@link Deadline#HEADER}
+ * <p>
+ * must be the outermost client so that captured async requests and hedged requests carry the clipped timeouts
+ *
+ * @author jiashuai.xie
+ */
+public class TimeoutClient implements Client {
+
+    private static final ThreadLocal<Request.Options> OPTIONS = new ThreadLocal<>();
+
+    private final Client delegate;
+
+    public TimeoutClient(Client delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+
+        Request.Options methodOptions = OPTIONS.get();
+        if (methodOptions != null) {
+            options = methodOptions;
+        }
+
+        Deadline deadline = Deadline.current();
+
+        if (deadline == null) {
+            return delegate.execute(request, options);
+        }
+
+        long remaining = deadline.remainingMillis();
+
+        if (remaining <= 0) {
+            throw new DeadlineExceededException(request);
+        }
+
+        int budget = (int) Math.min(Integer.MAX_VALUE, remaining);
+        options = new Request.Options(clip(options.connectTimeoutMillis(), budget), clip(options.readTimeoutMillis(), budget));
+
+        return delegate.execute(withDeadline(request, remaining), options);
+    }
+
+    /**
+     * 0 means infinite for both transports
+     */
+    private static int clip(int timeoutMillis, int budget) {
+        return timeoutMillis <= 0 ? budget : Math.min(timeoutMillis, budget);
+    }
+
+    private static Request withDeadline(Request request, long remaining) {
+        Map<String, Collection<String>> headers = new LinkedHashMap<>(request.headers());
+        headers.keySet().removeIf(Deadline.HEADER::equalsIgnoreCase);
+        headers.put(Deadline.HEADER, Collections.singletonList(String.valueOf(remaining)));
+        return Request.create(request.method(), request.url(), headers, request.body(), request.charset());
+    }
+
+    public Client getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * next requests executed on current thread use given timeouts
+     *
+     * @return previous bound options, to be passed to {@link #end(Request.Options)}
+     */
+    static Request.Options begin(Request.Options options) {
+        Request.Options previous = OPTIONS.get();
+        OPTIONS.set(options);
+        return previous;
+    }
+
+    static void end(Request.Options previous) {
+        if (previous == null) {
+            OPTIONS.remove();
+        } else {
+            OPTIONS.set(previous);
+        }
+    }
+
+}
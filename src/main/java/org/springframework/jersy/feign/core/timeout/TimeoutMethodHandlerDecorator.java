@@ -0,0 +1,71 @@
+package org.springframework.jersy.feign.core.timeout;
+
+import feign.InvocationHandlerFactory.MethodHandler;
+import feign.Request;
+import feign.Target;
+import org.springframework.jersy.feign.core.RestFeignClientProperties;
+import org.springframework.jersy.feign.core.annotation.RestFeignTimeout;
+import org.springframework.jersy.feign.core.proxy.MethodHandlerDecorator;
+
+import java.lang.reflect.Method;
+
+/**
+ * Implement {@link MethodHandlerDecorator}, requests of methods which have own timeouts are executed by
+ * {@link TimeoutClient} with those timeouts
+ * <p>
+ * timeouts come from {@link RestFeignTimeout}, overridden by rest.feign.client.{name}.method.{methodKey}.connect-timeout-millis
+ * and rest.feign.client.{name}.method.{methodKey}.read-timeout-millis, see {@link RestFeignClientProperties#methodKey(Class, Method)}
+ *
+ * @author jiashuai.xie
+ */
+public class TimeoutMethodHandlerDecorator implements MethodHandlerDecorator {
+
+    private final RestFeignClientProperties properties;
+
+    private final Request.Options clientOptions;
+
+    public TimeoutMethodHandlerDecorator(RestFeignClientProperties properties, Request.Options clientOptions) {
+        this.properties = properties;
+        this.clientOptions = clientOptions;
+    }
+
+    @Override
+    public MethodHandler decorate(Target<?> target, Method method, MethodHandler handler) {
+
+        if (method.isDefault()) {
+            return handler;
+        }
+
+        int connectTimeoutMillis = -1;
+        int readTimeoutMillis = -1;
+
+        RestFeignTimeout timeout = method.getAnnotation(RestFeignTimeout.class);
+        if (timeout != null) {
+            connectTimeoutMillis = timeout.connectTimeoutMillis();
+            readTimeoutMillis = timeout.readTimeoutMillis();
+        }
+
+        String methodKey = RestFeignClientProperties.methodKey(target.type(), method);
+
+        connectTimeoutMillis = properties.getProperty("method." + methodKey + ".connect-timeout-millis", Integer.class, connectTimeoutMillis);
+        readTimeoutMillis = properties.getProperty("method." + methodKey + ".read-timeout-millis", Integer.class, readTimeoutMillis);
+
+        if (connectTimeoutMillis < 0 && readTimeoutMillis < 0) {
+            return handler;
+        }
+
+        Request.Options options = new Request.Options(
+                connectTimeoutMillis < 0 ? clientOptions.connectTimeoutMillis() : connectTimeoutMillis,
+                readTimeoutMillis < 0 ? clientOptions.readTimeoutMillis() : readTimeoutMillis);
+
+        return argv -> {
+            Request.Options previous = TimeoutClient.begin(options);
+            try {
+                return handler.invoke(argv);
+            } finally {
+                TimeoutClient.end(previous);
+            }
+        };
+    }
+
+}
@@ -0,0 +1,18 @@
+package org.springframework.jersy.feign.core.trace;
+
+/**
+ * Receive phase timings of every sampled invocation, registered by {@link RequestTracing#addListener(RequestTimingListener)}
+ * or declared in {@code META-INF/services/org.springframework.jersy.feign.core.trace.RequestTimingListener}
+ * <p>
+ * called on the thread finishing the invocation, must be fast and thread safe
+ *
+ * @author jiashuai.xie
+ */
+public interface RequestTimingListener {
+
+    /**
+     * @param timings timings of a finished invocation, not modified afterwards
+     */
+    void onFinished(RequestTimings timings);
+
+}
@@ -0,0 +1,253 @@
+package org.springframework.jersy.feign.core.trace;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nanoseconds spent in each phase of one sampled invocation, summed over retries, bound to the invoking thread while
+ * the request is built, sent and decoded, and passed to {@link RequestTimingListener} when the invocation finishes
+ * <p>
+ * phases not run on the invoking thread, eg: exchanges of async requests and of hedges, are not broken down but are
+ * included by total; the first attempt of a hedged request is recorded on the hedge thread
+ *
+ * @author jiashuai.xie
+ */
+public class RequestTimings {
+
+    /**
+     * no response received
+     */
+    public static final int NO_STATUS = -1;
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private final String clientName;
+
+    private final String configKey;
+
+    private final TraceContext traceContext;
+
+    private final long startNanos = System.nanoTime();
+
+    private long encodeNanos;
+
+    private long interceptorsNanos;
+
+    private long connectNanos;
+
+    private long firstByteNanos;
+
+    private long transferNanos;
+
+    private long decodeNanos;
+
+    private long totalNanos;
+
+    private int attempts;
+
+    private int status = NO_STATUS;
+
+    private Throwable error;
+
+    private long interceptorsStart;
+
+    private long connectStart;
+
+    private long exchangeConnectNanos;
+
+    public RequestTimings(String clientName, String configKey, TraceContext traceContext) {
+        this.clientName = clientName;
+        this.configKey = configKey;
+        this.traceContext = traceContext;
+    }
+
+    /**
+     * @return timings of the invocation being sampled on current thread, null if none
+     */
+    public static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @return previous bound timings, to be passed to {@link #restore(RequestTimings)}
+     */
+    public static RequestTimings bind(RequestTimings timings) {
+        RequestTimings previous = CURRENT.get();
+        CURRENT.set(timings);
+        return previous;
+    }
+
+    public static void restore(RequestTimings previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    public void recordEncode(long nanos) {
+        encodeNanos += nanos;
+    }
+
+    /**
+     * called by the first request interceptor
+     */
+    public void interceptorsStarted() {
+        interceptorsStart = System.nanoTime();
+    }
+
+    /**
+     * called by the last request interceptor
+     */
+    public void interceptorsFinished() {
+        interceptorsNanos += System.nanoTime() - interceptorsStart;
+    }
+
+    /**
+     * called by transport before a connection is leased from pool or opened
+     */
+    public void connectStarted() {
+        connectStart = System.nanoTime();
+    }
+
+    /**
+     * called by transport when the connection is ready to send request
+     */
+    public void connected() {
+        recordConnect(System.nanoTime() - connectStart);
+    }
+
+    public void recordConnect(long nanos) {
+        connectNanos += nanos;
+    }
+
+    /**
+     * called before the request is given to transport
+     */
+    public void exchangeStarted() {
+        exchangeConnectNanos = connectNanos;
+    }
+
+    /**
+     * time to first byte is the exchange less connect, that is from connection ready to response header received
+     *
+     * @param nanos  time transport took to return the response
+     * @param status {@link #NO_STATUS} if exchange failed
+     */
+    public void exchangeFinished(long nanos, int status) {
+        attempts++;
+        firstByteNanos += Math.max(0, nanos - (connectNanos - exchangeConnectNanos));
+        if (status != NO_STATUS) {
+            this.status = status;
+        }
+    }
+
+    public void recordTransfer(long nanos) {
+        transferNanos += nanos;
+    }
+
+    public void recordDecode(long nanos) {
+        decodeNanos += nanos;
+    }
+
+    void finish(Throwable error) {
+        this.totalNanos = System.nanoTime() - startNanos;
+        this.error = error;
+    }
+
+    public String getClientName() {
+        return clientName;
+    }
+
+    public String getConfigKey() {
+        return configKey;
+    }
+
+    public TraceContext getTraceContext() {
+        return traceContext;
+    }
+
+    /**
+     * @return time request body was encoded
+     */
+    public long getEncodeNanos() {
+        return encodeNanos;
+    }
+
+    /**
+     * @return time request interceptors took
+     */
+    public long getInterceptorsNanos() {
+        return interceptorsNanos;
+    }
+
+    /**
+     * @return time to lease a pooled connection or to open a new one
+     */
+    public long getConnectNanos() {
+        return connectNanos;
+    }
+
+    /**
+     * @return time from connection ready to response header received, including sending request
+     */
+    public long getFirstByteNanos() {
+        return firstByteNanos;
+    }
+
+    /**
+     * @return time blocked reading response body from transport
+     */
+    public long getTransferNanos() {
+        return transferNanos;
+    }
+
+    /**
+     * @return time decoder took, less time blocked reading response body
+     */
+    public long getDecodeNanos() {
+        return decodeNanos;
+    }
+
+    /**
+     * @return whole invocation, including retries and async completion
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * @return exchanges made on the invoking thread
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * @return status of the last response, {@link #NO_STATUS} if none
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * @return null if invocation succeeded
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return "RequestTimings{" + configKey + ", trace=" + traceContext
+                + ", encode=" + micros(encodeNanos) + "us, interceptors=" + micros(interceptorsNanos)
+                + "us, connect=" + micros(connectNanos) + "us, firstByte=" + micros(firstByteNanos)
+                + "us, transfer=" + micros(transferNanos) + "us, decode=" + micros(decodeNanos)
+                + "us, total=" + micros(totalNanos) + "us, attempts=" + attempts + ", status=" + status
+                + (error == null ? "" : ", error=" + error) + "}";
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+}
@@ -0,0 +1,62 @@
+package org.springframework.jersy.feign.core.trace;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Registry of {@link RequestTimingListener}s, invocations are not timed at all while there is none
+ *
+ * @author jiashuai.xie
+ */
+@Slf4j
+public abstract class RequestTracing {
+
+    private static final List<RequestTimingListener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    private static volatile boolean serviceListenersLoaded;
+
+    public static void addListener(RequestTimingListener listener) {
+        LISTENERS.add(listener);
+    }
+
+    public static void removeListener(RequestTimingListener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    public static boolean hasListeners() {
+        return !LISTENERS.isEmpty();
+    }
+
+    /**
+     * register listeners declared by {@link ServiceLoader}, only once
+     */
+    public static void loadServiceListeners() {
+        if (serviceListenersLoaded) {
+            return;
+        }
+        synchronized (RequestTracing.class) {
+            if (serviceListenersLoaded) {
+                return;
+            }
+            for (RequestTimingListener listener : ServiceLoader.load(RequestTimingListener.class)) {
+                log.info("<---------- load request timing listener:{}---------->", listener.getClass().getName());
+                addListener(listener);
+            }
+            serviceListenersLoaded = true;
+        }
+    }
+
+    static void notifyListeners(RequestTimings timings) {
+        for (RequestTimingListener listener : LISTENERS) {
+            try {
+                listener.onFinished(timings);
+            } catch (Throwable e) {
+                log.warn("<---------- request timing listener:{} failed---------->", listener.getClass().getName(), e);
+            }
+        }
+    }
+
+}
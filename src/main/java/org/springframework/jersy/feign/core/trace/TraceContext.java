@@ -0,0 +1,177 @@
+package org.springframework.jersy.feign.core.trace;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * W3C trace context of the current span, bound to current thread and sent downstream by {@link #HEADER}
+ * <p>
+ * eg: bind in a server filter with {@code TraceContext.bind(TraceContext.parse(request.getHeaderValue(TraceContext.HEADER)))},
+ * and {@link #restore(TraceContext)} when the request is done; every outgoing call is a child span of the bound one and
+ * inherits its sampled flag
+ *
+ * @author jiashuai.xie
+ */
+public final class TraceContext {
+
+    /**
+     * eg: 00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01
+     */
+    public static final String HEADER = "traceparent";
+
+    private static final String VERSION = "00";
+
+    private static final int TRACE_ID_LENGTH = 32;
+
+    private static final int SPAN_ID_LENGTH = 16;
+
+    private static final int HEADER_LENGTH = 2 + 1 + TRACE_ID_LENGTH + 1 + SPAN_ID_LENGTH + 1 + 2;
+
+    private static final int FLAG_SAMPLED = 0x01;
+
+    private static final ThreadLocal<TraceContext> CURRENT = new ThreadLocal<>();
+
+    private final String traceId;
+
+    private final String spanId;
+
+    private final boolean sampled;
+
+    private TraceContext(String traceId, String spanId, boolean sampled) {
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.sampled = sampled;
+    }
+
+    /**
+     * @param sampled whether spans of the new trace are recorded
+     * @return root span of a new trace
+     */
+    public static TraceContext newRoot(boolean sampled) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new TraceContext(hex(random.nextLong(), random.nextLong()), newSpanId(), sampled);
+    }
+
+    /**
+     * @param header value of {@link #HEADER}
+     * @return null if header is absent or malformed
+     */
+    public static TraceContext parse(String header) {
+        if (header == null) {
+            return null;
+        }
+        String value = header.trim();
+        // later versions may append fields
+        if (value.length() < HEADER_LENGTH || (value.length() > HEADER_LENGTH && value.charAt(HEADER_LENGTH) != '-')) {
+            return null;
+        }
+        if (value.charAt(2) != '-' || value.charAt(3 + TRACE_ID_LENGTH) != '-' || value.charAt(4 + TRACE_ID_LENGTH + SPAN_ID_LENGTH) != '-') {
+            return null;
+        }
+        String version = value.substring(0, 2);
+        String traceId = value.substring(3, 3 + TRACE_ID_LENGTH);
+        String spanId = value.substring(4 + TRACE_ID_LENGTH, 4 + TRACE_ID_LENGTH + SPAN_ID_LENGTH);
+        String flags = value.substring(HEADER_LENGTH - 2, HEADER_LENGTH);
+        if (!isHex(version) || "ff".equals(version) || !isHex(traceId) || isZero(traceId) || !isHex(spanId) || isZero(spanId) || !isHex(flags)) {
+            return null;
+        }
+        return new TraceContext(traceId, spanId, (Integer.parseInt(flags, 16) & FLAG_SAMPLED) != 0);
+    }
+
+    /**
+     * @return trace context bound to current thread, null if none
+     */
+    public static TraceContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @param context null keeps the bound one
+     * @return previous bound context, to be passed to {@link #restore(TraceContext)}
+     */
+    public static TraceContext bind(TraceContext context) {
+        TraceContext previous = CURRENT.get();
+        if (context != null) {
+            CURRENT.set(context);
+        }
+        return previous;
+    }
+
+    public static void restore(TraceContext previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * @return new span of the same trace with the same sampled flag
+     */
+    public TraceContext newChild() {
+        return new TraceContext(traceId, newSpanId(), sampled);
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    /**
+     * @return value of {@link #HEADER}
+     */
+    public String toHeader() {
+        return VERSION + '-' + traceId + '-' + spanId + (sampled ? "-01" : "-00");
+    }
+
+    private static String newSpanId() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+        return hex(id);
+    }
+
+    private static String hex(long... values) {
+        StringBuilder hex = new StringBuilder(values.length * 16);
+        for (long value : values) {
+            String digits = Long.toHexString(value);
+            for (int i = digits.length(); i < 16; i++) {
+                hex.append('0');
+            }
+            hex.append(digits);
+        }
+        return hex.toString();
+    }
+
+    private static boolean isHex(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!(c >= '0' && c <= '9' || c >= 'a' && c <= 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isZero(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) != '0') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return toHeader();
+    }
+
+}
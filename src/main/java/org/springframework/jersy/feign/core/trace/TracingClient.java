@@ -0,0 +1,98 @@
+package org.springframework.jersy.feign.core.trace;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Decorate transport {@link Client}, record exchange and body transfer of the {@link RequestTimings} bound to
+ * current thread; connect is recorded by transport
+ *
+ * @author jiashuai.xie
+ */
+public class TracingClient implements Client {
+
+    private final Client delegate;
+
+    public TracingClient(Client delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+
+        RequestTimings timings = RequestTimings.current();
+
+        if (timings == null) {
+            return delegate.execute(request, options);
+        }
+
+        timings.exchangeStarted();
+        long start = System.nanoTime();
+
+        Response response;
+        try {
+            response = delegate.execute(request, options);
+        } catch (IOException | RuntimeException e) {
+            timings.exchangeFinished(System.nanoTime() - start, RequestTimings.NO_STATUS);
+            throw e;
+        }
+
+        timings.exchangeFinished(System.nanoTime() - start, response.status());
+
+        if (response.body() == null) {
+            return response;
+        }
+
+        return response.toBuilder().body(new TimingInputStream(response.body().asInputStream(), timings), response.body().length()).build();
+    }
+
+    public Client getDelegate() {
+        return delegate;
+    }
+
+    static class TimingInputStream extends FilterInputStream {
+
+        private final RequestTimings timings;
+
+        TimingInputStream(InputStream in, RequestTimings timings) {
+            super(in);
+            this.timings = timings;
+        }
+
+        @Override
+        public int read() throws IOException {
+            long start = System.nanoTime();
+            try {
+                return super.read();
+            } finally {
+                timings.recordTransfer(System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            long start = System.nanoTime();
+            try {
+                return super.read(b, off, len);
+            } finally {
+                timings.recordTransfer(System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long start = System.nanoTime();
+            try {
+                return super.skip(n);
+            } finally {
+                timings.recordTransfer(System.nanoTime() - start);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,43 @@
+package org.springframework.jersy.feign.core.trace;
+
+import feign.FeignException;
+import feign.Response;
+import feign.codec.DecodeException;
+import feign.codec.Decoder;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Decorate {@link Decoder}, record decode of the {@link RequestTimings} bound to current thread,
+ * time blocked reading body is recorded as transfer by {@link TracingClient} and excluded
+ *
+ * @author jiashuai.xie
+ */
+public class TracingDecoder implements Decoder {
+
+    private final Decoder delegate;
+
+    public TracingDecoder(Decoder delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Object decode(Response response, Type type) throws IOException, DecodeException, FeignException {
+
+        RequestTimings timings = RequestTimings.current();
+
+        if (timings == null) {
+            return delegate.decode(response, type);
+        }
+
+        long transfer = timings.getTransferNanos();
+        long start = System.nanoTime();
+        try {
+            return delegate.decode(response, type);
+        } finally {
+            timings.recordDecode(Math.max(0, System.nanoTime() - start - (timings.getTransferNanos() - transfer)));
+        }
+    }
+
+}
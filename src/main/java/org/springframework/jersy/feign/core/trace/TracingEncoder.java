@@ -0,0 +1,40 @@
+package org.springframework.jersy.feign.core.trace;
+
+import feign.RequestTemplate;
+import feign.codec.EncodeException;
+import feign.codec.Encoder;
+
+import java.lang.reflect.Type;
+
+/**
+ * Decorate {@link Encoder}, record encode of the {@link RequestTimings} bound to current thread
+ *
+ * @author jiashuai.xie
+ */
+public class TracingEncoder implements Encoder {
+
+    private final Encoder delegate;
+
+    public TracingEncoder(Encoder delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void encode(Object object, Type bodyType, RequestTemplate template) throws EncodeException {
+
+        RequestTimings timings = RequestTimings.current();
+
+        if (timings == null) {
+            delegate.encode(object, bodyType, template);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            delegate.encode(object, bodyType, template);
+        } finally {
+            timings.recordEncode(System.nanoTime() - start);
+        }
+    }
+
+}
@@ -0,0 +1,46 @@
+package org.springframework.jersy.feign.core.trace;
+
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+
+/**
+ * Registered as both the first and the last {@link RequestInterceptor} to record interceptors of the
+ * {@link RequestTimings} bound to current thread; the last one also sends the bound {@link TraceContext}
+ *
+ * @author jiashuai.xie
+ */
+public class TracingInterceptor implements RequestInterceptor {
+
+    public static final TracingInterceptor FIRST = new TracingInterceptor(false);
+
+    public static final TracingInterceptor LAST = new TracingInterceptor(true);
+
+    private final boolean last;
+
+    private TracingInterceptor(boolean last) {
+        this.last = last;
+    }
+
+    @Override
+    public void apply(RequestTemplate template) {
+
+        RequestTimings timings = RequestTimings.current();
+
+        if (!last) {
+            if (timings != null) {
+                timings.interceptorsStarted();
+            }
+            return;
+        }
+
+        TraceContext context = TraceContext.current();
+        if (context != null) {
+            template.header(TraceContext.HEADER, context.toHeader());
+        }
+
+        if (timings != null) {
+            timings.interceptorsFinished();
+        }
+    }
+
+}
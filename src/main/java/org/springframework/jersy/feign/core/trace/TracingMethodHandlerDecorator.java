@@ -0,0 +1,114 @@
+package org.springframework.jersy.feign.core.trace;
+
+import feign.Feign;
+import feign.InvocationHandlerFactory.MethodHandler;
+import feign.Target;
+import org.springframework.jersy.feign.core.proxy.MethodHandlerDecorator;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Implement {@link MethodHandlerDecorator}, run every invocation in a child span of the bound {@link TraceContext},
+ * or of a new trace sampled at sample rate; timings of sampled invocations are passed to {@link RequestTimingListener}s
+ * <p>
+ * passes through without any listener nor bound trace context
+ *
+ * @author jiashuai.xie
+ */
+public class TracingMethodHandlerDecorator implements MethodHandlerDecorator {
+
+    private final String clientName;
+
+    private final double sampleRate;
+
+    /**
+     * @param sampleRate probability to sample a new trace, from 0 to 1
+     */
+    public TracingMethodHandlerDecorator(String clientName, double sampleRate) {
+        this.clientName = clientName;
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public MethodHandler decorate(Target<?> target, Method method, MethodHandler handler) {
+        if (method.isDefault()) {
+            return handler;
+        }
+        return new TracingMethodHandler(handler, clientName, Feign.configKey(target.type(), method), sampleRate);
+    }
+
+    static class TracingMethodHandler implements MethodHandler {
+
+        private final MethodHandler delegate;
+
+        private final String clientName;
+
+        private final String configKey;
+
+        private final double sampleRate;
+
+        TracingMethodHandler(MethodHandler delegate, String clientName, String configKey, double sampleRate) {
+            this.delegate = delegate;
+            this.clientName = clientName;
+            this.configKey = configKey;
+            this.sampleRate = sampleRate;
+        }
+
+        @Override
+        public Object invoke(Object[] argv) throws Throwable {
+
+            TraceContext parent = TraceContext.current();
+            boolean listening = RequestTracing.hasListeners();
+
+            if (parent == null && !listening) {
+                return delegate.invoke(argv);
+            }
+
+            // head based, the decision of the root span is followed by the whole trace
+            TraceContext context = parent != null ? parent.newChild() : TraceContext.newRoot(sample());
+            RequestTimings timings = listening && context.isSampled() ? new RequestTimings(clientName, configKey, context) : null;
+
+            TraceContext previousContext = TraceContext.bind(context);
+            RequestTimings previousTimings = RequestTimings.bind(timings);
+
+            Object result;
+            try {
+                result = delegate.invoke(argv);
+            } catch (Throwable e) {
+                finish(timings, e);
+                throw e;
+            } finally {
+                RequestTimings.restore(previousTimings);
+                TraceContext.restore(previousContext);
+            }
+
+            if (timings != null && result instanceof CompletableFuture) {
+                ((CompletableFuture<?>) result).whenComplete((value, ex) -> {
+                    if (ex instanceof CompletionException && ex.getCause() != null) {
+                        ex = ex.getCause();
+                    }
+                    finish(timings, ex);
+                });
+            } else {
+                finish(timings, null);
+            }
+
+            return result;
+        }
+
+        private boolean sample() {
+            return sampleRate >= 1 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+        }
+
+        private static void finish(RequestTimings timings, Throwable error) {
+            if (timings != null) {
+                timings.finish(error);
+                RequestTracing.notifyListeners(timings);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,207 @@
+package org.springframework.jersy.feign.core.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+/**
+ * Byte and char arrays shared by encoder, decoder and logger of all clients, instead of buffers bound to
+ * each thread which are pinned by every thread that has ever used them
+ * <p>
+ * arrays are pooled in power of two size classes from 4KB to 1MB elements, a larger one is allocated and
+ * never pooled; idle arrays are held in a few lock free slots per size class, and memory they retain is capped,
+ * an array released beyond the cap is left to gc
+ * <p>
+ * an acquired array may be longer than asked and holds stale data; ownership is not tracked, so a caller must
+ * release only an array it acquired from this pool, at most once, and not use it after released, otherwise
+ * the same array may be handed to two callers at once
+ *
+ * @author jiashuai.xie
+ */
+public abstract class BufferPool {
+
+    public static final long DEFAULT_MAX_RETAINED_BYTES = 8 * 1024 * 1024;
+
+    private static final int MIN_SHIFT = 12;
+
+    private static final int MAX_SHIFT = 20;
+
+    /**
+     * idle arrays per size class and element type, power of two
+     */
+    private static final int SLOTS = slots();
+
+    private static final AtomicLong RETAINED_BYTES = new AtomicLong();
+
+    private static final LongAdder HITS = new LongAdder();
+
+    private static final LongAdder MISSES = new LongAdder();
+
+    private static final LongAdder DROPPED = new LongAdder();
+
+    private static final SizeClasses<byte[]> BYTES = new SizeClasses<>(byte[]::new, 1);
+
+    private static final SizeClasses<char[]> CHARS = new SizeClasses<>(char[]::new, 2);
+
+    private static volatile long maxRetainedBytes = DEFAULT_MAX_RETAINED_BYTES;
+
+    /**
+     * @param minLength min length of the array
+     * @return pooled array of size class, new one if none idle
+     */
+    public static byte[] acquireBytes(int minLength) {
+        return BYTES.acquire(minLength);
+    }
+
+    /**
+     * @param bytes array acquired by {@link #acquireBytes(int)} and not released yet, ignored if null or not of a size class
+     */
+    public static void releaseBytes(byte[] bytes) {
+        if (bytes != null) {
+            BYTES.release(bytes, bytes.length);
+        }
+    }
+
+    /**
+     * @param minLength min length of the array
+     * @return pooled array of size class, new one if none idle
+     */
+    public static char[] acquireChars(int minLength) {
+        return CHARS.acquire(minLength);
+    }
+
+    /**
+     * @param chars array acquired by {@link #acquireChars(int)} and not released yet, ignored if null or not of a size class
+     */
+    public static void releaseChars(char[] chars) {
+        if (chars != null) {
+            CHARS.release(chars, chars.length);
+        }
+    }
+
+    /**
+     * process wide, set by {@link org.springframework.jersy.feign.core.RestFeignClientRegistrar} from
+     * rest.feign.buffer-pool.max-retained-bytes; a lower cap takes effect as idle arrays are acquired,
+     * they are not trimmed at once
+     *
+     * @param maxRetainedBytes max bytes of idle arrays, 0 disables pooling
+     */
+    public static void setMaxRetainedBytes(long maxRetainedBytes) {
+        BufferPool.maxRetainedBytes = maxRetainedBytes;
+    }
+
+    public static long getMaxRetainedBytes() {
+        return maxRetainedBytes;
+    }
+
+    public static BufferPoolStats getStats() {
+        return new BufferPoolStats(HITS.sum(), MISSES.sum(), DROPPED.sum(), RETAINED_BYTES.get(), maxRetainedBytes);
+    }
+
+    private static int slots() {
+        int slots = Math.min(Math.max(Runtime.getRuntime().availableProcessors() * 2, 8), 64);
+        // round up to power of two
+        return Integer.highestOneBit(slots * 2 - 1);
+    }
+
+    /**
+     * @return index of the smallest size class holding minLength elements, -1 if larger than all
+     */
+    private static int classIndex(int minLength) {
+        if (minLength <= 1 << MIN_SHIFT) {
+            return 0;
+        }
+        int shift = 32 - Integer.numberOfLeadingZeros(minLength - 1);
+        return shift > MAX_SHIFT ? -1 : shift - MIN_SHIFT;
+    }
+
+    /**
+     * @return start slot of current thread, so that threads mostly touch different slots
+     */
+    private static int probe() {
+        int hash = (int) Thread.currentThread().getId() * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class SizeClasses<T> {
+
+        private final IntFunction<T> allocator;
+
+        private final int bytesPerElement;
+
+        /**
+         * {@link #SLOTS} slots of each size class, one after another
+         */
+        private final AtomicReferenceArray<T> slots;
+
+        SizeClasses(IntFunction<T> allocator, int bytesPerElement) {
+            this.allocator = allocator;
+            this.bytesPerElement = bytesPerElement;
+            this.slots = new AtomicReferenceArray<>((MAX_SHIFT - MIN_SHIFT + 1) * SLOTS);
+        }
+
+        T acquire(int minLength) {
+
+            int index = classIndex(minLength);
+
+            if (index == -1) {
+                MISSES.increment();
+                return allocator.apply(minLength);
+            }
+
+            int base = index * SLOTS;
+            int start = probe();
+
+            for (int i = 0; i < SLOTS; i++) {
+                int slot = base + ((start + i) & (SLOTS - 1));
+                T buffer = slots.get(slot);
+                if (buffer != null && slots.compareAndSet(slot, buffer, null)) {
+                    RETAINED_BYTES.addAndGet(-retainedBytes(index));
+                    HITS.increment();
+                    return buffer;
+                }
+            }
+
+            MISSES.increment();
+            return allocator.apply(1 << (index + MIN_SHIFT));
+        }
+
+        void release(T buffer, int length) {
+
+            int index = classIndex(length);
+
+            // not acquired from pool
+            if (index == -1 || 1 << (index + MIN_SHIFT) != length) {
+                return;
+            }
+
+            long bytes = retainedBytes(index);
+
+            // reserve before putting back, so that the cap is never exceeded
+            if (RETAINED_BYTES.addAndGet(bytes) > maxRetainedBytes) {
+                RETAINED_BYTES.addAndGet(-bytes);
+                DROPPED.increment();
+                return;
+            }
+
+            int base = index * SLOTS;
+            int start = probe();
+
+            for (int i = 0; i < SLOTS; i++) {
+                int slot = base + ((start + i) & (SLOTS - 1));
+                if (slots.get(slot) == null && slots.compareAndSet(slot, null, buffer)) {
+                    return;
+                }
+            }
+
+            RETAINED_BYTES.addAndGet(-bytes);
+            DROPPED.increment();
+        }
+
+        private long retainedBytes(int index) {
+            return (long) bytesPerElement << (index + MIN_SHIFT);
+        }
+    }
+
+}
@@ -0,0 +1,38 @@
+package org.springframework.jersy.feign.core.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * snapshot of {@link BufferPool}
+ *
+ * @author jiashuai.xie
+ * @see BufferPool#getStats()
+ */
+@Data
+@AllArgsConstructor
+public class BufferPoolStats {
+
+    /**
+     * arrays acquired from idle ones
+     */
+    private long hits;
+
+    /**
+     * arrays allocated because none idle or larger than all size classes
+     */
+    private long misses;
+
+    /**
+     * arrays released but left to gc, because the cap is reached or slots are full
+     */
+    private long dropped;
+
+    /**
+     * bytes held by idle arrays
+     */
+    private long retainedBytes;
+
+    private long maxRetainedBytes;
+
+}
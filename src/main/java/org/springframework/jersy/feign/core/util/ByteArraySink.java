@@ -0,0 +1,78 @@
+package org.springframework.jersy.feign.core.util;
+
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Unsynchronized growable byte buffer, unlike {@link java.io.ByteArrayOutputStream} can be reset and reused
+ * and exposes its internal buffer
+ * <p>
+ * buffers are taken from {@link BufferPool}, {@link #release()} gives the current one back
+ *
+ * @author jiashuai.xie
+ */
+public class ByteArraySink extends OutputStream {
+
+    private byte[] buf;
+
+    private int count;
+
+    public ByteArraySink(int initialCapacity) {
+        this.buf = BufferPool.acquireBytes(initialCapacity);
+    }
+
+    @Override
+    public void write(int b) {
+        ensureCapacity(count + 1);
+        buf[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        ensureCapacity(count + len);
+        System.arraycopy(b, off, buf, count, len);
+        count += len;
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity > buf.length) {
+            byte[] newBuf = BufferPool.acquireBytes(Math.max(buf.length << 1, minCapacity));
+            System.arraycopy(buf, 0, newBuf, 0, count);
+            BufferPool.releaseBytes(buf);
+            buf = newBuf;
+        }
+    }
+
+    public void reset() {
+        count = 0;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int capacity() {
+        return buf.length;
+    }
+
+    /**
+     * internal buffer, valid bytes are [0, size())
+     */
+    public byte[] buffer() {
+        return buf;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buf, count);
+    }
+
+    /**
+     * give buffer back to {@link BufferPool}, the sink must not be used any more
+     */
+    public void release() {
+        BufferPool.releaseBytes(buf);
+        buf = null;
+        count = 0;
+    }
+
+}
@@ -1,8 +1,13 @@
 package org.springframework.jersy.feign.core.util;
 
+import feign.Response;
+import org.springframework.jersy.feign.core.decoder.FastJsonDecoder;
+import org.springframework.jersy.feign.core.stream.StreamingBodyDecoder;
 import org.springframework.util.ReflectionUtils;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @Date Created in 2018/8/27 19:44
@@ -22,4 +27,20 @@ public class ReflectUtils {
 
     }
 
+    /**
+     * 方法返回值可否被多次调用共享，惰性结果(Iterator/Stream/StreamingElements)、流式响应体(InputStream/ReadableByteChannel/DownloadBody)、
+     * Response及异步结果只能使用一次，不可共享
+     */
+    public static boolean hasShareableResult(Method method) {
+
+        Class<?> returnType = method.getReturnType();
+
+        return returnType != void.class
+                && returnType != Response.class
+                && returnType != CompletableFuture.class
+                && FastJsonDecoder.getStreamingType(returnType) == null
+                && !StreamingBodyDecoder.isStreamingType(returnType);
+
+    }
+
 }
@@ -0,0 +1,89 @@
+package org.springframework.jersy.feign.core.warmup;
+
+import feign.MethodMetadata;
+import feign.codec.Decoder;
+import feign.codec.Encoder;
+import org.springframework.jersy.feign.core.codec.Codec;
+import org.springframework.jersy.feign.core.codec.NegotiatingCodec;
+import org.springframework.jersy.feign.core.decoder.FastJsonDecoder;
+import org.springframework.jersy.feign.core.encoder.FastJsonEncoder;
+import org.springframework.jersy.feign.core.stream.StreamingBody;
+import org.springframework.jersy.feign.core.stream.StreamingBodyDecoder;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Build serializers of body types and deserializers of return types of client methods
+ * <p>
+ * only codecs of this project are warmed up, other encoders and decoders are left as they are
+ *
+ * @author jiashuai.xie
+ */
+public abstract class CodecWarmUp {
+
+    /**
+     * @param encoder  encoder of the client, not decorated
+     * @param decoder  decoder of the client, not decorated
+     * @param metadata methods of the client
+     * @return number of distinct body and return types
+     */
+    public static int warmUp(Encoder encoder, Decoder decoder, List<MethodMetadata> metadata) {
+
+        Set<Type> bodyTypes = new HashSet<>();
+        Set<Type> returnTypes = new HashSet<>();
+
+        for (MethodMetadata md : metadata) {
+
+            Type bodyType = md.bodyType();
+
+            // streaming body is written by transport
+            if (bodyType != null && !StreamingBody.isStreamingType(bodyType) && bodyTypes.add(bodyType)) {
+                warmUpEncoder(encoder, md, bodyType);
+            }
+
+            Type returnType = unwrapFuture(md.returnType());
+
+            if (!StreamingBodyDecoder.isStreamingType(returnType) && returnTypes.add(returnType)) {
+                warmUpDecoder(decoder, returnType);
+            }
+        }
+
+        return bodyTypes.size() + returnTypes.size();
+    }
+
+    private static void warmUpEncoder(Encoder encoder, MethodMetadata md, Type bodyType) {
+        if (encoder instanceof NegotiatingCodec) {
+            ((NegotiatingCodec) encoder).warmUpEncoder(md.template().headers(), bodyType);
+        } else if (encoder instanceof Codec) {
+            ((Codec) encoder).warmUpEncoder(bodyType);
+        } else if (encoder instanceof FastJsonEncoder) {
+            ((FastJsonEncoder) encoder).warmUp(bodyType);
+        }
+    }
+
+    private static void warmUpDecoder(Decoder decoder, Type type) {
+        if (decoder instanceof NegotiatingCodec) {
+            ((NegotiatingCodec) decoder).warmUpDecoder(type);
+        } else if (decoder instanceof Codec) {
+            ((Codec) decoder).warmUpDecoder(type);
+        } else if (decoder instanceof FastJsonDecoder) {
+            ((FastJsonDecoder) decoder).warmUp(type);
+        }
+    }
+
+    /**
+     * @return value type of {@link CompletableFuture}, decoded by async handler
+     */
+    private static Type unwrapFuture(Type type) {
+        if (type instanceof ParameterizedType && ((ParameterizedType) type).getRawType() == CompletableFuture.class) {
+            return ((ParameterizedType) type).getActualTypeArguments()[0];
+        }
+        return type == CompletableFuture.class ? Object.class : type;
+    }
+
+}
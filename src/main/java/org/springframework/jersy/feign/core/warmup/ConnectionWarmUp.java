@@ -0,0 +1,61 @@
+package org.springframework.jersy.feign.core.warmup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.jersy.feign.core.client.PooledHttpClient;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.util.List;
+
+/**
+ * Resolve hosts of endpoints into jvm dns cache and open pooled connections to them
+ * <p>
+ * an endpoint failing to warm up is logged and skipped, it fails again on the first request if still down
+ *
+ * @author jiashuai.xie
+ */
+@Slf4j
+public abstract class ConnectionWarmUp {
+
+    /**
+     * @param clientName           client name
+     * @param urls                 endpoint urls
+     * @param pool                 pool of client, null if transport is not pooled
+     * @param connections          connections to open per endpoint
+     * @param connectTimeoutMillis connect timeout of client
+     * @return connections available in pool for the endpoints
+     */
+    public static int warmUp(String clientName, List<String> urls, PooledHttpClient pool, int connections, int connectTimeoutMillis) {
+
+        int available = 0;
+
+        for (String url : urls) {
+
+            String host = URI.create(url).getHost();
+
+            try {
+                InetAddress.getAllByName(host);
+            } catch (UnknownHostException e) {
+                log.warn("<---------- fail to resolve host:{} of client:{}---------->", host, clientName, e);
+                continue;
+            }
+
+            if (pool == null || connections <= 0) {
+                continue;
+            }
+
+            try {
+                // httpcore5 is only on classpath with the pooled transport
+                available += pool.openConnections(url, connections, Timeout.ofMilliseconds(connectTimeoutMillis));
+            } catch (IOException e) {
+                log.warn("<---------- fail to open connections to:{} of client:{}---------->", url, clientName, e);
+            }
+        }
+
+        return available;
+    }
+
+}
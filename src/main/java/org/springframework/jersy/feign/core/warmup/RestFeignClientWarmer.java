@@ -0,0 +1,52 @@
+package org.springframework.jersy.feign.core.warmup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jersy.feign.core.RestFeignClientFactoryBean;
+import org.springframework.jersy.feign.core.RestFeignClientRegistrar;
+
+import java.util.Map;
+
+/**
+ * Warm up rest feign clients when all singletons are instantiated, before the context is refreshed,
+ * so that the first requests take as long as those in steady state
+ * <p>
+ * a client failing to warm up is logged and skipped, startup is never failed by warm-up
+ *
+ * @author jiashuai.xie
+ * @see WarmUpConfig
+ * @see RestFeignClientRegistrar
+ */
+@Slf4j
+public class RestFeignClientWarmer implements SmartInitializingSingleton, BeanFactoryAware {
+
+    public static final String BEAN_NAME = "restFeignClientWarmer";
+
+    private ListableBeanFactory beanFactory;
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+        this.beanFactory = (ListableBeanFactory) beanFactory;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+
+        // keyed by &beanName
+        Map<String, RestFeignClientFactoryBean> factoryBeans = beanFactory.getBeansOfType(RestFeignClientFactoryBean.class, false, false);
+
+        for (RestFeignClientFactoryBean factoryBean : factoryBeans.values()) {
+            try {
+                factoryBean.warmUp();
+            } catch (Exception | LinkageError e) {
+                // LinkageError if an optional dependency is missing, warm-up must not fail the context
+                log.warn("<---------- fail to warm up rest feign client:{}---------->", factoryBean.getBeanName(), e);
+            }
+        }
+    }
+
+}
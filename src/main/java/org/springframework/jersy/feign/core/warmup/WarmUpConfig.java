@@ -0,0 +1,49 @@
+package org.springframework.jersy.feign.core.warmup;
+
+import lombok.Data;
+import org.springframework.core.env.Environment;
+import org.springframework.jersy.feign.core.RestFeignClientProperties;
+
+/**
+ * config of warm-up of a client, disabled by default
+ *
+ * @author jiashuai.xie
+ * @see RestFeignClientWarmer
+ */
+@Data
+public class WarmUpConfig {
+
+    /**
+     * enables warm-up of all clients, overridden by {@link #ENABLED} of each client
+     */
+    public static final String GLOBAL_ENABLED = "rest.feign.warmup.enabled";
+
+    public static final String ENABLED = "warmup.enabled";
+
+    public static final String CONNECTIONS = "warmup.connections";
+
+    public static final int DEFAULT_CONNECTIONS = 1;
+
+    private boolean enabled;
+
+    /**
+     * pooled connections opened per endpoint, 0 only resolves hosts
+     */
+    private int connections = DEFAULT_CONNECTIONS;
+
+    /**
+     * build config, client property overrides global one
+     *
+     * @param environment environment
+     * @param properties  client properties
+     * @return WarmUpConfig
+     */
+    public static WarmUpConfig of(Environment environment, RestFeignClientProperties properties) {
+        WarmUpConfig config = new WarmUpConfig();
+        boolean globalEnabled = environment.getProperty(GLOBAL_ENABLED, Boolean.class, Boolean.FALSE);
+        config.setEnabled(properties.getProperty(ENABLED, Boolean.class, globalEnabled));
+        config.setConnections(properties.getProperty(CONNECTIONS, Integer.class, DEFAULT_CONNECTIONS));
+        return config;
+    }
+
+}
@@ -0,0 +1,89 @@
+package org.springframework.jersy.feign.core.warmup;
+
+import org.springframework.beans.BeanUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Classes a codec builds serializers for when a type is encoded or decoded
+ *
+ * @author jiashuai.xie
+ */
+public abstract class WarmUpTypes {
+
+    private static final int MAX_DEPTH = 8;
+
+    /**
+     * @param type declared type, eg: List&lt;Order&gt;
+     * @return application classes of the type, its type arguments, array components and bean properties,
+     * recursively; jdk classes are excluded, their serializers are built in
+     */
+    public static Set<Class<?>> reachableClasses(Type type) {
+        if (type == null) {
+            return Collections.emptySet();
+        }
+        Set<Class<?>> classes = new LinkedHashSet<>();
+        collect(type, classes, 0);
+        return classes;
+    }
+
+    private static void collect(Type type, Set<Class<?>> classes, int depth) {
+
+        if (type instanceof ParameterizedType) {
+            collect(((ParameterizedType) type).getRawType(), classes, depth);
+            for (Type argument : ((ParameterizedType) type).getActualTypeArguments()) {
+                collect(argument, classes, depth);
+            }
+            return;
+        }
+
+        if (type instanceof GenericArrayType) {
+            collect(((GenericArrayType) type).getGenericComponentType(), classes, depth);
+            return;
+        }
+
+        if (type instanceof WildcardType) {
+            for (Type bound : ((WildcardType) type).getUpperBounds()) {
+                collect(bound, classes, depth);
+            }
+            return;
+        }
+
+        if (!(type instanceof Class)) {
+            // type variable, bound is unknown
+            return;
+        }
+
+        Class<?> clazz = (Class<?>) type;
+
+        if (clazz.isArray()) {
+            collect(clazz.getComponentType(), classes, depth);
+            return;
+        }
+
+        if (clazz.isPrimitive() || isJdkClass(clazz) || !classes.add(clazz) || depth >= MAX_DEPTH || clazz.isEnum()) {
+            return;
+        }
+
+        for (PropertyDescriptor descriptor : BeanUtils.getPropertyDescriptors(clazz)) {
+            Method readMethod = descriptor.getReadMethod();
+            if (readMethod != null && readMethod.getDeclaringClass() != Object.class) {
+                collect(readMethod.getGenericReturnType(), classes, depth + 1);
+            }
+        }
+    }
+
+    private static boolean isJdkClass(Class<?> clazz) {
+        String name = clazz.getName();
+        return name.startsWith("java.") || name.startsWith("javax.");
+    }
+
+}
@@ -0,0 +1,61 @@
+package org.springframework.jersy.feign.core;
+
+import org.junit.Test;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * keys of method properties
+ *
+ * @author jiashuai.xie
+ */
+public class RestFeignClientPropertiesTest {
+
+    public interface UserApi {
+
+        String get(Long id);
+
+        String get(String name);
+
+        String list();
+    }
+
+    @Test
+    public void overloadedMethodIsKeyedByConfigKey() throws Exception {
+        Method byId = UserApi.class.getMethod("get", Long.class);
+        Method byName = UserApi.class.getMethod("get", String.class);
+        Method list = UserApi.class.getMethod("list");
+
+        assertEquals("UserApi#get(Long)", RestFeignClientProperties.methodKey(UserApi.class, byId));
+        assertEquals("UserApi#get(String)", RestFeignClientProperties.methodKey(UserApi.class, byName));
+        assertEquals("list", RestFeignClientProperties.methodKey(UserApi.class, list));
+    }
+
+    @Test
+    public void overloadedMethodsHaveOwnProperties() throws Exception {
+        Map<String, Object> source = new HashMap<>();
+        source.put("rest.feign.client.user.method.UserApi#get(Long).read-timeout-millis", "100");
+        source.put("rest.feign.client.user.method.UserApi#get(String).read-timeout-millis", "200");
+        source.put("rest.feign.client.user.method.list.read-timeout-millis", "300");
+
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("test", source));
+        RestFeignClientProperties properties = new RestFeignClientProperties(environment, "user");
+
+        assertEquals(100, readTimeout(properties, UserApi.class.getMethod("get", Long.class)));
+        assertEquals(200, readTimeout(properties, UserApi.class.getMethod("get", String.class)));
+        assertEquals(300, readTimeout(properties, UserApi.class.getMethod("list")));
+    }
+
+    private static int readTimeout(RestFeignClientProperties properties, Method method) {
+        String key = "method." + RestFeignClientProperties.methodKey(UserApi.class, method) + ".read-timeout-millis";
+        return properties.getProperty(key, Integer.class, -1);
+    }
+
+}
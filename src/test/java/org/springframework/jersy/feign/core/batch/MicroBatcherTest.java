@@ -0,0 +1,198 @@
+package org.springframework.jersy.feign.core.batch;
+
+import feign.InvocationHandlerFactory.MethodHandler;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link MicroBatcher} over a stub batch method
+ *
+ * @author jiashuai.xie
+ */
+public class MicroBatcherTest {
+
+    public static class Item {
+
+        private final Long id;
+
+        public Item(Long id) {
+            this.id = id;
+        }
+
+        public Long getId() {
+            return id;
+        }
+    }
+
+    private final List<Collection<?>> batches = new CopyOnWriteArrayList<>();
+
+    /**
+     * returns an item per key except 404
+     */
+    private final MethodHandler items = argv -> {
+        Collection<?> keys = (Collection<?>) argv[0];
+        batches.add(keys);
+        List<Item> result = new ArrayList<>();
+        for (Object key : keys) {
+            if (!Long.valueOf(404).equals(key)) {
+                result.add(new Item((Long) key));
+            }
+        }
+        return result;
+    };
+
+    private MicroBatcher batcher(MethodHandler handler, Class<?> keysType, String keyProperty, long windowMillis, int maxSize) {
+        return new MicroBatcher("get", () -> handler, keysType, keyProperty, windowMillis, maxSize);
+    }
+
+    @Test
+    public void leaderSendsAloneAfterWindow() throws Throwable {
+        Thread caller = Thread.currentThread();
+        AtomicInteger invocations = new AtomicInteger();
+        MicroBatcher batcher = batcher(argv -> {
+            assertSame(caller, Thread.currentThread());
+            invocations.incrementAndGet();
+            return Collections.singletonMap(1L, "a");
+        }, List.class, null, 10, 100);
+
+        long start = System.nanoTime();
+        // Integer argument matches Long key of result
+        assertEquals("a", batcher.invoke(1));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(10));
+
+        assertEquals(1, invocations.get());
+        assertEquals(1, batcher.getStats().getBatches());
+    }
+
+    @Test
+    public void fullBatchIsSentAtOnceAndDemultiplexed() throws Exception {
+        MicroBatcher batcher = batcher(items, List.class, "id", TimeUnit.SECONDS.toMillis(10), 3);
+
+        CompletableFuture<Object> first = call(batcher, 1L);
+        CompletableFuture<Object> sameKey = call(batcher, 1L);
+        CompletableFuture<Object> missing = call(batcher, 404L);
+        waitFor(() -> batcher.getStats().getCalls() == 3);
+
+        // third distinct key fills the batch, long before the window ends
+        CompletableFuture<Object> filling = call(batcher, 2L);
+
+        assertEquals(Long.valueOf(1), ((Item) first.get(5, TimeUnit.SECONDS)).getId());
+        assertSame(first.get(), sameKey.get(5, TimeUnit.SECONDS));
+        assertNull(missing.get(5, TimeUnit.SECONDS));
+        assertEquals(Long.valueOf(2), ((Item) filling.get(5, TimeUnit.SECONDS)).getId());
+
+        assertEquals(1, batches.size());
+        assertEquals(3, batches.get(0).size());
+        assertEquals(1, batcher.getStats().getBatches());
+        assertEquals(3, batcher.getStats().getKeys());
+    }
+
+    @Test
+    public void leaderDoesNotSendBatchTakenByFillingCall() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        MicroBatcher batcher = batcher(argv -> {
+            entered.countDown();
+            release.await();
+            return items.invoke(argv);
+        }, List.class, "id", 1000, 2);
+
+        CompletableFuture<Object> leader = call(batcher, 1L);
+        waitFor(() -> batcher.getStats().getCalls() == 1);
+        CompletableFuture<Object> filling = call(batcher, 2L);
+
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        // window of leader passes while the batch is in flight
+        Thread.sleep(1200);
+        release.countDown();
+
+        assertEquals(Long.valueOf(1), ((Item) leader.get(5, TimeUnit.SECONDS)).getId());
+        assertEquals(Long.valueOf(2), ((Item) filling.get(5, TimeUnit.SECONDS)).getId());
+        assertEquals(1, batches.size());
+    }
+
+    @Test
+    public void arrayKeysAndMapElementsAreMatchedByNormalizedKey() throws Throwable {
+        MicroBatcher batcher = batcher(argv -> {
+            Long[] keys = (Long[]) argv[0];
+            Map<String, Object> element = new HashMap<>();
+            // decoded as Integer
+            element.put("id", keys[0].intValue());
+            element.put("name", "a");
+            return Arrays.asList(element);
+        }, Long[].class, "id", 0, 100);
+
+        assertEquals("a", ((Map<?, ?>) batcher.invoke(1L)).get("name"));
+    }
+
+    @Test
+    public void failureIsWrappedPerCaller() throws Exception {
+        IllegalStateException failure = new IllegalStateException("down");
+        MicroBatcher batcher = batcher(argv -> {
+            throw failure;
+        }, List.class, "id", TimeUnit.SECONDS.toMillis(10), 2);
+
+        CompletableFuture<Object> first = call(batcher, 1L);
+        waitFor(() -> batcher.getStats().getCalls() == 1);
+        CompletableFuture<Object> second = call(batcher, 2L);
+
+        Throwable firstFailure = failure(first);
+        Throwable secondFailure = failure(second);
+        assertTrue(firstFailure instanceof BatchCallException);
+        assertTrue(secondFailure instanceof BatchCallException);
+        assertNotSame(firstFailure, secondFailure);
+        assertSame(failure, firstFailure.getCause());
+        assertSame(failure, secondFailure.getCause());
+        assertEquals(0, failure.getSuppressed().length);
+    }
+
+    private static CompletableFuture<Object> call(MicroBatcher batcher, Object key) {
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        new Thread(() -> {
+            try {
+                result.complete(batcher.invoke(key));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        }).start();
+        return result;
+    }
+
+    private static Throwable failure(CompletableFuture<Object> result) throws Exception {
+        try {
+            result.get(5, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            return e.getCause();
+        }
+        throw new AssertionError("no failure");
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue("timed out", System.nanoTime() < deadline);
+            Thread.sleep(1);
+        }
+    }
+
+}
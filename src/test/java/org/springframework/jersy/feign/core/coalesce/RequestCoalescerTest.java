@@ -0,0 +1,74 @@
+package org.springframework.jersy.feign.core.coalesce;
+
+import feign.InvocationHandlerFactory.MethodHandler;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * exception of the executing call seen by waiting callers
+ *
+ * @author jiashuai.xie
+ */
+public class RequestCoalescerTest {
+
+    @Test
+    public void waitersGetOwnExceptionCausedByLeaders() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer("test");
+        IllegalStateException failure = new IllegalStateException("down");
+        CountDownLatch release = new CountDownLatch(1);
+
+        MethodHandler handler = argv -> {
+            release.await();
+            throw failure;
+        };
+
+        CompletableFuture<Throwable> leader = call(coalescer, handler);
+        waitFor(() -> coalescer.getStats().getInFlight() == 1);
+
+        CompletableFuture<Throwable> first = call(coalescer, handler);
+        CompletableFuture<Throwable> second = call(coalescer, handler);
+        waitFor(() -> coalescer.getStats().getCollapsed() == 2);
+
+        release.countDown();
+
+        assertSame(failure, leader.get(5, TimeUnit.SECONDS));
+
+        Throwable firstFailure = first.get(5, TimeUnit.SECONDS);
+        Throwable secondFailure = second.get(5, TimeUnit.SECONDS);
+        assertTrue(firstFailure instanceof CoalescedCallException);
+        assertTrue(secondFailure instanceof CoalescedCallException);
+        assertNotSame(firstFailure, secondFailure);
+        assertSame(failure, firstFailure.getCause());
+        assertSame(failure, secondFailure.getCause());
+        assertEquals(0, failure.getSuppressed().length);
+    }
+
+    private static CompletableFuture<Throwable> call(RequestCoalescer coalescer, MethodHandler handler) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                coalescer.invoke("get", handler, new Object[]{1L});
+                return null;
+            } catch (Throwable e) {
+                return e;
+            }
+        }, runnable -> new Thread(runnable).start());
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue("timed out", System.nanoTime() < deadline);
+            Thread.sleep(1);
+        }
+    }
+
+}
@@ -0,0 +1,39 @@
+package org.springframework.jersy.feign.core.codec;
+
+import feign.RequestTemplate;
+import org.junit.Test;
+import org.springframework.jersy.feign.core.encoder.FastJsonEncoder;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Content-Type of body encoded by {@link CborCodec}
+ *
+ * @author jiashuai.xie
+ */
+public class CborCodecTest {
+
+    private final CborCodec codec = new CborCodec();
+
+    @Test
+    public void defaultContentTypeIsCbor() {
+        RequestTemplate template = new RequestTemplate();
+        codec.encode(Collections.singletonMap("id", 1), Object.class, template);
+
+        assertEquals(Collections.singletonList(codec.getMediaType()), template.headers().get(FastJsonEncoder.CONTENT_TYPE));
+    }
+
+    @Test
+    public void declaredContentTypeInAnyCaseIsKept() {
+        RequestTemplate template = new RequestTemplate();
+        template.header("content-type", "application/vnd.user+cbor");
+        codec.encode(Collections.singletonMap("id", 1), Object.class, template);
+
+        assertEquals(Collections.singletonList("application/vnd.user+cbor"), template.headers().get("content-type"));
+        assertFalse(template.headers().containsKey(FastJsonEncoder.CONTENT_TYPE));
+    }
+
+}
@@ -0,0 +1,98 @@
+package org.springframework.jersy.feign.core.decoder;
+
+import com.alibaba.fastjson.JSONException;
+import feign.Response;
+import org.junit.Test;
+import org.springframework.jersy.feign.core.client.DetachableBodyClient;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * streaming decode of {@link FastJsonDecoder} closes the detached body
+ *
+ * @author jiashuai.xie
+ */
+public class FastJsonDecoderTest {
+
+    public interface Api {
+
+        Iterator<Integer> iterator();
+
+        Stream<Integer> stream();
+    }
+
+    private static final Map<String, Collection<String>> HEADERS =
+            Collections.singletonMap("Content-Type", Collections.singletonList("application/json;charset=UTF-8"));
+
+    private final FastJsonDecoder decoder = new FastJsonDecoder();
+
+    private static Type type(String method) throws Exception {
+        return Api.class.getMethod(method).getGenericReturnType();
+    }
+
+    private static Response response(TrackingInputStream in) {
+        Response response = Response.builder().status(200).headers(HEADERS).body(in, null).build();
+        return response.toBuilder().body(new DetachableBodyClient.DetachableBody(response.body())).build();
+    }
+
+    @Test
+    public void bodyNotArrayIsClosed() throws Exception {
+        TrackingInputStream in = new TrackingInputStream("{\"code\":500}");
+        try {
+            decoder.decode(response(in), type("iterator"));
+            fail("body is not an array");
+        } catch (JSONException e) {
+            assertTrue(in.closed);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void bodyIsClosedWhenConsumed() throws Exception {
+        TrackingInputStream in = new TrackingInputStream("[1,2]");
+        Iterator<Integer> iterator = (Iterator<Integer>) decoder.decode(response(in), type("iterator"));
+
+        assertFalse(in.closed);
+        assertEquals(Integer.valueOf(1), iterator.next());
+        assertEquals(Integer.valueOf(2), iterator.next());
+        assertFalse(iterator.hasNext());
+        assertTrue(in.closed);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void bodyIsClosedWhenClosedEarly() throws Exception {
+        TrackingInputStream in = new TrackingInputStream("[1,2,3]");
+        try (Stream<Integer> stream = (Stream<Integer>) decoder.decode(response(in), type("stream"))) {
+            assertEquals(Integer.valueOf(1), stream.iterator().next());
+        }
+        assertTrue(in.closed);
+    }
+
+    private static class TrackingInputStream extends ByteArrayInputStream {
+
+        private boolean closed;
+
+        TrackingInputStream(String body) {
+            super(body.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+}
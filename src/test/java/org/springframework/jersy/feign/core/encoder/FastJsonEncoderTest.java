@@ -0,0 +1,38 @@
+package org.springframework.jersy.feign.core.encoder;
+
+import feign.RequestTemplate;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Content-Type of body encoded by {@link FastJsonEncoder}
+ *
+ * @author jiashuai.xie
+ */
+public class FastJsonEncoderTest {
+
+    private final FastJsonEncoder encoder = new FastJsonEncoder();
+
+    @Test
+    public void defaultContentTypeIsJson() {
+        RequestTemplate template = new RequestTemplate();
+        encoder.encode(Collections.singletonMap("id", 1), Object.class, template);
+
+        assertEquals(Collections.singletonList(FastJsonEncoder.JSON_UTF8), template.headers().get(FastJsonEncoder.CONTENT_TYPE));
+    }
+
+    @Test
+    public void declaredContentTypeInAnyCaseIsKept() {
+        RequestTemplate template = new RequestTemplate();
+        template.header("content-type", "application/vnd.user+json");
+        encoder.encode(Collections.singletonMap("id", 1), Object.class, template);
+
+        assertEquals(Collections.singletonList("application/vnd.user+json"), template.headers().get("content-type"));
+        assertFalse(template.headers().containsKey(FastJsonEncoder.CONTENT_TYPE));
+    }
+
+}
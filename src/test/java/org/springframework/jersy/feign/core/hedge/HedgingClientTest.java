@@ -0,0 +1,115 @@
+package org.springframework.jersy.feign.core.hedge;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.junit.Test;
+import org.springframework.jersy.feign.core.retry.RetryBudget;
+
+import java.io.ByteArrayInputStream;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link HedgingClient} over a stub client whose first attempt is slow
+ *
+ * @author jiashuai.xie
+ */
+public class HedgingClientTest {
+
+    private static final Request REQUEST = Request.create("GET", "http://test/users/1", Collections.emptyMap(), null, null);
+
+    private static final Request.Options OPTIONS = new Request.Options();
+
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    private final CountDownLatch primaryClosed = new CountDownLatch(1);
+
+    /**
+     * primary answers after 300ms, any later attempt at once
+     */
+    private final Client client = (request, options) -> {
+        boolean primary = attempts.incrementAndGet() == 1;
+        if (primary) {
+            try {
+                Thread.sleep(300);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return response(primary ? "primary" : "hedge", primary ? primaryClosed : new CountDownLatch(1));
+    };
+
+    private static Response response(String reason, CountDownLatch closed) {
+        ByteArrayInputStream body = new ByteArrayInputStream(new byte[0]) {
+            @Override
+            public void close() {
+                closed.countDown();
+            }
+        };
+        return Response.builder().status(200).reason(reason).headers(Collections.emptyMap()).body(body, 0).build();
+    }
+
+    /**
+     * delay learned from samples of 10ms
+     */
+    private static HedgePolicy policy() {
+        HedgePolicy policy = new HedgePolicy("get", 50, 0);
+        for (int i = 0; i < HedgePolicy.MIN_SAMPLES; i++) {
+            policy.record(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        return policy;
+    }
+
+    private static Response execute(HedgingClient hedgingClient, HedgePolicy policy) throws Exception {
+        HedgePolicy previous = HedgingClient.begin(policy);
+        try {
+            return hedgingClient.execute(REQUEST, OPTIONS);
+        } finally {
+            HedgingClient.end(previous);
+        }
+    }
+
+    @Test
+    public void hedgeWinsAndSlowPrimaryIsClosed() throws Exception {
+        RetryBudget budget = new RetryBudget("test", 0.1, 10);
+        HedgePolicy policy = policy();
+
+        Response response = execute(new HedgingClient(client, budget, "test", 4), policy);
+
+        assertEquals("hedge", response.reason());
+        assertEquals(2, attempts.get());
+        // loser completes later and its body is closed
+        assertTrue(primaryClosed.await(5, TimeUnit.SECONDS));
+
+        HedgeStats stats = policy.getStats();
+        assertEquals(1, stats.getCalls());
+        assertEquals(1, stats.getHedged());
+        assertEquals(1, stats.getHedgeWins());
+        assertEquals(1, budget.getStats().getHedged());
+    }
+
+    @Test
+    public void exhaustedBudgetSuppressesHedge() throws Exception {
+        RetryBudget budget = new RetryBudget("test", 0, 1);
+        assertTrue(budget.tryHedge());
+        HedgePolicy policy = policy();
+
+        Response response = execute(new HedgingClient(client, budget, "test", 4), policy);
+
+        assertEquals("primary", response.reason());
+        assertEquals(1, attempts.get());
+        assertEquals(1, primaryClosed.getCount());
+
+        HedgeStats stats = policy.getStats();
+        assertEquals(1, stats.getCalls());
+        assertEquals(0, stats.getHedged());
+        assertEquals(1, budget.getStats().getExhausted());
+    }
+
+}
@@ -0,0 +1,69 @@
+package org.springframework.jersy.feign.core.loadbalancer;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * probes of ejected {@link Endpoint}s, ejected at first failure and probed again at once
+ *
+ * @author jiashuai.xie
+ */
+public class LoadBalancerTest {
+
+    private LoadBalancer loadBalancer() {
+        LoadBalancerConfig config = new LoadBalancerConfig();
+        config.setFailureThreshold(1);
+        config.setEjectionMillis(0);
+        return new LoadBalancer("test", () -> Arrays.asList("http://a", "http://b"), config);
+    }
+
+    private static EndpointChoice fail(EndpointChoice choice) {
+        choice.start();
+        choice.complete(0, false);
+        return choice;
+    }
+
+    @Test
+    public void onlyProbeEndsProbe() {
+        LoadBalancer loadBalancer = loadBalancer();
+
+        Endpoint first = fail(loadBalancer.choose()).getEndpoint();
+
+        EndpointChoice firstProbe = loadBalancer.choose();
+        assertTrue(firstProbe.isProbe());
+        assertSame(first, firstProbe.getEndpoint());
+        firstProbe.start();
+
+        EndpointChoice other = loadBalancer.choose();
+        assertFalse(other.isProbe());
+        Endpoint second = fail(other).getEndpoint();
+        assertNotSame(first, second);
+
+        EndpointChoice secondProbe = loadBalancer.choose();
+        assertTrue(secondProbe.isProbe());
+        assertSame(second, secondProbe.getEndpoint());
+        secondProbe.start();
+
+        // all ejected and probing, requests fail open and must not end the probes
+        fail(loadBalancer.choose());
+        assertFalse(loadBalancer.choose().isProbe());
+        assertFalse(loadBalancer.choose().isProbe());
+
+        firstProbe.complete(0, true);
+        assertTrue(first.isHealthy());
+        assertSame(first, loadBalancer.choose().getEndpoint());
+
+        // failed probe ejects again, next probe may go out once it is over
+        secondProbe.complete(0, false);
+        EndpointChoice nextProbe = loadBalancer.choose();
+        assertTrue(nextProbe.isProbe());
+        assertSame(second, nextProbe.getEndpoint());
+    }
+
+}
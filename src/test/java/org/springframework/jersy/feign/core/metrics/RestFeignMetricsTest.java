@@ -0,0 +1,46 @@
+package org.springframework.jersy.feign.core.metrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * reporting of {@link RestFeignMetrics} retained by clients
+ *
+ * @author jiashuai.xie
+ */
+public class RestFeignMetricsTest {
+
+    @Test
+    public void reportingStopsWhenLastClientReleases() {
+        RestFeignMetrics.retain(60000);
+        RestFeignMetrics.retain(1000);
+        assertTrue(RestFeignMetrics.isReporting());
+
+        RestFeignMetrics.release();
+        assertTrue(RestFeignMetrics.isReporting());
+
+        RestFeignMetrics.release();
+        assertFalse(RestFeignMetrics.isReporting());
+
+        // extra release is ignored, next client starts it again
+        RestFeignMetrics.release();
+        RestFeignMetrics.retain(60000);
+        assertTrue(RestFeignMetrics.isReporting());
+        RestFeignMetrics.release();
+        assertFalse(RestFeignMetrics.isReporting());
+    }
+
+    @Test
+    public void disabledReportingIsStillCounted() {
+        RestFeignMetrics.retain(0);
+        RestFeignMetrics.retain(60000);
+        assertFalse(RestFeignMetrics.isReporting());
+
+        RestFeignMetrics.release();
+        RestFeignMetrics.release();
+        assertFalse(RestFeignMetrics.isReporting());
+    }
+
+}
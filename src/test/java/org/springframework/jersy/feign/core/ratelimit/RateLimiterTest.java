@@ -0,0 +1,199 @@
+package org.springframework.jersy.feign.core.ratelimit;
+
+import org.junit.Test;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link RateLimiter} driven by a manual clock, 10 permits per second and burst of 3
+ *
+ * @author jiashuai.xie
+ */
+public class RateLimiterTest {
+
+    private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private long now = SECOND;
+
+    private RateLimiter rateLimiter(boolean adaptive) {
+        RateLimitConfig config = new RateLimitConfig(10, 3, 0);
+        config.setAdaptive(adaptive);
+        return new RateLimiter("test", config, () -> now);
+    }
+
+    @Test
+    public void burstIsFreeThenRejected() {
+        RateLimiter rateLimiter = rateLimiter(true);
+
+        assertEquals(0, rateLimiter.reserve(0));
+        assertEquals(0, rateLimiter.reserve(0));
+        assertEquals(0, rateLimiter.reserve(0));
+        assertEquals(-1, rateLimiter.reserve(0));
+
+        // one permit refills per interval
+        now += INTERVAL;
+        assertEquals(0, rateLimiter.reserve(0));
+        assertEquals(-1, rateLimiter.reserve(0));
+
+        RateLimitStats stats = rateLimiter.getStats();
+        assertEquals(4, stats.getPermitted());
+        assertEquals(2, stats.getRejected());
+        assertEquals(0, stats.getDelayed());
+    }
+
+    @Test
+    public void idleRefillsNoMoreThanBurst() {
+        RateLimiter rateLimiter = rateLimiter(true);
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.reserve(0);
+        }
+
+        now += 10 * SECOND;
+
+        assertEquals(0, rateLimiter.reserve(0));
+        assertEquals(0, rateLimiter.reserve(0));
+        assertEquals(0, rateLimiter.reserve(0));
+        assertEquals(-1, rateLimiter.reserve(0));
+    }
+
+    @Test
+    public void waitingCallersAreServedInOrder() {
+        RateLimiter rateLimiter = rateLimiter(true);
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.reserve(0);
+        }
+
+        assertEquals(INTERVAL, rateLimiter.reserve(SECOND));
+        assertEquals(2 * INTERVAL, rateLimiter.reserve(SECOND));
+
+        // a caller not willing to wait that long reserves nothing
+        assertEquals(-1, rateLimiter.reserve(2 * INTERVAL));
+        assertEquals(3 * INTERVAL, rateLimiter.reserve(SECOND));
+
+        now += INTERVAL;
+        assertEquals(3 * INTERVAL, rateLimiter.reserve(SECOND));
+
+        RateLimitStats stats = rateLimiter.getStats();
+        assertEquals(7, stats.getPermitted());
+        assertEquals(4, stats.getDelayed());
+        assertEquals(1, stats.getRejected());
+    }
+
+    @Test
+    public void pauseEmptiesBucketUntilTime() {
+        RateLimiter rateLimiter = rateLimiter(true);
+
+        rateLimiter.pauseUntil(now + 5 * INTERVAL);
+        assertEquals(-1, rateLimiter.reserve(0));
+        assertEquals(5 * INTERVAL, rateLimiter.reserve(SECOND));
+
+        now += 5 * INTERVAL;
+        // refills from empty, the permit above is already reserved
+        assertEquals(-1, rateLimiter.reserve(0));
+        now += INTERVAL;
+        assertEquals(0, rateLimiter.reserve(0));
+        assertEquals(-1, rateLimiter.reserve(0));
+        assertEquals(1, rateLimiter.getStats().getThrottled());
+    }
+
+    @Test
+    public void pauseIsIgnoredIfNotAdaptive() {
+        RateLimiter rateLimiter = rateLimiter(false);
+
+        rateLimiter.pauseUntil(now + SECOND);
+        assertEquals(0, rateLimiter.reserve(0));
+        assertEquals(0, rateLimiter.getStats().getThrottled());
+    }
+
+    @Test
+    public void rejectionIsNewInstance() throws Exception {
+        MethodRateLimit rateLimit = new MethodRateLimit(rateLimiter(true), null, 0);
+        for (int i = 0; i < 3; i++) {
+            rateLimit.acquire();
+        }
+
+        RateLimitExceededException first = rejection(rateLimit);
+        RateLimitExceededException second = rejection(rateLimit);
+
+        assertNotSame(first, second);
+        assertEquals("test", first.getLimiterName());
+        assertEquals(0, first.getStackTrace().length);
+    }
+
+    @Test
+    public void cancelGivesBackPermitButNeverBeyondFull() {
+        RateLimiter rateLimiter = rateLimiter(true);
+
+        // full bucket stays full
+        rateLimiter.cancel(0);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, rateLimiter.reserve(0));
+        }
+        assertEquals(-1, rateLimiter.reserve(0));
+
+        long waitNanos = rateLimiter.reserve(SECOND);
+        assertEquals(INTERVAL, waitNanos);
+        rateLimiter.cancel(waitNanos);
+        assertEquals(INTERVAL, rateLimiter.reserve(SECOND));
+
+        RateLimitStats stats = rateLimiter.getStats();
+        assertEquals(4, stats.getPermitted());
+        assertEquals(1, stats.getDelayed());
+    }
+
+    @Test
+    public void methodPermitIsGivenBackIfClientRejects() throws Exception {
+        RateLimiter methodLimiter = rateLimiter(true);
+        RateLimiter clientLimiter = new RateLimiter("client", new RateLimitConfig(10, 1, 0), () -> now);
+        MethodRateLimit rateLimit = new MethodRateLimit(clientLimiter, methodLimiter, 0);
+
+        rateLimit.acquire();
+        assertEquals("client", rejection(rateLimit).getLimiterName());
+
+        // two of three method permits left
+        assertEquals(0, methodLimiter.reserve(0));
+        assertEquals(0, methodLimiter.reserve(0));
+        assertEquals(-1, methodLimiter.reserve(0));
+    }
+
+    @Test
+    public void permitsAreGivenBackIfInterrupted() throws Exception {
+        RateLimiter methodLimiter = rateLimiter(true);
+        RateLimiter clientLimiter = new RateLimiter("client", new RateLimitConfig(10, 1, 0), () -> now);
+        MethodRateLimit rateLimit = new MethodRateLimit(clientLimiter, methodLimiter, 1000);
+
+        rateLimit.acquire();
+
+        Thread.currentThread().interrupt();
+        try {
+            rateLimit.acquire();
+            fail("not interrupted");
+        } catch (InterruptedIOException e) {
+            assertTrue(Thread.interrupted());
+        }
+
+        assertEquals(0, methodLimiter.reserve(0));
+        assertEquals(0, methodLimiter.reserve(0));
+        assertEquals(-1, methodLimiter.reserve(0));
+        assertEquals(INTERVAL, clientLimiter.reserve(SECOND));
+        assertEquals(1, clientLimiter.getStats().getDelayed());
+    }
+
+    private static RateLimitExceededException rejection(MethodRateLimit rateLimit) throws Exception {
+        try {
+            rateLimit.acquire();
+        } catch (RateLimitExceededException e) {
+            return e;
+        }
+        throw new AssertionError("permit granted");
+    }
+
+}
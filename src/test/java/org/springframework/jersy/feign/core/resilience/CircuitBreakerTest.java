@@ -0,0 +1,190 @@
+package org.springframework.jersy.feign.core.resilience;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link CircuitBreaker} driven by a manual clock
+ *
+ * @author jiashuai.xie
+ */
+public class CircuitBreakerTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private long now = 1_000L;
+
+    private CircuitBreakerConfig config;
+
+    @Before
+    public void setUp() {
+        config = new CircuitBreakerConfig();
+        config.setWindowSize(4);
+        config.setMinimumCalls(4);
+        config.setFailureRateThreshold(50);
+        config.setSlowCallMillis(100);
+        config.setSlowCallRateThreshold(50);
+        config.setOpenMillis(1_000L);
+        config.setHalfOpenCalls(2);
+    }
+
+    private CircuitBreaker circuitBreaker() {
+        return new CircuitBreaker("test", config, () -> now);
+    }
+
+    private CircuitBreaker openCircuitBreaker() {
+        CircuitBreaker circuitBreaker = circuitBreaker();
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.record(FAST, true);
+        }
+        assertEquals(CircuitState.OPEN, circuitBreaker.getState());
+        return circuitBreaker;
+    }
+
+    @Test
+    public void ratesAreNotEvaluatedBeforeMinimumCalls() {
+        CircuitBreaker circuitBreaker = circuitBreaker();
+
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.record(FAST, true);
+        }
+
+        assertEquals(CircuitState.CLOSED, circuitBreaker.getState());
+        assertEquals(-1f, circuitBreaker.getFailureRate(), 0f);
+        assertEquals(-1f, circuitBreaker.getSlowCallRate(), 0f);
+
+        circuitBreaker.record(FAST, false);
+        assertEquals(CircuitState.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    public void windowEvictsOldestCall() {
+        CircuitBreaker circuitBreaker = circuitBreaker();
+
+        circuitBreaker.record(FAST, true);
+        circuitBreaker.record(FAST, false);
+        circuitBreaker.record(FAST, false);
+        circuitBreaker.record(FAST, false);
+        assertEquals(25f, circuitBreaker.getFailureRate(), 0f);
+
+        // evicts the failed call
+        circuitBreaker.record(FAST, false);
+        assertEquals(0f, circuitBreaker.getFailureRate(), 0f);
+
+        circuitBreaker.record(FAST, true);
+        assertEquals(25f, circuitBreaker.getFailureRate(), 0f);
+        assertEquals(CircuitState.CLOSED, circuitBreaker.getState());
+
+        circuitBreaker.record(FAST, true);
+        assertEquals(50f, circuitBreaker.getFailureRate(), 0f);
+        assertEquals(CircuitState.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    public void slowCallsOpen() {
+        CircuitBreaker circuitBreaker = circuitBreaker();
+
+        circuitBreaker.record(FAST, false);
+        circuitBreaker.record(SLOW, false);
+        circuitBreaker.record(FAST, false);
+        circuitBreaker.record(FAST, false);
+        assertEquals(25f, circuitBreaker.getSlowCallRate(), 0f);
+        assertEquals(0f, circuitBreaker.getFailureRate(), 0f);
+
+        circuitBreaker.record(SLOW, false);
+        assertEquals(50f, circuitBreaker.getSlowCallRate(), 0f);
+        assertEquals(CircuitState.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    public void openRejectsUntilOpenMillisElapsed() {
+        CircuitBreaker circuitBreaker = openCircuitBreaker();
+
+        now += config.getOpenMillis() - 1;
+        assertFalse(circuitBreaker.tryAcquire());
+        assertEquals(1, circuitBreaker.getRejected());
+        assertEquals(CircuitState.OPEN, circuitBreaker.getState());
+
+        // outcome of call started before open is ignored
+        circuitBreaker.record(FAST, false);
+        assertEquals(CircuitState.OPEN, circuitBreaker.getState());
+
+        now += 1;
+        assertTrue(circuitBreaker.tryAcquire());
+        assertEquals(CircuitState.HALF_OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    public void halfOpenPermitsTrialCalls() {
+        CircuitBreaker circuitBreaker = openCircuitBreaker();
+        now += config.getOpenMillis();
+
+        assertTrue(circuitBreaker.tryAcquire());
+        assertTrue(circuitBreaker.tryAcquire());
+        assertFalse(circuitBreaker.tryAcquire());
+
+        circuitBreaker.releasePermission();
+        assertTrue(circuitBreaker.tryAcquire());
+        assertFalse(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    public void halfOpenClosesWhenTrialCallsSucceed() {
+        CircuitBreaker circuitBreaker = openCircuitBreaker();
+        now += config.getOpenMillis();
+
+        assertTrue(circuitBreaker.tryAcquire());
+        assertTrue(circuitBreaker.tryAcquire());
+        circuitBreaker.record(FAST, false);
+        assertEquals(CircuitState.HALF_OPEN, circuitBreaker.getState());
+        circuitBreaker.record(FAST, false);
+
+        assertEquals(CircuitState.CLOSED, circuitBreaker.getState());
+        // window starts over
+        assertEquals(-1f, circuitBreaker.getFailureRate(), 0f);
+        assertTrue(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    public void halfOpenReopensOnBadTrialCall() {
+        CircuitBreaker circuitBreaker = openCircuitBreaker();
+        now += config.getOpenMillis();
+
+        assertTrue(circuitBreaker.tryAcquire());
+        circuitBreaker.record(SLOW, false);
+        assertEquals(CircuitState.OPEN, circuitBreaker.getState());
+
+        // open for another openMillis from now
+        now += config.getOpenMillis() - 1;
+        assertFalse(circuitBreaker.tryAcquire());
+        now += 1;
+        assertTrue(circuitBreaker.tryAcquire());
+        assertEquals(CircuitState.HALF_OPEN, circuitBreaker.getState());
+
+        circuitBreaker.record(FAST, true);
+        assertEquals(CircuitState.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    public void rejectionIsNewInstanceWithoutStackTrace() {
+        Resilience resilience = new Resilience("test", openCircuitBreaker(), null);
+
+        CallNotPermittedException first = resilience.circuitOpen();
+        CallNotPermittedException second = resilience.circuitOpen();
+
+        assertNotSame(first, second);
+        assertTrue(first.isCircuitOpen());
+        assertEquals(0, first.getStackTrace().length);
+        assertFalse(resilience.bulkheadFull().isCircuitOpen());
+    }
+
+}
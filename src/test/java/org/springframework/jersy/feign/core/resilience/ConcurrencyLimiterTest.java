@@ -0,0 +1,140 @@
+package org.springframework.jersy.feign.core.resilience;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link ConcurrencyLimiter} fed with samples directly
+ *
+ * @author jiashuai.xie
+ */
+public class ConcurrencyLimiterTest {
+
+    private static final long RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    public void fixedRejectsOverLimit() {
+        ConcurrencyLimiter limiter = ConcurrencyLimiter.create(LimitType.FIXED, 2, 0, 0);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(1, limiter.getRejected());
+
+        limiter.cancel();
+        assertEquals(1, limiter.getInFlight());
+        assertTrue(limiter.tryAcquire());
+
+        limiter.release(RTT, true);
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    public void aimdGrowsOnlyWhenHalfOfLimitIsUsed() {
+        ConcurrencyLimiter limiter = new AimdConcurrencyLimiter(10, 2, 12);
+
+        limiter.onSample(RTT, false, 4);
+        assertEquals(10, limiter.getLimit());
+
+        limiter.onSample(RTT, false, 5);
+        assertEquals(11, limiter.getLimit());
+
+        for (int i = 0; i < 5; i++) {
+            limiter.onSample(RTT, false, 11);
+        }
+        assertEquals(12, limiter.getLimit());
+    }
+
+    @Test
+    public void aimdBacksOffOnDrop() {
+        ConcurrencyLimiter limiter = new AimdConcurrencyLimiter(10, 2, 12);
+
+        limiter.onSample(RTT, true, 1);
+        assertEquals(9, limiter.getLimit());
+
+        for (int i = 0; i < 20; i++) {
+            limiter.onSample(RTT, true, 1);
+        }
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    public void aimdLimitBoundsAcquire() {
+        ConcurrencyLimiter limiter = new AimdConcurrencyLimiter(2, 1, 10);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        // released with 2 in flight, limit grows to 3
+        limiter.release(RTT, false);
+        assertEquals(3, limiter.getLimit());
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+    }
+
+    @Test
+    public void gradientGrowsWhileLatencyIsStable() {
+        ConcurrencyLimiter limiter = new GradientConcurrencyLimiter(10, 2, 50);
+
+        int previous = limiter.getLimit();
+        for (int i = 0; i < 100; i++) {
+            limiter.onSample(RTT, false, limiter.getLimit());
+            assertTrue(limiter.getLimit() >= previous);
+            previous = limiter.getLimit();
+        }
+        assertEquals(50, limiter.getLimit());
+    }
+
+    @Test
+    public void gradientKeepsLimitWhenIdle() {
+        ConcurrencyLimiter limiter = new GradientConcurrencyLimiter(10, 2, 50);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.onSample(RTT, false, 4);
+        }
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    public void gradientShrinksWhenLatencyRisesAndRecovers() {
+        ConcurrencyLimiter limiter = new GradientConcurrencyLimiter(50, 2, 50);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.onSample(RTT, false, limiter.getLimit());
+        }
+        assertEquals(50, limiter.getLimit());
+
+        for (int i = 0; i < 30; i++) {
+            limiter.onSample(RTT * 10, false, limiter.getLimit());
+        }
+        int shrunk = limiter.getLimit();
+        assertTrue("limit " + shrunk, shrunk < 25);
+        assertTrue(shrunk >= 2);
+
+        for (int i = 0; i < 300; i++) {
+            limiter.onSample(RTT, false, limiter.getLimit());
+        }
+        assertEquals(50, limiter.getLimit());
+    }
+
+    @Test
+    public void gradientBacksOffOnDrop() {
+        ConcurrencyLimiter limiter = new GradientConcurrencyLimiter(10, 2, 50);
+
+        limiter.onSample(RTT, true, 10);
+        assertEquals(9, limiter.getLimit());
+
+        for (int i = 0; i < 30; i++) {
+            limiter.onSample(RTT, true, 10);
+        }
+        assertEquals(2, limiter.getLimit());
+    }
+
+}
@@ -0,0 +1,63 @@
+package org.springframework.jersy.feign.core.util;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * {@link BufferPool} size classes and cap
+ *
+ * @author jiashuai.xie
+ */
+public class BufferPoolTest {
+
+    @After
+    public void tearDown() {
+        BufferPool.setMaxRetainedBytes(BufferPool.DEFAULT_MAX_RETAINED_BYTES);
+    }
+
+    @Test
+    public void arrayIsRoundedUpToSizeClass() {
+        assertEquals(4096, BufferPool.acquireBytes(1).length);
+        assertEquals(8192, BufferPool.acquireBytes(4097).length);
+        assertEquals(1 << 20, BufferPool.acquireChars(1 << 20).length);
+        // larger than all size classes
+        assertEquals((1 << 20) + 1, BufferPool.acquireBytes((1 << 20) + 1).length);
+    }
+
+    @Test
+    public void releasedArrayIsReused() {
+        for (int length = 4096; length <= 1 << 20; length <<= 1) {
+            byte[] bytes = BufferPool.acquireBytes(length);
+            BufferPool.releaseBytes(bytes);
+            assertSame(bytes, BufferPool.acquireBytes(length));
+
+            char[] chars = BufferPool.acquireChars(length);
+            BufferPool.releaseChars(chars);
+            assertSame(chars, BufferPool.acquireChars(length));
+        }
+    }
+
+    @Test
+    public void arrayNotOfSizeClassIsNotPooled() {
+        BufferPool.releaseBytes(new byte[5000]);
+        BufferPool.releaseBytes(null);
+        assertEquals(8192, BufferPool.acquireBytes(5000).length);
+    }
+
+    @Test
+    public void arrayBeyondCapIsDropped() {
+        BufferPool.setMaxRetainedBytes(0);
+        long dropped = BufferPool.getStats().getDropped();
+
+        byte[] bytes = BufferPool.acquireBytes(4096);
+        BufferPool.releaseBytes(bytes);
+
+        assertEquals(dropped + 1, BufferPool.getStats().getDropped());
+        assertNotSame(bytes, BufferPool.acquireBytes(4096));
+    }
+
+}
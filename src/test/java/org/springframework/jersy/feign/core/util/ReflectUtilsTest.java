@@ -0,0 +1,71 @@
+package org.springframework.jersy.feign.core.util;
+
+import feign.Response;
+import org.junit.Test;
+import org.springframework.jersy.feign.core.decoder.StreamingElements;
+import org.springframework.jersy.feign.core.stream.DownloadBody;
+
+import java.io.InputStream;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * results which may be shared by coalesced or cached calls
+ *
+ * @author jiashuai.xie
+ */
+public class ReflectUtilsTest {
+
+    public interface Api {
+
+        List<String> list();
+
+        String string();
+
+        byte[] bytes();
+
+        void none();
+
+        Response response();
+
+        CompletableFuture<String> async();
+
+        Iterator<String> iterator();
+
+        Stream<String> stream();
+
+        StreamingElements<String> elements();
+
+        InputStream inputStream();
+
+        ReadableByteChannel channel();
+
+        DownloadBody download();
+    }
+
+    private static boolean shareable(String method) throws Exception {
+        return ReflectUtils.hasShareableResult(Api.class.getMethod(method));
+    }
+
+    @Test
+    public void decodedValuesAreShareable() throws Exception {
+        assertTrue(shareable("list"));
+        assertTrue(shareable("string"));
+        assertTrue(shareable("bytes"));
+    }
+
+    @Test
+    public void singleUseResultsAreNotShareable() throws Exception {
+        for (String method : new String[]{"none", "response", "async", "iterator", "stream", "elements",
+                "inputStream", "channel", "download"}) {
+            assertFalse(method, shareable(method));
+        }
+    }
+
+}